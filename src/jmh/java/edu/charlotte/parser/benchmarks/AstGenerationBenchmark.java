@@ -0,0 +1,56 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lexing, parsing and walking of the AST listener for a whole corpus of formulas, for both grammars.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AstGenerationBenchmark {
+    @Param({"16", "256", "4096"})
+    private int corpusSize;
+
+    private List<String> dlFormulas;
+    private List<String> relDlFormulas;
+    private GenerateAstForDl generateAstForDl;
+    private GenerateAstForRelDl generateAstForRelDl;
+
+    @Setup
+    public void setUp() {
+        this.dlFormulas = BenchmarkCorpus.dlFormulas(corpusSize);
+        this.relDlFormulas = BenchmarkCorpus.relDlFormulas(corpusSize);
+        this.generateAstForDl = new GenerateAstForDl();
+        this.generateAstForRelDl = new GenerateAstForRelDl(true);
+    }
+
+    @Benchmark
+    public void dlAstGeneration(Blackhole blackhole) {
+        for (String formula : dlFormulas)
+            blackhole.consume(generateAstForDl.generateAstFromInput(formula));
+    }
+
+    @Benchmark
+    public void relDlAstGeneration(Blackhole blackhole) {
+        for (String formula : relDlFormulas)
+            blackhole.consume(generateAstForRelDl.generateAstFromInput(formula));
+    }
+}
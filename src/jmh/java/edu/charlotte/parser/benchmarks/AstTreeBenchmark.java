@@ -0,0 +1,114 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstTreeRenderer;
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rendering of the AST trees of a whole corpus of formulas, as written by the AST generation jobs.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AstTreeBenchmark {
+    @Param({"16", "256", "4096"})
+    private int corpusSize;
+
+    private List<AstNode> dlAstRoots;
+    private List<AstNode> relDlAstRoots;
+
+    @Setup
+    public void setUp() {
+        this.dlAstRoots = BenchmarkCorpus.astRoots(
+                BenchmarkCorpus.generateAsts(new GenerateAstForDl(), BenchmarkCorpus.dlFormulas(corpusSize)));
+        this.relDlAstRoots = BenchmarkCorpus.astRoots(
+                BenchmarkCorpus.generateAsts(new GenerateAstForRelDl(false), BenchmarkCorpus.relDlFormulas(corpusSize)));
+    }
+
+    @Benchmark
+    public int dlAstTree() {
+        return renderTrees(dlAstRoots);
+    }
+
+    @Benchmark
+    public int relDlAstTree() {
+        return renderTrees(relDlAstRoots);
+    }
+
+    // Streaming the trees as the AST generation jobs do, without building their text in memory.
+    @Benchmark
+    public void dlAstTreeStreamed(Blackhole blackhole) throws IOException {
+        streamTrees(dlAstRoots, blackhole);
+    }
+
+    @Benchmark
+    public void relDlAstTreeStreamed(Blackhole blackhole) throws IOException {
+        streamTrees(relDlAstRoots, blackhole);
+    }
+
+    private static void streamTrees(List<AstNode> astRoots, Blackhole blackhole) throws IOException {
+        Writer writer = new BlackholeWriter(blackhole);
+        AstTreeRenderer renderer = new AstTreeRenderer();
+        for (AstNode astRoot : astRoots)
+            renderer.render(astRoot, writer);
+    }
+
+    // Consumes the written characters without retaining them, standing in for the buffered writer of the output file.
+    private static final class BlackholeWriter extends Writer {
+        private final Blackhole blackhole;
+
+        private BlackholeWriter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            blackhole.consume(buffer[offset + length - 1]);
+        }
+
+        @Override
+        public void write(String text) {
+            blackhole.consume(text);
+        }
+
+        @Override
+        public void write(int character) {
+            blackhole.consume(character);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+
+    private static int renderTrees(List<AstNode> astRoots) {
+        int renderedLength = 0;
+        for (AstNode astRoot : astRoots) {
+            StringBuilder astOutputTree = new StringBuilder();
+            astRoot.generateAstTree("", true, astOutputTree);
+            renderedLength += astOutputTree.length();
+        }
+        return renderedLength;
+    }
+}
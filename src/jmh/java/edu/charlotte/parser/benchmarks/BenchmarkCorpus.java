@@ -0,0 +1,56 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.corpus.CorpusGrammar;
+import edu.charlotte.parser.corpus.CorpusOptions;
+import edu.charlotte.parser.corpus.FormulaCorpusGenerator;
+import edu.charlotte.parser.grammars.AbstractAstGenerator;
+import edu.charlotte.parser.grammars.AstGenerationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corpora of valid formulas used by the benchmarks. The formulas are produced by the {@link FormulaCorpusGenerator}
+ * with its default options unless given others, so a corpus of a given size is the same on every run.
+ */
+final class BenchmarkCorpus {
+    private BenchmarkCorpus() {}
+
+    static List<String> dlFormulas(int corpusSize) {
+        return generate(CorpusGrammar.DL, corpusSize);
+    }
+
+    static List<String> relDlFormulas(int corpusSize) {
+        return generate(CorpusGrammar.REL_DL, corpusSize);
+    }
+
+    // Generates the AST of every formula of the corpus, failing fast if a formula of the corpus is not valid.
+    static <TIdentifiers> List<AstGenerationResult<TIdentifiers>> generateAsts(
+            AbstractAstGenerator<?, ?, ?, TIdentifiers> astGenerator, List<String> formulas) {
+        List<AstGenerationResult<TIdentifiers>> results = new ArrayList<>(formulas.size());
+        for (String formula : formulas) {
+            AstGenerationResult<TIdentifiers> result = astGenerator.generateAstFromInput(formula);
+            if (!result.isSuccessful())
+                throw new IllegalStateException("Benchmark corpus formula is not valid: " + formula);
+            results.add(result);
+        }
+        return results;
+    }
+
+    static List<AstNode> astRoots(List<? extends AstGenerationResult<?>> results) {
+        return results.stream().<AstNode>map(AstGenerationResult::astRoot).toList();
+    }
+
+    private static List<String> generate(CorpusGrammar grammar, int corpusSize) {
+        return generate(grammar, CorpusOptions.defaults(), corpusSize);
+    }
+
+    static List<String> generate(CorpusGrammar grammar, CorpusOptions options, int corpusSize) {
+        FormulaCorpusGenerator generator = new FormulaCorpusGenerator(options);
+        List<String> corpus = new ArrayList<>(corpusSize);
+        for (int index = 0; index < corpusSize; index++)
+            corpus.add(generator.nextFormula(grammar));
+        return corpus;
+    }
+}
@@ -0,0 +1,71 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.conversions.common.GenerateKeYmaeraXOutput;
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
+import edu.charlotte.parser.grammars.AstGenerationResult;
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.utils.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of a whole corpus of DL formulas to KeYmaeraX and creation of the KeYmaeraX file contents. The converter
+ * rewrites the node values in place, but the rewritten values are not mapped again, so every invocation walks the
+ * same trees and produces the same output.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConversionBenchmark {
+    @Param({"16", "256", "4096"})
+    private int corpusSize;
+
+    private final GenerateAstForDl generateAstForDl = new GenerateAstForDl();
+    private final DlToKeYmaeraXConverter dlToKeYmaeraXConverter = new DlToKeYmaeraXConverter();
+    private final GenerateKeYmaeraXOutput generateKeYmaeraXOutput = new GenerateKeYmaeraXOutput(false);
+
+    private List<AstGenerationResult<Set<String>>> dlResults;
+    private List<AstNode> dlAstRoots;
+    private List<String> keYmaeraXContents;
+
+    @Setup
+    public void setUp() {
+        this.dlResults = BenchmarkCorpus.generateAsts(generateAstForDl, BenchmarkCorpus.dlFormulas(corpusSize));
+        this.dlAstRoots = BenchmarkCorpus.astRoots(dlResults);
+        this.keYmaeraXContents = new ArrayList<>(corpusSize);
+        for (AstNode astRoot : dlAstRoots)
+            keYmaeraXContents.add(dlToKeYmaeraXConverter.convertDlToKeYmaeraX(astRoot));
+    }
+
+    @Benchmark
+    public void dlToKeYmaeraX(Blackhole blackhole) {
+        for (AstNode astRoot : dlAstRoots)
+            blackhole.consume(dlToKeYmaeraXConverter.convertDlToKeYmaeraX(astRoot));
+    }
+
+    @Benchmark
+    public void keYmaeraXFileContent(Blackhole blackhole) {
+        for (int index = 0; index < corpusSize; index++)
+            blackhole.consume(generateKeYmaeraXOutput.createFileContent(Constants.DIFFERENTIAL_DYNAMIC_LOGIC,
+                    dlResults.get(index).identifiers(), keYmaeraXContents.get(index)));
+    }
+}
@@ -0,0 +1,115 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.benchmarks.legacy.LegacyDynamicDifferentialLogicLexer;
+import edu.charlotte.parser.benchmarks.legacy.LegacyDynamicDifferentialLogicParser;
+import edu.charlotte.parser.benchmarks.legacy.LegacyRelationalDynamicLogicLexer;
+import edu.charlotte.parser.benchmarks.legacy.LegacyRelationalDynamicLogicParser;
+import edu.charlotte.parser.corpus.CorpusGrammar;
+import edu.charlotte.parser.corpus.CorpusOptions;
+import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicLexer;
+import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicParser;
+import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicLexer;
+import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+ * Parsing of a corpus of formulas by the current grammars, which match each kind of operators with a single rule, and
+ * by the left-recursive grammars they replaced, which are generated from src/jmh/antlr4. The formulas are lexed once
+ * in the setup, so only the parsing is measured. The deep corpus nests the formulas, programs and terms, the wide one
+ * chains many operands of the binary operators at each level.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GrammarPrecedenceBenchmark {
+    private static final int CORPUS_SIZE = 256;
+
+    @Param({"deep", "wide"})
+    private String corpusShape;
+
+    private List<List<Token>> dlTokens;
+    private List<List<Token>> legacyDlTokens;
+    private List<List<Token>> relDlTokens;
+    private List<List<Token>> legacyRelDlTokens;
+
+    @Setup
+    public void setUp() {
+        CorpusOptions options = switch (corpusShape) {
+            case "deep" -> new CorpusOptions(42L, 7, 2, 2, 16, 0.5, 0.2);
+            case "wide" -> new CorpusOptions(42L, 3, 8, 8, 16, 0.5, 0.2);
+            default -> throw new IllegalArgumentException("Unknown corpus shape: " + corpusShape);
+        };
+        List<String> dlFormulas = BenchmarkCorpus.generate(CorpusGrammar.DL, options, CORPUS_SIZE);
+        List<String> relDlFormulas = BenchmarkCorpus.generate(CorpusGrammar.REL_DL, options, CORPUS_SIZE);
+        this.dlTokens = lex(dlFormulas, formula -> new DynamicDifferentialLogicLexer(CharStreams.fromString(formula)));
+        this.legacyDlTokens = lex(dlFormulas, formula -> new LegacyDynamicDifferentialLogicLexer(CharStreams.fromString(formula)));
+        this.relDlTokens = lex(relDlFormulas, formula -> new RelationalDynamicLogicLexer(CharStreams.fromString(formula)));
+        this.legacyRelDlTokens = lex(relDlFormulas, formula -> new LegacyRelationalDynamicLogicLexer(CharStreams.fromString(formula)));
+    }
+
+    @Benchmark
+    public void dlParsing(Blackhole blackhole) {
+        for (List<Token> tokens : dlTokens)
+            blackhole.consume(createParser(tokens, DynamicDifferentialLogicParser::new).dlProgram());
+    }
+
+    @Benchmark
+    public void legacyDlParsing(Blackhole blackhole) {
+        for (List<Token> tokens : legacyDlTokens)
+            blackhole.consume(createParser(tokens, LegacyDynamicDifferentialLogicParser::new).dlProgram());
+    }
+
+    @Benchmark
+    public void relDlParsing(Blackhole blackhole) {
+        for (List<Token> tokens : relDlTokens)
+            blackhole.consume(createParser(tokens, RelationalDynamicLogicParser::new).relDlProgram());
+    }
+
+    @Benchmark
+    public void legacyRelDlParsing(Blackhole blackhole) {
+        for (List<Token> tokens : legacyRelDlTokens)
+            blackhole.consume(createParser(tokens, LegacyRelationalDynamicLogicParser::new).relDlProgram());
+    }
+
+    private static List<List<Token>> lex(List<String> formulas, Function<String, Lexer> lexerFactory) {
+        return formulas.stream()
+                .map(formula -> {
+                    Lexer lexer = lexerFactory.apply(formula);
+                    lexer.removeErrorListeners();
+                    CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+                    tokenStream.fill();
+                    return List.copyOf(tokenStream.getTokens());
+                })
+                .toList();
+    }
+
+    private static <TParser extends Parser> TParser createParser(List<Token> tokens, Function<CommonTokenStream, TParser> parserFactory) {
+        TParser parser = parserFactory.apply(new CommonTokenStream(new ListTokenSource(tokens)));
+        parser.removeErrorListeners();
+        return parser;
+    }
+}
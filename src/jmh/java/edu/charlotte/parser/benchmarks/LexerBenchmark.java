@@ -0,0 +1,59 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicLexer;
+import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicLexer;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Lexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Tokenization of a whole corpus of formulas by the lexers of both grammars.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LexerBenchmark {
+    @Param({"16", "256", "4096"})
+    private int corpusSize;
+
+    private List<String> dlFormulas;
+    private List<String> relDlFormulas;
+
+    @Setup
+    public void setUp() {
+        this.dlFormulas = BenchmarkCorpus.dlFormulas(corpusSize);
+        this.relDlFormulas = BenchmarkCorpus.relDlFormulas(corpusSize);
+    }
+
+    @Benchmark
+    public void dlTokenization(Blackhole blackhole) {
+        for (String formula : dlFormulas)
+            consumeTokens(new DynamicDifferentialLogicLexer(CharStreams.fromString(formula)), blackhole);
+    }
+
+    @Benchmark
+    public void relDlTokenization(Blackhole blackhole) {
+        for (String formula : relDlFormulas)
+            consumeTokens(new RelationalDynamicLogicLexer(CharStreams.fromString(formula)), blackhole);
+    }
+
+    private static void consumeTokens(Lexer lexer, Blackhole blackhole) {
+        lexer.removeErrorListeners();
+        blackhole.consume(lexer.getAllTokens());
+    }
+}
@@ -0,0 +1,65 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.grammars.DecisionProfiler;
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.grammars.ParserOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Lexing and parsing of a corpus of small formulas by generators reusing the lexers and parsers of the previous
+ * formulas and by generators creating new ones for every formula. The generators are shared by all the benchmark
+ * threads, as by the concurrently processed items of a step, so running with '-t' measures the reuse under contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecognizerReuseBenchmark {
+    private static final int CORPUS_SIZE = 256;
+
+    @Param({"true", "false"})
+    private boolean reuseRecognizers;
+
+    private List<String> dlFormulas;
+    private List<String> relDlFormulas;
+    private GenerateAstForDl generateAstForDl;
+    private GenerateAstForRelDl generateAstForRelDl;
+
+    @Setup
+    public void setUp() {
+        this.dlFormulas = BenchmarkCorpus.dlFormulas(CORPUS_SIZE);
+        this.relDlFormulas = BenchmarkCorpus.relDlFormulas(CORPUS_SIZE);
+        ParserOptions parserOptions = new ParserOptions(false, reuseRecognizers, 1, 0, DecisionProfiler.disabled());
+        this.generateAstForDl = new GenerateAstForDl(parserOptions);
+        this.generateAstForRelDl = new GenerateAstForRelDl(false, parserOptions);
+    }
+
+    @Benchmark
+    public void dlParsing(Blackhole blackhole) {
+        for (String formula : dlFormulas)
+            blackhole.consume(generateAstForDl.parseInput(formula));
+    }
+
+    @Benchmark
+    public void relDlParsing(Blackhole blackhole) {
+        for (String formula : relDlFormulas)
+            blackhole.consume(generateAstForRelDl.parseInput(formula));
+    }
+}
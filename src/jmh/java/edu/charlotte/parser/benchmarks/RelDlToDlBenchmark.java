@@ -0,0 +1,64 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.conversions.reldl.dl.RelDlToDlConverter;
+import edu.charlotte.parser.grammars.AstGenerationResult;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of a whole corpus of RelDL formulas to DL. The converter renames the identifiers of the right program in
+ * place, so the ASTs are generated again before each invocation. The setup is not part of the measured time, but the
+ * allocations reported by the gc profiler include it, the AstGenerationBenchmark.relDlAstGeneration figures are the
+ * baseline to compare against.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RelDlToDlBenchmark {
+    @Param({"16", "256", "4096"})
+    private int corpusSize;
+
+    private final GenerateAstForRelDl generateAstForRelDl = new GenerateAstForRelDl(true);
+
+    private List<String> relDlFormulas;
+    private List<AstGenerationResult<Map<Character, Set<String>>>> relDlResults;
+
+    @Setup(Level.Trial)
+    public void setUpCorpus() {
+        this.relDlFormulas = BenchmarkCorpus.relDlFormulas(corpusSize);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpAsts() {
+        this.relDlResults = BenchmarkCorpus.generateAsts(generateAstForRelDl, relDlFormulas);
+    }
+
+    @Benchmark
+    public void relDlToDl(Blackhole blackhole) {
+        for (AstGenerationResult<Map<Character, Set<String>>> result : relDlResults) {
+            RelDlToDlConverter relDlToDlConverter = new RelDlToDlConverter(result.identifiers());
+            relDlToDlConverter.convertRelDlToDl(result.astRoot());
+            blackhole.consume(relDlToDlConverter.getIdentifiers());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
+import edu.charlotte.parser.conversions.reldl.dl.RelDlToDlConverter;
+import edu.charlotte.parser.conversions.reldl.keymaerax.RelDlToKeYmaeraXEmitter;
+import edu.charlotte.parser.grammars.AstGenerationResult;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.grammars.ParseTreeWalkResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of a whole corpus of Relational DL formulas to the KeYmaeraX problems, from the input text to the output
+ * text, with the multi-pass AST rewriting and with the fused single walk over the parse tree.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RelDlToKeYmaeraXBenchmark {
+    @Param({"16", "256", "4096"})
+    private int corpusSize;
+
+    private final GenerateAstForRelDl generateAstForRelDl = new GenerateAstForRelDl(true);
+    private final DlToKeYmaeraXConverter dlToKeYmaeraXConverter = new DlToKeYmaeraXConverter();
+
+    private List<String> relDlFormulas;
+
+    @Setup
+    public void setUp() {
+        this.relDlFormulas = BenchmarkCorpus.relDlFormulas(corpusSize);
+    }
+
+    @Benchmark
+    public void multiPass(Blackhole blackhole) {
+        for (String formula : relDlFormulas) {
+            AstGenerationResult<Map<Character, Set<String>>> result = generateAstForRelDl.generateAstFromInput(formula);
+            AstNode astRoot = result.astRoot();
+            RelDlToDlConverter relDlToDlConverter = new RelDlToDlConverter(result.identifiers());
+            relDlToDlConverter.convertRelDlToDl(astRoot);
+            blackhole.consume(relDlToDlConverter.getIdentifiers());
+            blackhole.consume(dlToKeYmaeraXConverter.convertDlToKeYmaeraX(astRoot));
+        }
+    }
+
+    @Benchmark
+    public void fused(Blackhole blackhole) {
+        for (String formula : relDlFormulas) {
+            ParseTreeWalkResult<RelDlToKeYmaeraXEmitter> result = generateAstForRelDl.walkParseTreeOfInput(formula, RelDlToKeYmaeraXEmitter::new);
+            RelDlToKeYmaeraXEmitter emitter = result.listener();
+            blackhole.consume(emitter.getKeYmaeraXOutput());
+            blackhole.consume(emitter.getIdentifiers());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.conversions.reldl.dl.RelDlToDlConverter;
+import edu.charlotte.parser.utils.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renaming of the right program identifiers of a relational model with the given number of identifiers per side, as
+ * done by the {@link RelDlToDlConverter} for every converted item. Every fourth left identifier is the first candidate
+ * name of a right identifier, so the renaming also has to resolve collisions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RightTermIdentifierRenamingBenchmark {
+    @Param({"1000", "10000", "50000"})
+    private int identifierCount;
+
+    private Map<Character, Set<String>> categorizedIdentifiers;
+
+    @Setup
+    public void setUp() {
+        Set<String> leftIdentifiers = new HashSet<>();
+        Set<String> rightIdentifiers = new HashSet<>();
+        for (int index = 0; index < identifierCount; index++) {
+            rightIdentifiers.add("v" + index);
+            leftIdentifiers.add(index % 4 == 0 ? "v" + index + "1" : "w" + index);
+        }
+        this.categorizedIdentifiers = new HashMap<>();
+        this.categorizedIdentifiers.put(Constants.PROGRAM_CONSIDERED_L, leftIdentifiers);
+        this.categorizedIdentifiers.put(Constants.PROGRAM_CONSIDERED_R, rightIdentifiers);
+        this.categorizedIdentifiers.put(Constants.PROGRAM_CONSIDERED_G, new HashSet<>());
+    }
+
+    @Benchmark
+    public Set<String> renameRightTermIdentifiers() {
+        return new RelDlToDlConverter(categorizedIdentifiers).getIdentifiers();
+    }
+}
@@ -0,0 +1,135 @@
+package edu.charlotte.parser.benchmarks;
+
+import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicLexer;
+import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicParser;
+import edu.charlotte.parser.grammars.CompactTokenStream;
+import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicLexer;
+import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicParser;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.IterativeParseTreeWalker;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+ * Lexing and parsing of a corpus of formulas into parse trees whose terminals are then visited for their text, as by the
+ * AST listeners, with the tokens kept in the compact token store, whose tokens are the terminal nodes of the tree as in
+ * the generators, and in the CommonTokens of a CommonTokenStream. Run with '-prof gc' to compare the allocation per
+ * formula.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TokenStoreBenchmark {
+    private static final int CORPUS_SIZE = 256;
+
+    @Param({"compact", "common"})
+    private String tokenStore;
+
+    private List<String> dlFormulas;
+    private List<String> relDlFormulas;
+
+    @Setup
+    public void setUp() {
+        this.dlFormulas = BenchmarkCorpus.dlFormulas(CORPUS_SIZE);
+        this.relDlFormulas = BenchmarkCorpus.relDlFormulas(CORPUS_SIZE);
+    }
+
+    @Benchmark
+    public void dlTerminalTexts(Blackhole blackhole) {
+        for (String formula : dlFormulas) {
+            DynamicDifferentialLogicParser parser = createParser(formula, DynamicDifferentialLogicLexer::new,
+                    TokenStoreBenchmark::dlParser);
+            visitTerminals(parser.dlProgram(), blackhole);
+        }
+    }
+
+    @Benchmark
+    public void relDlTerminalTexts(Blackhole blackhole) {
+        for (String formula : relDlFormulas) {
+            RelationalDynamicLogicParser parser = createParser(formula, RelationalDynamicLogicLexer::new,
+                    TokenStoreBenchmark::relDlParser);
+            visitTerminals(parser.relDlProgram(), blackhole);
+        }
+    }
+
+    private <TParser extends Parser> TParser createParser(String formula, Function<CharStream, Lexer> lexerFactory,
+                                                          Function<TokenStream, TParser> parserFactory) {
+        Lexer lexer = lexerFactory.apply(CharStreams.fromString(formula));
+        lexer.removeErrorListeners();
+        TokenStream tokens = tokenStore.equals("compact") ? new CompactTokenStream(lexer, formula) : new CommonTokenStream(lexer);
+        TParser parser = parserFactory.apply(tokens);
+        parser.removeErrorListeners();
+        return parser;
+    }
+
+    private static DynamicDifferentialLogicParser dlParser(TokenStream tokens) {
+        if (!(tokens instanceof CompactTokenStream))
+            return new DynamicDifferentialLogicParser(tokens);
+        return new DynamicDifferentialLogicParser(tokens) {
+            @Override
+            public TerminalNode createTerminalNode(ParserRuleContext parent, Token token) {
+                return CompactTokenStream.createTerminalNode(parent, token);
+            }
+        };
+    }
+
+    private static RelationalDynamicLogicParser relDlParser(TokenStream tokens) {
+        if (!(tokens instanceof CompactTokenStream))
+            return new RelationalDynamicLogicParser(tokens);
+        return new RelationalDynamicLogicParser(tokens) {
+            @Override
+            public TerminalNode createTerminalNode(ParserRuleContext parent, Token token) {
+                return CompactTokenStream.createTerminalNode(parent, token);
+            }
+        };
+    }
+
+    private static void visitTerminals(ParseTree tree, Blackhole blackhole) {
+        new IterativeParseTreeWalker().walk(new ParseTreeListener() {
+            @Override
+            public void visitTerminal(TerminalNode node) {
+                blackhole.consume(node.getText());
+            }
+
+            @Override
+            public void visitErrorNode(ErrorNode node) {
+            }
+
+            @Override
+            public void enterEveryRule(ParserRuleContext ctx) {
+            }
+
+            @Override
+            public void exitEveryRule(ParserRuleContext ctx) {
+            }
+        }, tree);
+    }
+}
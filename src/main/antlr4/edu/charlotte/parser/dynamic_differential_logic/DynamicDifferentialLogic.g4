@@ -1,35 +1,50 @@
 grammar DynamicDifferentialLogic;
 
+// Each kind of operators is matched by a single rule, 'operand (operator operand)*', so that the parser predicts every
+// operator with a single token of lookahead and does not recurse once per operator or per precedence level. The AST
+// listeners group the operands by the precedence and the associativity of the operators, see AstListenerUtils.
+
 dlProgram
     : formula EOF
     ;
 
+// ';' binds tighter than '++', both left associative: 'a ; b ++ c' is '(a ; b) ++ c'.
 program
-    : IDENTIFIER':='term';'
-    | IDENTIFIER':='NON_DET';'
-    | program';' program
-    | program '++' program
-    | '{'program'}'NON_DET
+    : atomicProgram ((';' | '++') atomicProgram)*
+    ;
+
+// The alternatives sharing their first tokens are left-factored, so that each is predicted by its first token.
+atomicProgram
+    : IDENTIFIER':='(term | NON_DET)';'
+    | '{'(program'}'NON_DET | IDENTIFIER_PRIME '='term '&&' formula'}')
     | '?'formula';'
-    | '{'IDENTIFIER_PRIME '='term '&&' formula'}'
     ;
 
+// '&&' binds tighter than '||', '||' than '->' and '->' than '<->'. The implication is right associative, the other
+// binary operators left associative.
 formula
+    : unaryFormula (('&&' | '||' | '->' | '<->') unaryFormula)*
+    ;
+
+// The negation applies to the formula it prefixes only, while a modality applies to the rest of the formula it occurs
+// in: '! a < b && c < d' is '(! a < b) && c < d', but '[p] a < b && c < d' is '[p] (a < b && c < d)'.
+unaryFormula
+    : ('!' | '['program']' | '<<'program'>>')* atomicFormula
+    ;
+
+atomicFormula
     : term COMPARISON_OPERATORS term
     | BOOLEANS
-    | '!'formula
-    | formula '&&' formula
-    | formula '||' formula
-    | formula '->' formula
-    | formula '<->' formula
-    | '['program']'formula
-    | '<<'program'>>'formula
     ;
 
+// '*' and '/' bind tighter than '+' and '-', all of them left associative.
 term
+    : primaryTerm ((ADDITIVE_OPERATORS | MULTIPLICATIVE_OPERATORS) primaryTerm)*
+    ;
+
+primaryTerm
     : IDENTIFIER   # AssignmentIdentifier
     | NUMBER      # IntegerLiteral
-    | term BINARY_EXPRESSION_OPERATORS term # BinaryExpr
     | '(' term ')' # ParenthesesTerm
     ;
 
@@ -39,6 +54,7 @@ IDENTIFIER  : [a-zA-Z][a-zA-Z0-9]*; // Matches assignment names and identifiers
 NUMBER     : [0-9]+'.'[0-9]+;
 NON_DET     : '**';
 COMPARISON_OPERATORS : '==' | '!=' | '<=' | '>=' | '<' | '>';
-BINARY_EXPRESSION_OPERATORS : '+' | '-' | '*' | '/';
+ADDITIVE_OPERATORS : '+' | '-';
+MULTIPLICATIVE_OPERATORS : '*' | '/';
 WS          : [ \t\r\n]+ -> skip;
-LINE_COMMENT: '//' ~[\r\n]* -> skip;
\ No newline at end of file
+LINE_COMMENT: '//' ~[\r\n]* -> skip;
@@ -6,6 +6,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 public class ParserApplication {
 	public static void main(String[] args) {
-		SpringApplication.run(ParserApplication.class, args);
+		// The loopback endpoints answer small requests one at a time, which must not wait for delayed TCP acknowledgements.
+		if (System.getProperty("sun.net.httpserver.nodelay") == null)
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		// Closing the context once the job is run stops its thread pools and endpoints, so that the JVM exits.
+		System.exit(SpringApplication.exit(SpringApplication.run(ParserApplication.class, args)));
 	}
-}
\ No newline at end of file
+}
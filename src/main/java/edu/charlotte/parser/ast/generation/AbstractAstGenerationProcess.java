@@ -1,11 +1,24 @@
 package edu.charlotte.parser.ast.generation;
 
 import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstTreeRenderer;
+import edu.charlotte.parser.cache.CacheCounters;
+import edu.charlotte.parser.cache.CapturingWriter;
+import edu.charlotte.parser.cache.ConversionCache;
 import edu.charlotte.parser.grammars.AbstractAstGenerator;
+import edu.charlotte.parser.grammars.AstGenerationResult;
+import edu.charlotte.parser.grammars.ParseModeCounters;
+import edu.charlotte.parser.grammars.ParsedInput;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.ItemOrigins.ItemOrigin;
+import edu.charlotte.parser.jobs.io.StreamableOutput;
+import edu.charlotte.parser.metrics.ItemMetrics;
+import edu.charlotte.parser.metrics.ItemTimings;
+import edu.charlotte.parser.metrics.ParserMetrics;
+import edu.charlotte.parser.metrics.jfr.ItemEvent;
 import edu.charlotte.parser.utils.Constants;
 import edu.charlotte.parser.utils.ParserUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
@@ -13,22 +26,37 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.lang.NonNull;
 
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 @StepScope
 @Slf4j
-public abstract class AbstractAstGenerationProcess<TGenerator extends AbstractAstGenerator<?, ?, TListener>,
-        TListener extends ParseTreeListener> implements ItemProcessor<String, String>, StepExecutionListener {
+public abstract class AbstractAstGenerationProcess<TGenerator extends AbstractAstGenerator<?, ?, ?, ?>>
+        implements ItemProcessor<String, StreamableOutput>, StepExecutionListener {
+    private static final String AST_OUTPUT_HEADER = "Generated AST is:\n";
 
     private final TGenerator astGenerator;
     private final String processorName;
-    public AbstractAstGenerationProcess(TGenerator astGenerator) {
+    private final ParseModeCounters parseModeCounters;
+    private final ConversionCache conversionCache;
+    private final CacheCounters cacheCounters;
+    private final ItemOrigins itemOrigins;
+    private final ItemMetrics itemMetrics;
+    private final ItemTimings itemTimings;
+
+    public AbstractAstGenerationProcess(TGenerator astGenerator, ConversionCache conversionCache, ItemOrigins itemOrigins) {
         this.astGenerator = astGenerator;
         this.processorName = this.astGenerator.getTypeName();
+        this.parseModeCounters = new ParseModeCounters();
+        this.conversionCache = Objects.requireNonNull(conversionCache, "Conversion cache cannot be null");
+        this.cacheCounters = new CacheCounters();
+        this.itemOrigins = Objects.requireNonNull(itemOrigins, "Item origins cannot be null");
+        this.itemMetrics = new ItemMetrics(this.processorName, ItemMetrics.TARGET_AST);
+        this.itemTimings = new ItemTimings();
         log.info("'{}' is initialized.", getDisplayName());
     }
 
-    // Abstract methods to be implemented by subclasses
-    protected abstract AstNode getAstRootFromListener(TListener listener);
-
     private String getDisplayName() {
         return this.processorName + Constants.AST_GENERATION_PROCESS_SUFFIX;
     }
@@ -40,35 +68,90 @@ public abstract class AbstractAstGenerationProcess<TGenerator extends AbstractAs
 
     @Override
     public ExitStatus afterStep(StepExecution stepExecution) {
+        this.parseModeCounters.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
+        log.info("Parse modes used by the '{}' in the step '{}': {}", getDisplayName(), stepExecution.getStepName(), this.parseModeCounters);
+        if (this.conversionCache.isEnabled()) {
+            this.cacheCounters.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
+            log.info("Conversion cache usage of the '{}' in the step '{}': {}", getDisplayName(), stepExecution.getStepName(), this.cacheCounters);
+        }
+        this.itemTimings.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putString);
+        getParserMetrics().toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
         log.debug("After step for the '{}'. Step Name is '{}', Status is '{}'.",
                 getDisplayName(), stepExecution.getStepName(), stepExecution.getExitStatus().getExitCode());
         return stepExecution.getExitStatus();
     }
 
+    public CacheCounters getCacheCounters() {
+        return this.cacheCounters;
+    }
+
+    public ParserMetrics getParserMetrics() {
+        return this.astGenerator.getParserMetrics();
+    }
+
     @Override
-    public String process(@NonNull String item) {
+    public StreamableOutput process(@NonNull String item) {
+        return process(item, this.itemOrigins.take(item), () -> {
+            ParsedInput parsedInput = this.astGenerator.parseInput(item);
+            this.parseModeCounters.record(parsedInput.parseMode());
+            return parsedInput;
+        });
+    }
+
+    /**
+     * Processes the item with the parse tree of the given supplier, which is only called when the AST is not cached. The
+     * error output of the item tells its origin, which is null when unknown.
+     */
+    public StreamableOutput process(String item, ItemOrigin itemOrigin, Supplier<ParsedInput> parsedInputSupplier) {
         log.debug("Processing the input item: {}.", ParserUtils.formatInputForLogging(item));
-        StringBuilder astOutputTree = new StringBuilder("Generated AST is:").append("\n");
-        String errorMessage = this.astGenerator.generateAstFromInput(item);
-        try {
-            if(errorMessage == null) {
-                TListener listener = this.astGenerator.getListener();
-                AstNode astRoot = getAstRootFromListener(listener);
-                if(astRoot != null) {
-                    astRoot.generateAstTree("", true, astOutputTree);
-                    log.debug("AST is generated successfully for the {}.", this.processorName);
-                } else {
-                    String nullAstError = "AST generation completed without any explicit errors, but returned a null AST root.";
-                    log.error("{}", nullAstError);
-                    return nullAstError;
-                }
-            } else
-                return errorMessage;
-        } catch (Exception e) {
-            log.error("Error during AST generation for the item: {}. The Error is: {}",
-                    ParserUtils.formatInputForLogging(item), e.getMessage(), e);
-            throw new RuntimeException("Error during AST generation due to internal error.", e);
+        ItemEvent itemEvent = ItemEvent.start();
+        long itemStart = System.nanoTime();
+        String cacheKey = null;
+        if (this.conversionCache.isEnabled()) {
+            cacheKey = ConversionCache.createItemKey(getDisplayName(), this.astGenerator.getGrammarVersion(), item);
+            Optional<String> cachedAstTree = this.conversionCache.get(cacheKey);
+            if (cachedAstTree.isPresent()) {
+                this.cacheCounters.recordHit();
+                this.itemMetrics.recordItem(itemStart, false);
+                this.itemTimings.record(item, itemStart);
+                itemEvent.markCached();
+                itemEvent.finish(getDisplayName(), item.length(), true);
+                return StreamableOutput.of(AST_OUTPUT_HEADER + cachedAstTree.get());
+            }
+            this.cacheCounters.recordMiss();
+        }
+
+        AstGenerationResult<?> result = this.astGenerator.generateAstFromParsedInput(parsedInputSupplier.get());
+        // The latency of an item excludes the rendering of its tree, which is streamed by the writer.
+        boolean failed = !result.isSuccessful() || result.astRoot() == null;
+        this.itemMetrics.recordItem(itemStart, failed);
+        this.itemTimings.record(item, itemStart);
+        itemEvent.finish(getDisplayName(), item.length(), !failed);
+        if (!result.isSuccessful())
+            return StreamableOutput.of(ItemOrigins.describeError(itemOrigin, result.errorMessage()));
+
+        AstNode astRoot = result.astRoot();
+        if (astRoot == null) {
+            String nullAstError = "AST generation completed without any explicit errors, but returned a null AST root.";
+            log.error("{}", nullAstError);
+            return StreamableOutput.of(ItemOrigins.describeError(itemOrigin, nullAstError));
         }
-        return astOutputTree.toString();
+        log.debug("AST is generated successfully for the {}.", this.processorName);
+        // The tree is rendered by the writer straight into the output file.
+        if (cacheKey == null)
+            return writer -> {
+                writer.write(AST_OUTPUT_HEADER);
+                new AstTreeRenderer().render(astRoot, writer);
+            };
+        // Only the successfully generated trees are cached, the error messages depend on the options of the run.
+        String astCacheKey = cacheKey;
+        return writer -> {
+            writer.write(AST_OUTPUT_HEADER);
+            CapturingWriter capturingWriter = new CapturingWriter(writer, this.conversionCache.getMaxEntrySize());
+            new AstTreeRenderer().render(astRoot, capturingWriter);
+            String astTree = capturingWriter.getCaptured();
+            if (astTree != null)
+                this.conversionCache.put(astCacheKey, astTree);
+        };
     }
 }
\ No newline at end of file
@@ -1,20 +1,16 @@
 package edu.charlotte.parser.ast.generation;
 
-import edu.charlotte.parser.listeners.ast.DlAstListener;
-import edu.charlotte.parser.ast.nodes.AstNode;
 import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.cache.ConversionCache;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class DlAstGenerationProcess extends AbstractAstGenerationProcess<GenerateAstForDl, DlAstListener> {
+public class DlAstGenerationProcess extends AbstractAstGenerationProcess<GenerateAstForDl> {
 
-    public DlAstGenerationProcess(GenerateAstForDl generateAstForDl) {
-        super(generateAstForDl);
+    public DlAstGenerationProcess(GenerateAstForDl generateAstForDl, ConversionCache conversionCache,
+                                  ItemOrigins itemOrigins) {
+        super(generateAstForDl, conversionCache, itemOrigins);
         log.debug("DlAstGenerationProcess is initialized.");
     }
-
-    @Override
-    protected AstNode getAstRootFromListener(DlAstListener listener) {
-        return listener.getAst();
-    }
 }
\ No newline at end of file
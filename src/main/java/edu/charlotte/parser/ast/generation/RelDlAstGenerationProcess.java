@@ -1,20 +1,16 @@
 package edu.charlotte.parser.ast.generation;
 
-import edu.charlotte.parser.listeners.ast.RelDlAstListener;
-import edu.charlotte.parser.ast.nodes.AstNode;
 import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.cache.ConversionCache;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class RelDlAstGenerationProcess extends AbstractAstGenerationProcess<GenerateAstForRelDl, RelDlAstListener> {
+public class RelDlAstGenerationProcess extends AbstractAstGenerationProcess<GenerateAstForRelDl> {
 
-    public RelDlAstGenerationProcess(GenerateAstForRelDl generateAstForRelDl) {
-        super(generateAstForRelDl);
+    public RelDlAstGenerationProcess(GenerateAstForRelDl generateAstForRelDl, ConversionCache conversionCache,
+                                     ItemOrigins itemOrigins) {
+        super(generateAstForRelDl, conversionCache, itemOrigins);
         log.debug("RelDlAstGenerationProcess is initialized.");
     }
-
-    @Override
-    protected AstNode getAstRootFromListener(RelDlAstListener listener) {
-        return listener.getAst();
-    }
 }
\ No newline at end of file
@@ -1,54 +1,161 @@
 package edu.charlotte.parser.ast.nodes;
 
 import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.Token;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 
-// Define the AstNode class
-@Getter
+/**
+ * Node of the AST. A grammar rule node is labelled by its {@link AstNodeKind} and keeps its children in an exactly
+ * sized array. A terminal node keeps the ANTLR token type and the text of its token. Terminal nodes are immutable and
+ * may be shared within and between trees (see {@link AstNodeFactory}), so conversions replace them in their parent
+ * with {@link #setChild(int, AstNode)} instead of changing them.
+ */
 @Slf4j
 public class AstNode {
-    @Setter
-    private String value;
-    private final List<AstNode> children;
+    private static final AstNode[] NO_CHILDREN = new AstNode[0];
 
-    public AstNode() {
-        this.value = null;
-        this.children = new ArrayList<>();
+    @Getter
+    private final AstNodeKind kind;
+    @Getter
+    private final int tokenType;
+    @Getter
+    private final String value;
+    private AstNode[] children;
+
+    // Grammar rule node
+    public AstNode(AstNodeKind kind) {
+        this.kind = Objects.requireNonNull(kind, "AstNode kind cannot be null upon construction.");
+        if (kind.isTerminal())
+            throw new IllegalArgumentException("A terminal AstNode requires the text of its token: " + kind);
+        this.tokenType = Token.INVALID_TYPE;
+        this.value = kind.getLabel();
+        this.children = NO_CHILDREN;
     }
 
-    public AstNode(String value) {
+    // Terminal node, created through the AstNodeFactory
+    AstNode(AstNodeKind kind, int tokenType, String value) {
+        this.kind = Objects.requireNonNull(kind, "AstNode kind cannot be null upon construction.");
+        this.tokenType = tokenType;
         this.value = Objects.requireNonNull(value, "AstNode value cannot be null upon construction.");
-        this.children = new ArrayList<>();
+        this.children = NO_CHILDREN;
     }
 
-    public AstNode(String value, List<AstNode> children) {
-        this.value = Objects.requireNonNull(value, "AstNode value cannot be null upon construction.");
-        this.children = Objects.requireNonNull(children, "AstNode children cannot be null upon construction.");
+    public boolean isTerminal() {
+        return this.kind.isTerminal();
+    }
+
+    public int getChildCount() {
+        return this.children.length;
+    }
+
+    public AstNode getChild(int index) {
+        return this.children[index];
+    }
+
+    public AstNode getLastChild() {
+        return this.children.length == 0 ? null : this.children[this.children.length - 1];
+    }
+
+    public List<AstNode> getChildren() {
+        return Collections.unmodifiableList(Arrays.asList(this.children));
+    }
+
+    public void setChild(int index, AstNode childNode) {
+        this.children[index] = Objects.requireNonNull(childNode, "Child node to be set cannot be null.");
     }
 
     public void addChildren(List<AstNode> childrenNodes) {
         Objects.requireNonNull(childrenNodes, "List of children nodes to be added cannot be null.");
-        this.children.addAll(childrenNodes);
+        if (isTerminal())
+            throw new IllegalStateException("Children cannot be added to the terminal node: " + this.value);
+        int currentCount = this.children.length;
+        AstNode[] newChildren = Arrays.copyOf(this.children, currentCount + childrenNodes.size());
+        for (int index = 0; index < childrenNodes.size(); index++)
+            newChildren[currentCount + index] = childrenNodes.get(index);
+        this.children = newChildren;
         log.debug("Added '{}' children to the node '{}'", childrenNodes.size(), this.value);
     }
 
-    // Generating the AST in a tree structure
+    // Copies the grammar rule nodes of the subtree. The immutable terminal nodes are shared with the copy.
+    public AstNode copy() {
+        if (isTerminal())
+            return this;
+        AstNode copiedRoot = copyRuleNode(this);
+        Deque<AstNode[]> stack = new ArrayDeque<>();
+        stack.push(new AstNode[]{this, copiedRoot});
+        while (!stack.isEmpty()) {
+            AstNode[] sourceAndCopy = stack.pop();
+            AstNode[] sourceChildren = sourceAndCopy[0].children;
+            AstNode[] copiedChildren = sourceAndCopy[1].children;
+            for (int index = 0; index < sourceChildren.length; index++) {
+                AstNode sourceChild = sourceChildren[index];
+                if (sourceChild.isTerminal()) {
+                    copiedChildren[index] = sourceChild;
+                } else {
+                    copiedChildren[index] = copyRuleNode(sourceChild);
+                    stack.push(new AstNode[]{sourceChild, copiedChildren[index]});
+                }
+            }
+        }
+        return copiedRoot;
+    }
+
+    private static AstNode copyRuleNode(AstNode ruleNode) {
+        AstNode copiedNode = new AstNode(ruleNode.kind);
+        copiedNode.children = new AstNode[ruleNode.children.length];
+        return copiedNode;
+    }
+
+    // Generating the AST in a tree structure into the given builder. See AstTreeRenderer for streaming it to a writer.
     public void generateAstTree(String indent, boolean isLast, StringBuilder astOutputTree) {
-        String connector = isLast ? "└── " : "├── "; // Decide whether to use └── (last child) or ├── (middle child) for the current node.
-        astOutputTree.append(indent).append(connector).append(value).append("\n");
-        log.debug("Processed AST tree node: '{}'", value);
-        String childIndent = indent + (isLast ? "    " : "│   "); // Determine new indentation for child nodes
-        for (int i = 0; i < children.size(); i++)
-            children.get(i).generateAstTree(childIndent, i == children.size() - 1, astOutputTree);
+        try {
+            new AstTreeRenderer().render(this, indent, isLast, new StringBuilderWriter(astOutputTree));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Appending to a StringBuilder cannot fail.", e);
+        }
+    }
+
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder builder;
+
+        private StringBuilderWriter(StringBuilder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            this.builder.append(buffer, offset, length);
+        }
+
+        @Override
+        public void write(String text) {
+            this.builder.append(text);
+        }
+
+        @Override
+        public void write(int character) {
+            this.builder.append((char) character);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
     }
 
     @Override
     public String toString() {
-        return "AstNode(value='" + value + "', childrenCount=" + children.size() + ")";
+        return "AstNode(kind=" + kind + ", value='" + value + "', childrenCount=" + children.length + ")";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package edu.charlotte.parser.ast.nodes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.Token;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates the terminal nodes of the ASTs. The operators, keywords and punctuation of the grammars are shared flyweights
+ * for the whole application, as their vocabulary is fixed. The identifiers are interned per factory, so each identifier
+ * of an input item is a single node however often it occurs. A factory is meant to be used for a single input item.
+ */
+@Slf4j
+public class AstNodeFactory {
+    private static final ConcurrentMap<SymbolKey, AstNode> SYMBOLS = new ConcurrentHashMap<>();
+
+    private final Map<String, AstNode> identifiers = new HashMap<>();
+
+    private record SymbolKey(AstNodeKind kind, int tokenType, String text) {}
+
+    // Shared node for an operator, keyword or punctuation symbol. Nodes synthesized by the listeners and the
+    // conversions use Token.INVALID_TYPE as their token type.
+    public static AstNode symbol(int tokenType, String text) {
+        return sharedNode(AstNodeKind.SYMBOL, tokenType, text);
+    }
+
+    public static AstNode symbol(String text) {
+        return symbol(Token.INVALID_TYPE, text);
+    }
+
+    // Shared node of a terminal whose value is replaced by a conversion, keeping the kind and the token type.
+    public static AstNode replaceValue(AstNode terminalNode, String newValue) {
+        if (!terminalNode.isTerminal())
+            throw new IllegalArgumentException("Only the value of a terminal node can be replaced: " + terminalNode);
+        return terminalNode.getKind() == AstNodeKind.IDENTIFIER || terminalNode.getKind() == AstNodeKind.IDENTIFIER_PRIME
+                || terminalNode.getKind() == AstNodeKind.NUMBER
+                ? new AstNode(terminalNode.getKind(), terminalNode.getTokenType(), newValue)
+                : sharedNode(terminalNode.getKind(), terminalNode.getTokenType(), newValue);
+    }
+
+    public AstNode terminal(AstNodeKind kind, int tokenType, String text) {
+        Objects.requireNonNull(text, "Text of a terminal node cannot be null.");
+        return switch (kind) {
+            case IDENTIFIER -> identifiers.computeIfAbsent(text, identifier -> new AstNode(AstNodeKind.IDENTIFIER, tokenType, identifier));
+            case IDENTIFIER_PRIME, NUMBER -> new AstNode(kind, tokenType, text);
+            case SYMBOL, PROGRAM_CONSIDERED, EOF -> sharedNode(kind, tokenType, text);
+            default -> throw new IllegalArgumentException("Not a terminal node kind: " + kind);
+        };
+    }
+
+    private static AstNode sharedNode(AstNodeKind kind, int tokenType, String text) {
+        Objects.requireNonNull(text, "Text of a symbol node cannot be null.");
+        return SYMBOLS.computeIfAbsent(new SymbolKey(kind, tokenType, text), key -> {
+            log.debug("Created the shared node for the symbol '{}' of the token type {}.", key.text(), key.tokenType());
+            return new AstNode(key.kind(), key.tokenType(), key.text());
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package edu.charlotte.parser.ast.nodes;
+
+import edu.charlotte.parser.utils.Constants;
+import lombok.Getter;
+
+/**
+ * Kinds of the AST nodes. The grammar rule kinds carry the label printed for the node in the AST tree, the terminal
+ * kinds take their value from the text of the token.
+ */
+@Getter
+public enum AstNodeKind {
+    DL_PROGRAM(Constants.AST_NODE_DL_PROGRAM),
+    FORMULA(Constants.AST_NODE_DL_FORMULA),
+    PROGRAM(Constants.AST_NODE_DL_PROGRAM_CONTEXT),
+    BINARY_EXPRESSION(Constants.AST_NODE_DL_BINARY_EXPRESSION),
+    TERM_WITH_PARENTHESES(Constants.AST_NODE_DL_TERM_WITH_PARENTHESES),
+    REL_DL_PROGRAM(Constants.AST_NODE_REL_DL_PROGRAM),
+    REL_FORMULA(Constants.AST_NODE_REL_DL_FORMULA),
+    REL_PROGRAM(Constants.AST_NODE_REL_DL_PROGRAM_CONTEXT),
+    REL_TERM(Constants.AST_NODE_REL_DL_TERM),
+
+    IDENTIFIER(null),
+    IDENTIFIER_PRIME(null),
+    NUMBER(null),
+    PROGRAM_CONSIDERED(null),
+    // Operators, keywords and punctuation of the grammars.
+    SYMBOL(null),
+    EOF(null);
+
+    private final String label;
+
+    AstNodeKind(String label) {
+        this.label = label;
+    }
+
+    public boolean isTerminal() {
+        return this.label == null;
+    }
+}
@@ -0,0 +1,57 @@
+package edu.charlotte.parser.ast.nodes;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Walks of the AST driven by an explicit stack instead of recursion, so that the depth of the tree is only bounded
+ * by the heap and never by the stack of the thread.
+ */
+public final class AstTraversals {
+    private AstTraversals() {}
+
+    @FunctionalInterface
+    public interface ChildVisitor {
+        /**
+         * Visits the child at the given index of its parent. The visitor may replace the child in its parent, the walk
+         * then descends into the replacing node.
+         */
+        void visit(AstNode parent, int index, AstNode child);
+    }
+
+    // A grammar rule node being walked along with the index of its next child to be visited.
+    private static final class Frame {
+        private final AstNode node;
+        private int nextChildIndex;
+
+        private Frame(AstNode node) {
+            this.node = node;
+        }
+    }
+
+    // Visits all the descendants of the root in pre-order, i.e. in the order of the tokens of the input.
+    public static void forEachDescendant(AstNode root, ChildVisitor visitor) {
+        Deque<Frame> stack = new ArrayDeque<>();
+        stack.push(new Frame(root));
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (frame.nextChildIndex == frame.node.getChildCount()) {
+                stack.pop();
+                continue;
+            }
+
+            int index = frame.nextChildIndex++;
+            visitor.visit(frame.node, index, frame.node.getChild(index));
+            AstNode child = frame.node.getChild(index);
+            if (child.getChildCount() > 0)
+                stack.push(new Frame(child));
+        }
+    }
+
+    // Number of the nodes of the tree, the root included.
+    public static long countNodes(AstNode root) {
+        long[] count = {1};
+        forEachDescendant(root, (parent, index, child) -> count[0]++);
+        return count[0];
+    }
+}
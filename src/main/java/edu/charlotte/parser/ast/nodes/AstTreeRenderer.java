@@ -0,0 +1,62 @@
+package edu.charlotte.parser.ast.nodes;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Renders an AST as the box-drawing tree written by the AST generation jobs. The lines are streamed to the writer as
+ * they are produced, so the rendered tree is never held in memory as a whole. All the lines share a single indentation
+ * buffer: a line only depends on the indentation of its parent, which is a prefix of the buffer that is not modified
+ * until all the descendants of the parent are rendered.
+ */
+public final class AstTreeRenderer {
+    private static final char[] MIDDLE_CONNECTOR = "├── ".toCharArray();
+    private static final char[] LAST_CONNECTOR = "└── ".toCharArray();
+    private static final char[] MIDDLE_INDENT = "│   ".toCharArray();
+    private static final char[] LAST_INDENT = "    ".toCharArray();
+    private static final int INITIAL_INDENT_CAPACITY = 64;
+
+    private char[] indent = new char[INITIAL_INDENT_CAPACITY];
+
+    // A node waiting to be rendered along with the length of the indentation of its line.
+    private record TreeLine(AstNode node, boolean isLast, int indentLength) {}
+
+    public void render(AstNode root, Writer writer) throws IOException {
+        render(root, "", true, writer);
+    }
+
+    // Renders the tree of the root in pre-order from an explicit stack, starting with the given indentation.
+    public void render(AstNode root, String initialIndent, boolean isLast, Writer writer) throws IOException {
+        ensureIndentCapacity(initialIndent.length());
+        initialIndent.getChars(0, initialIndent.length(), this.indent, 0);
+        Deque<TreeLine> stack = new ArrayDeque<>();
+        stack.push(new TreeLine(root, isLast, initialIndent.length()));
+        while (!stack.isEmpty()) {
+            TreeLine line = stack.pop();
+            AstNode node = line.node();
+            int indentLength = line.indentLength();
+            writer.write(this.indent, 0, indentLength);
+            writer.write(line.isLast() ? LAST_CONNECTOR : MIDDLE_CONNECTOR); // └── for the last child, ├── for a middle child.
+            writer.write(node.getValue());
+            writer.write('\n');
+
+            int childCount = node.getChildCount();
+            if (childCount == 0)
+                continue;
+            char[] childIndent = line.isLast() ? LAST_INDENT : MIDDLE_INDENT;
+            ensureIndentCapacity(indentLength + childIndent.length);
+            System.arraycopy(childIndent, 0, this.indent, indentLength, childIndent.length);
+            int childIndentLength = indentLength + childIndent.length;
+            for (int i = childCount - 1; i >= 0; i--)
+                stack.push(new TreeLine(node.getChild(i), i == childCount - 1, childIndentLength));
+        }
+    }
+
+    private void ensureIndentCapacity(int capacity) {
+        if (capacity > this.indent.length)
+            this.indent = Arrays.copyOf(this.indent, Math.max(capacity, this.indent.length * 2));
+    }
+}
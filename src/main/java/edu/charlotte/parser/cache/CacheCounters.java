@@ -0,0 +1,47 @@
+package edu.charlotte.parser.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread-safe counts of the conversion cache hits and misses for the items of a step.
+public class CacheCounters {
+    private static final String EXECUTION_CONTEXT_KEY_PREFIX = "cache.";
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void recordHit() {
+        this.hits.increment();
+    }
+
+    public void recordMiss() {
+        this.misses.increment();
+    }
+
+    public void add(CacheCounters cacheCounters) {
+        this.hits.add(cacheCounters.getHits());
+        this.misses.add(cacheCounters.getMisses());
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    // Counts keyed by the names to be stored in the execution context of the step.
+    public Map<String, Long> toExecutionContextEntries() {
+        Map<String, Long> entries = new LinkedHashMap<>();
+        entries.put(EXECUTION_CONTEXT_KEY_PREFIX + "hits", getHits());
+        entries.put(EXECUTION_CONTEXT_KEY_PREFIX + "misses", getMisses());
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheCounters(hits=" + getHits() + ", misses=" + getMisses() + ")";
+    }
+}
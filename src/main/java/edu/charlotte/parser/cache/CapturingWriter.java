@@ -0,0 +1,64 @@
+package edu.charlotte.parser.cache;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer passing the written characters to its delegate while capturing them for the conversion cache. The capture is
+ * abandoned once it exceeds the given number of characters, so streaming a large output never buffers it as a whole.
+ */
+public class CapturingWriter extends Writer {
+    private final Writer delegate;
+    private final long maxCapturedLength;
+    private StringBuilder captured;
+
+    public CapturingWriter(Writer delegate, long maxCapturedLength) {
+        this.delegate = delegate;
+        this.maxCapturedLength = maxCapturedLength;
+        this.captured = new StringBuilder();
+    }
+
+    // Returns the captured characters, or null if they exceeded the maximum length.
+    public String getCaptured() {
+        return this.captured == null ? null : this.captured.toString();
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        this.delegate.write(buffer, offset, length);
+        if (this.captured != null && canCapture(length))
+            this.captured.append(buffer, offset, length);
+    }
+
+    @Override
+    public void write(String text) throws IOException {
+        this.delegate.write(text);
+        if (this.captured != null && canCapture(text.length()))
+            this.captured.append(text);
+    }
+
+    @Override
+    public void write(int character) throws IOException {
+        this.delegate.write(character);
+        if (this.captured != null && canCapture(1))
+            this.captured.append((char) character);
+    }
+
+    private boolean canCapture(int length) {
+        if (this.captured.length() + (long) length <= this.maxCapturedLength)
+            return true;
+        this.captured = null;
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.delegate.flush();
+    }
+
+    // The delegate is owned by the caller and stays open.
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
@@ -0,0 +1,274 @@
+package edu.charlotte.parser.cache;
+
+import edu.charlotte.parser.utils.BuildVersionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content-addressed cache of the outputs of the processed items, stored in a local directory so that it is shared by
+ * the runs and the JVMs using the same directory. An entry is a file named by the SHA-256 key of the item, written to a
+ * temporary file and atomically moved in place, so a reader never sees a partial entry. The last modified time of an
+ * entry is refreshed on every hit, and once the entries exceed the maximum size the least recently used ones are
+ * evicted by a single sweep at a time across all the JVMs, serialized by a lock on the lock file of the directory.
+ */
+@Slf4j
+public class ConversionCache {
+    private static final String LOCK_FILE_NAME = ".lock";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    // Eviction frees some room below the maximum size, so that it does not run again on the next entry.
+    private static final double EVICTION_TARGET_RATIO = 0.9;
+    // Temporary files older than this are left over by a crashed JVM.
+    private static final Duration STALE_TEMPORARY_FILE_AGE = Duration.ofHours(1);
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+    private static final int TEXT_KEY_CHUNK_LENGTH = 1 << 16;
+
+    private final Path directory;
+    private final long maxSize;
+    private final long maxEntrySize;
+    private final AtomicLong estimatedSize;
+    private final ReentrantLock evictionLock;
+
+    public ConversionCache(Path directory, long maxSize, long maxEntrySize) {
+        if (maxSize <= 0 || maxEntrySize <= 0)
+            throw new IllegalArgumentException("Maximum sizes of the conversion cache must be positive: " + maxSize + ", " + maxEntrySize);
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+        this.estimatedSize = new AtomicLong();
+        this.evictionLock = new ReentrantLock();
+        if (directory != null)
+            openDirectory();
+    }
+
+    public static ConversionCache disabled() {
+        return new ConversionCache(null, 1, 1);
+    }
+
+    public boolean isEnabled() {
+        return this.directory != null;
+    }
+
+    public long getMaxEntrySize() {
+        return this.maxEntrySize;
+    }
+
+    // Hex encoded SHA-256 of the parts, separated so that no two different lists of parts have the same key.
+    public static String createKey(String... parts) {
+        MessageDigest digest = createDigest();
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HEX_FORMAT.formatHex(digest.digest());
+    }
+
+    // Same key as createKey(text.toString()), hashed in chunks so that a mapped input is not copied into a single string.
+    public static String createTextKey(CharSequence text) {
+        if (text instanceof String string)
+            return createKey(string);
+        MessageDigest digest = createDigest();
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(text.length(), start + TEXT_KEY_CHUNK_LENGTH);
+            // A chunk does not split a surrogate pair, which would be encoded as two replacement characters.
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1)))
+                end--;
+            digest.update(text.subSequence(start, end).toString().getBytes(StandardCharsets.UTF_8));
+            start = end;
+        }
+        digest.update((byte) 0);
+        return HEX_FORMAT.formatHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM.", e);
+        }
+    }
+
+    // Key of the output of an input item for the given job type and grammar, as converted by the current build.
+    public static String createItemKey(String jobType, String grammarVersion, String item) {
+        return createKey(BuildVersionUtils.getBuildVersion(), jobType, grammarVersion, normalize(item));
+    }
+
+    /*
+     * Normalizes the text of an item, so that items differing only in their layout share their entry. Whitespace only
+     * separates tokens, so the runs of spaces and tabs are collapsed and the blank lines are dropped. The line breaks
+     * are kept, as they end the '//' comments.
+     */
+    public static String normalize(String input) {
+        StringBuilder normalized = new StringBuilder(input.length());
+        for (String line : input.split("\\R")) {
+            String normalizedLine = line.strip().replaceAll("[ \\t]+", " ");
+            if (normalizedLine.isEmpty())
+                continue;
+            if (!normalized.isEmpty())
+                normalized.append('\n');
+            normalized.append(normalizedLine);
+        }
+        return normalized.toString();
+    }
+
+    public Optional<String> get(String key) {
+        if (!isEnabled())
+            return Optional.empty();
+        Path entryPath = entryPath(key);
+        String value;
+        try {
+            value = Files.readString(entryPath, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            log.debug("Conversion cache miss for the key '{}'.", key);
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read the conversion cache entry '{}'. Treating it as a miss.", entryPath, e);
+            return Optional.empty();
+        }
+        touch(entryPath);
+        log.debug("Conversion cache hit for the key '{}'.", key);
+        return Optional.of(value);
+    }
+
+    /*
+     * Refreshes the last use of an entry, on a best-effort basis. The value of the entry is already read, so an entry
+     * evicted or replaced by another JVM in between is still a hit, it only keeps its older time for the next sweep.
+     */
+    private void touch(Path entryPath) {
+        try {
+            Files.setLastModifiedTime(entryPath, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Failed to refresh the last use of the conversion cache entry '{}'.", entryPath, e);
+        }
+    }
+
+    public void put(String key, String value) {
+        if (!isEnabled())
+            return;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > this.maxEntrySize) {
+            log.debug("Not caching the entry '{}' of {} bytes, which exceeds the maximum entry size.", key, bytes.length);
+            return;
+        }
+
+        Path entryPath = entryPath(key);
+        try {
+            Files.createDirectories(entryPath.getParent());
+            Path temporaryPath = Files.createTempFile(entryPath.getParent(), key, TEMPORARY_FILE_SUFFIX);
+            try {
+                Files.write(temporaryPath, bytes);
+                Files.move(temporaryPath, entryPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+            log.debug("Stored the conversion cache entry '{}' of {} bytes.", key, bytes.length);
+        } catch (IOException e) {
+            log.warn("Failed to store the conversion cache entry '{}'.", entryPath, e);
+            return;
+        }
+        if (this.estimatedSize.addAndGet(bytes.length) > this.maxSize)
+            evictLeastRecentlyUsedEntries();
+    }
+
+    // Entries are spread over sub-directories named by the first two characters of their keys.
+    private Path entryPath(String key) {
+        return this.directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private void openDirectory() {
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to create the conversion cache directory: " + this.directory, e);
+        }
+        long size = listEntries().stream().mapToLong(CacheEntry::size).sum();
+        this.estimatedSize.set(size);
+        log.info("Opened the conversion cache directory '{}' holding {} bytes of entries.", this.directory, size);
+    }
+
+    // Sweeps the entries in the order of their last use. The other JVMs may add entries meanwhile, so the sizes are re-read.
+    private void evictLeastRecentlyUsedEntries() {
+        if (!this.evictionLock.tryLock())
+            return;
+        try (FileChannel lockChannel = FileChannel.open(this.directory.resolve(LOCK_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
+            List<CacheEntry> entries = listEntries();
+            long size = entries.stream().mapToLong(CacheEntry::size).sum();
+            long targetSize = (long) (this.maxSize * EVICTION_TARGET_RATIO);
+            int evictedCount = 0;
+            entries.sort(Comparator.comparing(CacheEntry::lastModifiedTime));
+            for (CacheEntry entry : entries) {
+                if (size <= targetSize)
+                    break;
+                if (Files.deleteIfExists(entry.path()))
+                    evictedCount++;
+                size -= entry.size();
+            }
+            this.estimatedSize.set(size);
+            log.debug("Evicted {} least recently used conversion cache entries, {} bytes remain.", evictedCount, size);
+        } catch (IOException e) {
+            log.warn("Failed to evict the conversion cache entries of the directory '{}'.", this.directory, e);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private record CacheEntry(Path path, long size, FileTime lastModifiedTime) {}
+
+    // The entries may be replaced or evicted by the other threads and JVMs meanwhile, so the files gone while listing are skipped.
+    private List<CacheEntry> listEntries() {
+        List<CacheEntry> entries = new ArrayList<>();
+        Instant staleTemporaryFileTime = Instant.now().minus(STALE_TEMPORARY_FILE_AGE);
+        try {
+            Files.walkFileTree(this.directory, Set.of(), 2, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) throws IOException {
+                    if (!attributes.isRegularFile() || path.getParent().equals(directory))
+                        return FileVisitResult.CONTINUE;
+                    if (!path.getFileName().toString().endsWith(TEMPORARY_FILE_SUFFIX))
+                        entries.add(new CacheEntry(path, attributes.size(), attributes.lastModifiedTime()));
+                    else if (attributes.lastModifiedTime().toInstant().isBefore(staleTemporaryFileTime))
+                        Files.deleteIfExists(path);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path path, IOException e) throws IOException {
+                    if (!(e instanceof NoSuchFileException))
+                        throw e;
+                    log.debug("Conversion cache entry '{}' was removed while listing the entries.", path);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to list the conversion cache entries of the directory '{}'.", this.directory, e);
+        }
+        return entries;
+    }
+}
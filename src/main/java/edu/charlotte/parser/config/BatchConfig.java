@@ -1,8 +1,13 @@
 package edu.charlotte.parser.config;
 
+import edu.charlotte.parser.daemon.ConversionDaemon;
+import edu.charlotte.parser.jobs.io.ReaderMode;
 import edu.charlotte.parser.utils.Constants;
+import edu.charlotte.parser.validation.SyntaxValidationProcess;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.JobParametersInvalidException;
@@ -13,22 +18,32 @@ import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ExitCodeGenerator;
 import org.springframework.context.annotation.Configuration;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.List;
 
 @Slf4j
 @Configuration
-public class BatchConfig implements ApplicationRunner {
+public class BatchConfig implements ApplicationRunner, ExitCodeGenerator {
 
     // Using final as dependencies are injected via constructor
     private final Job loadDlAstGenerationJob;
     private final Job loadRelDlAstGenerationJob;
     private final Job loadDlToKeYmaeraXConversionJob;
     private final Job loadRelDlToKeYmaeraXConversionJob;
+    private final Job loadDlMultiTargetJob;
+    private final Job loadRelDlMultiTargetJob;
+    private final Job loadDlValidationJob;
+    private final Job loadRelDlValidationJob;
     private final JobLauncher jobLauncher;
     private final String outputFilePath;
+    private final ReaderMode readerMode;
+    private final ConversionDaemon conversionDaemon;
+    // Exit code of the application, set by the validation jobs so that scripts and hooks can check the syntax of their files.
+    private int exitCode;
 
     // Constructor injection for all dependencies
     public BatchConfig(
@@ -36,69 +51,131 @@ public class BatchConfig implements ApplicationRunner {
             Job loadRelDlAstGenerationJob,
             Job loadDlToKeYmaeraXConversionJob,
             Job loadRelDlToKeYmaeraXConversionJob,
+            Job loadDlMultiTargetJob,
+            Job loadRelDlMultiTargetJob,
+            Job loadDlValidationJob,
+            Job loadRelDlValidationJob,
             JobLauncher jobLauncher,
-            @Value("${dl-output}") String outputFilePath) {
+            @Value("${dl-output}") String outputFilePath,
+            @Value("${input-reader.mode:file}") String readerMode,
+            ConversionDaemon conversionDaemon) {
         this.loadDlAstGenerationJob = loadDlAstGenerationJob;
         this.loadRelDlAstGenerationJob = loadRelDlAstGenerationJob;
         this.loadDlToKeYmaeraXConversionJob = loadDlToKeYmaeraXConversionJob;
         this.loadRelDlToKeYmaeraXConversionJob = loadRelDlToKeYmaeraXConversionJob;
+        this.loadDlMultiTargetJob = loadDlMultiTargetJob;
+        this.loadRelDlMultiTargetJob = loadRelDlMultiTargetJob;
+        this.loadDlValidationJob = loadDlValidationJob;
+        this.loadRelDlValidationJob = loadRelDlValidationJob;
         this.jobLauncher = jobLauncher;
         this.outputFilePath = outputFilePath;
+        this.readerMode = ReaderMode.getReaderMode(readerMode);
+        this.conversionDaemon = conversionDaemon;
         log.debug("Batch Config is initialized.");
     }
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
+        // The daemon serves the conversions until the application is stopped, instead of running a job.
+        if (this.conversionDaemon.isEnabled()) {
+            if (args.containsOption("job.name"))
+                log.warn("The job options are ignored while the conversion daemon is enabled.");
+            this.conversionDaemon.awaitClose();
+            return;
+        }
         long start = System.currentTimeMillis();
 
         // To ensure required options are present
-        if (!args.containsOption("job.name") || !args.containsOption("input.file")) {
+        if (!args.containsOption("job.name") || !(args.containsOption("input.file") || args.containsOption("input.dir")
+                || args.containsOption("input.glob"))) {
             log.error(Constants.ERROR_MESSAGE_FOR_MISSING_JOB_PARAMETERS);
             throw new JobParametersInvalidException(Constants.ERROR_MESSAGE_FOR_MISSING_JOB_PARAMETERS);
         }
 
         String jobName = args.getOptionValues("job.name").getFirst();
-        String inputFile = args.getOptionValues("input.file").getFirst();
-        runJob(jobName, inputFile);
+        String inputFile = getOptionValue(args, "input.file");
+        String inputDir = getOptionValue(args, "input.dir");
+        String inputGlob = getOptionValue(args, "input.glob");
+        runJob(jobName, inputFile, inputDir, inputGlob);
         if (log.isInfoEnabled()) {
             log.info("Job execution took {} ms", System.currentTimeMillis() - start);
         }
     }
 
-    private void runJob(String jobName, String inputFile) throws JobExecutionAlreadyRunningException, JobRestartException, JobInstanceAlreadyCompleteException, JobParametersInvalidException {
-        checkArgumentsValidity(jobName, inputFile);
-        executeJob(jobName, inputFile);
+    @Override
+    public int getExitCode() {
+        return this.exitCode;
+    }
+
+    private String getOptionValue(ApplicationArguments args, String optionName) {
+        return args.containsOption(optionName) ? args.getOptionValues(optionName).getFirst() : null;
+    }
+
+    private void runJob(String jobName, String inputFile, String inputDir, String inputGlob) throws JobExecutionAlreadyRunningException, JobRestartException, JobInstanceAlreadyCompleteException, JobParametersInvalidException {
+        checkArgumentsValidity(jobName, inputFile, inputDir, inputGlob);
+        executeJob(jobName, inputFile, inputDir, inputGlob);
     }
 
-    private void checkArgumentsValidity(String jobName, String inputFile) {
+    private void checkArgumentsValidity(String jobName, String inputFile, String inputDir, String inputGlob) {
         if (jobName == null || jobName.trim().isEmpty()) {
             log.error("Job name ({}) cannot be null or empty.", jobName);
             throw new IllegalArgumentException("Job name cannot be null or empty.");
         }
-        if (inputFile == null || inputFile.trim().isEmpty()) {
+        if (inputFile != null && (inputDir != null || inputGlob != null)) {
+            log.error("Input file ({}) cannot be combined with an input directory ({}) or glob ({}).", inputFile, inputDir, inputGlob);
+            throw new IllegalArgumentException("Input file cannot be combined with an input directory or glob.");
+        }
+        if (inputFile != null && inputFile.trim().isEmpty()) {
             log.error("Input file path ({}) cannot be null or empty.", inputFile);
             throw new IllegalArgumentException("Input file path cannot be null or empty.");
         }
-        log.info("Job Name to be parsed: {}, Input File to be parsed: {}", jobName, inputFile);
+        if (inputFile == null && inputDir != null && inputDir.trim().isEmpty()) {
+            log.error("Input directory path ({}) cannot be empty.", inputDir);
+            throw new IllegalArgumentException("Input directory path cannot be empty.");
+        }
+        if (inputFile == null && inputGlob != null && inputGlob.trim().isEmpty()) {
+            log.error("Input glob ({}) cannot be empty.", inputGlob);
+            throw new IllegalArgumentException("Input glob cannot be empty.");
+        }
+        log.info("Job Name to be parsed: {}, Input File to be parsed: {}, Input Directory to be parsed: {}, Input Glob: {}",
+                jobName, inputFile, inputDir, inputGlob);
     }
 
-    private JobParameters createJobParams(String jobName, String inputFile, String fileExtension) {
-        File input = new File(inputFile);
-        if (!input.exists() || !input.isFile()) {
-            log.error("Input file ({}) does not exist or is not a file.", inputFile);
-            throw new IllegalArgumentException("Input file does not exist or is not a file: " + inputFile);
-        }
+    private JobParameters createJobParams(String jobName, String inputFile, String inputDir, String inputGlob, List<String> fileExtensions) {
+        JobParametersBuilder paramsBuilder = new JobParametersBuilder()
+                .addString(Constants.JOB_NAME, jobName)
+                .addString(Constants.OUTPUT_DIR, this.outputFilePath);
 
-        // Use Paths.get for robust path handling and joining.
-        String outputFileName = input.getName() + fileExtension;
-        String outputPath = Paths.get(this.outputFilePath, outputFileName).toString();
-        log.info("Output file set to: {}", outputPath);
+        if (inputFile != null) {
+            File input = new File(inputFile);
+            if (!input.exists() || !input.isFile()) {
+                log.error("Input file ({}) does not exist or is not a file.", inputFile);
+                throw new IllegalArgumentException("Input file does not exist or is not a file: " + inputFile);
+            }
+
+            // Use Paths.get for robust path handling and joining.
+            for (String fileExtension : fileExtensions) {
+                String outputFileName = input.getName() + fileExtension;
+                String outputPath = Paths.get(this.outputFilePath, outputFileName).toString();
+                log.info("Output file set to: {}", outputPath);
+            }
+            paramsBuilder.addString(Constants.INPUT_FILE, inputFile);
+        } else {
+            // A glob without a directory is matched against the current working directory.
+            File directory = new File(inputDir == null ? "." : inputDir);
+            if (!directory.exists() || !directory.isDirectory()) {
+                log.error("Input directory ({}) does not exist or is not a directory.", directory);
+                throw new IllegalArgumentException("Input directory does not exist or is not a directory: " + directory);
+            }
+
+            String glob = inputGlob == null ? Constants.DEFAULT_INPUT_GLOB : inputGlob;
+            log.info("Output files for the inputs matching '{}' in '{}' are set under: {}", glob, directory, this.outputFilePath);
+            paramsBuilder.addString(Constants.INPUT_DIR, directory.toPath().toAbsolutePath().normalize().toString())
+                    .addString(Constants.INPUT_GLOB, glob);
+        }
 
         // Add a unique run.id parameter to ensure job parameters are always unique which helps in preventing JobInstanceAlreadyCompleteException on subsequent runs with same file.
-        JobParameters params = new JobParametersBuilder()
-                .addString(Constants.JOB_NAME, jobName)
-                .addString(Constants.INPUT_FILE, inputFile)
-                .addString(Constants.OUTPUT_FILE, outputPath)
+        JobParameters params = paramsBuilder
                 .addLong("run.id", System.currentTimeMillis())
                 .toJobParameters();
         log.debug("Job Parameters created: {}", params);
@@ -107,27 +184,60 @@ public class BatchConfig implements ApplicationRunner {
 
     /**
      * We will use the JobType enum to get the correct job identifier and file extension.
-     * We will select the job based on the enum type.
+     * We will select the job based on the enum type. A comma separated list of job names of the same grammar runs a
+     * single multi-target job, which parses every formula once and writes the output of each of the listed jobs.
      */
-    private void executeJob(String jobName, String inputFile)
+    private void executeJob(String jobName, String inputFile, String inputDir, String inputGlob)
             throws JobExecutionAlreadyRunningException, JobRestartException,
             JobInstanceAlreadyCompleteException, JobParametersInvalidException {
 
         JobParameters jobParameters;
         try {
-            JobType type = JobType.getJobType(jobName);
-            jobParameters = createJobParams(jobName, inputFile, type.getFileExtension());
-
-            switch (type) {
-                case DL_AST_GENERATION -> jobLauncher.run(loadDlAstGenerationJob, jobParameters);
-                case DL_TO_KEYMAERAX_OUTPUT_CONVERSION -> jobLauncher.run(loadDlToKeYmaeraXConversionJob, jobParameters);
-                case REL_DL_AST_GENERATION -> jobLauncher.run(loadRelDlAstGenerationJob, jobParameters);
-                case REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION -> jobLauncher.run(loadRelDlToKeYmaeraXConversionJob, jobParameters);
+            List<JobType> types = JobType.getJobTypes(jobName);
+            // The jobs building a parse tree keep every token of a formula, so they gain nothing from mapping its file.
+            if (this.readerMode == ReaderMode.MAPPED && types.stream().anyMatch(type -> !type.isValidation()))
+                throw new IllegalArgumentException("The mapped input reader mode is only supported by the validation jobs: " + jobName);
+            jobParameters = createJobParams(jobName, inputFile, inputDir, inputGlob,
+                    types.stream().map(JobType::getFileExtension).toList());
+
+            if (types.size() == 1) {
+                switch (types.getFirst()) {
+                    case DL_AST_GENERATION -> jobLauncher.run(loadDlAstGenerationJob, jobParameters);
+                    case DL_TO_KEYMAERAX_OUTPUT_CONVERSION -> jobLauncher.run(loadDlToKeYmaeraXConversionJob, jobParameters);
+                    case REL_DL_AST_GENERATION -> jobLauncher.run(loadRelDlAstGenerationJob, jobParameters);
+                    case REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION -> jobLauncher.run(loadRelDlToKeYmaeraXConversionJob, jobParameters);
+                    case DL_VALIDATE -> recordValidationOutcome(jobLauncher.run(loadDlValidationJob, jobParameters));
+                    case REL_DL_VALIDATE -> recordValidationOutcome(jobLauncher.run(loadRelDlValidationJob, jobParameters));
+                }
+                return;
             }
+
+            // A validation job builds no AST, so there is no parse to share with the other jobs.
+            if (types.stream().anyMatch(JobType::isValidation))
+                throw new IllegalArgumentException("Validation jobs cannot be combined with other jobs: " + jobName);
+
+            // The listed jobs share the parse of a formula only when their inputs follow the same grammar.
+            String grammarTypeName = types.getFirst().getGrammarTypeName();
+            if (types.stream().anyMatch(type -> !type.getGrammarTypeName().equals(grammarTypeName)))
+                throw new IllegalArgumentException("Jobs of different grammars cannot be combined: " + jobName);
+            log.info("Running the jobs {} as a single multi-target job.", types);
+            if (grammarTypeName.equals(Constants.DIFFERENTIAL_DYNAMIC_LOGIC))
+                jobLauncher.run(loadDlMultiTargetJob, jobParameters);
+            else
+                jobLauncher.run(loadRelDlMultiTargetJob, jobParameters);
         } catch (IllegalArgumentException e) {
             // To catch the invalid job name identified by the enum's getJobType method.
             log.error("Invalid Job: {}", jobName.toUpperCase(), e);
             throw new JobParametersInvalidException("Invalid job name specified: " + jobName);
         }
     }
-}
\ No newline at end of file
+
+    // The application exits with 1 when a validation job found invalid items or did not complete.
+    private void recordValidationOutcome(JobExecution jobExecution) {
+        long invalidItems = SyntaxValidationProcess.getInvalidItems(jobExecution);
+        if (invalidItems > 0 || jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            log.warn("Validation found {} invalid item(s), the job completed with the status: {}", invalidItems, jobExecution.getStatus());
+            this.exitCode = 1;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package edu.charlotte.parser.config;
+
+import edu.charlotte.parser.cache.ConversionCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class CacheConfig {
+
+    private final boolean enabled;
+    private final String directory;
+    private final DataSize maxSize;
+    private final DataSize maxEntrySize;
+
+    public CacheConfig(@Value("${cache.enabled:false}") boolean enabled,
+                       @Value("${cache.directory:${java.io.tmpdir}/parser-cache}") String directory,
+                       @Value("${cache.max-size:256MB}") DataSize maxSize,
+                       @Value("${cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+        log.info("CacheConfig is initialized with enabled set to: {}, directory: {}, max size: {} and max entry size: {}",
+                this.enabled, this.directory, this.maxSize, this.maxEntrySize);
+    }
+
+    @Bean
+    public ConversionCache conversionCache() {
+        if (!this.enabled)
+            return ConversionCache.disabled();
+        return new ConversionCache(Path.of(this.directory), this.maxSize.toBytes(), this.maxEntrySize.toBytes());
+    }
+}
@@ -0,0 +1,85 @@
+package edu.charlotte.parser.config;
+
+import edu.charlotte.parser.ast.generation.DlAstGenerationProcess;
+import edu.charlotte.parser.ast.generation.RelDlAstGenerationProcess;
+import edu.charlotte.parser.cache.ConversionCache;
+import edu.charlotte.parser.conversions.common.GenerateKeYmaeraXOutput;
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConversionProcess;
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
+import edu.charlotte.parser.conversions.reldl.keymaerax.RelDlConversionEngine;
+import edu.charlotte.parser.conversions.reldl.keymaerax.RelDlToKeYmaeraXConversionProcess;
+import edu.charlotte.parser.daemon.ConversionDaemon;
+import edu.charlotte.parser.daemon.DaemonEndpoint;
+import edu.charlotte.parser.daemon.FormulaConversion;
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.grammars.ParserOptions;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@Slf4j
+public class DaemonConfig {
+
+    private final boolean enabled;
+    private final int port;
+    private final int threads;
+    private final DataSize maxRequestSize;
+    private final int warmupFormulas;
+    private final RelDlConversionEngine conversionEngine;
+
+    public DaemonConfig(@Value("${daemon.enabled:false}") boolean enabled,
+                        @Value("${daemon.port:8090}") int port,
+                        @Value("${daemon.threads:0}") int threads,
+                        @Value("${daemon.max-request-size:16MB}") DataSize maxRequestSize,
+                        @Value("${daemon.warmup-formulas:200}") int warmupFormulas,
+                        @Value("${conversion.rel-dl-engine:fused}") String conversionEngine) {
+        this.enabled = enabled;
+        this.port = port;
+        // Zero or a negative number of threads uses all the available cores.
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxRequestSize = maxRequestSize;
+        this.warmupFormulas = warmupFormulas;
+        this.conversionEngine = RelDlConversionEngine.getRelDlConversionEngine(conversionEngine);
+        log.info("DaemonConfig is initialized with enabled set to: {}, port: {}, threads: {}, max request size: {} and warm-up formulas: {}",
+                this.enabled, this.port, this.threads, this.maxRequestSize, this.warmupFormulas);
+    }
+
+    /*
+     * The generators and the processes of the daemon live as long as the application, instead of a step, so that every
+     * request reuses their recognizers. The daemon writes no output files, so its archive entries get random IDs.
+     */
+    @Bean(destroyMethod = "close")
+    public ConversionDaemon conversionDaemon(ParserOptions parserOptions, DlToKeYmaeraXConverter dlToKeYmaeraXConverter,
+                                             ConversionCache conversionCache) {
+        if (!this.enabled)
+            return ConversionDaemon.disabled();
+        // Every thread of the daemon may parse a formula with the same generator.
+        ParserOptions daemonParserOptions = parserOptions.withMaxIdleRecognizers(this.threads);
+        GenerateAstForDl generateAstForDl = new GenerateAstForDl(daemonParserOptions);
+        // The RelDL listener builds a different AST for the KeYmaeraX conversion, as in the multi-target job.
+        GenerateAstForRelDl generateAstForRelDl = new GenerateAstForRelDl(false, daemonParserOptions);
+        GenerateAstForRelDl generateAstForKeYmaeraX = new GenerateAstForRelDl(true, daemonParserOptions);
+        GenerateKeYmaeraXOutput generateKeYmaeraXOutput = new GenerateKeYmaeraXOutput(false);
+
+        Map<DaemonEndpoint, FormulaConversion> conversions = new EnumMap<>(DaemonEndpoint.class);
+        conversions.put(DaemonEndpoint.DL_AST, FormulaConversion.ast(generateAstForDl,
+                new DlAstGenerationProcess(generateAstForDl, conversionCache, ItemOrigins.disabled())));
+        conversions.put(DaemonEndpoint.DL_KEYMAERAX, FormulaConversion.keYmaeraX(generateAstForDl,
+                new DlToKeYmaeraXConversionProcess(generateAstForDl, generateKeYmaeraXOutput, dlToKeYmaeraXConverter, conversionCache,
+                        ItemOrigins.disabled())));
+        conversions.put(DaemonEndpoint.REL_DL_AST, FormulaConversion.ast(generateAstForRelDl,
+                new RelDlAstGenerationProcess(generateAstForRelDl, conversionCache, ItemOrigins.disabled())));
+        conversions.put(DaemonEndpoint.REL_DL_KEYMAERAX, FormulaConversion.keYmaeraX(generateAstForKeYmaeraX,
+                new RelDlToKeYmaeraXConversionProcess(generateAstForKeYmaeraX, generateKeYmaeraXOutput, dlToKeYmaeraXConverter,
+                        this.conversionEngine, conversionCache, ItemOrigins.disabled())));
+        return new ConversionDaemon(conversions, this.port, this.threads, this.maxRequestSize.toBytes(), this.warmupFormulas);
+    }
+}
@@ -3,19 +3,37 @@ package edu.charlotte.parser.config;
 import edu.charlotte.parser.utils.Constants;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 public enum JobType {
-    DL_AST_GENERATION(Constants.JOBNAME_DL_AST_GENERATION, Constants.AST_GENERATION_EXTENSION),
-    DL_TO_KEYMAERAX_OUTPUT_CONVERSION(Constants.JOBNAME_DL_TO_KEYMAERAX_OUTPUT_CONVERSION, Constants.KEYMAERAX_EXTENSION),
-    REL_DL_AST_GENERATION(Constants.JOBNAME_REL_DL_AST_GENERATION, Constants.AST_GENERATION_EXTENSION),
-    REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION(Constants.JOBNAME_REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION, Constants.KEYMAERAX_EXTENSION);
+    DL_AST_GENERATION(Constants.JOBNAME_DL_AST_GENERATION, Constants.AST_GENERATION_EXTENSION, Constants.DIFFERENTIAL_DYNAMIC_LOGIC),
+    DL_TO_KEYMAERAX_OUTPUT_CONVERSION(Constants.JOBNAME_DL_TO_KEYMAERAX_OUTPUT_CONVERSION, Constants.KEYMAERAX_EXTENSION, Constants.DIFFERENTIAL_DYNAMIC_LOGIC),
+    REL_DL_AST_GENERATION(Constants.JOBNAME_REL_DL_AST_GENERATION, Constants.AST_GENERATION_EXTENSION, Constants.RELATIONAL_DYNAMIC_LOGIC),
+    REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION(Constants.JOBNAME_REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION, Constants.KEYMAERAX_EXTENSION, Constants.RELATIONAL_DYNAMIC_LOGIC),
+    DL_VALIDATE(Constants.JOBNAME_DL_VALIDATION, Constants.VALIDATION_EXTENSION, Constants.DIFFERENTIAL_DYNAMIC_LOGIC),
+    REL_DL_VALIDATE(Constants.JOBNAME_REL_DL_VALIDATION, Constants.VALIDATION_EXTENSION, Constants.RELATIONAL_DYNAMIC_LOGIC);
 
     private final String jobNameIdentifier;
     private final String fileExtension;
+    // Type name of the grammar of the input files of the job.
+    private final String grammarTypeName;
 
-    JobType(String jobNameIdentifier, String fileExtension) {
+    JobType(String jobNameIdentifier, String fileExtension, String grammarTypeName) {
         this.jobNameIdentifier = jobNameIdentifier;
         this.fileExtension = fileExtension;
+        this.grammarTypeName = grammarTypeName;
+    }
+
+    // Validation jobs only check the syntax of their inputs, they generate no AST.
+    public boolean isValidation() {
+        return this == DL_VALIDATE || this == REL_DL_VALIDATE;
+    }
+
+    // KeYmaeraX conversion jobs write an archive entry per item.
+    public boolean isKeYmaeraXConversion() {
+        return this == DL_TO_KEYMAERAX_OUTPUT_CONVERSION || this == REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION;
     }
 
     // Helper method to get JobType from the Job Name identifier string
@@ -26,4 +44,15 @@ public enum JobType {
         }
         throw new IllegalArgumentException("Invalid Job: " + name);
     }
-}
+
+    // Helper method to get the distinct JobTypes of a comma separated list of Job Name identifiers, in the order of the list
+    public static List<JobType> getJobTypes(String names) {
+        List<JobType> types = new ArrayList<>();
+        for (String name : names.split(",")) {
+            JobType type = getJobType(name.trim());
+            if (!types.contains(type))
+                types.add(type);
+        }
+        return types;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package edu.charlotte.parser.config;
+
+import edu.charlotte.parser.metrics.MetricsExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class MetricsConfig {
+
+    private final boolean enabled;
+    private final String summaryFile;
+    private final int port;
+
+    public MetricsConfig(@Value("${metrics.enabled:false}") boolean enabled,
+                         @Value("${metrics.summary-file:}") String summaryFile,
+                         @Value("${metrics.port:0}") int port) {
+        this.enabled = enabled;
+        this.summaryFile = summaryFile;
+        this.port = port;
+        log.info("MetricsConfig is initialized with enabled set to: {}, summary file: '{}' and port: {}",
+                this.enabled, this.summaryFile, this.port);
+    }
+
+    // The exporter is closed along with the application context, which writes the summary of the run.
+    @Bean(destroyMethod = "close")
+    public MetricsExporter metricsExporter() {
+        if (!this.enabled)
+            return MetricsExporter.disabled();
+        Path summaryFilePath = this.summaryFile.isBlank() ? null : Path.of(this.summaryFile);
+        return new MetricsExporter(summaryFilePath, this.port);
+    }
+}
@@ -0,0 +1,55 @@
+package edu.charlotte.parser.config;
+
+import edu.charlotte.parser.grammars.DecisionProfiler;
+import edu.charlotte.parser.grammars.ParserOptions;
+import edu.charlotte.parser.jobs.execution.StepExecutionMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class ParserConfig {
+
+    private final boolean twoStagePrediction;
+    private final boolean reuseRecognizers;
+    private final int maxIdleRecognizers;
+    private final DataSize deepInputStackSize;
+    private final boolean profile;
+    private final String profileFile;
+
+    public ParserConfig(@Value("${parser.two-stage-prediction:false}") boolean twoStagePrediction,
+                        @Value("${parser.reuse-recognizers:true}") boolean reuseRecognizers,
+                        @Value("${parser.deep-input-stack-size:0}") DataSize deepInputStackSize,
+                        @Value("${parser.profile:false}") boolean profile,
+                        @Value("${parser.profile-file:decision-profile.txt}") String profileFile,
+                        @Value("${step-execution.mode:serial}") String stepExecutionMode,
+                        @Value("${step-execution.threads:0}") int stepExecutionThreads) {
+        this.twoStagePrediction = twoStagePrediction;
+        this.reuseRecognizers = reuseRecognizers;
+        // A generator of a step parses a single item at a time in the serial mode, and one item per step thread in the parallel mode.
+        this.maxIdleRecognizers = StepExecutionMode.getStepExecutionMode(stepExecutionMode) == StepExecutionMode.SERIAL ? 1
+                : stepExecutionThreads > 0 ? stepExecutionThreads : Runtime.getRuntime().availableProcessors();
+        this.deepInputStackSize = deepInputStackSize;
+        this.profile = profile;
+        this.profileFile = profileFile;
+        log.info("ParserConfig is initialized with two stage prediction set to: {}, recognizer reuse set to: {}, maximum idle recognizers set to: {}, deep input stack size set to: {} and profiling set to: {}",
+                this.twoStagePrediction, this.reuseRecognizers, this.maxIdleRecognizers, this.deepInputStackSize, this.profile);
+    }
+
+    // The profiler is closed along with the application context, which writes the decision profile of the run.
+    @Bean(destroyMethod = "close")
+    public DecisionProfiler decisionProfiler() {
+        return this.profile ? new DecisionProfiler(Path.of(this.profileFile)) : DecisionProfiler.disabled();
+    }
+
+    @Bean
+    public ParserOptions parserOptions(DecisionProfiler decisionProfiler) {
+        return new ParserOptions(this.twoStagePrediction, this.reuseRecognizers, this.maxIdleRecognizers, this.deepInputStackSize.toBytes(),
+                decisionProfiler);
+    }
+}
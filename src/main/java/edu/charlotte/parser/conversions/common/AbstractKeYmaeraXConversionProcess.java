@@ -1,11 +1,22 @@
 package edu.charlotte.parser.conversions.common;
 
 import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.cache.CacheCounters;
+import edu.charlotte.parser.cache.ConversionCache;
 import edu.charlotte.parser.grammars.AbstractAstGenerator;
+import edu.charlotte.parser.grammars.AstGenerationResult;
+import edu.charlotte.parser.grammars.ParseModeCounters;
+import edu.charlotte.parser.grammars.ParsedInput;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.ItemOrigins.ItemOrigin;
+import edu.charlotte.parser.metrics.ItemMetrics;
+import edu.charlotte.parser.metrics.ItemTimings;
+import edu.charlotte.parser.metrics.ParserMetrics;
+import edu.charlotte.parser.metrics.jfr.ItemEvent;
 import edu.charlotte.parser.utils.Constants;
 import edu.charlotte.parser.utils.ParserUtils;
+import io.micrometer.core.instrument.Counter;
 import lombok.extern.slf4j.Slf4j;
-import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
@@ -13,27 +24,42 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.lang.NonNull;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 @StepScope
 @Slf4j
 public abstract class AbstractKeYmaeraXConversionProcess<
-        TGenerator extends AbstractAstGenerator<?, ?, TListener>,
-        TListener extends ParseTreeListener, TIdentifiersData>
+        TGenerator extends AbstractAstGenerator<?, ?, ?, TIdentifiersData>, TIdentifiersData>
         implements ItemProcessor<String, String>, StepExecutionListener {
 
     private final TGenerator astGenerator;
     private final String processorName;
+    private final ParseModeCounters parseModeCounters;
     private final GenerateKeYmaeraXOutput generateKeYmaeraXOutput;
-    protected final Set<String> identifiers;
+    private final ConversionCache conversionCache;
+    private final CacheCounters cacheCounters;
+    private final ItemOrigins itemOrigins;
+    private final ItemMetrics itemMetrics;
+    private final ItemTimings itemTimings;
+    private final Counter outputBytes;
 
-    public AbstractKeYmaeraXConversionProcess(TGenerator astGenerator, String processorName, GenerateKeYmaeraXOutput generateKeYmaeraXOutput) {
+    public AbstractKeYmaeraXConversionProcess(TGenerator astGenerator, String processorName, GenerateKeYmaeraXOutput generateKeYmaeraXOutput,
+                                              ConversionCache conversionCache, ItemOrigins itemOrigins) {
         this.astGenerator = Objects.requireNonNull(astGenerator, "AST Generator cannot be null");
         this.processorName = Objects.requireNonNull(processorName, "Processor name cannot be null");
         this.generateKeYmaeraXOutput = Objects.requireNonNull(generateKeYmaeraXOutput, "KeYmaeraX Output generator cannot be null");
-        this.identifiers = new HashSet<>();
+        this.conversionCache = Objects.requireNonNull(conversionCache, "Conversion cache cannot be null");
+        this.parseModeCounters = new ParseModeCounters();
+        this.cacheCounters = new CacheCounters();
+        this.itemOrigins = Objects.requireNonNull(itemOrigins, "Item origins cannot be null");
+        this.itemMetrics = new ItemMetrics(this.astGenerator.getTypeName(), ItemMetrics.TARGET_KEYMAERAX);
+        this.itemTimings = new ItemTimings();
+        this.outputBytes = ItemMetrics.outputBytes(ItemMetrics.TARGET_KEYMAERAX);
         log.info("'{}' is initialized.", this.getDisplayName());
     }
 
@@ -41,58 +67,127 @@ public abstract class AbstractKeYmaeraXConversionProcess<
         return String.format("%s%s", this.processorName, Constants.KEYMAERAX_OUTPUT_CONVERSION_SUFFIX);
     }
 
-    // Abstract methods to be implemented by subclasses
-    protected abstract AstNode getAstRootFromListener(TListener listener);
-    protected abstract TIdentifiersData getIdentifiersDataFromListener(TListener listener);
-    protected abstract String performKeYmaeraXConversionAndCollectIdentifiers(AstNode astRoot, TIdentifiersData identifierData);
+    // Abstract methods to be implemented by subclasses. The identifiers of the converted item are collected into the given set.
+    protected abstract String performKeYmaeraXConversionAndCollectIdentifiers(AstNode astRoot, TIdentifiersData identifierData,
+                                                                              Set<String> identifiers);
 
     @Override
     public void beforeStep(StepExecution stepExecution) {
-        this.identifiers.clear();
-        log.debug("Before step for the '{}'. Step Name: '{}'. Identifiers have been cleared.", getDisplayName(), stepExecution.getStepName());
+        log.debug("Before step for the '{}'. Step Name: '{}'.", getDisplayName(), stepExecution.getStepName());
     }
 
     @Override
     public ExitStatus afterStep(StepExecution stepExecution) {
+        this.parseModeCounters.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
+        log.info("Parse modes used by the '{}' in the step '{}': {}", getDisplayName(), stepExecution.getStepName(), this.parseModeCounters);
+        if (this.conversionCache.isEnabled()) {
+            this.cacheCounters.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
+            log.info("Conversion cache usage of the '{}' in the step '{}': {}", getDisplayName(), stepExecution.getStepName(), this.cacheCounters);
+        }
+        this.itemTimings.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putString);
+        getParserMetrics().toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
         log.debug("After step for the '{}'. Step Name is '{}', Status is '{}'.",
                 getDisplayName(), stepExecution.getStepName(), stepExecution.getExitStatus().getExitCode());
         return stepExecution.getExitStatus();
     }
 
+    public CacheCounters getCacheCounters() {
+        return this.cacheCounters;
+    }
+
+    public ParserMetrics getParserMetrics() {
+        return this.astGenerator.getParserMetrics();
+    }
+
     @Override
     public String process(@NonNull String item) {
+        return process(item, this.itemOrigins.take(item), () -> {
+            ParsedInput parsedInput = this.astGenerator.parseInput(item);
+            this.parseModeCounters.record(parsedInput.parseMode());
+            return parsedInput;
+        });
+    }
+
+    /**
+     * Converts the item with the parse tree of the given supplier, which is only called when the problem is not cached.
+     * The archive entry of the item derives its ID from its origin, which is null when unknown.
+     */
+    public String process(String item, ItemOrigin itemOrigin, Supplier<ParsedInput> parsedInputSupplier) {
         log.debug("Processing the input item for '{}': {}.", this.getDisplayName(), ParserUtils.formatInputForLogging(item));
+        ItemEvent itemEvent = ItemEvent.start();
+        long itemStart = System.nanoTime();
         try {
-            String errorMessage = this.astGenerator.generateAstFromInput(item);
-            if (errorMessage == null) {
-                TListener listener = this.astGenerator.getListener();
-                AstNode astRoot = getAstRootFromListener(listener);
-
-                if (astRoot == null) {
-                    String nullAstError = "AST generation completed without any explicit errors, but returned a null AST root. Hence, Cannot convert to KeYmaeraX output.";
-                    log.error("{}", nullAstError);
-                    return nullAstError;
-                }
-                String keYmaeraXOutput = performKeYmaeraXConversionAndCollectIdentifiers(astRoot, getIdentifiersDataFromListener(listener));
-
-                if (keYmaeraXOutput == null) {
-                    log.warn("KeYmaeraX conversion returned null output for the item: {}. Skipping the item.",
-                            ParserUtils.formatInputForLogging(item));
-                    return null;
-                }
-
-                log.debug("KeYmaera X Output is: {}", keYmaeraXOutput);
-                return this.generateKeYmaeraXOutput.createFileContent(this.astGenerator.getTypeName(),
-                        this.identifiers, keYmaeraXOutput);
-            } else {
-                log.warn("AST generation failed for item: '{}' due to Error: {}. Skipping the item.",
-                        ParserUtils.formatInputForLogging(item), errorMessage);
-                return null;
-            }
+            KeYmaeraXProblem keYmaeraXProblem = convertItemThroughCache(item, parsedInputSupplier, itemEvent);
+            String fileContent = keYmaeraXProblem == null ? null : this.createFileContent(keYmaeraXProblem, itemOrigin);
+            this.itemMetrics.recordItem(itemStart, fileContent == null);
+            this.itemTimings.record(item, itemStart);
+            itemEvent.finish(getDisplayName(), item.length(), fileContent != null);
+            // Measuring the encoded size costs a pass over the content, so it is skipped while no registry is added.
+            if (fileContent != null && ParserMetrics.isEnabled())
+                this.outputBytes.increment(fileContent.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length());
+            return fileContent;
         } catch (Exception e) {
             log.error("Error during KeYmaeraX conversion process for the item: {}. The Error is: {}",
                     ParserUtils.formatInputForLogging(item), e.getMessage(), e);
             throw new RuntimeException("Error during KeYmaeraX conversion due to internal error.", e);
         }
     }
-}
\ No newline at end of file
+
+    // The archive entry is created again for every item, so that a cached problem still gets its own unique ID.
+    private KeYmaeraXProblem convertItemThroughCache(String item, Supplier<ParsedInput> parsedInputSupplier, ItemEvent itemEvent) {
+        if (!this.conversionCache.isEnabled())
+            return convertItem(item, parsedInputSupplier.get());
+
+        String cacheKey = ConversionCache.createItemKey(getDisplayName(), this.astGenerator.getGrammarVersion(), item);
+        Optional<String> cacheEntry = this.conversionCache.get(cacheKey);
+        if (cacheEntry.isPresent()) {
+            this.cacheCounters.recordHit();
+            itemEvent.markCached();
+            return KeYmaeraXProblem.fromCacheEntry(cacheEntry.get());
+        }
+        this.cacheCounters.recordMiss();
+        KeYmaeraXProblem keYmaeraXProblem = convertItem(item, parsedInputSupplier.get());
+        if (keYmaeraXProblem != null)
+            this.conversionCache.put(cacheKey, keYmaeraXProblem.toCacheEntry());
+        return keYmaeraXProblem;
+    }
+
+    // Converts the parsed item to its KeYmaeraX problem through its AST. Returns null to skip the item.
+    protected KeYmaeraXProblem convertItem(String item, ParsedInput parsedInput) {
+        AstGenerationResult<TIdentifiersData> result = this.astGenerator.generateAstFromParsedInput(parsedInput);
+        if (result.isSuccessful()) {
+            AstNode astRoot = result.astRoot();
+
+            if (astRoot == null) {
+                log.error("AST generation completed without any explicit errors, but returned a null AST root. Hence, Cannot convert to KeYmaeraX output. Skipping the item.");
+                return null;
+            }
+            // Identifiers are collected per item, so that concurrently processed items do not share them.
+            Set<String> identifiers = new HashSet<>();
+            long convertStart = System.nanoTime();
+            String keYmaeraXOutput = performKeYmaeraXConversionAndCollectIdentifiers(astRoot, result.identifiers(), identifiers);
+            this.astGenerator.getParserMetrics().recordPhase(ParserMetrics.Phase.CONVERT, convertStart);
+
+            if (keYmaeraXOutput == null) {
+                log.warn("KeYmaeraX conversion returned null output for the item: {}. Skipping the item.",
+                        ParserUtils.formatInputForLogging(item));
+                return null;
+            }
+            return new KeYmaeraXProblem(identifiers, keYmaeraXOutput);
+        } else {
+            log.warn("AST generation failed for item: '{}' due to Error: {}. Skipping the item.",
+                    ParserUtils.formatInputForLogging(item), result.errorMessage());
+            return null;
+        }
+    }
+
+    protected TGenerator getAstGenerator() {
+        return this.astGenerator;
+    }
+
+    private String createFileContent(KeYmaeraXProblem keYmaeraXProblem, ItemOrigin itemOrigin) {
+        log.debug("KeYmaera X Output is: {}", keYmaeraXProblem.problem());
+        return this.generateKeYmaeraXOutput.createFileContent(this.astGenerator.getTypeName(), keYmaeraXProblem.identifiers(),
+                keYmaeraXProblem.problem(), itemOrigin);
+    }
+}
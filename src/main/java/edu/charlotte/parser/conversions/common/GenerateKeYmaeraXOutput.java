@@ -1,8 +1,11 @@
 package edu.charlotte.parser.conversions.common;
 
+import edu.charlotte.parser.jobs.io.ItemOrigins.ItemOrigin;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -10,12 +13,33 @@ import java.util.UUID;
 @Component
 @Slf4j
 public class GenerateKeYmaeraXOutput {
+
+    private final boolean contentDerivedIds;
+
+    // Incremental builds derive the IDs of the archive entries from their items, so that unchanged outputs stay byte-stable.
+    public GenerateKeYmaeraXOutput(@Value("${incremental.enabled:false}") boolean contentDerivedIds) {
+        this.contentDerivedIds = contentDerivedIds;
+        log.debug("GenerateKeYmaeraXOutput is initialized with content derived IDs set to: {}", this.contentDerivedIds);
+    }
+
+    public boolean hasContentDerivedIds() {
+        return this.contentDerivedIds;
+    }
+
     public String createFileContent(String typeName, Set<String> identifiersSet, String keYmaeraXOutputContent) {
+        return createFileContent(typeName, identifiersSet, keYmaeraXOutputContent, null);
+    }
+
+    /*
+     * The origin is the input file of the item and its position in the file, or null when unknown. Along with the
+     * content, it makes up a content derived ID, so that the repeated formulas of a file still get their own IDs.
+     */
+    public String createFileContent(String typeName, Set<String> identifiersSet, String keYmaeraXOutputContent, ItemOrigin origin) {
         Objects.requireNonNull(typeName, "Type name cannot be null for KeYmaeraX output.");
         Objects.requireNonNull(keYmaeraXOutputContent, "KeYmaeraX problem content cannot be null.");
 
         StringBuilder outputBuilder = new StringBuilder();
-        this.appendFileHeader(outputBuilder, typeName);
+        this.appendFileHeader(outputBuilder, typeName, createUniqueId(typeName, identifiersSet, keYmaeraXOutputContent, origin));
         this.appendProgramVariable(outputBuilder, identifiersSet);
         this.appendProblemSection(outputBuilder, keYmaeraXOutputContent);
         outputBuilder.append("End.");
@@ -24,8 +48,20 @@ public class GenerateKeYmaeraXOutput {
         return outputBuilder.toString();
     }
 
-    private void appendFileHeader(StringBuilder outputBuilder, String typeName) {
-        String uniqueID = UUID.randomUUID().toString();
+    // Name based UUID of the origin and the whole content of the entry, or a random UUID.
+    private String createUniqueId(String typeName, Set<String> identifiersSet, String keYmaeraXOutputContent, ItemOrigin origin) {
+        if (!this.contentDerivedIds || origin == null)
+            return UUID.randomUUID().toString();
+        StringBuilder content = new StringBuilder(origin.input()).append('\0').append(origin.position()).append('\0')
+                .append(typeName).append('\0');
+        if (identifiersSet != null)
+            for (String identifier : identifiersSet)
+                content.append(identifier).append('\0');
+        content.append(keYmaeraXOutputContent);
+        return UUID.nameUUIDFromBytes(content.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private void appendFileHeader(StringBuilder outputBuilder, String typeName, String uniqueID) {
         log.info("Generating KeYmaeraX output content with the unique ID: {}.", uniqueID);
         log.debug("Type name for the header is '{}''.", typeName);
 
@@ -0,0 +1,33 @@
+package edu.charlotte.parser.conversions.common;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * KeYmaeraX problem converted from an input item along with its program variables, before it is wrapped into the
+ * archive entry. It is also the value of the conversion cache entries: the number of identifiers on the first line,
+ * then one identifier per line in the iteration order of the set, then the problem.
+ */
+public record KeYmaeraXProblem(Set<String> identifiers, String problem) {
+
+    public String toCacheEntry() {
+        StringBuilder cacheEntry = new StringBuilder();
+        cacheEntry.append(identifiers.size()).append('\n');
+        for (String identifier : identifiers)
+            cacheEntry.append(identifier).append('\n');
+        return cacheEntry.append(problem).toString();
+    }
+
+    // The identifiers keep the order in which they were cached, so that the program variables are written in the same order.
+    public static KeYmaeraXProblem fromCacheEntry(String cacheEntry) {
+        int lineStart = cacheEntry.indexOf('\n') + 1;
+        int identifierCount = Integer.parseInt(cacheEntry.substring(0, lineStart - 1));
+        Set<String> identifiers = new LinkedHashSet<>();
+        for (int index = 0; index < identifierCount; index++) {
+            int lineEnd = cacheEntry.indexOf('\n', lineStart);
+            identifiers.add(cacheEntry.substring(lineStart, lineEnd));
+            lineStart = lineEnd + 1;
+        }
+        return new KeYmaeraXProblem(identifiers, cacheEntry.substring(lineStart));
+    }
+}
@@ -1,6 +1,10 @@
 package edu.charlotte.parser.conversions.dl.keymaerax;
 
 import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstNodeFactory;
+import edu.charlotte.parser.ast.nodes.AstNodeKind;
+import edu.charlotte.parser.ast.nodes.AstTraversals;
+import edu.charlotte.parser.metrics.jfr.ConversionEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -28,36 +32,49 @@ public class DlToKeYmaeraXConverter {
         log.info("DlToKeYmaeraXConverter instance is created.");
     }
 
+    // Replaces the symbols of the grammar rule node and its descendants by their KeYmaeraX equivalents.
     private void convertNodeValues(AstNode node) {
         if (node == null) {
             log.debug("Node is null, skipping value conversion.");
             return;
         }
 
-        String originalValue = node.getValue();
-        if (originalValue != null && DL_TO_KEYMAERAX_VALUES_MAPPING.containsKey(originalValue)) {
-            String newValue = DL_TO_KEYMAERAX_VALUES_MAPPING.get(originalValue);
-            node.setValue(newValue);
-            log.debug("Converted node value from '{}' to '{}'.", originalValue, newValue);
-        } else
-            log.debug("Node value '{}' does not require conversion or is null.", originalValue);
+        AstTraversals.forEachDescendant(node, (parent, index, childNode) -> {
+            if (childNode.getKind() == AstNodeKind.SYMBOL || childNode.getKind() == AstNodeKind.EOF) {
+                String newValue = convertSymbolValue(childNode.getValue());
+                if (!newValue.equals(childNode.getValue())) {
+                    parent.setChild(index, AstNodeFactory.replaceValue(childNode, newValue));
+                    log.debug("Converted node value from '{}' to '{}'.", childNode.getValue(), newValue);
+                }
+            }
+        });
+    }
 
-        for (AstNode childNode : node.getChildren())
-            this.convertNodeValues(childNode);
+    // Returns the KeYmaeraX value of an operator, keyword or punctuation symbol of the DL grammar.
+    public static String convertSymbolValue(String value) {
+        return DL_TO_KEYMAERAX_VALUES_MAPPING.getOrDefault(value, value);
     }
 
+    // Appends the values of the leaves of the tree, in the order of the input.
     private void appendKeYmaeraXOutput(AstNode node, StringBuilder keYmaeraXOutputBuilder) {
         if (node == null) {
             log.debug("Attempted to append a null AstNode to KeYmaeraX output.");
             return;
         }
 
-        if (node.getChildren().isEmpty() && node.getValue() != null && !node.getValue().trim().isEmpty()) {
-            keYmaeraXOutputBuilder.append(node.getValue()).append(" ");
-            log.debug("Appended the node value '{}' to KeYmaeraX output.", node.getValue());
-        } else {
-            for (AstNode childNode : node.getChildren())
-                this.appendKeYmaeraXOutput(childNode, keYmaeraXOutputBuilder);
+        if (node.getChildCount() == 0)
+            appendLeafValue(node, keYmaeraXOutputBuilder);
+        else
+            AstTraversals.forEachDescendant(node, (parent, index, childNode) -> {
+                if (childNode.getChildCount() == 0)
+                    appendLeafValue(childNode, keYmaeraXOutputBuilder);
+            });
+    }
+
+    private void appendLeafValue(AstNode leafNode, StringBuilder keYmaeraXOutputBuilder) {
+        if (!leafNode.getValue().isBlank()) {
+            keYmaeraXOutputBuilder.append(leafNode.getValue()).append(" ");
+            log.debug("Appended the node value '{}' to KeYmaeraX output.", leafNode.getValue());
         }
     }
 
@@ -65,11 +82,13 @@ public class DlToKeYmaeraXConverter {
         Objects.requireNonNull(astRoot, "Ast root node cannot be null for conversion.");
         log.info("Starting the conversion of AST from DL to KeYmaeraX format.");
 
+        ConversionEvent conversionEvent = ConversionEvent.start();
         convertNodeValues(astRoot);
         log.debug("AST node values are converted to KeYmaeraX values.");
 
         StringBuilder keYmaeraXOutputBuilder = new StringBuilder();
         appendKeYmaeraXOutput(astRoot, keYmaeraXOutputBuilder);
+        conversionEvent.finish(DlToKeYmaeraXConverter.class, astRoot);
         log.info("KeYmaeraX output string is generated.");
         return keYmaeraXOutputBuilder.toString().trim();
     }
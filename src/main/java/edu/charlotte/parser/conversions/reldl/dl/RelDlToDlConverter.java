@@ -1,6 +1,10 @@
 package edu.charlotte.parser.conversions.reldl.dl;
 
 import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstNodeFactory;
+import edu.charlotte.parser.ast.nodes.AstNodeKind;
+import edu.charlotte.parser.ast.nodes.AstTraversals;
+import edu.charlotte.parser.metrics.jfr.ConversionEvent;
 import edu.charlotte.parser.utils.Constants;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +17,7 @@ public class RelDlToDlConverter {
     private static final Map<String, String> REL_DL_TO_DL_VALUES_MAPPING = new HashMap<>();
 
     private final Map<String, String> rightTermIdentifiersConversionMap;
+    private final Map<String, AstNode> convertedIdentifierNodes;
     private boolean isRightTermIdentifier = false;
     @Getter
     private final Set<String> identifiers;
@@ -29,6 +34,7 @@ public class RelDlToDlConverter {
     public RelDlToDlConverter(Map<Character, Set<String>> categorizedIdentifiers) {
         Objects.requireNonNull(categorizedIdentifiers, "Categorized identifiers map cannot be null.");
         this.rightTermIdentifiersConversionMap = new HashMap<>();
+        this.convertedIdentifierNodes = new HashMap<>();
         this.identifiers = new HashSet<>();
         this.initializingRightTermIdentifiersConversionMap(categorizedIdentifiers);
         log.info("RelDlToDlConverter instance is created.");
@@ -50,18 +56,17 @@ public class RelDlToDlConverter {
             }
         });
 
+        // Symbol table of the names taken in the DL program, checked in constant time for every candidate name.
+        final Set<String> takenIdentifiers = new HashSet<>(remainingIdentifiers);
         for (String identifier : rightTermIdentifiers) {
             int counter = 1;
-            String newIdentifier;
-            do {
-                newIdentifier = identifier + counter;
-                if (!remainingIdentifiers.contains(newIdentifier) && !this.rightTermIdentifiersConversionMap.containsValue(newIdentifier)) {
-                    this.rightTermIdentifiersConversionMap.put(identifier, newIdentifier);
-                    log.debug("Mapped right term identifier '{}' to unique identifier '{}'.", identifier, newIdentifier);
-                    break;
-                }
+            String newIdentifier = identifier + counter;
+            while (!takenIdentifiers.add(newIdentifier)) {
                 counter++;
-            } while (true);
+                newIdentifier = identifier + counter;
+            }
+            this.rightTermIdentifiersConversionMap.put(identifier, newIdentifier);
+            log.debug("Mapped right term identifier '{}' to unique identifier '{}'.", identifier, newIdentifier);
         }
         this.setAllIdentifiers(remainingIdentifiers, this.rightTermIdentifiersConversionMap.values());
     }
@@ -79,52 +84,88 @@ public class RelDlToDlConverter {
             return;
         }
 
-        if (node.getValue() == null) {
-            log.warn("Node value is null, skipping conversion for this node.");
-        } else {
-            if (node.getValue().equals("Relational Term") && !node.getChildren().isEmpty() &&
-                    node.getChildren().getLast().getValue().equals(Constants.RIGHT_PROGRAM)) {
-                this.isRightTermIdentifier = true;
-                log.debug("Node value '{}' is a right term, setting isRightTermIdentifier to true.", node.getValue());
-            } else if (node.getValue().equals(",#")) {
-                this.isRightTermIdentifier = true;
-                log.debug("Node value '{}' indicates the start of the right program, setting isRightTermIdentifier to true.", node.getValue());
-            } else if (node.getValue().equals(Constants.RIGHT_PROGRAM) || node.getValue().equals(")#")) {
-                this.isRightTermIdentifier = false;
-                log.debug("Node value '{}' indicates the end of the right program or term, setting isRightTermIdentifier to false.", node.getValue());
-            }
+        this.enterGrammarRuleNode(node);
+        // The descendants are visited in the order of the input, which the detection of the right program relies on.
+        AstTraversals.forEachDescendant(node, (parent, index, childNode) -> {
+            if (childNode.isTerminal())
+                parent.setChild(index, this.convertTerminalNode(childNode));
+            else
+                this.enterGrammarRuleNode(childNode);
+        });
+    }
 
-            if (REL_DL_TO_DL_VALUES_MAPPING.containsKey(node.getValue())) {
-                log.debug("Mapping Rel DL value: '{}' to '{}'.", node.getValue(), REL_DL_TO_DL_VALUES_MAPPING.get(node.getValue()));
-                node.setValue(REL_DL_TO_DL_VALUES_MAPPING.get(node.getValue()));
-            } else if (node.getValue().contains(REL_DL_GRAMMAR_OPERATORS_SYMBOL)) {
-                log.debug("Removing '{}' from the node value: '{}'.", REL_DL_GRAMMAR_OPERATORS_SYMBOL, node.getValue());
-                node.setValue(node.getValue().replace(REL_DL_GRAMMAR_OPERATORS_SYMBOL, ""));
-            }
+    private void enterGrammarRuleNode(AstNode node) {
+        AstNode lastChildNode = node.getLastChild();
+        if (node.getKind() == AstNodeKind.REL_TERM && lastChildNode != null
+                && lastChildNode.getValue().equals(Constants.RIGHT_PROGRAM)) {
+            this.isRightTermIdentifier = true;
+            log.debug("Node value '{}' is a right term, setting isRightTermIdentifier to true.", node.getValue());
+        }
+    }
 
-            if (this.isRightTermIdentifier) {
-                String originalValue = node.getValue();
-                if (this.rightTermIdentifiersConversionMap.containsKey(originalValue)) {
-                    log.debug("Converting the right term identifier: '{}' to '{}'.", node.getValue(), this.rightTermIdentifiersConversionMap.get(node.getValue()));
-                    node.setValue(this.rightTermIdentifiersConversionMap.get(node.getValue()));
-                } else if(originalValue.endsWith("'") && this.rightTermIdentifiersConversionMap.containsKey(originalValue.substring(0, originalValue.length() - 1))) {
-                    String convertedValue = this.rightTermIdentifiersConversionMap.get(originalValue.substring(0, originalValue.length() - 1)) + "'";
-                    log.debug("Converting the right term identifier prime: '{}' to '{}'.", originalValue, convertedValue);
-                    node.setValue(convertedValue);
+    // Returns the DL node replacing a terminal of the Relational DL AST, which is the same node if it is unchanged.
+    private AstNode convertTerminalNode(AstNode node) {
+        String value = node.getValue();
+        switch (node.getKind()) {
+            case SYMBOL, PROGRAM_CONSIDERED -> {
+                if (value.equals(Constants.REL_DL_COMMA)) {
+                    this.isRightTermIdentifier = true;
+                    log.debug("Node value '{}' indicates the start of the right program, setting isRightTermIdentifier to true.", value);
+                } else if (value.equals(Constants.RIGHT_PROGRAM) || value.equals(Constants.REL_DL_CLOSE_BRACKETS)) {
+                    this.isRightTermIdentifier = false;
+                    log.debug("Node value '{}' indicates the end of the right program or term, setting isRightTermIdentifier to false.", value);
                 }
+
+                String convertedValue = convertSymbolValue(value);
+                return convertedValue.equals(value) ? node : AstNodeFactory.replaceValue(node, convertedValue);
+            }
+            case IDENTIFIER -> {
+                String convertedValue = this.isRightTermIdentifier ? this.rightTermIdentifiersConversionMap.get(value) : null;
+                if (convertedValue == null)
+                    return node;
+                log.debug("Converting the right term identifier: '{}' to '{}'.", value, convertedValue);
+                return this.convertedIdentifierNodes.computeIfAbsent(convertedValue, identifier -> AstNodeFactory.replaceValue(node, identifier));
+            }
+            case IDENTIFIER_PRIME -> {
+                String convertedValue = this.isRightTermIdentifier && value.endsWith("'")
+                        ? this.rightTermIdentifiersConversionMap.get(value.substring(0, value.length() - 1)) : null;
+                if (convertedValue == null)
+                    return node;
+                log.debug("Converting the right term identifier prime: '{}' to '{}'.", value, convertedValue + "'");
+                return AstNodeFactory.replaceValue(node, convertedValue + "'");
+            }
+            default -> {
+                return node;
             }
         }
+    }
+
+    // Returns the DL value of an operator, keyword or punctuation symbol of the Relational DL grammar.
+    public static String convertSymbolValue(String value) {
+        String mappedValue = REL_DL_TO_DL_VALUES_MAPPING.get(value);
+        if (mappedValue != null) {
+            log.debug("Mapping Rel DL value: '{}' to '{}'.", value, mappedValue);
+            return mappedValue;
+        } else if (value.contains(REL_DL_GRAMMAR_OPERATORS_SYMBOL)) {
+            log.debug("Removing '{}' from the node value: '{}'.", REL_DL_GRAMMAR_OPERATORS_SYMBOL, value);
+            return value.replace(REL_DL_GRAMMAR_OPERATORS_SYMBOL, "");
+        }
+        return value;
+    }
 
-        for (AstNode childNode : node.getChildren())
-            this.convertToDlAst(childNode);
+    // Returns the unique identifier replacing an identifier of the right program, or null if it is not renamed.
+    public String getConvertedRightTermIdentifier(String identifier) {
+        return this.rightTermIdentifiersConversionMap.get(identifier);
     }
 
     public void convertRelDlToDl(AstNode astRoot) {
         Objects.requireNonNull(astRoot, "Ast root node cannot be null for conversion.");
         log.info("Starting conversion of AST from Rel DL to DL format.");
 
+        ConversionEvent conversionEvent = ConversionEvent.start();
         this.isRightTermIdentifier = false;
         convertToDlAst(astRoot);
+        conversionEvent.finish(RelDlToDlConverter.class, astRoot);
         log.debug("AST conversion from Relational DL to Dynamic Logic format completed.");
     }
 }
\ No newline at end of file
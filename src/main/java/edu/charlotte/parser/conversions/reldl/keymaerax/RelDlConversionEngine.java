@@ -0,0 +1,17 @@
+package edu.charlotte.parser.conversions.reldl.keymaerax;
+
+// Selects how a Relational DL item is converted to KeYmaeraX: by rewriting its AST in several passes, which is the
+// reference implementation, or by emitting the KeYmaeraX output in a single walk over its parse tree.
+public enum RelDlConversionEngine {
+    MULTI_PASS,
+    FUSED;
+
+    // Helper method to get RelDlConversionEngine from the configured engine string
+    public static RelDlConversionEngine getRelDlConversionEngine(String name) {
+        for (RelDlConversionEngine engine : RelDlConversionEngine.values()) {
+            if (engine.name().replace('_', '-').equalsIgnoreCase(name) || engine.name().equalsIgnoreCase(name))
+                return engine;
+        }
+        throw new IllegalArgumentException("Invalid Relational DL conversion engine: " + name);
+    }
+}
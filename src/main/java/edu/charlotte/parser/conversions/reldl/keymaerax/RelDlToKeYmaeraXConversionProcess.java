@@ -1,52 +1,70 @@
 package edu.charlotte.parser.conversions.reldl.keymaerax;
 
-import edu.charlotte.parser.listeners.ast.RelDlAstListener;
 import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.cache.ConversionCache;
 import edu.charlotte.parser.conversions.common.AbstractKeYmaeraXConversionProcess;
 import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
 import edu.charlotte.parser.conversions.common.GenerateKeYmaeraXOutput;
+import edu.charlotte.parser.conversions.common.KeYmaeraXProblem;
 import edu.charlotte.parser.conversions.reldl.dl.RelDlToDlConverter;
 import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.grammars.ParseTreeWalkResult;
+import edu.charlotte.parser.grammars.ParsedInput;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
 import edu.charlotte.parser.utils.Constants;
+import edu.charlotte.parser.utils.ParserUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 @Slf4j
-public class RelDlToKeYmaeraXConversionProcess extends AbstractKeYmaeraXConversionProcess<GenerateAstForRelDl, RelDlAstListener, Map<Character, Set<String>>> {
+public class RelDlToKeYmaeraXConversionProcess extends AbstractKeYmaeraXConversionProcess<GenerateAstForRelDl, Map<Character, Set<String>>> {
 
     private final DlToKeYmaeraXConverter dlToKeYmaeraXConverter;
+    private final RelDlConversionEngine conversionEngine;
 
     public RelDlToKeYmaeraXConversionProcess(GenerateAstForRelDl generateAstForRelDl, GenerateKeYmaeraXOutput generateKeYmaeraXOutput,
-                                             DlToKeYmaeraXConverter dlToKeYmaeraXConverter) {
-        super(generateAstForRelDl, Constants.RELATIONAL_DYNAMIC_LOGIC, generateKeYmaeraXOutput);
+                                             DlToKeYmaeraXConverter dlToKeYmaeraXConverter, RelDlConversionEngine conversionEngine,
+                                             ConversionCache conversionCache, ItemOrigins itemOrigins) {
+        super(generateAstForRelDl, Constants.RELATIONAL_DYNAMIC_LOGIC, generateKeYmaeraXOutput, conversionCache, itemOrigins);
         this.dlToKeYmaeraXConverter = dlToKeYmaeraXConverter;
-        log.debug("RelDlToKeYmaeraXConversionProcess is initialized.");
+        this.conversionEngine = Objects.requireNonNull(conversionEngine, "Relational DL conversion engine cannot be null");
+        log.debug("RelDlToKeYmaeraXConversionProcess is initialized with the conversion engine: {}.", this.conversionEngine);
     }
 
     @Override
-    protected AstNode getAstRootFromListener(RelDlAstListener listener) {
-        Objects.requireNonNull(listener, "RelDlAstListener cannot be null when retrieving Ast root.");
-        return listener.getAst();
-    }
+    protected KeYmaeraXProblem convertItem(String item, ParsedInput parsedInput) {
+        if (this.conversionEngine == RelDlConversionEngine.MULTI_PASS)
+            return super.convertItem(item, parsedInput);
 
-    @Override
-    protected Map<Character, Set<String>> getIdentifiersDataFromListener(RelDlAstListener listener) {
-        Objects.requireNonNull(listener, "RelDlAstListener cannot be null when retrieving identifiers data.");
-        return listener.getIdentifiers();
+        ParseTreeWalkResult<RelDlToKeYmaeraXEmitter> result = getAstGenerator().walkParsedInput(parsedInput, RelDlToKeYmaeraXEmitter::new);
+        if (!result.isSuccessful()) {
+            log.warn("Parsing failed for item: '{}' due to Error: {}. Skipping the item.",
+                    ParserUtils.formatInputForLogging(item), result.errorMessage());
+            return null;
+        }
+
+        RelDlToKeYmaeraXEmitter emitter = result.listener();
+        String keYmaeraXOutput = emitter.getKeYmaeraXOutput();
+        Set<String> identifiers = new HashSet<>();
+        identifiers.addAll(emitter.getIdentifiers());
+        log.debug("There are {} identifiers after the fused RelDL to KeYmaeraX conversion.", identifiers.size());
+        return new KeYmaeraXProblem(identifiers, keYmaeraXOutput);
     }
 
     @Override
-    protected String performKeYmaeraXConversionAndCollectIdentifiers(AstNode astRoot, Map<Character, Set<String>> identifierData) {
+    protected String performKeYmaeraXConversionAndCollectIdentifiers(AstNode astRoot, Map<Character, Set<String>> identifierData,
+                                                                     Set<String> identifiers) {
         Objects.requireNonNull(astRoot, "Ast root cannot be null for RelDL to KeYmaeraX conversion.");
         Objects.requireNonNull(identifierData, "Identifiers data cannot be null for RelDL to KeYmaeraX conversion.");
 
         RelDlToDlConverter relDlToDlConverter = new RelDlToDlConverter(identifierData);
         relDlToDlConverter.convertRelDlToDl(astRoot);
 
-        this.identifiers.addAll(relDlToDlConverter.getIdentifiers());
+        identifiers.addAll(relDlToDlConverter.getIdentifiers());
         log.debug("There are {} identifiers after RelDL to DL conversion.", relDlToDlConverter.getIdentifiers().size());
 
         return this.dlToKeYmaeraXConverter.convertDlToKeYmaeraX(astRoot);
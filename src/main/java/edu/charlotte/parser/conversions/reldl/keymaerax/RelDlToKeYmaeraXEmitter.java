@@ -0,0 +1,204 @@
+package edu.charlotte.parser.conversions.reldl.keymaerax;
+
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
+import edu.charlotte.parser.conversions.reldl.dl.RelDlToDlConverter;
+import edu.charlotte.parser.listeners.ast.RelDlIdentifierCollector;
+import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicBaseListener;
+import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicParser;
+import edu.charlotte.parser.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Emits the KeYmaeraX problem of a Relational DL input in a single walk over its parse tree, without building and
+ * rewriting an AST. Each token is converted as it is visited: the relational assignments are expanded into their left
+ * and right DL assignments, the '#' of the relational operators is stripped, the DL operators are mapped to KeYmaeraX
+ * and the identifiers of the right program are renamed. This produces the same problem as the {@link RelDlToDlConverter}
+ * followed by the {@link DlToKeYmaeraXConverter}, which remain the reference implementation.
+ * <p>
+ * The unique names of the right program identifiers depend on all the identifiers of the input, so the positions of
+ * the identifiers to be renamed are recorded and the names are only filled in once the walk is complete.
+ */
+@Slf4j
+public class RelDlToKeYmaeraXEmitter extends RelationalDynamicLogicBaseListener {
+    private final RelDlIdentifierCollector identifierCollector;
+    private final StringBuilder output;
+    private final List<DeferredIdentifier> deferredIdentifiers;
+    // Tokens of the relational assignment being visited, which are emitted twice once it is exited.
+    private List<Token> relationalAssignmentTokens;
+    private boolean isRightTermIdentifier;
+    private RelDlToDlConverter relDlToDlConverter;
+
+    // Identifier of the right program whose name is filled in at the given position of the output.
+    private record DeferredIdentifier(int position, String identifier, boolean isPrime) {}
+
+    public RelDlToKeYmaeraXEmitter() {
+        this.identifierCollector = new RelDlIdentifierCollector();
+        this.output = new StringBuilder();
+        this.deferredIdentifiers = new ArrayList<>();
+        log.debug("RelDlToKeYmaeraXEmitter is initialized.");
+    }
+
+    @Override
+    public void enterRelAtomicProgram(RelationalDynamicLogicParser.RelAtomicProgramContext ctx) {
+        if (ctx.REL_DL_ASSIGNMENT_OPERATOR() != null) {
+            this.relationalAssignmentTokens = new ArrayList<>();
+            log.debug("Collecting the tokens of the relational assignment to expand it into DL assignments.");
+        }
+    }
+
+    @Override
+    public void exitRelAtomicProgram(RelationalDynamicLogicParser.RelAtomicProgramContext ctx) {
+        if (ctx.REL_DL_TERNARY_OPERATOR() != null) {
+            emitSymbol(Constants.DL_SEMI_COLON);
+        } else if (ctx.REL_DL_ASSIGNMENT_OPERATOR() != null) {
+            List<Token> assignmentTokens = this.relationalAssignmentTokens;
+            this.relationalAssignmentTokens = null;
+            emitExpandedRelationalAssignment(assignmentTokens);
+        }
+    }
+
+    @Override
+    public void enterRelTerm(RelationalDynamicLogicParser.RelTermContext ctx) {
+        String programConsidered = ctx.PROGRAM_CONSIDERED() != null ? ctx.PROGRAM_CONSIDERED().getText() : null;
+        this.identifierCollector.enterRelTerm(programConsidered);
+        if (Constants.RIGHT_PROGRAM.equals(programConsidered)) {
+            this.isRightTermIdentifier = true;
+            log.debug("Entering a right term, setting isRightTermIdentifier to true.");
+        }
+    }
+
+    @Override
+    public void exitRelTerm(RelationalDynamicLogicParser.RelTermContext ctx) {
+        this.identifierCollector.exitRelTerm();
+    }
+
+    @Override
+    public void enterAtomicProgram(RelationalDynamicLogicParser.AtomicProgramContext ctx) {
+        if (ctx.IDENTIFIER() != null)
+            this.identifierCollector.addIdentifier(ctx.IDENTIFIER().getText());
+        if (ctx.IDENTIFIER_PRIME() != null)
+            this.identifierCollector.addIdentifierPrime(ctx.IDENTIFIER_PRIME().getText());
+    }
+
+    @Override
+    public void enterAssignmentIdentifier(RelationalDynamicLogicParser.AssignmentIdentifierContext ctx) {
+        if (ctx.IDENTIFIER() != null)
+            this.identifierCollector.addIdentifier(ctx.IDENTIFIER().getText());
+    }
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+        if (this.relationalAssignmentTokens != null)
+            this.relationalAssignmentTokens.add(node.getSymbol());
+        else
+            emitToken(node.getSymbol().getType(), node.getText());
+    }
+
+    // Emits 'x :=# t' as '(# x := t ; ,# x := t ; )#', the same expansion as the one of the AST listener.
+    private void emitExpandedRelationalAssignment(List<Token> assignmentTokens) {
+        if (assignmentTokens.size() < 3 || assignmentTokens.get(1).getType() != RelationalDynamicLogicParser.REL_DL_ASSIGNMENT_OPERATOR) {
+            log.error("Expected an identifier, the relational assignment operator ({}) and a term, but found {} token(s). " +
+                    "Cannot expand the relational assignment operator.", Constants.REL_DL_ASSIGNMENT_OPERATOR, assignmentTokens.size());
+            assignmentTokens.forEach(token -> emitToken(token.getType(), token.getText()));
+            return;
+        }
+
+        Token identifier = assignmentTokens.getFirst();
+        List<Token> valueTokens = assignmentTokens.subList(2, assignmentTokens.size());
+        emitSymbol(Constants.REL_DL_OPEN_BRACKETS);
+        emitAssignment(identifier, valueTokens);
+        emitSymbol(Constants.REL_DL_COMMA);
+        emitAssignment(identifier, valueTokens);
+        emitSymbol(Constants.REL_DL_CLOSE_BRACKETS);
+    }
+
+    private void emitAssignment(Token identifier, List<Token> valueTokens) {
+        emitToken(identifier.getType(), identifier.getText());
+        emitSymbol(Constants.DL_ASSIGNMENT_OPERATOR);
+        valueTokens.forEach(token -> emitToken(token.getType(), token.getText()));
+        emitSymbol(Constants.DL_SEMI_COLON);
+    }
+
+    // Symbols synthesized by the conversion, which have no token type in the grammar.
+    private void emitSymbol(String symbol) {
+        emitToken(Token.INVALID_TYPE, symbol);
+    }
+
+    private void emitToken(int tokenType, String text) {
+        switch (tokenType) {
+            case RelationalDynamicLogicParser.IDENTIFIER -> {
+                if (this.isRightTermIdentifier)
+                    this.deferredIdentifiers.add(new DeferredIdentifier(this.output.length(), text, false));
+                else
+                    emitValue(text);
+            }
+            case RelationalDynamicLogicParser.IDENTIFIER_PRIME -> {
+                if (this.isRightTermIdentifier && text.endsWith("'"))
+                    this.deferredIdentifiers.add(new DeferredIdentifier(this.output.length(), text.substring(0, text.length() - 1), true));
+                else
+                    emitValue(text);
+            }
+            case RelationalDynamicLogicParser.NUMBER -> emitValue(text);
+            case RelationalDynamicLogicParser.PROGRAM_CONSIDERED -> {
+                updateRightProgramState(text);
+                emitValue(RelDlToDlConverter.convertSymbolValue(text));
+            }
+            case Token.EOF -> emitValue(DlToKeYmaeraXConverter.convertSymbolValue(text));
+            default -> {
+                updateRightProgramState(text);
+                emitValue(DlToKeYmaeraXConverter.convertSymbolValue(RelDlToDlConverter.convertSymbolValue(text)));
+            }
+        }
+    }
+
+    private void updateRightProgramState(String symbol) {
+        if (symbol.equals(Constants.REL_DL_COMMA)) {
+            this.isRightTermIdentifier = true;
+            log.debug("Symbol '{}' indicates the start of the right program, setting isRightTermIdentifier to true.", symbol);
+        } else if (symbol.equals(Constants.RIGHT_PROGRAM) || symbol.equals(Constants.REL_DL_CLOSE_BRACKETS)) {
+            this.isRightTermIdentifier = false;
+            log.debug("Symbol '{}' indicates the end of the right program or term, setting isRightTermIdentifier to false.", symbol);
+        }
+    }
+
+    private void emitValue(String value) {
+        if (!value.isBlank())
+            this.output.append(value).append(' ');
+    }
+
+    // Returns the KeYmaeraX problem, filling in the names of the right program identifiers.
+    public String getKeYmaeraXOutput() {
+        RelDlToDlConverter converter = getRelDlToDlConverter();
+        StringBuilder keYmaeraXOutputBuilder = new StringBuilder(this.output.length() + 4 * this.deferredIdentifiers.size());
+        int copiedLength = 0;
+        for (DeferredIdentifier deferredIdentifier : this.deferredIdentifiers) {
+            keYmaeraXOutputBuilder.append(this.output, copiedLength, deferredIdentifier.position());
+            copiedLength = deferredIdentifier.position();
+            String convertedIdentifier = converter.getConvertedRightTermIdentifier(deferredIdentifier.identifier());
+            keYmaeraXOutputBuilder.append(convertedIdentifier != null ? convertedIdentifier : deferredIdentifier.identifier());
+            if (deferredIdentifier.isPrime())
+                keYmaeraXOutputBuilder.append('\'');
+            keYmaeraXOutputBuilder.append(' ');
+        }
+        keYmaeraXOutputBuilder.append(this.output, copiedLength, this.output.length());
+        log.debug("Emitted the KeYmaeraX output with {} renamed right term identifier(s).", this.deferredIdentifiers.size());
+        return keYmaeraXOutputBuilder.toString().trim();
+    }
+
+    // Identifiers of the DL program converted from the input, including the renamed right program identifiers.
+    public Set<String> getIdentifiers() {
+        return getRelDlToDlConverter().getIdentifiers();
+    }
+
+    private RelDlToDlConverter getRelDlToDlConverter() {
+        if (this.relDlToDlConverter == null)
+            this.relDlToDlConverter = new RelDlToDlConverter(this.identifierCollector.getIdentifiers());
+        return this.relDlToDlConverter;
+    }
+}
@@ -0,0 +1,15 @@
+package edu.charlotte.parser.corpus;
+
+// Grammars for which the FormulaCorpusGenerator can produce formulas.
+public enum CorpusGrammar {
+    DL,
+    REL_DL;
+
+    public static CorpusGrammar getCorpusGrammar(String name) {
+        for (CorpusGrammar grammar : CorpusGrammar.values()) {
+            if (grammar.name().equalsIgnoreCase(name))
+                return grammar;
+        }
+        throw new IllegalArgumentException("Invalid corpus grammar: " + name);
+    }
+}
@@ -0,0 +1,35 @@
+package edu.charlotte.parser.corpus;
+
+/**
+ * Options controlling the shape of the formulas produced by the {@link FormulaCorpusGenerator}.
+ *
+ * @param seed                seed of the random generator, the same options always produce the same corpus.
+ * @param maxDepth            maximum nesting depth of the formulas, programs and terms.
+ * @param conjunctionWidth    maximum number of operands joined by the binary logical operators at each nesting level.
+ * @param programLength       maximum number of statements in a sequential composition of programs.
+ * @param identifierCount     number of distinct identifiers used by the formulas.
+ * @param rightProgramRatio   probability of a relational term to refer to the right program (@R) instead of the left one (@L).
+ * @param loopProbability     probability of a program statement to be a '{...}**' loop.
+ */
+public record CorpusOptions(long seed, int maxDepth, int conjunctionWidth, int programLength, int identifierCount,
+                            double rightProgramRatio, double loopProbability) {
+
+    public CorpusOptions {
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("Maximum depth of the corpus formulas cannot be negative: " + maxDepth);
+        if (conjunctionWidth < 1)
+            throw new IllegalArgumentException("Conjunction width of the corpus formulas must be positive: " + conjunctionWidth);
+        if (programLength < 1)
+            throw new IllegalArgumentException("Program length of the corpus formulas must be positive: " + programLength);
+        if (identifierCount < 1)
+            throw new IllegalArgumentException("Identifier count of the corpus formulas must be positive: " + identifierCount);
+        if (rightProgramRatio < 0 || rightProgramRatio > 1)
+            throw new IllegalArgumentException("Right program ratio must be between 0 and 1: " + rightProgramRatio);
+        if (loopProbability < 0 || loopProbability > 1)
+            throw new IllegalArgumentException("Loop probability must be between 0 and 1: " + loopProbability);
+    }
+
+    public static CorpusOptions defaults() {
+        return new CorpusOptions(42L, 4, 3, 3, 16, 0.5, 0.2);
+    }
+}
@@ -0,0 +1,310 @@
+package edu.charlotte.parser.corpus;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Generates valid formulas following the productions of the DynamicDifferentialLogic and RelationalDynamicLogic
+ * grammars. The formulas are driven by a seeded random generator, so the same {@link CorpusOptions} always produce the
+ * same sequence of formulas. The tokens are separated by spaces, so that adjacent tokens are never lexed together.
+ */
+@Slf4j
+public class FormulaCorpusGenerator {
+    private static final String[] COMPARISON_OPERATORS = {"==", "!=", "<=", ">=", "<", ">"};
+    private static final String[] BINARY_EXPRESSION_OPERATORS = {"+", "-", "*", "/"};
+    private static final String[] LOGICAL_OPERATORS = {"&&", "||", "->", "<->"};
+    private static final String[] BOOLEANS = {"true", "false"};
+    private static final String[] REL_DL_COMPARISON_OPERATORS = {"==#", "!=#", "<=#", ">=#", "<#", ">#"};
+    private static final String[] REL_DL_LOGICAL_OPERATORS = {"&&#", "||#", "->#", "<->#"};
+    // Terms are kept shallower than the formulas, so the depth of the corpus is dominated by the logical structure.
+    private static final int MAX_TERM_DEPTH = 2;
+
+    private final CorpusOptions options;
+    private final Random random;
+    private final String[] identifiers;
+
+    public FormulaCorpusGenerator(CorpusOptions options) {
+        this.options = Objects.requireNonNull(options, "Corpus options cannot be null.");
+        this.random = new Random(options.seed());
+        this.identifiers = new String[options.identifierCount()];
+        for (int index = 0; index < this.identifiers.length; index++)
+            this.identifiers[index] = "v" + index;
+        log.debug("FormulaCorpusGenerator initialized with the options: {}", options);
+    }
+
+    public String nextFormula(CorpusGrammar grammar) {
+        StringBuilder formulaBuilder = new StringBuilder();
+        switch (grammar) {
+            case DL -> appendFormula(formulaBuilder, 0);
+            case REL_DL -> appendRelFormula(formulaBuilder, 0);
+        }
+        return formulaBuilder.toString();
+    }
+
+    // Writes one formula per line until the output file reaches the target size. Returns the number of formulas written.
+    public long writeCorpus(Path outputFile, CorpusGrammar grammar, long targetSizeInBytes) throws IOException {
+        Objects.requireNonNull(outputFile, "Output file of the corpus cannot be null.");
+        Objects.requireNonNull(grammar, "Grammar of the corpus cannot be null.");
+        long writtenBytes = 0;
+        long formulaCount = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            while (writtenBytes < targetSizeInBytes) {
+                String formula = nextFormula(grammar);
+                writer.write(formula);
+                writer.newLine();
+                // The formulas only contain ASCII characters.
+                writtenBytes += formula.length() + 1;
+                formulaCount++;
+            }
+        }
+        log.info("Generated {} {} formula(s) with {} bytes in the corpus file: {}", formulaCount, grammar, writtenBytes, outputFile);
+        return formulaCount;
+    }
+
+    // formula : unaryFormula joined by '&&', '||', '->' and '<->'
+    // unaryFormula : ('!' | '[' program ']' | '<<' program '>>')* (term COMPARISON_OPERATORS term | BOOLEANS)
+    private void appendFormula(StringBuilder builder, int depth) {
+        if (depth >= options.maxDepth()) {
+            appendAtomicFormula(builder);
+            return;
+        }
+        switch (random.nextInt(5)) {
+            case 0 -> appendAtomicFormula(builder);
+            case 1 -> {
+                builder.append("! ");
+                appendFormula(builder, depth + 1);
+            }
+            case 2 -> {
+                builder.append("[ ");
+                appendProgram(builder, depth + 1);
+                builder.append(" ] ");
+                appendFormula(builder, depth + 1);
+            }
+            case 3 -> {
+                builder.append("<< ");
+                appendProgram(builder, depth + 1);
+                builder.append(" >> ");
+                appendFormula(builder, depth + 1);
+            }
+            default -> {
+                int width = 1 + random.nextInt(options.conjunctionWidth());
+                appendFormula(builder, depth + 1);
+                for (int index = 1; index < width; index++) {
+                    builder.append(' ').append(pick(LOGICAL_OPERATORS)).append(' ');
+                    appendFormula(builder, depth + 1);
+                }
+            }
+        }
+    }
+
+    private void appendAtomicFormula(StringBuilder builder) {
+        if (random.nextInt(8) == 0) {
+            builder.append(pick(BOOLEANS));
+            return;
+        }
+        appendTerm(builder, 0);
+        builder.append(' ').append(pick(COMPARISON_OPERATORS)).append(' ');
+        appendTerm(builder, 0);
+    }
+
+    // Sequential composition of statements: atomicProgram (';' atomicProgram)*
+    private void appendProgram(StringBuilder builder, int depth) {
+        int length = 1 + random.nextInt(options.programLength());
+        appendStatement(builder, depth);
+        for (int index = 1; index < length; index++) {
+            builder.append(" ; ");
+            appendStatement(builder, depth);
+        }
+    }
+
+    // IDENTIFIER ':=' (term | '**') ';' | '{' program '}' '**' | '{' IDENTIFIER_PRIME '=' term '&&' formula '}'
+    // | '?' formula ';' | the choice program '++' program
+    private void appendStatement(StringBuilder builder, int depth) {
+        if (depth < options.maxDepth()) {
+            if (random.nextDouble() < options.loopProbability()) {
+                builder.append("{ ");
+                appendProgram(builder, depth + 1);
+                builder.append(" } **");
+                return;
+            }
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    appendStatement(builder, depth + 1);
+                    builder.append(" ++ ");
+                    appendStatement(builder, depth + 1);
+                    return;
+                }
+                case 1 -> {
+                    builder.append("? ");
+                    appendFormula(builder, depth + 1);
+                    builder.append(" ;");
+                    return;
+                }
+                case 2 -> {
+                    builder.append("{ ").append(pickIdentifier()).append("' = ");
+                    appendTerm(builder, 0);
+                    builder.append(" && ");
+                    appendFormula(builder, depth + 1);
+                    builder.append(" }");
+                    return;
+                }
+                default -> {
+                    // Falls through to an assignment.
+                }
+            }
+        }
+        builder.append(pickIdentifier()).append(" := ");
+        if (random.nextInt(6) == 0)
+            builder.append("**");
+        else
+            appendTerm(builder, 0);
+        builder.append(" ;");
+    }
+
+    // term : IDENTIFIER | NUMBER | term (ADDITIVE_OPERATORS | MULTIPLICATIVE_OPERATORS) term | '(' term ')'
+    private void appendTerm(StringBuilder builder, int depth) {
+        int choice = depth >= MAX_TERM_DEPTH ? random.nextInt(2) : random.nextInt(4);
+        switch (choice) {
+            case 0 -> builder.append(pickIdentifier());
+            case 1 -> appendNumber(builder);
+            case 2 -> {
+                appendTerm(builder, depth + 1);
+                builder.append(' ').append(pick(BINARY_EXPRESSION_OPERATORS)).append(' ');
+                appendTerm(builder, depth + 1);
+            }
+            default -> {
+                builder.append("( ");
+                appendTerm(builder, depth + 1);
+                builder.append(" )");
+            }
+        }
+    }
+
+    // NUMBER : [0-9]+'.'[0-9]+
+    private void appendNumber(StringBuilder builder) {
+        builder.append(random.nextInt(100)).append('.').append(random.nextInt(1000));
+    }
+
+    // relFormula : relUnaryFormula joined by '&&#', '||#', '->#' and '<->#'
+    // relUnaryFormula : ('!#' | '[#' relProgram ']#' | '<<#' relProgram '>>#')* relTerm REL_DL_COMPARISON_OPERATORS relTerm
+    private void appendRelFormula(StringBuilder builder, int depth) {
+        if (depth >= options.maxDepth()) {
+            appendAtomicRelFormula(builder);
+            return;
+        }
+        switch (random.nextInt(5)) {
+            case 0 -> appendAtomicRelFormula(builder);
+            case 1 -> {
+                builder.append("!# ");
+                appendRelFormula(builder, depth + 1);
+            }
+            case 2 -> {
+                builder.append("[# ");
+                appendRelProgram(builder, depth + 1);
+                builder.append(" ]# ");
+                appendRelFormula(builder, depth + 1);
+            }
+            case 3 -> {
+                builder.append("<<# ");
+                appendRelProgram(builder, depth + 1);
+                builder.append(" >># ");
+                appendRelFormula(builder, depth + 1);
+            }
+            default -> {
+                int width = 1 + random.nextInt(options.conjunctionWidth());
+                appendRelFormula(builder, depth + 1);
+                for (int index = 1; index < width; index++) {
+                    builder.append(' ').append(pick(REL_DL_LOGICAL_OPERATORS)).append(' ');
+                    appendRelFormula(builder, depth + 1);
+                }
+            }
+        }
+    }
+
+    private void appendAtomicRelFormula(StringBuilder builder) {
+        appendRelTerm(builder);
+        builder.append(' ').append(pick(REL_DL_COMPARISON_OPERATORS)).append(' ');
+        appendRelTerm(builder);
+    }
+
+    // relTerm : term PROGRAM_CONSIDERED
+    private void appendRelTerm(StringBuilder builder) {
+        appendTerm(builder, 0);
+        builder.append(random.nextDouble() < options.rightProgramRatio() ? "@R" : "@L");
+    }
+
+    // Sequential composition of relational statements: relAtomicProgram (';#' relAtomicProgram)*
+    private void appendRelProgram(StringBuilder builder, int depth) {
+        int length = 1 + random.nextInt(options.programLength());
+        appendRelStatement(builder, depth);
+        for (int index = 1; index < length; index++) {
+            builder.append(" ;# ");
+            appendRelStatement(builder, depth);
+        }
+    }
+
+    // IDENTIFIER ':=#' (term | '**') | '{#' relProgram '}#' '**' | '{#' IDENTIFIER_PRIME '=#' relTerm '&&#' relFormula '}#'
+    // | '?#' relFormula | '(#' program ',#' program ')#' | the choice relProgram '++#' relProgram
+    private void appendRelStatement(StringBuilder builder, int depth) {
+        if (depth < options.maxDepth()) {
+            if (random.nextDouble() < options.loopProbability()) {
+                builder.append("{# ");
+                appendRelProgram(builder, depth + 1);
+                builder.append(" }# **");
+                return;
+            }
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    appendRelStatement(builder, depth + 1);
+                    builder.append(" ++# ");
+                    appendRelStatement(builder, depth + 1);
+                    return;
+                }
+                case 1 -> {
+                    builder.append("?# ");
+                    appendRelFormula(builder, depth + 1);
+                    return;
+                }
+                case 2 -> {
+                    builder.append("{# ").append(pickIdentifier()).append("' =# ");
+                    appendRelTerm(builder);
+                    builder.append(" &&# ");
+                    appendRelFormula(builder, depth + 1);
+                    builder.append(" }#");
+                    return;
+                }
+                case 3 -> {
+                    builder.append("(# ");
+                    appendProgram(builder, depth + 1);
+                    builder.append(" ,# ");
+                    appendProgram(builder, depth + 1);
+                    builder.append(" )#");
+                    return;
+                }
+                default -> {
+                    // Falls through to a relational assignment.
+                }
+            }
+        }
+        builder.append(pickIdentifier()).append(" :=# ");
+        if (random.nextInt(6) == 0)
+            builder.append("**");
+        else
+            appendTerm(builder, 0);
+    }
+
+    private String pickIdentifier() {
+        return identifiers[random.nextInt(identifiers.length)];
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,73 @@
+package edu.charlotte.parser.corpus;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point writing a synthetic corpus of formulas to a file, e.g.
+ * {@code --grammar=REL_DL --output=corpus.txt --size=64MB --seed=7 --max-depth=5}.
+ * The options not given on the command line keep the values of {@link CorpusOptions#defaults()}.
+ */
+@Slf4j
+public final class GenerateFormulaCorpus {
+    private static final String USAGE = "Usage: --grammar=<DL|REL_DL> --output=<file> --size=<bytes, e.g. 512KB, 64MB> " +
+            "[--seed=<long>] [--max-depth=<int>] [--conjunction-width=<int>] [--program-length=<int>] " +
+            "[--identifier-count=<int>] [--right-program-ratio=<0..1>] [--loop-probability=<0..1>]";
+
+    private GenerateFormulaCorpus() {}
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> arguments = parseArguments(args);
+        if (!arguments.containsKey("grammar") || !arguments.containsKey("output") || !arguments.containsKey("size")) {
+            log.error(USAGE);
+            throw new IllegalArgumentException(USAGE);
+        }
+
+        CorpusOptions defaults = CorpusOptions.defaults();
+        CorpusOptions options = new CorpusOptions(
+                Long.parseLong(arguments.getOrDefault("seed", String.valueOf(defaults.seed()))),
+                Integer.parseInt(arguments.getOrDefault("max-depth", String.valueOf(defaults.maxDepth()))),
+                Integer.parseInt(arguments.getOrDefault("conjunction-width", String.valueOf(defaults.conjunctionWidth()))),
+                Integer.parseInt(arguments.getOrDefault("program-length", String.valueOf(defaults.programLength()))),
+                Integer.parseInt(arguments.getOrDefault("identifier-count", String.valueOf(defaults.identifierCount()))),
+                Double.parseDouble(arguments.getOrDefault("right-program-ratio", String.valueOf(defaults.rightProgramRatio()))),
+                Double.parseDouble(arguments.getOrDefault("loop-probability", String.valueOf(defaults.loopProbability()))));
+
+        CorpusGrammar grammar = CorpusGrammar.getCorpusGrammar(arguments.get("grammar"));
+        long targetSizeInBytes = parseSize(arguments.get("size"));
+        new FormulaCorpusGenerator(options).writeCorpus(Path.of(arguments.get("output")), grammar, targetSizeInBytes);
+    }
+
+    private static Map<String, String> parseArguments(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (String argument : args) {
+            int separatorIndex = argument.indexOf('=');
+            if (!argument.startsWith("--") || separatorIndex < 0) {
+                log.error("Invalid argument '{}'. {}", argument, USAGE);
+                throw new IllegalArgumentException("Invalid argument: " + argument);
+            }
+            arguments.put(argument.substring(2, separatorIndex), argument.substring(separatorIndex + 1));
+        }
+        return arguments;
+    }
+
+    // Parses a size in bytes with an optional KB, MB or GB suffix.
+    static long parseSize(String size) {
+        String normalizedSize = size.trim().toUpperCase();
+        long multiplier = 1;
+        if (normalizedSize.endsWith("KB")) {
+            multiplier = 1024L;
+        } else if (normalizedSize.endsWith("MB")) {
+            multiplier = 1024L * 1024;
+        } else if (normalizedSize.endsWith("GB")) {
+            multiplier = 1024L * 1024 * 1024;
+        }
+        if (multiplier > 1)
+            normalizedSize = normalizedSize.substring(0, normalizedSize.length() - 2).trim();
+        return Long.parseLong(normalizedSize) * multiplier;
+    }
+}
@@ -0,0 +1,228 @@
+package edu.charlotte.parser.daemon;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.charlotte.parser.corpus.CorpusOptions;
+import edu.charlotte.parser.corpus.FormulaCorpusGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the conversions of the jobs over HTTP on the loopback address, so that the tools converting formulas one at a
+ * time do not start the application for every formula. The generators and the conversions are created once and reused
+ * by all the requests, so the ANTLR caches and the JIT compiled code stay warm between requests, and they are warmed up
+ * with generated formulas before the first request is served.
+ * <p>
+ * A request POSTs a single formula as plain text, answered with its output, or with its syntax errors and the status
+ * 422. A batch of formulas is POSTed as a JSON array of strings, answered with a JSON array holding an object with the
+ * {@code output} or the {@code error} of every formula. The requests are served concurrently by a fixed pool of threads,
+ * and the formulas of a batch are converted one after another.
+ */
+@Slf4j
+public class ConversionDaemon implements AutoCloseable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> BATCH_TYPE = new TypeReference<>() {
+    };
+    private static final String JSON_CONTENT_TYPE = "application/json";
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=utf-8";
+
+    private final Map<DaemonEndpoint, FormulaConversion> conversions;
+    private final long maxRequestSize;
+    private final ExecutorService executor;
+    private final HttpServer server;
+    private final CountDownLatch closed;
+
+    public ConversionDaemon(Map<DaemonEndpoint, FormulaConversion> conversions, int port, int threads, long maxRequestSize,
+                            int warmupFormulas) {
+        this.conversions = new EnumMap<>(Objects.requireNonNull(conversions, "Conversions of the daemon cannot be null."));
+        if (!this.conversions.keySet().containsAll(List.of(DaemonEndpoint.values())))
+            throw new IllegalArgumentException("Every endpoint of the daemon needs a conversion: " + this.conversions.keySet());
+        this.maxRequestSize = maxRequestSize;
+        this.closed = new CountDownLatch(1);
+        warmUp(warmupFormulas);
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("daemon-", 0).factory());
+        this.server = startServer(port);
+    }
+
+    private ConversionDaemon() {
+        this.conversions = Map.of();
+        this.maxRequestSize = 0;
+        this.executor = null;
+        this.server = null;
+        this.closed = new CountDownLatch(0);
+    }
+
+    public static ConversionDaemon disabled() {
+        return new ConversionDaemon();
+    }
+
+    public boolean isEnabled() {
+        return this.server != null;
+    }
+
+    // Port the daemon is bound to, which is chosen by the system when the configured port is 0.
+    public int getPort() {
+        return isEnabled() ? this.server.getAddress().getPort() : 0;
+    }
+
+    // Blocks the calling thread until the daemon is closed along with the application context.
+    public void awaitClose() throws InterruptedException {
+        this.closed.await();
+    }
+
+    // Converts the same seeded formulas on every start, so that the first requests find the parsers compiled and trained.
+    private void warmUp(int warmupFormulas) {
+        if (warmupFormulas <= 0)
+            return;
+        long start = System.nanoTime();
+        FormulaCorpusGenerator corpusGenerator = new FormulaCorpusGenerator(CorpusOptions.defaults());
+        for (int index = 0; index < warmupFormulas; index++) {
+            for (Map.Entry<DaemonEndpoint, FormulaConversion> conversion : this.conversions.entrySet())
+                conversion.getValue().convert(corpusGenerator.nextFormula(conversion.getKey().getGrammar()));
+        }
+        log.info("Warmed up the conversion daemon with {} formula(s) per endpoint in {} ms.", warmupFormulas,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private HttpServer startServer(int port) {
+        try {
+            // Only bound to the loopback address, the conversions are meant for the local tools.
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            for (DaemonEndpoint endpoint : DaemonEndpoint.values())
+                httpServer.createContext(endpoint.getPath(), exchange -> handleConversion(exchange, endpoint));
+            httpServer.setExecutor(this.executor);
+            httpServer.start();
+            log.info("Serving the conversions at http://localhost:{} on the endpoints {}", httpServer.getAddress().getPort(),
+                    Arrays.stream(DaemonEndpoint.values()).map(DaemonEndpoint::getPath).toList());
+            return httpServer;
+        } catch (IOException e) {
+            this.executor.shutdown();
+            throw new IllegalArgumentException("Failed to start the conversion daemon on the port: " + port, e);
+        }
+    }
+
+    private void handleConversion(HttpExchange exchange, DaemonEndpoint endpoint) throws IOException {
+        try (exchange) {
+            // A context also matches the paths below its own, which are not endpoints.
+            if (!exchange.getRequestURI().getPath().equals(endpoint.getPath())) {
+                sendText(exchange, 404, "No endpoint at: " + exchange.getRequestURI().getPath());
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendText(exchange, 405, "Formulas are converted by POST requests.");
+                return;
+            }
+            try {
+                convertRequest(exchange, this.conversions.get(endpoint));
+            } catch (RuntimeException e) {
+                log.error("Failed to serve the request to the endpoint: {}", endpoint.getPath(), e);
+                sendText(exchange, 500, "Conversion failed due to internal error: " + e.getMessage());
+            }
+        }
+    }
+
+    private void convertRequest(HttpExchange exchange, FormulaConversion conversion) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        long declaredLength;
+        try {
+            declaredLength = contentLength == null ? -1 : parseContentLength(contentLength);
+        } catch (NumberFormatException e) {
+            sendText(exchange, 400, "Malformed Content-Length header: " + contentLength);
+            return;
+        }
+        byte[] body = readBody(exchange, declaredLength);
+        if (body == null) {
+            sendText(exchange, 413, "Requests are limited to " + this.maxRequestSize + " bytes.");
+            return;
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null && contentType.startsWith(JSON_CONTENT_TYPE))
+            convertBatch(exchange, conversion, body);
+        else
+            convertFormula(exchange, conversion, new String(body, StandardCharsets.UTF_8));
+    }
+
+    private void convertFormula(HttpExchange exchange, FormulaConversion conversion, String formula) throws IOException {
+        ConversionResult result = conversion.convert(formula);
+        if (result.isSuccessful())
+            sendText(exchange, 200, result.output());
+        else
+            sendText(exchange, 422, result.error());
+    }
+
+    private void convertBatch(HttpExchange exchange, FormulaConversion conversion, byte[] body) throws IOException {
+        List<String> formulas;
+        try {
+            formulas = OBJECT_MAPPER.readValue(body, BATCH_TYPE);
+        } catch (JsonProcessingException e) {
+            sendText(exchange, 400, "A batch of formulas is a JSON array of strings: " + e.getOriginalMessage());
+            return;
+        }
+        if (formulas == null || formulas.contains(null)) {
+            sendText(exchange, 400, "A batch of formulas is a JSON array of strings.");
+            return;
+        }
+        List<ConversionResult> results = new ArrayList<>(formulas.size());
+        for (String formula : formulas)
+            results.add(conversion.convert(formula));
+        send(exchange, 200, JSON_CONTENT_TYPE, OBJECT_MAPPER.writeValueAsBytes(results));
+    }
+
+    private static long parseContentLength(String contentLength) {
+        long length = Long.parseLong(contentLength.trim());
+        if (length < 0)
+            throw new NumberFormatException("Negative length: " + length);
+        return length;
+    }
+
+    // Returns null when the body is larger than the limit of the requests. The declared length is -1 when unknown.
+    private byte[] readBody(HttpExchange exchange, long declaredLength) throws IOException {
+        if (declaredLength > this.maxRequestSize)
+            return null;
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            byte[] body = requestBody.readNBytes((int) Math.min(this.maxRequestSize + 1, Integer.MAX_VALUE - 8));
+            return body.length > this.maxRequestSize ? null : body;
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        send(exchange, status, TEXT_CONTENT_TYPE, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!isEnabled())
+            return;
+        this.server.stop(0);
+        this.executor.shutdown();
+        this.closed.countDown();
+        log.info("Stopped the conversion daemon.");
+    }
+}
@@ -0,0 +1,38 @@
+package edu.charlotte.parser.daemon;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import edu.charlotte.parser.grammars.ParsedInput;
+import edu.charlotte.parser.listeners.common.SyntaxError;
+
+/**
+ * Outcome of the conversion of a single formula by the daemon. Either the output is present, with the same content as
+ * the item written by the job of the endpoint, or the error explains why the formula could not be converted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ConversionResult(String output, String error) {
+
+    public static ConversionResult success(String output) {
+        return new ConversionResult(output, null);
+    }
+
+    public static ConversionResult failure(String error) {
+        return new ConversionResult(null, error);
+    }
+
+    // The syntax errors of the formula, one per line, as reported by the validation jobs.
+    public static ConversionResult failure(ParsedInput parsedInput) {
+        if (!parsedInput.isParsed())
+            return failure(parsedInput.errorMessage());
+        StringBuilder error = new StringBuilder()
+                .append(parsedInput.lexerErrorCount() + parsedInput.parserErrorCount()).append(" syntax error(s):");
+        for (SyntaxError syntaxError : parsedInput.syntaxErrors())
+            error.append('\n').append(syntaxError);
+        return failure(error.toString());
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -0,0 +1,25 @@
+package edu.charlotte.parser.daemon;
+
+import edu.charlotte.parser.config.JobType;
+import edu.charlotte.parser.corpus.CorpusGrammar;
+import lombok.Getter;
+
+// Endpoints of the conversion daemon, each converting formulas as the job of the same output.
+@Getter
+public enum DaemonEndpoint {
+    DL_AST("/dl/ast", JobType.DL_AST_GENERATION, CorpusGrammar.DL),
+    DL_KEYMAERAX("/dl/keymaerax", JobType.DL_TO_KEYMAERAX_OUTPUT_CONVERSION, CorpusGrammar.DL),
+    REL_DL_AST("/reldl/ast", JobType.REL_DL_AST_GENERATION, CorpusGrammar.REL_DL),
+    REL_DL_KEYMAERAX("/reldl/keymaerax", JobType.REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION, CorpusGrammar.REL_DL);
+
+    private final String path;
+    private final JobType jobType;
+    // Grammar of the formulas converted at the start of the daemon to warm it up.
+    private final CorpusGrammar grammar;
+
+    DaemonEndpoint(String path, JobType jobType, CorpusGrammar grammar) {
+        this.path = path;
+        this.jobType = jobType;
+        this.grammar = grammar;
+    }
+}
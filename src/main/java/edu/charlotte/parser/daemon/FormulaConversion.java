@@ -0,0 +1,69 @@
+package edu.charlotte.parser.daemon;
+
+import edu.charlotte.parser.ast.generation.AbstractAstGenerationProcess;
+import edu.charlotte.parser.conversions.common.AbstractKeYmaeraXConversionProcess;
+import edu.charlotte.parser.grammars.AbstractAstGenerator;
+import edu.charlotte.parser.grammars.ParsedInput;
+import edu.charlotte.parser.jobs.io.StreamableOutput;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Conversion of a single formula by an endpoint of the daemon. The conversions run the item processors of the jobs, so
+ * the formulas go through the same parsing, conversion cache and metrics as the items of the jobs.
+ */
+@FunctionalInterface
+public interface FormulaConversion {
+    ConversionResult convert(String formula);
+
+    static FormulaConversion ast(AbstractAstGenerator<?, ?, ?, ?> astGenerator, AbstractAstGenerationProcess<?> astGenerationProcess) {
+        return formula -> {
+            AtomicReference<ParsedInput> parsedInput = new AtomicReference<>();
+            StreamableOutput output = astGenerationProcess.process(formula, null, parsing(astGenerator, formula, parsedInput));
+            // The process writes the syntax errors of a formula as its output, the daemon reports them as a failure.
+            if (parsedInput.get() != null && (!parsedInput.get().isParsed() || parsedInput.get().hasErrors()))
+                return failure(astGenerator, formula, parsedInput.get());
+            StringWriter writer = new StringWriter();
+            try {
+                output.writeTo(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return ConversionResult.success(writer.toString());
+        };
+    }
+
+    static FormulaConversion keYmaeraX(AbstractAstGenerator<?, ?, ?, ?> astGenerator,
+                                       AbstractKeYmaeraXConversionProcess<?, ?> keYmaeraXConversionProcess) {
+        return formula -> {
+            AtomicReference<ParsedInput> parsedInput = new AtomicReference<>();
+            String fileContent = keYmaeraXConversionProcess.process(formula, null, parsing(astGenerator, formula, parsedInput));
+            if (fileContent != null)
+                return ConversionResult.success(fileContent);
+            // The process skips a formula it cannot convert, which only leaves its parse to explain why.
+            if (parsedInput.get() != null && (!parsedInput.get().isParsed() || parsedInput.get().hasErrors()))
+                return failure(astGenerator, formula, parsedInput.get());
+            return ConversionResult.failure("The formula could not be converted to the KeYmaeraX format.");
+        };
+    }
+
+    // A parsed formula only counts its syntax errors, so a formula with syntax errors is validated to list them.
+    private static ConversionResult failure(AbstractAstGenerator<?, ?, ?, ?> astGenerator, String formula, ParsedInput parsedInput) {
+        if (!parsedInput.isParsed())
+            return ConversionResult.failure(parsedInput);
+        return ConversionResult.failure(astGenerator.validateInput(formula, 0));
+    }
+
+    // Parses the formula when the process does not find its output in the conversion cache, and keeps its parse.
+    private static Supplier<ParsedInput> parsing(AbstractAstGenerator<?, ?, ?, ?> astGenerator, String formula,
+                                                 AtomicReference<ParsedInput> parsedInput) {
+        return () -> {
+            parsedInput.set(astGenerator.parseInput(formula));
+            return parsedInput.get();
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package edu.charlotte.parser.exceptions;
+
+// Thrown once the parser of an input overflowed the stack of its thread, after the state of the failed parse was dropped.
+public class InputNestedTooDeeplyException extends RuntimeException {
+    public InputNestedTooDeeplyException() {
+        super("The input is nested too deeply for the stack of the parser.", null, false, false);
+    }
+}
@@ -0,0 +1,8 @@
+package edu.charlotte.parser.exceptions;
+
+// Thrown by an error listener to stop its lexer or parser once the input reached the allowed number of syntax errors.
+public class SyntaxErrorLimitException extends RuntimeException {
+    public SyntaxErrorLimitException(String message) {
+        super(message);
+    }
+}
@@ -1,62 +1,112 @@
 package edu.charlotte.parser.grammars;
 
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.exceptions.InputNestedTooDeeplyException;
+import edu.charlotte.parser.exceptions.SyntaxErrorLimitException;
 import edu.charlotte.parser.listeners.common.CountingErrorsListener;
+import edu.charlotte.parser.listeners.common.SyntaxError;
+import edu.charlotte.parser.metrics.ParserMetrics;
+import edu.charlotte.parser.metrics.jfr.AstGenerationEvent;
+import edu.charlotte.parser.metrics.jfr.LexEvent;
+import edu.charlotte.parser.metrics.jfr.ParseEvent;
+import edu.charlotte.parser.metrics.jfr.WalkEvent;
 import edu.charlotte.parser.utils.ParserUtils;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.CommonTokenFactory;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
 import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.UnbufferedTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.atn.ProfilingATNSimulator;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
-import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.antlr.v4.runtime.tree.IterativeParseTreeWalker;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 
-@Getter
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Generates the AST of an input item. The generator keeps no per-item state, all the results of an item are
+ * returned in an {@link AstGenerationResult}, so a single instance can be shared by concurrently processed items.
+ * The lexers and parsers are only used by one item at a time: an item borrows idle ones from the generator, or creates
+ * new ones, and gives them back once it is parsed.
+ */
 @Slf4j
 @StepScope
 public abstract class AbstractAstGenerator<L extends Lexer, P extends Parser,
-        TListener extends ParseTreeListener> {
+        TListener extends ParseTreeListener, TIdentifiers> {
 
-    private int lexerErrorCount;
-    private int parserErrorCount;
-    private TListener listener;
+    private final ParserOptions parserOptions;
+    private final ParserMetrics parserMetrics;
+    // Recognizers of the parsed items, waiting for the next items. It holds at most the maximum number of idle recognizers
+    // of the options, and is used as a stack so that the most recently used recognizers are reused first.
+    private final Deque<Recognizers> idleRecognizers;
+    // Never below the size of the deque, whose own size is not counted in constant time.
+    private final AtomicInteger idleRecognizerCount;
 
     public AbstractAstGenerator() {
-        this.lexerErrorCount = 0;
-        this.parserErrorCount = 0;
-        log.info("Initialized the Ast Generator instance for '{}'.", getTypeName());
+        this(ParserOptions.defaults());
+    }
+
+    public AbstractAstGenerator(ParserOptions parserOptions) {
+        this.parserOptions = Objects.requireNonNull(parserOptions, "Parser options cannot be null.");
+        this.parserMetrics = new ParserMetrics(getTypeName());
+        this.idleRecognizers = new ConcurrentLinkedDeque<>();
+        this.idleRecognizerCount = new AtomicInteger();
+        log.info("Initialized the Ast Generator instance for '{}' with the options: {}.", getTypeName(), this.parserOptions);
     }
 
     // Abstract methods to be implemented by subclasses
     protected abstract L createLexerInstance(CharStream input);
-    protected abstract P createParserInstance(CommonTokenStream tokens);
+    protected abstract P createParserInstance(TokenStream tokens);
     protected abstract ParseTree invokeTopLevelParseRule(P parser);
     protected abstract TListener createAstListenerInstance();
+    protected abstract AstNode getAstRoot(TListener listener);
+    protected abstract TIdentifiers getIdentifiers(TListener listener);
     public abstract String getTypeName();
+    // Identifies the grammar of the generated lexer and parser, so that the cached outputs of an older grammar are not reused.
+    public abstract String getGrammarVersion();
+
+    public ParserMetrics getParserMetrics() {
+        return this.parserMetrics;
+    }
 
     // Common ANTLR components methods
-    protected L initializingLexer(String input) {
+    protected L initializingLexer(CharStream input) {
         CountingErrorsListener lexerErrorListener = new CountingErrorsListener();
         try {
-            L lexer = createLexerInstance(CharStreams.fromString(input));
+            L lexer = createLexerInstance(input);
             // Removing the default console error listener and adding a custom one
             lexer.removeErrorListeners();
             lexer.addErrorListener(lexerErrorListener);
-            log.debug("Lexer initialized successfully for the input: {}", ParserUtils.formatInputForLogging(input));
+            log.debug("Lexer initialized successfully for the input of {} characters.", input.size());
             return lexer;
         } catch (Exception e) {
-            log.error("Lexer initialization failed for the input: {}", ParserUtils.formatInputForLogging(input), e);
+            log.error("Lexer initialization failed for the input of {} characters.", input.size(), e);
             throw new RuntimeException("Lexer initialization failed.", e);
         }
     }
 
-    protected CommonTokenStream createTokenStream(L lexer) {
+    // The tokens are kept in a compact store, their offsets index into the text of the input.
+    protected CompactTokenStream createTokenStream(L lexer, CharSequence input) {
         try {
-            CommonTokenStream tokens = new CommonTokenStream(lexer);
+            CompactTokenStream tokens = new CompactTokenStream(lexer, input);
             log.debug("Token stream created successfully.");
             return tokens;
         } catch (Exception e) {
@@ -65,13 +115,16 @@ public abstract class AbstractAstGenerator<L extends Lexer, P extends Parser,
         }
     }
 
-    protected P initializingParser(CommonTokenStream tokens) {
+    protected P initializingParser(TokenStream tokens) {
         CountingErrorsListener parserErrorListener = new CountingErrorsListener();
         try {
             P parser = createParserInstance(tokens);
             // Remove default console error listener and adding a custom one
             parser.removeErrorListeners();
             parser.addErrorListener(parserErrorListener);
+            // Profiling replaces the prediction of the parser with one recording the statistics of every decision.
+            if (this.parserOptions.decisionProfiler().isEnabled())
+                parser.setProfile(true);
             log.debug("Parser initialized successfully.");
             return parser;
         } catch (Exception e) {
@@ -80,20 +133,162 @@ public abstract class AbstractAstGenerator<L extends Lexer, P extends Parser,
         }
     }
 
-    protected ParseTree creatingParseTree(String input) {
-        L lexer = initializingLexer(input);
-        CommonTokenStream tokens = createTokenStream(lexer);
-        P parser = initializingParser(tokens);
+    // Lexer, token stream and parser of an item along with their error listeners, reused by the next items.
+    private final class Recognizers {
+        private final L lexer;
+        private final CompactTokenStream tokens;
+        private final P parser;
+        private final CountingErrorsListener lexerErrorListener;
+        private final CountingErrorsListener parserErrorListener;
+
+        private Recognizers(CharSequence input, boolean buildParseTree, int errorLimit) {
+            this.lexer = initializingLexer(charStream(input));
+            this.tokens = createTokenStream(this.lexer, input);
+            this.parser = initializingParser(this.tokens);
+            this.lexerErrorListener = (CountingErrorsListener) this.lexer.getErrorListeners().getFirst();
+            this.parserErrorListener = (CountingErrorsListener) this.parser.getErrorListeners().getFirst();
+            prepare(buildParseTree, errorLimit);
+        }
+
+        // Points the recognizers at the next input and clears everything the previous item left in them.
+        private void reset(CharSequence input, boolean buildParseTree, int errorLimit) {
+            this.lexer.setInputStream(charStream(input));
+            this.tokens.setTokenSource(this.lexer, input);
+            this.parser.setTokenStream(this.tokens);
+            this.lexerErrorListener.reset();
+            this.parserErrorListener.reset();
+            // The first stage of the two stage parsing leaves its error strategy and prediction mode behind.
+            this.parser.setErrorHandler(new DefaultErrorStrategy());
+            this.parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            // A new profiling simulator, so that the decision profile of the item does not add up the previous items.
+            if (parserOptions.decisionProfiler().isEnabled())
+                this.parser.setInterpreter(new ProfilingATNSimulator(this.parser));
+            prepare(buildParseTree, errorLimit);
+        }
+
+        // The limit of the parser is only known once the lexer counted its errors, which count towards the same limit.
+        // The syntax errors are only kept for a validation, which does not build the parse tree.
+        private void prepare(boolean buildParseTree, int errorLimit) {
+            this.parser.setBuildParseTree(buildParseTree);
+            this.lexerErrorListener.setErrorLimit(errorLimit);
+            this.parserErrorListener.setErrorLimit(0);
+            this.lexerErrorListener.setRecordingSyntaxErrors(!buildParseTree);
+            this.parserErrorListener.setRecordingSyntaxErrors(!buildParseTree);
+        }
+
+        // Syntax errors of the item in the order they were found, as the whole input is lexed before it is parsed.
+        private List<SyntaxError> syntaxErrors() {
+            if (this.lexerErrorListener.getErrorCount() == 0 && this.parserErrorListener.getErrorCount() == 0)
+                return List.of();
+            List<SyntaxError> syntaxErrors = new ArrayList<>(this.lexerErrorListener.getSyntaxErrors());
+            syntaxErrors.addAll(this.parserErrorListener.getSyntaxErrors());
+            return syntaxErrors;
+        }
+    }
+
+    // A mapped input is lexed straight from its file.
+    private static CharStream charStream(CharSequence input) {
+        return input instanceof MappedInput mappedInput ? mappedInput.charStream() : CharStreams.fromString(input.toString());
+    }
+
+    private Recognizers acquireRecognizers(CharSequence input, boolean buildParseTree, int errorLimit) {
+        Recognizers recognizers = this.parserOptions.reuseRecognizers() ? this.idleRecognizers.pollFirst() : null;
+        if (recognizers == null)
+            return new Recognizers(input, buildParseTree, errorLimit);
+        this.idleRecognizerCount.decrementAndGet();
+        recognizers.reset(input, buildParseTree, errorLimit);
+        log.debug("Reusing the lexer and parser of a previous item.");
+        return recognizers;
+    }
+
+    // Only the recognizers of a completed parse are given back, the ones of a failed parse are left to the garbage collector.
+    private void releaseRecognizers(Recognizers recognizers) {
+        if (!this.parserOptions.reuseRecognizers())
+            return;
+        // More items than the expected concurrency were parsed at the same time, so the extra recognizers would stay idle.
+        if (this.idleRecognizerCount.incrementAndGet() > this.parserOptions.maxIdleRecognizers()) {
+            this.idleRecognizerCount.decrementAndGet();
+            log.debug("Dropping the lexer and parser of an item, as {} idle ones are already kept.", this.parserOptions.maxIdleRecognizers());
+            return;
+        }
+        // The tokens are referenced by the parse tree of the item, not by the idle recognizers.
+        recognizers.tokens.setTokenSource(recognizers.lexer, "");
+        this.idleRecognizers.offerFirst(recognizers);
+    }
+
+    // Number of idle recognizers kept for the next items.
+    int getIdleRecognizerCount() {
+        return this.idleRecognizers.size();
+    }
+
+    protected ParsedInput creatingParseTree(String input) {
+        return creatingParseTree(input, true, 0);
+    }
+
+    /**
+     * Lexes and parses the input. Without building the parse tree only the syntax of the input is checked, and a
+     * positive error limit stops the lexing and parsing at that many syntax errors, so that garbage inputs fail fast.
+     */
+    private ParsedInput creatingParseTree(String input, boolean buildParseTree, int errorLimit) {
+        LexEvent lexEvent = LexEvent.start();
+        long lexStart = System.nanoTime();
+        Recognizers recognizers = acquireRecognizers(input, buildParseTree, errorLimit);
+        CompactTokenStream tokens = recognizers.tokens;
+        boolean lexingStopped = false;
+        try {
+            // Lexing the whole input up front, so that the lexing is measured apart from the parsing.
+            tokens.fill();
+        } catch (SyntaxErrorLimitException e) {
+            lexingStopped = true;
+            log.info("Lexing stopped for the input: {} {}", ParserUtils.formatInputForLogging(input), e.getMessage());
+        }
+        int lexerErrorCount = recognizers.lexerErrorListener.getErrorCount();
+        this.parserMetrics.recordPhase(ParserMetrics.Phase.LEX, lexStart);
+        lexEvent.finish(getTypeName(), input.length(), tokens.size(), lexerErrorCount);
+        if (lexingStopped) {
+            this.parserMetrics.recordSyntaxErrors(lexerErrorCount, 0);
+            List<SyntaxError> syntaxErrors = recognizers.syntaxErrors();
+            releaseRecognizers(recognizers);
+            return ParsedInput.parsed(null, lexerErrorCount, 0, syntaxErrors, null);
+        }
+        P parser = recognizers.parser;
+        if (errorLimit > 0)
+            recognizers.parserErrorListener.setErrorLimit(errorLimit - lexerErrorCount);
 
         // ParseTree reference to parse the input
         ParseTree tree;
+        ParseMode parseMode = ParseMode.LL;
+        int parserErrorCount;
+        ParseEvent parseEvent = ParseEvent.start();
+        long parseStart = System.nanoTime();
         try {
-            tree = invokeTopLevelParseRule(parser);
-            this.lexerErrorCount = ((CountingErrorsListener) lexer.getErrorListeners().getFirst()).getErrorCount();
-            this.parserErrorCount = ((CountingErrorsListener) parser.getErrorListeners().getFirst()).getErrorCount();
+            try {
+                if (this.parserOptions.twoStagePrediction()) {
+                    tree = parseWithSllPrediction(parser);
+                    if (tree != null) {
+                        parseMode = ParseMode.SLL;
+                    } else {
+                        parseMode = ParseMode.LL_FALLBACK;
+                        tree = parseWithLlPrediction(parser);
+                    }
+                } else
+                    tree = invokeTopLevelParseRule(parser);
+            } catch (SyntaxErrorLimitException e) {
+                tree = null;
+                log.info("Parsing stopped for the input: {} {}", ParserUtils.formatInputForLogging(input), e.getMessage());
+            } catch (StackOverflowError e) {
+                throw nestedTooDeeply(recognizers, parseStart, parseEvent, tokens.size(), parseMode);
+            }
+            parserErrorCount = recognizers.parserErrorListener.getErrorCount();
+            this.parserMetrics.recordPhase(ParserMetrics.Phase.PARSE, parseStart);
+            this.parserOptions.decisionProfiler().record(getTypeName(), parser);
+            parseEvent.finish(getTypeName(), tokens.size(), parserErrorCount, parseMode);
+            this.parserMetrics.recordSyntaxErrors(lexerErrorCount, parserErrorCount);
 
-            log.info("Lexing completed with {} lexer error(s).", this.lexerErrorCount);
-            log.info("Parsing completed with {} parser error(s).", this.parserErrorCount);
+            log.info("Lexing completed with {} lexer error(s).", lexerErrorCount);
+            log.info("Parsing completed with {} parser error(s) using the {} parse mode.", parserErrorCount, parseMode);
+        } catch (InputNestedTooDeeplyException e) {
+            throw e;
         } catch (RecognitionException e) {
             log.error("Parsing failed due to grammar recognition error for the input: {}",
                     ParserUtils.formatInputForLogging(input), e);
@@ -103,54 +298,279 @@ public abstract class AbstractAstGenerator<L extends Lexer, P extends Parser,
                     ParserUtils.formatInputForLogging(input), e);
             throw new RuntimeException("Unexpected error during the parse tree creation.", e);
         }
-        return tree;
+        List<SyntaxError> syntaxErrors = recognizers.syntaxErrors();
+        releaseRecognizers(recognizers);
+        return ParsedInput.parsed(buildParseTree ? tree : null, lexerErrorCount, parserErrorCount, syntaxErrors, parseMode);
     }
 
-    public String generateAstFromInput(String input) {
-        // Reset counts and listener for each input item being processed.
-        this.lexerErrorCount = 0;
-        this.parserErrorCount = 0;
-        this.listener = createAstListenerInstance();
+    /**
+     * Checks the syntax of a mapped input without keeping its tokens, so that the memory used grows with the nesting of
+     * the input but not with its size. The input is lexed twice: the first pass only counts the lexer errors, so that
+     * they come before the parser errors as for any other input, and the second pass feeds the parser through an
+     * unbuffered token stream holding just the tokens of its lookahead. That stream cannot be rewound, so the input is
+     * always parsed with the LL prediction.
+     */
+    private ParsedInput validatingMappedInput(MappedInput input, int errorLimit) {
+        LexEvent lexEvent = LexEvent.start();
+        long lexStart = System.nanoTime();
+        Recognizers recognizers = acquireRecognizers(input, false, errorLimit);
+        L lexer = recognizers.lexer;
+        // The tokens are dropped as they are lexed, so they are not appended to the store of the token stream.
+        lexer.setTokenFactory(CommonTokenFactory.DEFAULT);
+        // Counting the end of file as well, as in the size of a filled token stream.
+        int tokenCount = 1;
+        boolean lexingStopped = false;
+        try {
+            while (lexer.nextToken().getType() != Token.EOF)
+                tokenCount++;
+        } catch (SyntaxErrorLimitException e) {
+            lexingStopped = true;
+            log.info("Lexing stopped for the input: {} {}", ParserUtils.formatInputForLogging(input), e.getMessage());
+        }
+        int lexerErrorCount = recognizers.lexerErrorListener.getErrorCount();
+        this.parserMetrics.recordPhase(ParserMetrics.Phase.LEX, lexStart);
+        lexEvent.finish(getTypeName(), input.length(), tokenCount, lexerErrorCount);
+        if (lexingStopped) {
+            this.parserMetrics.recordSyntaxErrors(lexerErrorCount, 0);
+            List<SyntaxError> syntaxErrors = recognizers.syntaxErrors();
+            releaseRecognizers(recognizers);
+            return ParsedInput.parsed(null, lexerErrorCount, 0, syntaxErrors, null);
+        }
+        P parser = recognizers.parser;
+        if (errorLimit > 0)
+            recognizers.parserErrorListener.setErrorLimit(errorLimit - lexerErrorCount);
 
-        ParseTree tree;
+        // The lexer errors are already counted, so the second pass does not report them again.
+        lexer.setInputStream(input.charStream());
+        lexer.removeErrorListeners();
+        int parserErrorCount;
+        ParseEvent parseEvent = ParseEvent.start();
+        long parseStart = System.nanoTime();
         try {
-            tree = creatingParseTree(input);
+            parser.setTokenStream(new UnbufferedTokenStream<>(lexer));
+            try {
+                invokeTopLevelParseRule(parser);
+            } catch (SyntaxErrorLimitException e) {
+                log.info("Parsing stopped for the input: {} {}", ParserUtils.formatInputForLogging(input), e.getMessage());
+            } catch (StackOverflowError e) {
+                throw nestedTooDeeply(recognizers, parseStart, parseEvent, tokenCount, ParseMode.LL);
+            }
+            parserErrorCount = recognizers.parserErrorListener.getErrorCount();
+            this.parserMetrics.recordPhase(ParserMetrics.Phase.PARSE, parseStart);
+            this.parserOptions.decisionProfiler().record(getTypeName(), parser);
+            parseEvent.finish(getTypeName(), tokenCount, parserErrorCount, ParseMode.LL);
+            this.parserMetrics.recordSyntaxErrors(lexerErrorCount, parserErrorCount);
+            log.info("Validation of the mapped input completed with {} lexer error(s) and {} parser error(s).",
+                    lexerErrorCount, parserErrorCount);
+        } catch (InputNestedTooDeeplyException e) {
+            throw e;
+        } catch (RecognitionException e) {
+            log.error("Parsing failed due to grammar recognition error for the input: {}",
+                    ParserUtils.formatInputForLogging(input), e);
+            throw new RuntimeException("Parsing failed due to grammar recognition error.", e);
+        } catch (Exception e) {
+            log.error("Unexpected error during the validation of the input: {}", ParserUtils.formatInputForLogging(input), e);
+            throw new RuntimeException("Unexpected error during the validation of the input.", e);
+        } finally {
+            lexer.addErrorListener(recognizers.lexerErrorListener);
+        }
+        List<SyntaxError> syntaxErrors = recognizers.syntaxErrors();
+        releaseRecognizers(recognizers);
+        return ParsedInput.parsed(null, lexerErrorCount, parserErrorCount, syntaxErrors, ParseMode.LL);
+    }
+
+    // First stage of the two stage parsing. Returns null when the SLL prediction is not enough to parse the input.
+    private ParseTree parseWithSllPrediction(P parser) {
+        ANTLRErrorListener parserErrorListener = parser.getErrorListeners().getFirst();
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        try {
+            return invokeTopLevelParseRule(parser);
+        } catch (ParseCancellationException e) {
+            log.debug("SLL prediction bailed out, the input will be parsed again with full LL prediction.");
+            return null;
+        } finally {
+            parser.addErrorListener(parserErrorListener);
+        }
+    }
+
+    // Second stage of the two stage parsing. Rewinds the token stream and parses again, reporting syntax errors.
+    private ParseTree parseWithLlPrediction(P parser) {
+        parser.reset();
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        return invokeTopLevelParseRule(parser);
+    }
+
+    /*
+     * Ends the parse of an input that overflowed the stack of the parser. Only the rule invocations of the parser
+     * recurse, so the overflow is caught right around them: the parser, its token stream and its error listeners are
+     * left in the middle of the input and are dropped instead of being given back, the time spent is recorded as the
+     * parse phase, and the syntax errors are not recorded as the parse did not complete.
+     */
+    private InputNestedTooDeeplyException nestedTooDeeply(Recognizers recognizers, long parseStart, ParseEvent parseEvent,
+                                                          int tokenCount, ParseMode parseMode) {
+        this.parserMetrics.recordPhase(ParserMetrics.Phase.PARSE, parseStart);
+        parseEvent.finish(getTypeName(), tokenCount, recognizers.parserErrorListener.getErrorCount(), parseMode);
+        return new InputNestedTooDeeplyException();
+    }
+
+    public AstGenerationResult<TIdentifiers> generateAstFromInput(String input) {
+        return generateAstFromParsedInput(parseInput(input));
+    }
+
+    // Generates the AST from an input parsed by any generator of the same grammar.
+    public AstGenerationResult<TIdentifiers> generateAstFromParsedInput(ParsedInput parsedInput) {
+        AstGenerationEvent astGenerationEvent = AstGenerationEvent.start();
+        ParseTreeWalkResult<TListener> walkResult = walkParsedInput(parsedInput, this::createAstListenerInstance);
+        if (!walkResult.isSuccessful()) {
+            astGenerationEvent.finish(getTypeName(), null);
+            return AstGenerationResult.failure(walkResult.lexerErrorCount(), walkResult.parserErrorCount(),
+                    walkResult.parseMode(), walkResult.errorMessage());
+        }
+        TListener listener = walkResult.listener();
+        AstNode astRoot = getAstRoot(listener);
+        if (astRoot != null)
+            this.parserMetrics.recordAstNodes(astRoot);
+        astGenerationEvent.finish(getTypeName(), astRoot);
+        log.info("AST generated successfully for the {}.", getTypeName());
+        return AstGenerationResult.success(astRoot, getIdentifiers(listener), walkResult.parseMode());
+    }
+
+    /**
+     * Parses the input and walks its parse tree with a new listener of the given factory, which lets a conversion
+     * work on the parse tree directly instead of on the AST. The parse tree is only walked if it has no syntax errors.
+     */
+    public <TWalker extends ParseTreeListener> ParseTreeWalkResult<TWalker> walkParseTreeOfInput(String input, Supplier<TWalker> listenerFactory) {
+        return walkParsedInput(parseInput(input), listenerFactory);
+    }
+
+    /**
+     * Lexes and parses the input once, so that its parse tree can be walked by the listeners of several outputs.
+     * The walks of the trees are iterative, but ANTLR's recursive descent parser recurses once per nesting level of
+     * the parentheses, the loops and the tests of the input, so an input nested too deeply for the stack of the
+     * current thread fails, unless a deep input stack size is set to parse it again on a thread with a larger stack.
+     */
+    public ParsedInput parseInput(String input) {
+        return parseInput(input, true, 0);
+    }
+
+    /**
+     * Lexes and parses the input without building its parse tree, only to check its syntax, so the returned input has
+     * no tree. The lexing and parsing stop at the given number of syntax errors, 0 for no limit. A {@link MappedInput}
+     * is lexed from its file without keeping its tokens.
+     */
+    public ParsedInput validateInput(CharSequence input, int errorLimit) {
+        if (errorLimit < 0)
+            throw new IllegalArgumentException("Error limit cannot be negative: " + errorLimit);
+        return parseInput(input, false, errorLimit);
+    }
+
+    private ParsedInput parseInput(CharSequence input, boolean buildParseTree, int errorLimit) {
+        try {
+            return parseInputOnCurrentThread(input, buildParseTree, errorLimit);
+        } catch (InputNestedTooDeeplyException e) {
+            if (this.parserOptions.deepInputStackSize() == 0)
+                return deepInputFailure(input);
+            log.warn("The input is nested too deeply for the stack of the current thread. Parsing it again on a " +
+                    "thread with a stack of {} bytes: {}", this.parserOptions.deepInputStackSize(), ParserUtils.formatInputForLogging(input));
+            return parseInputOnDeepInputThread(input, buildParseTree, errorLimit);
+        }
+    }
+
+    private ParsedInput parseInputOnDeepInputThread(CharSequence input, boolean buildParseTree, int errorLimit) {
+        AtomicReference<ParsedInput> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread deepInputThread = new Thread(null, () -> {
+            try {
+                result.set(parseInputOnCurrentThread(input, buildParseTree, errorLimit));
+            } catch (InputNestedTooDeeplyException e) {
+                result.set(deepInputFailure(input));
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, Thread.currentThread().getName() + "-deep-input", this.parserOptions.deepInputStackSize());
+        deepInputThread.start();
+        try {
+            deepInputThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while parsing a deeply nested input.", e);
+        }
+
+        if (failure.get() instanceof RuntimeException runtimeException)
+            throw runtimeException;
+        if (failure.get() instanceof Error error)
+            throw error;
+        return result.get();
+    }
+
+    private ParsedInput deepInputFailure(CharSequence input) {
+        String message = "No AST generated for the " + getTypeName() + " as the input is nested too deeply for the " +
+                "stack of the parser. Set the 'parser.deep-input-stack-size' property to parse it on a thread with a larger stack.";
+        log.warn("{} Input: {}", message, ParserUtils.formatInputForLogging(input));
+        return ParsedInput.failure(message);
+    }
+
+    private ParsedInput parseInputOnCurrentThread(CharSequence input, boolean buildParseTree, int errorLimit) {
+        try {
+            ParsedInput parsedInput = input instanceof MappedInput mappedInput && !buildParseTree
+                    ? validatingMappedInput(mappedInput, errorLimit)
+                    : creatingParseTree(input.toString(), buildParseTree, errorLimit);
             log.info("Parse tree created successfully for the input: {}.", ParserUtils.formatInputForLogging(input));
+            return parsedInput;
+        } catch (InputNestedTooDeeplyException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("Failed to create parse tree for the input: {}", ParserUtils.formatInputForLogging(input), e);
-            return "Parsing infrastructure failed: " + e.getMessage();
+            return ParsedInput.failure("Parsing infrastructure failed: " + e.getMessage());
         }
+    }
 
-        // Only generate AST if there are no syntax errors
-        if (this.lexerErrorCount == 0 && this.parserErrorCount == 0) {
-            log.info("No syntax errors. Proceeding with AST generation for {}.", getTypeName());
-            ParseTreeWalker walker = new ParseTreeWalker();
+    // Walks the parse tree of an input parsed by any generator of the same grammar with a new listener of the given factory.
+    public <TWalker extends ParseTreeListener> ParseTreeWalkResult<TWalker> walkParsedInput(ParsedInput parsedInput, Supplier<TWalker> listenerFactory) {
+        if (!parsedInput.isParsed())
+            return ParseTreeWalkResult.failure(0, 0, null, parsedInput.errorMessage());
+
+        // Only walk the parse tree if there are no syntax errors
+        if (!parsedInput.hasErrors()) {
+            log.info("No syntax errors. Proceeding with walking the parse tree for {}.", getTypeName());
+            // A new listener is created for each input item, so that no state is shared between the items.
+            TWalker listener = listenerFactory.get();
+            // The iterative walker keeps the stack usage bounded for deeply nested parse trees.
+            IterativeParseTreeWalker walker = new IterativeParseTreeWalker();
+            WalkEvent walkEvent = WalkEvent.start();
+            long walkStart = System.nanoTime();
             try {
-                walker.walk(listener, tree);
-                log.info("AST generated successfully for the {}.", getTypeName());
+                walker.walk(listener, parsedInput.tree());
+                this.parserMetrics.recordPhase(ParserMetrics.Phase.WALK, walkStart);
+                walkEvent.finish(getTypeName(), listener.getClass());
+                log.debug("Parse tree walked successfully for the {}.", getTypeName());
             } catch (Exception e) {
                 log.error("Error during AST Generation for the {}: {}", getTypeName(), e.getMessage(), e);
                 throw new RuntimeException("Error during AST generation for the " + getTypeName() + ".", e);
             }
-            return null;
+            return ParseTreeWalkResult.success(listener, parsedInput.parseMode());
         } else {
             StringBuilder message = new StringBuilder("No AST generated for the ");
             message.append(getTypeName()).append(" due to ");
             boolean hasLexerErrors = false;
-            if (this.lexerErrorCount > 0) {
+            if (parsedInput.lexerErrorCount() > 0) {
                 hasLexerErrors = true;
-                message.append(this.lexerErrorCount).append(" lexer error(s)");
+                message.append(parsedInput.lexerErrorCount()).append(" lexer error(s)");
             }
-            if (this.parserErrorCount > 0) {
+            if (parsedInput.parserErrorCount() > 0) {
                 if (hasLexerErrors) {
                     message.append(" and ");
                 }
-                message.append(this.parserErrorCount).append(" parser error(s)");
+                message.append(parsedInput.parserErrorCount()).append(" parser error(s)");
             }
             message.append(".");
             String finalMessage = message.toString();
             log.warn("{}", finalMessage);
-            return finalMessage;
+            return ParseTreeWalkResult.failure(parsedInput.lexerErrorCount(), parsedInput.parserErrorCount(),
+                    parsedInput.parseMode(), finalMessage);
         }
     }
 }
\ No newline at end of file
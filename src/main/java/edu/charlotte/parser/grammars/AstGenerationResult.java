@@ -0,0 +1,25 @@
+package edu.charlotte.parser.grammars;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+
+/**
+ * Immutable outcome of generating the AST for a single input item. Either the AST root and the collected
+ * identifiers are present, or the error message explains why no AST was generated. The parse mode is null
+ * when the input item could not be parsed at all.
+ */
+public record AstGenerationResult<TIdentifiers>(AstNode astRoot, TIdentifiers identifiers, int lexerErrorCount,
+                                                int parserErrorCount, ParseMode parseMode, String errorMessage) {
+
+    public static <TIdentifiers> AstGenerationResult<TIdentifiers> success(AstNode astRoot, TIdentifiers identifiers, ParseMode parseMode) {
+        return new AstGenerationResult<>(astRoot, identifiers, 0, 0, parseMode, null);
+    }
+
+    public static <TIdentifiers> AstGenerationResult<TIdentifiers> failure(int lexerErrorCount, int parserErrorCount,
+                                                                         ParseMode parseMode, String errorMessage) {
+        return new AstGenerationResult<>(null, null, lexerErrorCount, parserErrorCount, parseMode, errorMessage);
+    }
+
+    public boolean isSuccessful() {
+        return errorMessage == null;
+    }
+}
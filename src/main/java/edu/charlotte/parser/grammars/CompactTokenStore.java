@@ -0,0 +1,377 @@
+package edu.charlotte.parser.grammars;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.RuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.Vocabulary;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.Pair;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeVisitor;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens of a single input, stored as parallel arrays of their types and of their start and stop offsets in the input.
+ * The line and column of a token are found from its start offset in a table of the starts of the lines holding tokens.
+ * The text of a token matching a single literal of the grammar is the literal, shared by all the inputs, any other text
+ * is sliced from the input only when it is asked for, through a table interning the texts of the input, so that the
+ * repeated identifiers share a single string. The tokens of the parser are small views of an
+ * index into the arrays, which are also the terminal nodes of the parse tree. A store is never reused for another input,
+ * as the parse tree of its input keeps its tokens.
+ */
+final class CompactTokenStore {
+    private static final int MIN_CAPACITY = 16;
+    // The formulas have about one token for every three characters, the arrays are rarely grown with an estimate of two.
+    private static final int CHARACTERS_PER_TOKEN_ESTIMATE = 2;
+    private static final String EOF_TEXT = "<EOF>";
+    private static final String[] NO_LITERAL_TEXTS = new String[0];
+    // Texts of the token types of a vocabulary that match a single literal, indexed by token type.
+    private static final Map<Vocabulary, String[]> LITERAL_TEXTS = new ConcurrentHashMap<>();
+
+    private final Pair<TokenSource, CharStream> source;
+    // Input the offsets point into, null when its characters are not the code points of the character stream.
+    private final CharSequence text;
+    private final String[] literalTexts;
+    private final TextTable textTable;
+    private final Cursor cursor;
+    private int[] types;
+    private int[] starts;
+    private int[] stops;
+    private int size;
+    private int[] lineNumbers;
+    private int[] lineStarts;
+    private int lineCount;
+
+    CompactTokenStore(TokenSource tokenSource, CharSequence text) {
+        CharStream charStream = tokenSource.getInputStream();
+        this.source = new Pair<>(tokenSource, charStream);
+        // A supplementary character is a single code point of the character stream, but two characters of the text.
+        this.text = charStream != null && charStream.size() == text.length() ? text : null;
+        this.literalTexts = tokenSource instanceof Recognizer<?, ?> recognizer
+                ? LITERAL_TEXTS.computeIfAbsent(recognizer.getVocabulary(), CompactTokenStore::literalTexts)
+                : NO_LITERAL_TEXTS;
+        this.textTable = new TextTable();
+        this.cursor = new Cursor();
+        int capacity = Math.max(MIN_CAPACITY, text.length() / CHARACTERS_PER_TOKEN_ESTIMATE);
+        this.types = new int[capacity];
+        this.starts = new int[capacity];
+        this.stops = new int[capacity];
+        this.lineNumbers = new int[MIN_CAPACITY];
+        this.lineStarts = new int[MIN_CAPACITY];
+    }
+
+    // Appends a token lexed on the given line and column, and returns the cursor standing for the last appended token.
+    Token append(int type, int start, int stop, int line, int charPositionInLine) {
+        if (this.size == this.types.length) {
+            int capacity = this.size * 2;
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.stops = Arrays.copyOf(this.stops, capacity);
+        }
+        this.types[this.size] = type;
+        this.starts[this.size] = start;
+        this.stops[this.size] = stop;
+        this.size++;
+        if (this.lineCount == 0 || this.lineNumbers[this.lineCount - 1] != line) {
+            if (this.lineCount == this.lineNumbers.length) {
+                this.lineNumbers = Arrays.copyOf(this.lineNumbers, this.lineCount * 2);
+                this.lineStarts = Arrays.copyOf(this.lineStarts, this.lineCount * 2);
+            }
+            this.lineNumbers[this.lineCount] = line;
+            this.lineStarts[this.lineCount] = start - charPositionInLine;
+            this.lineCount++;
+        }
+        return this.cursor;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    int type(int index) {
+        return this.types[index];
+    }
+
+    Token token(int index) {
+        return new CompactToken(this, index);
+    }
+
+    Pair<TokenSource, CharStream> source() {
+        return this.source;
+    }
+
+    String text(int index) {
+        int type = this.types[index];
+        if (type == Token.EOF)
+            return EOF_TEXT;
+        if (type < this.literalTexts.length && this.literalTexts[type] != null)
+            return this.literalTexts[type];
+        int start = this.starts[index];
+        int stop = this.stops[index];
+        if (this.text != null)
+            return this.textTable.intern(this.text, start, stop + 1);
+        return this.textTable.intern(this.source.b.getText(Interval.of(start, stop)));
+    }
+
+    private static String[] literalTexts(Vocabulary vocabulary) {
+        String[] texts = new String[vocabulary.getMaxTokenType() + 1];
+        for (int type = Token.MIN_USER_TOKEN_TYPE; type < texts.length; type++) {
+            String literalName = vocabulary.getLiteralName(type);
+            // The literal names are quoted, a literal with an escape sequence is left to the table of the input.
+            if (literalName != null && literalName.length() > 2 && literalName.indexOf('\\') < 0)
+                texts[type] = literalName.substring(1, literalName.length() - 1);
+        }
+        return texts;
+    }
+
+    // Terminal node of a consumed token: the token itself when it is a token of a store that is in no tree yet.
+    static TerminalNode terminalNode(ParserRuleContext parent, Token token) {
+        TerminalNode node = token instanceof CompactToken compactToken && compactToken.parent == null
+                ? compactToken
+                : new TerminalNodeImpl(token);
+        node.setParent(parent);
+        return node;
+    }
+
+    // Position of the last line starting at or before the start of the token.
+    private int linePosition(int index) {
+        int position = Arrays.binarySearch(this.lineStarts, 0, this.lineCount, this.starts[index]);
+        return position >= 0 ? position : -position - 2;
+    }
+
+    /*
+     * Token of the store at an index, implementing the accessors of ANTLR's tokens over the arrays of the store.
+     * The index is fixed for the tokens handed to the parser, and follows the last appended token for the cursor.
+     */
+    private abstract static class StoredToken implements Token {
+        protected final CompactTokenStore store;
+
+        private StoredToken(CompactTokenStore store) {
+            this.store = store;
+        }
+
+        protected abstract int index();
+
+        @Override
+        public String getText() {
+            return this.store.text(index());
+        }
+
+        @Override
+        public int getType() {
+            return this.store.types[index()];
+        }
+
+        @Override
+        public int getLine() {
+            return this.store.lineNumbers[this.store.linePosition(index())];
+        }
+
+        @Override
+        public int getCharPositionInLine() {
+            int index = index();
+            return this.store.starts[index] - this.store.lineStarts[this.store.linePosition(index)];
+        }
+
+        // The grammars skip their whitespace and comments, so every stored token is on the default channel.
+        @Override
+        public int getChannel() {
+            return Token.DEFAULT_CHANNEL;
+        }
+
+        @Override
+        public int getTokenIndex() {
+            return index();
+        }
+
+        @Override
+        public int getStartIndex() {
+            return this.store.starts[index()];
+        }
+
+        @Override
+        public int getStopIndex() {
+            return this.store.stops[index()];
+        }
+
+        @Override
+        public TokenSource getTokenSource() {
+            return this.store.source.a;
+        }
+
+        @Override
+        public CharStream getInputStream() {
+            return this.store.source.b;
+        }
+
+        @Override
+        public String toString() {
+            return "[@" + index() + "," + getStartIndex() + ":" + getStopIndex() + "='" + getText() + "',<" + getType()
+                    + ">," + getLine() + ":" + getCharPositionInLine() + "]";
+        }
+    }
+
+    // Token handed to the parser, which stands for itself in the parse tree once it is consumed.
+    private static final class CompactToken extends StoredToken implements TerminalNode {
+        private final int index;
+        private ParseTree parent;
+
+        private CompactToken(CompactTokenStore store, int index) {
+            super(store);
+            this.index = index;
+        }
+
+        @Override
+        protected int index() {
+            return this.index;
+        }
+
+        @Override
+        public Token getSymbol() {
+            return this;
+        }
+
+        @Override
+        public ParseTree getParent() {
+            return this.parent;
+        }
+
+        @Override
+        public void setParent(RuleContext parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public ParseTree getChild(int i) {
+            return null;
+        }
+
+        @Override
+        public int getChildCount() {
+            return 0;
+        }
+
+        @Override
+        public Token getPayload() {
+            return this;
+        }
+
+        @Override
+        public Interval getSourceInterval() {
+            return Interval.of(this.index, this.index);
+        }
+
+        @Override
+        public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+            return visitor.visitTerminal(this);
+        }
+
+        @Override
+        public String toStringTree(Parser parser) {
+            return toString();
+        }
+
+        @Override
+        public String toStringTree() {
+            return toString();
+        }
+
+        // The text of the terminal, as for the terminal nodes of ANTLR.
+        @Override
+        public String toString() {
+            return getText();
+        }
+    }
+
+    // Token returned to the lexer for every appended token, which the token stream reads before the next one is lexed.
+    private final class Cursor extends StoredToken {
+        private Cursor() {
+            super(CompactTokenStore.this);
+        }
+
+        @Override
+        protected int index() {
+            return this.store.size - 1;
+        }
+    }
+
+    /*
+     * Open addressing table of the texts of the tokens. A text is looked up by hashing its characters in the input, the
+     * same way as String.hashCode(), so only the first occurrence of every text creates a string.
+     */
+    private static final class TextTable {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private String[] texts = new String[INITIAL_CAPACITY];
+        private int size;
+
+        private String intern(CharSequence input, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++)
+                hash = 31 * hash + input.charAt(i);
+            int mask = this.texts.length - 1;
+            for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+                String text = this.texts[slot];
+                if (text == null) {
+                    text = input.subSequence(start, end).toString();
+                    add(slot, text);
+                    return text;
+                }
+                if (text.hashCode() == hash && text.length() == end - start && regionEquals(text, input, start))
+                    return text;
+            }
+        }
+
+        private String intern(String text) {
+            int mask = this.texts.length - 1;
+            for (int slot = spread(text.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+                String existing = this.texts[slot];
+                if (existing == null) {
+                    add(slot, text);
+                    return text;
+                }
+                if (existing.equals(text))
+                    return existing;
+            }
+        }
+
+        private static boolean regionEquals(String text, CharSequence input, int start) {
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) != input.charAt(start + i))
+                    return false;
+            }
+            return true;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        // Keeps the table at most half full, so that the probe sequences stay short.
+        private void add(int slot, String text) {
+            this.texts[slot] = text;
+            if (++this.size * 2 <= this.texts.length)
+                return;
+            String[] texts = this.texts;
+            this.texts = new String[texts.length * 2];
+            int mask = this.texts.length - 1;
+            for (String existing : texts) {
+                if (existing == null)
+                    continue;
+                int newSlot = spread(existing.hashCode()) & mask;
+                while (this.texts[newSlot] != null)
+                    newSlot = (newSlot + 1) & mask;
+                this.texts[newSlot] = existing;
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package edu.charlotte.parser.grammars;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonTokenFactory;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.RuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenFactory;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.Pair;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Token stream of a parser keeping the tokens of its input in a {@link CompactTokenStore} instead of a list of
+ * CommonTokens. The stream installs its own token factory on the lexer, which appends every lexed token straight to the
+ * arrays of the store, so lexing creates no token objects. The parser is handed small views of the stored tokens, the
+ * last few of which are cached, as the parser asks for the same tokens again and again, and which become the terminal
+ * nodes of the parse tree through {@link #createTerminalNode}. It behaves as a
+ * CommonTokenStream over a lexer putting every token on the default channel, which is the case of the grammars.
+ */
+public class CompactTokenStream implements TokenStream {
+    // The parser looks at the previous, the current and the next token, which map to distinct entries of the cache.
+    private static final int CACHED_TOKENS = 4;
+
+    private final StoreTokenFactory tokenFactory;
+    private final Token[] cachedTokens;
+    private TokenSource tokenSource;
+    private CharSequence text;
+    private CompactTokenStore store;
+    private int position;
+    private boolean fetchedEof;
+
+    public CompactTokenStream(TokenSource tokenSource, CharSequence text) {
+        this.tokenFactory = new StoreTokenFactory();
+        this.cachedTokens = new Token[CACHED_TOKENS];
+        setTokenSource(tokenSource, text);
+    }
+
+    /**
+     * Points the stream at a token source and the text of its input, which the offsets of the tokens index into. The
+     * store of the previous input is left to the parse tree of that input, the next input gets a new one.
+     */
+    public void setTokenSource(TokenSource tokenSource, CharSequence text) {
+        this.tokenSource = Objects.requireNonNull(tokenSource, "Token source cannot be null.");
+        this.text = Objects.requireNonNull(text, "Text of the token source cannot be null.");
+        if (tokenSource instanceof Lexer lexer)
+            lexer.setTokenFactory(this.tokenFactory);
+        this.store = null;
+        this.position = -1;
+        this.fetchedEof = false;
+        Arrays.fill(this.cachedTokens, null);
+    }
+
+    /**
+     * Terminal node of a token consumed by a parser, for the parsers to override Parser.createTerminalNode with. A token
+     * of the stream is its own terminal node, any other token is wrapped in a TerminalNodeImpl.
+     */
+    public static TerminalNode createTerminalNode(ParserRuleContext parent, Token token) {
+        return CompactTokenStore.terminalNode(parent, token);
+    }
+
+    // Lexes the whole input.
+    public void fill() {
+        lazyInit();
+        while (!this.fetchedEof)
+            fetch();
+    }
+
+    @Override
+    public Token LT(int k) {
+        lazyInit();
+        if (k == 0)
+            return null;
+        int index = k > 0 ? this.position + k - 1 : this.position + k;
+        if (index < 0)
+            return null;
+        return get(sync(index) ? index : this.store.size() - 1);
+    }
+
+    @Override
+    public int LA(int i) {
+        lazyInit();
+        int index = i > 0 ? this.position + i - 1 : this.position + i;
+        if (i == 0 || index < 0)
+            return Token.INVALID_TYPE;
+        return this.store.type(sync(index) ? index : this.store.size() - 1);
+    }
+
+    @Override
+    public Token get(int index) {
+        if (this.store == null || index < 0 || index >= this.store.size())
+            throw new IndexOutOfBoundsException("token index " + index + " out of range 0.." + (size() - 1));
+        int slot = index & (CACHED_TOKENS - 1);
+        Token token = this.cachedTokens[slot];
+        if (token == null || token.getTokenIndex() != index) {
+            token = this.store.token(index);
+            this.cachedTokens[slot] = token;
+        }
+        return token;
+    }
+
+    @Override
+    public void consume() {
+        lazyInit();
+        if (LA(1) == Token.EOF)
+            throw new IllegalStateException("cannot consume EOF");
+        if (sync(this.position + 1))
+            this.position++;
+    }
+
+    @Override
+    public int mark() {
+        return 0;
+    }
+
+    @Override
+    public void release(int marker) {
+    }
+
+    @Override
+    public int index() {
+        return this.position;
+    }
+
+    @Override
+    public void seek(int index) {
+        lazyInit();
+        this.position = index;
+    }
+
+    @Override
+    public int size() {
+        return this.store == null ? 0 : this.store.size();
+    }
+
+    @Override
+    public String getSourceName() {
+        return this.tokenSource.getSourceName();
+    }
+
+    @Override
+    public TokenSource getTokenSource() {
+        return this.tokenSource;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = interval.a;
+        int stop = Math.min(interval.b, size() - 1);
+        if (start < 0 || stop < 0)
+            return "";
+        StringBuilder text = new StringBuilder();
+        for (int index = start; index <= stop && this.store.type(index) != Token.EOF; index++)
+            text.append(this.store.text(index));
+        return text.toString();
+    }
+
+    @Override
+    public String getText() {
+        fill();
+        return getText(Interval.of(0, size() - 1));
+    }
+
+    @Override
+    public String getText(RuleContext ctx) {
+        return getText(ctx.getSourceInterval());
+    }
+
+    @Override
+    public String getText(Token start, Token stop) {
+        if (start == null || stop == null)
+            return "";
+        return getText(Interval.of(start.getTokenIndex(), stop.getTokenIndex()));
+    }
+
+    private void lazyInit() {
+        if (this.position == -1) {
+            sync(0);
+            this.position = 0;
+        }
+    }
+
+    // Makes sure the token at the index is lexed, returns false when the input ends before it.
+    private boolean sync(int index) {
+        while (index >= size() && !this.fetchedEof)
+            fetch();
+        return index < size();
+    }
+
+    private void fetch() {
+        if (this.store == null)
+            this.store = new CompactTokenStore(this.tokenSource, this.text);
+        this.tokenFactory.appending = true;
+        try {
+            Token token = this.tokenSource.nextToken();
+            if (token.getType() == Token.EOF)
+                this.fetchedEof = true;
+        } finally {
+            this.tokenFactory.appending = false;
+        }
+    }
+
+    /*
+     * Factory of the lexer appending the lexed tokens to the store. The tokens created outside the lexing of the
+     * stream, such as the missing tokens conjured up by the error recovery of the parser, are CommonTokens.
+     */
+    private final class StoreTokenFactory implements TokenFactory<Token> {
+        private boolean appending;
+
+        @Override
+        public Token create(Pair<TokenSource, CharStream> source, int type, String text, int channel, int start, int stop,
+                            int line, int charPositionInLine) {
+            if (!this.appending)
+                return CommonTokenFactory.DEFAULT.create(source, type, text, channel, start, stop, line, charPositionInLine);
+            if (text != null || channel != Token.DEFAULT_CHANNEL)
+                throw new IllegalStateException("The compact token store only keeps the tokens of the default channel " +
+                        "with the text of their input, the token type " + type + " is not supported.");
+            return store.append(type, start, stop, line, charPositionInLine);
+        }
+
+        @Override
+        public Token create(int type, String text) {
+            return CommonTokenFactory.DEFAULT.create(type, text);
+        }
+    }
+}
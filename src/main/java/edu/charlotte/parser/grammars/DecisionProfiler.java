@@ -0,0 +1,277 @@
+package edu.charlotte.parser.grammars;
+
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.atn.ATN;
+import org.antlr.v4.runtime.atn.ATNState;
+import org.antlr.v4.runtime.atn.AmbiguityInfo;
+import org.antlr.v4.runtime.atn.DecisionInfo;
+import org.antlr.v4.runtime.atn.DecisionState;
+import org.antlr.v4.runtime.atn.ParseInfo;
+import org.antlr.v4.runtime.atn.StarLoopEntryState;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the ANTLR decision profiles of the parsed items. A parser with profiling turned on records, for every
+ * decision of the grammar, how often {@code adaptivePredict} ran, how far it looked ahead with SLL prediction, how
+ * often it fell back to full LL prediction and which ambiguities it met. The profiles of all the items are summed per
+ * grammar and decision, and when the profiler is closed they are written to a report ranked by the time spent
+ * predicting, naming the rule of every decision and the tokens starting each of its alternatives.
+ */
+@Slf4j
+public class DecisionProfiler implements AutoCloseable {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    // Number of the most expensive decisions summarized in the log.
+    private static final int LOGGED_DECISION_COUNT = 5;
+
+    private final Path reportFile;
+    private final LongAdder profiledItems;
+    private final Map<DecisionKey, DecisionProfile> decisionProfiles;
+
+    private record DecisionKey(String grammar, int decision) {}
+
+    public DecisionProfiler(Path reportFile) {
+        this.reportFile = reportFile;
+        this.profiledItems = new LongAdder();
+        this.decisionProfiles = new ConcurrentHashMap<>();
+    }
+
+    public static DecisionProfiler disabled() {
+        return new DecisionProfiler(null);
+    }
+
+    public boolean isEnabled() {
+        return this.reportFile != null;
+    }
+
+    // Adds the decision profile of a parser with profiling turned on, once it parsed its item.
+    public void record(String grammar, Parser parser) {
+        ParseInfo parseInfo = parser.getParseInfo();
+        if (!isEnabled() || parseInfo == null)
+            return;
+        this.profiledItems.increment();
+        for (DecisionInfo decisionInfo : parseInfo.getDecisionInfo()) {
+            if (decisionInfo.invocations == 0)
+                continue;
+            this.decisionProfiles.computeIfAbsent(new DecisionKey(grammar, decisionInfo.decision),
+                    key -> new DecisionProfile(key, parser)).add(decisionInfo);
+        }
+    }
+
+    public long getProfiledItems() {
+        return this.profiledItems.sum();
+    }
+
+    // Profiles of the decisions ranked by the time spent predicting them.
+    public List<DecisionProfile> getRankedDecisionProfiles() {
+        List<DecisionProfile> rankedProfiles = new ArrayList<>(this.decisionProfiles.values());
+        rankedProfiles.sort(Comparator.comparingLong(DecisionProfile::getTimeInPrediction).reversed()
+                .thenComparing(Comparator.comparingLong(DecisionProfile::getInvocations).reversed()));
+        return rankedProfiles;
+    }
+
+    @Override
+    public void close() {
+        if (!isEnabled())
+            return;
+        List<DecisionProfile> rankedProfiles = getRankedDecisionProfiles();
+        for (DecisionProfile decisionProfile : rankedProfiles.subList(0, Math.min(LOGGED_DECISION_COUNT, rankedProfiles.size())))
+            log.info("Decision {} of the rule '{}' of the '{}': {} ms in {} invocation(s), {} LL fallback(s), {} ambiguities",
+                    decisionProfile.getDecision(), decisionProfile.getRuleName(), decisionProfile.getGrammar(),
+                    String.format("%.3f", decisionProfile.getTimeInPrediction() / NANOS_PER_MILLI),
+                    decisionProfile.getInvocations(), decisionProfile.getLlFallbacks(), decisionProfile.getAmbiguities());
+        try {
+            Path parentDir = this.reportFile.toAbsolutePath().getParent();
+            if (parentDir != null)
+                Files.createDirectories(parentDir);
+            Files.writeString(this.reportFile, createReport(rankedProfiles), StandardCharsets.UTF_8);
+            log.info("Wrote the decision profile of {} parsed item(s) to the file: {}", getProfiledItems(), this.reportFile);
+        } catch (IOException e) {
+            log.warn("Failed to write the decision profile to the file: {}", this.reportFile, e);
+        }
+    }
+
+    private String createReport(List<DecisionProfile> rankedProfiles) {
+        long totalTimeInPrediction = rankedProfiles.stream().mapToLong(DecisionProfile::getTimeInPrediction).sum();
+        StringWriter report = new StringWriter();
+        PrintWriter writer = new PrintWriter(report);
+        writer.printf("Decision profile of %d parsed item(s), ranked by the time spent predicting the alternatives.%n",
+                getProfiledItems());
+        writer.printf("Total prediction time: %.3f ms in %d decision(s).%n", totalTimeInPrediction / NANOS_PER_MILLI, rankedProfiles.size());
+        int rank = 1;
+        for (DecisionProfile decisionProfile : rankedProfiles) {
+            writer.println();
+            writer.printf("#%d %s rule '%s', decision %d (%s)%n", rank++, decisionProfile.getGrammar(),
+                    decisionProfile.getRuleName(), decisionProfile.getDecision(), decisionProfile.getDecisionType());
+            writer.printf("    time %.3f ms (%.1f%%), invocations %d, mean %.3f us%n",
+                    decisionProfile.getTimeInPrediction() / NANOS_PER_MILLI,
+                    totalTimeInPrediction == 0 ? 0.0 : decisionProfile.getTimeInPrediction() * 100.0 / totalTimeInPrediction,
+                    decisionProfile.getInvocations(),
+                    decisionProfile.getTimeInPrediction() / 1000.0 / decisionProfile.getInvocations());
+            writer.printf("    SLL lookahead %d total, %d max, %d ATN transition(s)%n", decisionProfile.getSllTotalLook(),
+                    decisionProfile.getSllMaxLook(), decisionProfile.getSllAtnTransitions());
+            writer.printf("    LL fallbacks %d, LL lookahead %d total, %d max, %d ATN transition(s)%n", decisionProfile.getLlFallbacks(),
+                    decisionProfile.getLlTotalLook(), decisionProfile.getLlMaxLook(), decisionProfile.getLlAtnTransitions());
+            writer.printf("    ambiguities %d%s, context sensitivities %d, errors %d%n", decisionProfile.getAmbiguities(),
+                    decisionProfile.getAmbiguousAlternatives().isEmpty() ? "" : " between the alternatives " + decisionProfile.getAmbiguousAlternatives(),
+                    decisionProfile.getContextSensitivities(), decisionProfile.getErrors());
+            List<String> alternatives = decisionProfile.getAlternatives();
+            for (int alternative = 0; alternative < alternatives.size(); alternative++)
+                writer.printf("    alternative %d starts with %s%n", alternative + 1, alternatives.get(alternative));
+        }
+        writer.flush();
+        return report.toString();
+    }
+
+    /**
+     * Sums of the profiles of a decision over the parsed items. The rule and the alternatives of the decision are
+     * described from the ATN of the first parser profiling it.
+     */
+    public static class DecisionProfile {
+        private final DecisionKey key;
+        private final String ruleName;
+        private final String decisionType;
+        private final List<String> alternatives;
+        private final Set<String> ambiguousAlternatives;
+        private long invocations;
+        private long timeInPrediction;
+        private long sllTotalLook;
+        private long sllMaxLook;
+        private long sllAtnTransitions;
+        private long llFallbacks;
+        private long llTotalLook;
+        private long llMaxLook;
+        private long llAtnTransitions;
+        private long ambiguities;
+        private long contextSensitivities;
+        private long errors;
+
+        private DecisionProfile(DecisionKey key, Parser parser) {
+            this.key = key;
+            ATN atn = parser.getATN();
+            DecisionState decisionState = atn.getDecisionState(key.decision());
+            this.ruleName = parser.getRuleNames()[decisionState.ruleIndex];
+            this.decisionType = describeDecisionType(decisionState);
+            this.alternatives = new ArrayList<>();
+            // The tokens that can start an alternative tell the alternatives of the unlabeled rules apart.
+            for (int transition = 0; transition < decisionState.getNumberOfTransitions(); transition++)
+                this.alternatives.add(atn.nextTokens(decisionState.transition(transition).target).toString(parser.getVocabulary()));
+            this.ambiguousAlternatives = new TreeSet<>();
+        }
+
+        private static String describeDecisionType(DecisionState decisionState) {
+            if (decisionState instanceof StarLoopEntryState starLoopEntryState && starLoopEntryState.isPrecedenceDecision)
+                return "operator precedence loop";
+            return ATNState.serializationNames.get(decisionState.getStateType()).toLowerCase(Locale.ROOT).replace('_', ' ');
+        }
+
+        private synchronized void add(DecisionInfo decisionInfo) {
+            this.invocations += decisionInfo.invocations;
+            this.timeInPrediction += decisionInfo.timeInPrediction;
+            this.sllTotalLook += decisionInfo.SLL_TotalLook;
+            this.sllMaxLook = Math.max(this.sllMaxLook, decisionInfo.SLL_MaxLook);
+            this.sllAtnTransitions += decisionInfo.SLL_ATNTransitions;
+            this.llFallbacks += decisionInfo.LL_Fallback;
+            this.llTotalLook += decisionInfo.LL_TotalLook;
+            this.llMaxLook = Math.max(this.llMaxLook, decisionInfo.LL_MaxLook);
+            this.llAtnTransitions += decisionInfo.LL_ATNTransitions;
+            this.ambiguities += decisionInfo.ambiguities.size();
+            this.contextSensitivities += decisionInfo.contextSensitivities.size();
+            this.errors += decisionInfo.errors.size();
+            for (AmbiguityInfo ambiguityInfo : decisionInfo.ambiguities)
+                this.ambiguousAlternatives.add(ambiguityInfo.ambigAlts.toString());
+        }
+
+        public String getGrammar() {
+            return this.key.grammar();
+        }
+
+        public int getDecision() {
+            return this.key.decision();
+        }
+
+        public String getRuleName() {
+            return this.ruleName;
+        }
+
+        public String getDecisionType() {
+            return this.decisionType;
+        }
+
+        public List<String> getAlternatives() {
+            return this.alternatives;
+        }
+
+        public synchronized Set<String> getAmbiguousAlternatives() {
+            return new TreeSet<>(this.ambiguousAlternatives);
+        }
+
+        public synchronized long getInvocations() {
+            return this.invocations;
+        }
+
+        public synchronized long getTimeInPrediction() {
+            return this.timeInPrediction;
+        }
+
+        public synchronized long getSllTotalLook() {
+            return this.sllTotalLook;
+        }
+
+        public synchronized long getSllMaxLook() {
+            return this.sllMaxLook;
+        }
+
+        public synchronized long getSllAtnTransitions() {
+            return this.sllAtnTransitions;
+        }
+
+        public synchronized long getLlFallbacks() {
+            return this.llFallbacks;
+        }
+
+        public synchronized long getLlTotalLook() {
+            return this.llTotalLook;
+        }
+
+        public synchronized long getLlMaxLook() {
+            return this.llMaxLook;
+        }
+
+        public synchronized long getLlAtnTransitions() {
+            return this.llAtnTransitions;
+        }
+
+        public synchronized long getAmbiguities() {
+            return this.ambiguities;
+        }
+
+        public synchronized long getContextSensitivities() {
+            return this.contextSensitivities;
+        }
+
+        public synchronized long getErrors() {
+            return this.errors;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DecisionProfiler(reportFile=" + this.reportFile + ")";
+    }
+}
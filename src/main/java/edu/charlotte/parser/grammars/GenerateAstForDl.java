@@ -1,15 +1,32 @@
 package edu.charlotte.parser.grammars;
 
+import edu.charlotte.parser.ast.nodes.AstNode;
 import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicLexer;
 import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicParser;
 import edu.charlotte.parser.listeners.ast.DlAstListener;
 import edu.charlotte.parser.utils.Constants;
+import edu.charlotte.parser.utils.GrammarVersionUtils;
 import org.antlr.v4.runtime.CharStream;
-import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.Set;
 
 public class GenerateAstForDl extends AbstractAstGenerator<DynamicDifferentialLogicLexer,
-        DynamicDifferentialLogicParser, DlAstListener> {
+        DynamicDifferentialLogicParser, DlAstListener, Set<String>> {
+    public static final String GRAMMAR_VERSION =
+            GrammarVersionUtils.fromSerializedAtns(DynamicDifferentialLogicLexer._serializedATN, DynamicDifferentialLogicParser._serializedATN);
+
+    public GenerateAstForDl() {
+        super();
+    }
+
+    public GenerateAstForDl(ParserOptions parserOptions) {
+        super(parserOptions);
+    }
 
     @Override
     protected DynamicDifferentialLogicLexer createLexerInstance(CharStream input) {
@@ -17,8 +34,14 @@ public class GenerateAstForDl extends AbstractAstGenerator<DynamicDifferentialLo
     }
 
     @Override
-    protected DynamicDifferentialLogicParser createParserInstance(CommonTokenStream tokens) {
-        return new DynamicDifferentialLogicParser(tokens);
+    protected DynamicDifferentialLogicParser createParserInstance(TokenStream tokens) {
+        // The tokens of the compact token stream are the terminal nodes of the parse tree themselves.
+        return new DynamicDifferentialLogicParser(tokens) {
+            @Override
+            public TerminalNode createTerminalNode(ParserRuleContext parent, Token token) {
+                return CompactTokenStream.createTerminalNode(parent, token);
+            }
+        };
     }
 
     @Override
@@ -31,8 +54,23 @@ public class GenerateAstForDl extends AbstractAstGenerator<DynamicDifferentialLo
         return new DlAstListener();
     }
 
+    @Override
+    protected AstNode getAstRoot(DlAstListener listener) {
+        return listener.getAst();
+    }
+
+    @Override
+    protected Set<String> getIdentifiers(DlAstListener listener) {
+        return listener.getIdentifiers();
+    }
+
     @Override
     public String getTypeName() {
         return Constants.DIFFERENTIAL_DYNAMIC_LOGIC;
     }
+
+    @Override
+    public String getGrammarVersion() {
+        return GRAMMAR_VERSION;
+    }
 }
\ No newline at end of file
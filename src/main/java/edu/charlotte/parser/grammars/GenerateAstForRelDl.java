@@ -1,22 +1,36 @@
 package edu.charlotte.parser.grammars;
 
+import edu.charlotte.parser.ast.nodes.AstNode;
 import edu.charlotte.parser.listeners.ast.RelDlAstListener;
 import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicLexer;
 import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicParser;
 import edu.charlotte.parser.utils.Constants;
+import edu.charlotte.parser.utils.GrammarVersionUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.CharStream;
-import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 public class GenerateAstForRelDl extends AbstractAstGenerator<RelationalDynamicLogicLexer,
-        RelationalDynamicLogicParser, RelDlAstListener> {
+        RelationalDynamicLogicParser, RelDlAstListener, Map<Character, Set<String>>> {
+    public static final String GRAMMAR_VERSION =
+            GrammarVersionUtils.fromSerializedAtns(RelationalDynamicLogicLexer._serializedATN, RelationalDynamicLogicParser._serializedATN);
 
     private final boolean hasKeYmaeraXConversion;
 
     public GenerateAstForRelDl(boolean hasKeYmaeraXConversion) {
-        super();
+        this(hasKeYmaeraXConversion, ParserOptions.defaults());
+    }
+
+    public GenerateAstForRelDl(boolean hasKeYmaeraXConversion, ParserOptions parserOptions) {
+        super(parserOptions);
         this.hasKeYmaeraXConversion = hasKeYmaeraXConversion;
     }
 
@@ -26,8 +40,14 @@ public class GenerateAstForRelDl extends AbstractAstGenerator<RelationalDynamicL
     }
 
     @Override
-    protected RelationalDynamicLogicParser createParserInstance(CommonTokenStream tokens) {
-        return new RelationalDynamicLogicParser(tokens);
+    protected RelationalDynamicLogicParser createParserInstance(TokenStream tokens) {
+        // The tokens of the compact token stream are the terminal nodes of the parse tree themselves.
+        return new RelationalDynamicLogicParser(tokens) {
+            @Override
+            public TerminalNode createTerminalNode(ParserRuleContext parent, Token token) {
+                return CompactTokenStream.createTerminalNode(parent, token);
+            }
+        };
     }
 
     @Override
@@ -40,8 +60,23 @@ public class GenerateAstForRelDl extends AbstractAstGenerator<RelationalDynamicL
         return new RelDlAstListener(this.hasKeYmaeraXConversion);
     }
 
+    @Override
+    protected AstNode getAstRoot(RelDlAstListener listener) {
+        return listener.getAst();
+    }
+
+    @Override
+    protected Map<Character, Set<String>> getIdentifiers(RelDlAstListener listener) {
+        return listener.getIdentifiers();
+    }
+
     @Override
     public String getTypeName() {
         return Constants.RELATIONAL_DYNAMIC_LOGIC;
     }
+
+    @Override
+    public String getGrammarVersion() {
+        return GRAMMAR_VERSION;
+    }
 }
\ No newline at end of file
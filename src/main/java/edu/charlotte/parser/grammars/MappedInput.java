@@ -0,0 +1,145 @@
+package edu.charlotte.parser.grammars;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Text of an input file mapped into memory, so that a large formula is lexed straight from the file instead of from a
+ * copy of it on the heap. The file is read one byte per character, as ISO-8859-1: the grammars are ASCII, so a valid
+ * formula reads the same as when it is decoded as UTF-8, but a non-ASCII character outside a comment is reported once
+ * per byte of its encoding, and the columns of the syntax errors count bytes. A mapping holds at most 2 GB.
+ */
+public final class MappedInput implements CharSequence {
+    private final ByteBuffer buffer;
+    private final String sourceName;
+
+    private MappedInput(ByteBuffer buffer, String sourceName) {
+        this.buffer = buffer;
+        this.sourceName = sourceName;
+    }
+
+    public static MappedInput map(Path path) throws IOException {
+        Objects.requireNonNull(path, "Path of the mapped input cannot be null.");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("File is too large to be mapped as a single input (" + size + " bytes): " + path);
+            // The mapping stays valid once the channel is closed, and is released when the buffer is garbage collected.
+            return new MappedInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), path.toString());
+        }
+    }
+
+    // A new stream at the start of the input for every lexer, the streams share the mapping but not their positions.
+    public CharStream charStream() {
+        return new MappedCharStream(this.buffer, this.sourceName);
+    }
+
+    @Override
+    public int length() {
+        return this.buffer.limit();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (this.buffer.get(index) & 0xFF);
+    }
+
+    @Override
+    public String subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length());
+        return text(this.buffer, start, end - start);
+    }
+
+    // The whole text of the input on the heap, which the large-input mode avoids.
+    @Override
+    public String toString() {
+        return subSequence(0, length());
+    }
+
+    private static String text(ByteBuffer buffer, int start, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    // Character stream over the mapped bytes, with the semantics of ANTLR's CodePointCharStream.
+    private static final class MappedCharStream implements CharStream {
+        private final ByteBuffer buffer;
+        private final String sourceName;
+        private final int size;
+        private int position;
+
+        private MappedCharStream(ByteBuffer buffer, String sourceName) {
+            this.buffer = buffer;
+            this.sourceName = sourceName;
+            this.size = buffer.limit();
+        }
+
+        @Override
+        public void consume() {
+            if (this.position >= this.size)
+                throw new IllegalStateException("cannot consume EOF");
+            this.position++;
+        }
+
+        @Override
+        public int LA(int i) {
+            int offset;
+            if (i > 0)
+                offset = this.position + i - 1;
+            else if (i < 0)
+                offset = this.position + i;
+            else
+                return 0;
+            if (offset < 0 || offset >= this.size)
+                return IntStream.EOF;
+            return this.buffer.get(offset) & 0xFF;
+        }
+
+        // The whole input stays mapped, so marks need no buffering.
+        @Override
+        public int mark() {
+            return -1;
+        }
+
+        @Override
+        public void release(int marker) {
+        }
+
+        @Override
+        public int index() {
+            return this.position;
+        }
+
+        @Override
+        public void seek(int index) {
+            this.position = index;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public String getSourceName() {
+            return this.sourceName;
+        }
+
+        @Override
+        public String getText(Interval interval) {
+            int start = Math.min(interval.a, this.size);
+            int length = Math.max(0, Math.min(interval.b - interval.a + 1, this.size - start));
+            return text(this.buffer, start, length);
+        }
+    }
+}
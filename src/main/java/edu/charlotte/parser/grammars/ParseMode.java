@@ -0,0 +1,11 @@
+package edu.charlotte.parser.grammars;
+
+// Prediction mode that produced the parse tree of an input item.
+public enum ParseMode {
+    // Full LL prediction, the default ANTLR parsing mode.
+    LL,
+    // Fast SLL prediction succeeded on the first attempt.
+    SLL,
+    // SLL prediction bailed out and the input item was parsed again with full LL prediction.
+    LL_FALLBACK
+}
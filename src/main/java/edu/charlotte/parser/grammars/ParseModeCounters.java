@@ -0,0 +1,45 @@
+package edu.charlotte.parser.grammars;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread-safe counts of the parse modes used for the items of a step.
+@Slf4j
+public class ParseModeCounters {
+    private static final String EXECUTION_CONTEXT_KEY_PREFIX = "parse.mode.";
+
+    private final Map<ParseMode, LongAdder> counters;
+
+    public ParseModeCounters() {
+        this.counters = new EnumMap<>(ParseMode.class);
+        for (ParseMode parseMode : ParseMode.values())
+            this.counters.put(parseMode, new LongAdder());
+    }
+
+    public void record(ParseMode parseMode) {
+        if (parseMode != null)
+            this.counters.get(parseMode).increment();
+    }
+
+    public long getCount(ParseMode parseMode) {
+        return this.counters.get(parseMode).sum();
+    }
+
+    // Counts keyed by the names to be stored in the execution context of the step.
+    public Map<String, Long> toExecutionContextEntries() {
+        Map<String, Long> entries = new LinkedHashMap<>();
+        for (Map.Entry<ParseMode, LongAdder> entry : this.counters.entrySet())
+            entries.put(EXECUTION_CONTEXT_KEY_PREFIX + entry.getKey().name(), entry.getValue().sum());
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseModeCounters(LL=" + getCount(ParseMode.LL) + ", SLL=" + getCount(ParseMode.SLL)
+                + ", LL_FALLBACK=" + getCount(ParseMode.LL_FALLBACK) + ")";
+    }
+}
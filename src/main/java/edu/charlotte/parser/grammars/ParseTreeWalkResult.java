@@ -0,0 +1,26 @@
+package edu.charlotte.parser.grammars;
+
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+
+/**
+ * Outcome of parsing a single input item and walking its parse tree with a listener. Either the listener holding
+ * the results of the walk is present, or the error message explains why the parse tree was not walked. The parse
+ * mode is null when the input item could not be parsed at all.
+ */
+public record ParseTreeWalkResult<TListener extends ParseTreeListener>(TListener listener, int lexerErrorCount,
+                                                                       int parserErrorCount, ParseMode parseMode,
+                                                                       String errorMessage) {
+
+    public static <TListener extends ParseTreeListener> ParseTreeWalkResult<TListener> success(TListener listener, ParseMode parseMode) {
+        return new ParseTreeWalkResult<>(listener, 0, 0, parseMode, null);
+    }
+
+    public static <TListener extends ParseTreeListener> ParseTreeWalkResult<TListener> failure(int lexerErrorCount, int parserErrorCount,
+                                                                                             ParseMode parseMode, String errorMessage) {
+        return new ParseTreeWalkResult<>(null, lexerErrorCount, parserErrorCount, parseMode, errorMessage);
+    }
+
+    public boolean isSuccessful() {
+        return errorMessage == null;
+    }
+}
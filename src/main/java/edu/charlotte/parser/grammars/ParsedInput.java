@@ -0,0 +1,34 @@
+package edu.charlotte.parser.grammars;
+
+import edu.charlotte.parser.listeners.common.SyntaxError;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.util.List;
+
+/**
+ * Parse tree of a single input item along with the syntax errors found while building it. The parse tree is not
+ * changed by walking it, so it can be walked by the listeners of several outputs of the item after parsing it once.
+ * The error message explains why the item could not be parsed at all, in which case the parse mode is null. The tree
+ * is null when the input was only validated or when the lexing or parsing was stopped at the syntax error limit. The
+ * syntax errors are only listed when the input was validated, a parsed input only counts them.
+ */
+public record ParsedInput(ParseTree tree, int lexerErrorCount, int parserErrorCount, List<SyntaxError> syntaxErrors,
+                          ParseMode parseMode, String errorMessage) {
+
+    public static ParsedInput parsed(ParseTree tree, int lexerErrorCount, int parserErrorCount, List<SyntaxError> syntaxErrors,
+                                     ParseMode parseMode) {
+        return new ParsedInput(tree, lexerErrorCount, parserErrorCount, List.copyOf(syntaxErrors), parseMode, null);
+    }
+
+    public static ParsedInput failure(String errorMessage) {
+        return new ParsedInput(null, 0, 0, List.of(), null, errorMessage);
+    }
+
+    public boolean isParsed() {
+        return errorMessage == null;
+    }
+
+    public boolean hasErrors() {
+        return lexerErrorCount > 0 || parserErrorCount > 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package edu.charlotte.parser.grammars;
+
+import java.util.Objects;
+
+/**
+ * Options controlling how the AST generators lex and parse the input items.
+ *
+ * @param twoStagePrediction parse with SLL prediction and a bail out error strategy first, falling back to full LL
+ *                           prediction only when SLL fails.
+ * @param reuseRecognizers   reuse the lexers, token streams and parsers of the parsed items for the next items instead
+ *                           of creating new ones for every item.
+ * @param maxIdleRecognizers maximum number of idle recognizers kept by a generator for the next items, which is the
+ *                           number of items it parses at the same time. The recognizers given back beyond it are dropped.
+ * @param deepInputStackSize stack size in bytes of the thread on which an input is parsed again when it is nested too
+ *                           deeply for the stack of the current thread. 0, the default, fails such inputs instead.
+ * @param decisionProfiler   profiler to which the parsers add their decision profiles. The parsers only profile their
+ *                           decisions while it is enabled, as profiling slows the prediction down.
+ */
+public record ParserOptions(boolean twoStagePrediction, boolean reuseRecognizers, int maxIdleRecognizers, long deepInputStackSize,
+                            DecisionProfiler decisionProfiler) {
+    public ParserOptions {
+        if (maxIdleRecognizers <= 0)
+            throw new IllegalArgumentException("Maximum number of idle recognizers must be positive: " + maxIdleRecognizers);
+        if (deepInputStackSize < 0)
+            throw new IllegalArgumentException("Deep input stack size cannot be negative: " + deepInputStackSize);
+        Objects.requireNonNull(decisionProfiler, "Decision profiler cannot be null.");
+    }
+
+    public static ParserOptions defaults() {
+        return new ParserOptions(false, true, Runtime.getRuntime().availableProcessors(), 0,
+                DecisionProfiler.disabled());
+    }
+
+    // Same options for a generator parsing the given number of items at the same time.
+    public ParserOptions withMaxIdleRecognizers(int maxIdleRecognizers) {
+        return new ParserOptions(this.twoStagePrediction, this.reuseRecognizers, maxIdleRecognizers, this.deepInputStackSize,
+                this.decisionProfiler);
+    }
+}
@@ -4,7 +4,12 @@ import edu.charlotte.parser.listeners.common.JobLoggingListener;
 import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
 import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConversionProcess;
 import edu.charlotte.parser.conversions.common.GenerateKeYmaeraXOutput;
+import edu.charlotte.parser.jobs.execution.ChunkStepConfigurer;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildListener;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.partition.InputFilesPartitioner;
 import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.cache.ConversionCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -13,11 +18,12 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
@@ -27,47 +33,64 @@ public class DlToKeYmaeraXConversionJobConfig {
     private final PlatformTransactionManager transactionManager;
     private final JobRepository jobRepository;
     private final int chunkSize;
+    private final int gridSize;
 
     public DlToKeYmaeraXConversionJobConfig(
             PlatformTransactionManager transactionManager,
             JobRepository jobRepository,
-            @Value("${chunk-size:10}") int chunkSize) {
+            @Value("${chunk-size:10}") int chunkSize,
+            @Value("${partition.grid-size:4}") int gridSize) {
         this.transactionManager = transactionManager;
         this.jobRepository = jobRepository;
         this.chunkSize = chunkSize;
-        log.info("DlToKeYmaeraXConversionJobConfig is initialized with chunk size: {}", this.chunkSize);
+        this.gridSize = gridSize;
+        log.info("DlToKeYmaeraXConversionJobConfig is initialized with chunk size: {} and grid size: {}", this.chunkSize, this.gridSize);
     }
 
     @Bean
     @StepScope
     public DlToKeYmaeraXConversionProcess dlToKeYmaeraXConversionProcess(GenerateAstForDl generateAstForDl, GenerateKeYmaeraXOutput generateKeYmaeraXOutput,
-                                                                         DlToKeYmaeraXConverter dlToKeYmaeraXConverter) {
+                                                                         DlToKeYmaeraXConverter dlToKeYmaeraXConverter,
+                                                                         ConversionCache conversionCache, ItemOrigins itemOrigins) {
         log.debug("Creating step-scoped DlToKeYmaeraXConversionProcess bean.");
-        return new DlToKeYmaeraXConversionProcess(generateAstForDl, generateKeYmaeraXOutput, dlToKeYmaeraXConverter);
+        return new DlToKeYmaeraXConversionProcess(generateAstForDl, generateKeYmaeraXOutput, dlToKeYmaeraXConverter, conversionCache, itemOrigins);
     }
 
     @Bean
-    public Step dlToKeYmaeraXConversionStep(ItemReader<String> inputFileReader,
+    public Step dlToKeYmaeraXConversionStep(ItemStreamReader<String> inputFileReader,
                                             DlToKeYmaeraXConversionProcess dlToKeYmaeraXConversionProcess,
-                                            FlatFileItemWriter<String> outputFileWriter) {
+                                            FlatFileItemWriter<String> outputFileWriter,
+                                            ChunkStepConfigurer chunkStepConfigurer) {
         log.info("Configuring dlToKeYmaeraXConversionStep with chunk size: {}", this.chunkSize);
-        return new StepBuilder("dlToKeYmaeraXConversionStep", jobRepository)
-                .<String, String>chunk(chunkSize, transactionManager)
-                .reader(inputFileReader)
-                .processor(dlToKeYmaeraXConversionProcess)
-                .writer(outputFileWriter)
+        return chunkStepConfigurer.<String, String>chunkStep(new StepBuilder("dlToKeYmaeraXConversionStep", jobRepository), chunkSize, transactionManager,
+                        inputFileReader, dlToKeYmaeraXConversionProcess, outputFileWriter)
+                .build();
+    }
+
+    @Bean
+    public Step dlToKeYmaeraXConversionPartitionStep(InputFilesPartitioner inputFilesPartitioner,
+                                                     TaskExecutor partitionTaskExecutor,
+                                                     Step dlToKeYmaeraXConversionStep) {
+        log.info("Configuring dlToKeYmaeraXConversionPartitionStep with grid size: {}", this.gridSize);
+        return new StepBuilder("dlToKeYmaeraXConversionPartitionStep", jobRepository)
+                .partitioner(dlToKeYmaeraXConversionStep.getName(), inputFilesPartitioner)
+                .step(dlToKeYmaeraXConversionStep)
+                .gridSize(gridSize)
+                .taskExecutor(partitionTaskExecutor)
                 .build();
     }
 
     @Bean
     public Job loadDlToKeYmaeraXConversionJob(JobRepository jobRepository,
                                               JobLoggingListener jobLoggingListener,
-                                              Step dlToKeYmaeraXConversionStep) {
+                                              IncrementalBuildListener incrementalBuildListener,
+                                              Step dlToKeYmaeraXConversionPartitionStep) {
         log.debug("Configuring loadDlToKeYmaeraXConversionJob.");
         return new JobBuilder("loadDlToKeYmaeraXConversionJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(jobLoggingListener)
-                .start(dlToKeYmaeraXConversionStep)
+                .listener(incrementalBuildListener)
+                .start(dlToKeYmaeraXConversionPartitionStep)
                 .build();
     }
 }
\ No newline at end of file
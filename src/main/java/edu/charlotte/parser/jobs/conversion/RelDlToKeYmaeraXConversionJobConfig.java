@@ -3,8 +3,14 @@ package edu.charlotte.parser.jobs.conversion;
 import edu.charlotte.parser.listeners.common.JobLoggingListener;
 import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
 import edu.charlotte.parser.conversions.common.GenerateKeYmaeraXOutput;
+import edu.charlotte.parser.conversions.reldl.keymaerax.RelDlConversionEngine;
 import edu.charlotte.parser.conversions.reldl.keymaerax.RelDlToKeYmaeraXConversionProcess;
+import edu.charlotte.parser.jobs.execution.ChunkStepConfigurer;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildListener;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.partition.InputFilesPartitioner;
 import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.cache.ConversionCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -13,11 +19,12 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
@@ -27,47 +34,69 @@ public class RelDlToKeYmaeraXConversionJobConfig {
     private final PlatformTransactionManager transactionManager;
     private final JobRepository jobRepository;
     private final int chunkSize;
+    private final int gridSize;
+    private final RelDlConversionEngine conversionEngine;
 
     public RelDlToKeYmaeraXConversionJobConfig(
             PlatformTransactionManager transactionManager,
             JobRepository jobRepository,
-            @Value("${chunk-size:10}") int chunkSize) {
+            @Value("${chunk-size:10}") int chunkSize,
+            @Value("${partition.grid-size:4}") int gridSize,
+            @Value("${conversion.rel-dl-engine:fused}") String conversionEngine) {
         this.transactionManager = transactionManager;
         this.jobRepository = jobRepository;
         this.chunkSize = chunkSize;
-        log.info("RelDlToKeYmaeraXConversionJobConfig is initialized with chunk size: {}", this.chunkSize);
+        this.gridSize = gridSize;
+        this.conversionEngine = RelDlConversionEngine.getRelDlConversionEngine(conversionEngine);
+        log.info("RelDlToKeYmaeraXConversionJobConfig is initialized with chunk size: {}, grid size: {} and conversion engine: {}",
+                this.chunkSize, this.gridSize, this.conversionEngine);
     }
 
     @Bean
     @StepScope
     public RelDlToKeYmaeraXConversionProcess relDlToKeYmaeraXConversionProcess(GenerateAstForRelDl generateAstForRelDl, GenerateKeYmaeraXOutput generateKeYmaeraXOutput,
-                                                                               DlToKeYmaeraXConverter dlToKeYmaeraXConverter) {
+                                                                               DlToKeYmaeraXConverter dlToKeYmaeraXConverter,
+                                                                               ConversionCache conversionCache, ItemOrigins itemOrigins) {
         log.debug("Creating step-scoped RelDlToKeYmaeraXConversionProcess bean.");
-        return new RelDlToKeYmaeraXConversionProcess(generateAstForRelDl, generateKeYmaeraXOutput, dlToKeYmaeraXConverter);
+        return new RelDlToKeYmaeraXConversionProcess(generateAstForRelDl, generateKeYmaeraXOutput, dlToKeYmaeraXConverter, this.conversionEngine,
+                conversionCache, itemOrigins);
     }
 
     @Bean
-    public Step relDlToKeYmaeraXConversionStep(ItemReader<String> inputFileReader,
+    public Step relDlToKeYmaeraXConversionStep(ItemStreamReader<String> inputFileReader,
                                                RelDlToKeYmaeraXConversionProcess relDlToKeYmaeraXConversionProcess,
-                                               FlatFileItemWriter<String> outputFileWriter) {
+                                               FlatFileItemWriter<String> outputFileWriter,
+                                               ChunkStepConfigurer chunkStepConfigurer) {
         log.info("Configuring relDlToKeYmaeraXConversionStep with chunk size: {}", this.chunkSize);
-        return new StepBuilder("relDlToKeYmaeraXConversionStep", jobRepository)
-                .<String, String>chunk(chunkSize, transactionManager)
-                .reader(inputFileReader)
-                .processor(relDlToKeYmaeraXConversionProcess)
-                .writer(outputFileWriter)
+        return chunkStepConfigurer.<String, String>chunkStep(new StepBuilder("relDlToKeYmaeraXConversionStep", jobRepository), chunkSize, transactionManager,
+                        inputFileReader, relDlToKeYmaeraXConversionProcess, outputFileWriter)
+                .build();
+    }
+
+    @Bean
+    public Step relDlToKeYmaeraXConversionPartitionStep(InputFilesPartitioner inputFilesPartitioner,
+                                                        TaskExecutor partitionTaskExecutor,
+                                                        Step relDlToKeYmaeraXConversionStep) {
+        log.info("Configuring relDlToKeYmaeraXConversionPartitionStep with grid size: {}", this.gridSize);
+        return new StepBuilder("relDlToKeYmaeraXConversionPartitionStep", jobRepository)
+                .partitioner(relDlToKeYmaeraXConversionStep.getName(), inputFilesPartitioner)
+                .step(relDlToKeYmaeraXConversionStep)
+                .gridSize(gridSize)
+                .taskExecutor(partitionTaskExecutor)
                 .build();
     }
 
     @Bean
     public Job loadRelDlToKeYmaeraXConversionJob(JobRepository jobRepository,
                                                  JobLoggingListener jobLoggingListener,
-                                                 Step relDlToKeYmaeraXConversionStep) {
+                                                 IncrementalBuildListener incrementalBuildListener,
+                                                 Step relDlToKeYmaeraXConversionPartitionStep) {
         log.debug("Configuring loadRelDlToKeYmaeraXConversionJob.");
         return new JobBuilder("loadRelDlToKeYmaeraXConversionJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(jobLoggingListener)
-                .start(relDlToKeYmaeraXConversionStep)
+                .listener(incrementalBuildListener)
+                .start(relDlToKeYmaeraXConversionPartitionStep)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package edu.charlotte.parser.jobs.execution;
+
+import edu.charlotte.parser.metrics.jfr.OutputWriteEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+import org.springframework.batch.item.support.SynchronizedItemStreamWriter;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Objects;
+
+/**
+ * Builds the chunk oriented steps of the jobs in the configured execution mode. In the parallel mode, the chunks are
+ * processed concurrently on the step task executor by as many workers as threads, with the reader and the writer
+ * synchronized so that only the processors run in parallel. The order of the items in the output file is not
+ * preserved in this mode.
+ */
+@Slf4j
+public class ChunkStepConfigurer {
+
+    private final StepExecutionMode executionMode;
+    private final TaskExecutor stepTaskExecutor;
+    private final int threads;
+
+    public ChunkStepConfigurer(StepExecutionMode executionMode, TaskExecutor stepTaskExecutor, int threads) {
+        this.executionMode = Objects.requireNonNull(executionMode, "Step execution mode cannot be null.");
+        this.stepTaskExecutor = Objects.requireNonNull(stepTaskExecutor, "Step task executor cannot be null.");
+        this.threads = threads;
+        log.debug("ChunkStepConfigurer is initialized with the mode: {}", this.executionMode);
+    }
+
+    public <I, O> SimpleStepBuilder<I, O> chunkStep(StepBuilder stepBuilder, int chunkSize, PlatformTransactionManager transactionManager,
+                                                    ItemStreamReader<I> reader, ItemProcessor<? super I, ? extends O> processor,
+                                                    ItemStreamWriter<O> writer) {
+        SimpleStepBuilder<I, O> chunkStepBuilder = stepBuilder.<I, O>chunk(chunkSize, transactionManager)
+                .listener(new OutputWriteEventListener());
+        if (this.executionMode == StepExecutionMode.SERIAL) {
+            return chunkStepBuilder
+                    .reader(reader)
+                    .processor(processor)
+                    .writer(writer);
+        }
+
+        log.info("Configuring the step in the parallel mode with {} threads.", this.threads);
+        SynchronizedItemStreamReader<I> synchronizedReader = new SynchronizedItemStreamReader<>();
+        synchronizedReader.setDelegate(reader);
+        SynchronizedItemStreamWriter<O> synchronizedWriter = new SynchronizedItemStreamWriter<>();
+        synchronizedWriter.setDelegate(writer);
+        // One worker per thread keeps the number of chunks in flight at the number of threads.
+        return chunkStepBuilder
+                .reader(synchronizedReader)
+                .processor(processor)
+                .writer(synchronizedWriter)
+                .stepOperations(new ConcurrentChunkOperations(this.stepTaskExecutor, this.threads));
+    }
+}
@@ -0,0 +1,78 @@
+package edu.charlotte.parser.jobs.execution;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.repeat.RepeatCallback;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatException;
+import org.springframework.batch.repeat.RepeatOperations;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.support.RepeatSynchronizationManager;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Step operations of the parallel mode, processing the chunks of a step on a fixed number of workers of the step task
+ * executor. Each worker processes one chunk after another until the reader is exhausted, so at most as many chunks as
+ * workers are in flight, whatever the throttle limit of Spring Batch, which is deprecated and otherwise caps them at
+ * four. Once a chunk fails, the workers stop after their current chunk and the first failure is rethrown to the step.
+ */
+@Slf4j
+class ConcurrentChunkOperations implements RepeatOperations {
+    private final TaskExecutor taskExecutor;
+    private final int workers;
+
+    ConcurrentChunkOperations(TaskExecutor taskExecutor, int workers) {
+        if (workers <= 0)
+            throw new IllegalArgumentException("Number of workers must be positive: " + workers);
+        this.taskExecutor = Objects.requireNonNull(taskExecutor, "Task executor cannot be null for the chunk operations.");
+        this.workers = workers;
+    }
+
+    @Override
+    public RepeatStatus iterate(RepeatCallback callback) throws RepeatException {
+        RepeatContext context = new RepeatContextSupport(RepeatSynchronizationManager.getContext());
+        AtomicBoolean finished = new AtomicBoolean();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch workersDone = new CountDownLatch(this.workers);
+        for (int worker = 0; worker < this.workers; worker++)
+            this.taskExecutor.execute(() -> {
+                RepeatSynchronizationManager.register(context);
+                try {
+                    while (!finished.get() && !context.isCompleteOnly() && !context.isTerminateOnly())
+                        if (!callback.doInIteration(context).isContinuable())
+                            finished.set(true);
+                } catch (Throwable e) {
+                    failures.add(e);
+                    finished.set(true);
+                } finally {
+                    RepeatSynchronizationManager.clear();
+                    workersDone.countDown();
+                }
+            });
+
+        try {
+            workersDone.await();
+        } catch (InterruptedException e) {
+            finished.set(true);
+            Thread.currentThread().interrupt();
+            throw new RepeatException("Interrupted while waiting for the chunks in flight.", e);
+        } finally {
+            context.close();
+        }
+
+        Throwable failure = failures.peek();
+        if (failure == null)
+            return RepeatStatus.FINISHED;
+        log.debug("{} chunk(s) failed, rethrowing the first failure.", failures.size());
+        if (failure instanceof RuntimeException runtimeException)
+            throw runtimeException;
+        if (failure instanceof Error error)
+            throw error;
+        throw new RepeatException("Exception in the processing of a chunk.", failure);
+    }
+}
@@ -0,0 +1,43 @@
+package edu.charlotte.parser.jobs.execution;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+@Configuration
+@Slf4j
+public class StepExecutionConfig {
+
+    private final StepExecutionMode executionMode;
+    private final StepExecutorType executorType;
+    private final int threads;
+
+    public StepExecutionConfig(@Value("${step-execution.mode:serial}") String executionMode,
+                               @Value("${step-execution.executor:virtual}") String executorType,
+                               @Value("${step-execution.threads:0}") int threads) {
+        this.executionMode = StepExecutionMode.getStepExecutionMode(executionMode);
+        this.executorType = StepExecutorType.getStepExecutorType(executorType);
+        // Zero or a negative number of threads uses all the available cores.
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        log.info("StepExecutionConfig is initialized with the mode: {}, executor: {} and threads: {}",
+                this.executionMode, this.executorType, this.threads);
+    }
+
+    // Runs the chunks of the parallel mode, with at most as many threads at once as the configured number of threads.
+    @Bean
+    public TaskExecutor stepTaskExecutor() {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("step-");
+        taskExecutor.setVirtualThreads(this.executorType == StepExecutorType.VIRTUAL);
+        taskExecutor.setConcurrencyLimit(this.threads);
+        log.debug("Step task executor is created with {} threads and the concurrency limit: {}", this.executorType, this.threads);
+        return taskExecutor;
+    }
+
+    @Bean
+    public ChunkStepConfigurer chunkStepConfigurer(TaskExecutor stepTaskExecutor) {
+        return new ChunkStepConfigurer(this.executionMode, stepTaskExecutor, this.threads);
+    }
+}
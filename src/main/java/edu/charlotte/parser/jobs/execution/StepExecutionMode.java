@@ -0,0 +1,16 @@
+package edu.charlotte.parser.jobs.execution;
+
+// Selects whether the chunks of a step are processed on the calling thread or on a pool of threads.
+public enum StepExecutionMode {
+    SERIAL,
+    PARALLEL;
+
+    // Helper method to get StepExecutionMode from the configured mode string
+    public static StepExecutionMode getStepExecutionMode(String name) {
+        for (StepExecutionMode mode : StepExecutionMode.values()) {
+            if (mode.name().equalsIgnoreCase(name))
+                return mode;
+        }
+        throw new IllegalArgumentException("Invalid step execution mode: " + name);
+    }
+}
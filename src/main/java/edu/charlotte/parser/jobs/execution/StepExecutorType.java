@@ -0,0 +1,16 @@
+package edu.charlotte.parser.jobs.execution;
+
+// Kind of threads used to process the chunks of a step in the parallel mode.
+public enum StepExecutorType {
+    VIRTUAL,
+    PLATFORM;
+
+    // Helper method to get StepExecutorType from the configured executor string
+    public static StepExecutorType getStepExecutorType(String name) {
+        for (StepExecutorType type : StepExecutorType.values()) {
+            if (type.name().equalsIgnoreCase(name))
+                return type;
+        }
+        throw new IllegalArgumentException("Invalid step executor type: " + name);
+    }
+}
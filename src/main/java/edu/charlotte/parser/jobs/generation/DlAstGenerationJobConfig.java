@@ -2,7 +2,15 @@ package edu.charlotte.parser.jobs.generation;
 
 import edu.charlotte.parser.listeners.common.JobLoggingListener;
 import edu.charlotte.parser.ast.generation.DlAstGenerationProcess;
+import edu.charlotte.parser.jobs.execution.ChunkStepConfigurer;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildListener;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.StreamableOutput;
+import edu.charlotte.parser.jobs.io.StreamingOutputFileWriter;
+import edu.charlotte.parser.jobs.partition.InputFilesPartitioner;
 import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.ParserOptions;
+import edu.charlotte.parser.cache.ConversionCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -11,11 +19,11 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
@@ -25,58 +33,75 @@ public class DlAstGenerationJobConfig {
     private final PlatformTransactionManager transactionManager;
     private final JobRepository jobRepository;
     private final int chunkSize;
+    private final int gridSize;
 
     public DlAstGenerationJobConfig(
             PlatformTransactionManager transactionManager,
             JobRepository jobRepository,
-            @Value("${chunk-size:10}") int chunkSize) {
+            @Value("${chunk-size:10}") int chunkSize,
+            @Value("${partition.grid-size:4}") int gridSize) {
         this.transactionManager = transactionManager;
         this.jobRepository = jobRepository;
         this.chunkSize = chunkSize;
-        log.info("Initialized DlAstGenerationJobConfig with chunk size: {}", this.chunkSize);
+        this.gridSize = gridSize;
+        log.info("Initialized DlAstGenerationJobConfig with chunk size: {} and grid size: {}", this.chunkSize, this.gridSize);
     }
 
     @Bean
     @StepScope
-    public GenerateAstForDl generateAstForDl() {
+    public GenerateAstForDl generateAstForDl(ParserOptions parserOptions) {
         log.debug("Creating step-scoped GenerateAstForDl bean.");
-        return new GenerateAstForDl();
+        return new GenerateAstForDl(parserOptions);
     }
 
     @Bean
     @StepScope
-    public DlAstGenerationProcess dlAstGenerationProcessor(GenerateAstForDl generateAstForDl) {
+    public DlAstGenerationProcess dlAstGenerationProcessor(GenerateAstForDl generateAstForDl, ConversionCache conversionCache,
+                                                           ItemOrigins itemOrigins) {
         log.debug("Creating step-scoped DlAstGenerationProcess bean.");
-        return new DlAstGenerationProcess(generateAstForDl);
+        return new DlAstGenerationProcess(generateAstForDl, conversionCache, itemOrigins);
     }
 
     @Bean
-    public Step dlAstGenerationStep(ItemReader<String> inputFileReader,
+    public Step dlAstGenerationStep(ItemStreamReader<String> inputFileReader,
                                     DlAstGenerationProcess dlAstGenerationProcessor,
-                                    FlatFileItemWriter<String> outputFileWriter) {
+                                    StreamingOutputFileWriter streamingOutputFileWriter,
+                                    ChunkStepConfigurer chunkStepConfigurer) {
         log.info("Configuring dlAstGenerationStep with chunk size: {}", this.chunkSize);
-        return new StepBuilder("dlAstGenerationStep", jobRepository)
-                .<String, String>chunk(chunkSize, transactionManager)
-                .reader(inputFileReader)
-                .processor(dlAstGenerationProcessor)
-                .writer(outputFileWriter)
+        return chunkStepConfigurer.<String, StreamableOutput>chunkStep(new StepBuilder("dlAstGenerationStep", jobRepository), chunkSize, transactionManager,
+                        inputFileReader, dlAstGenerationProcessor, streamingOutputFileWriter)
                 .build();
     }
 
     @Bean
-    public JobLoggingListener jobLoggingListener() {
-        return new JobLoggingListener();
+    public JobLoggingListener jobLoggingListener(@Value("${job-report.enabled:false}") boolean jobReportEnabled) {
+        return new JobLoggingListener(jobReportEnabled);
+    }
+
+    @Bean
+    public Step dlAstGenerationPartitionStep(InputFilesPartitioner inputFilesPartitioner,
+                                             TaskExecutor partitionTaskExecutor,
+                                             Step dlAstGenerationStep) {
+        log.info("Configuring dlAstGenerationPartitionStep with grid size: {}", this.gridSize);
+        return new StepBuilder("dlAstGenerationPartitionStep", jobRepository)
+                .partitioner(dlAstGenerationStep.getName(), inputFilesPartitioner)
+                .step(dlAstGenerationStep)
+                .gridSize(gridSize)
+                .taskExecutor(partitionTaskExecutor)
+                .build();
     }
 
     @Bean
     public Job loadDlAstGenerationJob(JobRepository jobRepository,
                                       JobLoggingListener jobLoggingListener,
-                                      Step dlAstGenerationStep) {
+                                      IncrementalBuildListener incrementalBuildListener,
+                                      Step dlAstGenerationPartitionStep) {
         log.debug("Configuring loadDlAstGenerationJob.");
         return new JobBuilder("loadDlAstGenerationJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(jobLoggingListener)
-                .start(dlAstGenerationStep)
+                .listener(incrementalBuildListener)
+                .start(dlAstGenerationPartitionStep)
                 .build();
     }
 }
\ No newline at end of file
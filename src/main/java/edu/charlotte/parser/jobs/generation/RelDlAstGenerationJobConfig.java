@@ -1,9 +1,18 @@
 package edu.charlotte.parser.jobs.generation;
 
+import edu.charlotte.parser.config.JobType;
 import edu.charlotte.parser.listeners.common.JobLoggingListener;
 import edu.charlotte.parser.ast.generation.RelDlAstGenerationProcess;
+import edu.charlotte.parser.jobs.execution.ChunkStepConfigurer;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildListener;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.StreamableOutput;
+import edu.charlotte.parser.jobs.io.StreamingOutputFileWriter;
+import edu.charlotte.parser.jobs.partition.InputFilesPartitioner;
 import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.grammars.ParserOptions;
 import edu.charlotte.parser.utils.Constants;
+import edu.charlotte.parser.cache.ConversionCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -12,11 +21,11 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
@@ -26,55 +35,73 @@ public class RelDlAstGenerationJobConfig {
     private final PlatformTransactionManager transactionManager;
     private final JobRepository jobRepository;
     private final int chunkSize;
+    private final int gridSize;
 
     public RelDlAstGenerationJobConfig(
             PlatformTransactionManager transactionManager,
             JobRepository jobRepository,
-            @Value("${chunk-size:10}") int chunkSize) {
+            @Value("${chunk-size:10}") int chunkSize,
+            @Value("${partition.grid-size:4}") int gridSize) {
         this.transactionManager = transactionManager;
         this.jobRepository = jobRepository;
         this.chunkSize = chunkSize;
-        log.info("Initialized RelDlAstGenerationJobConfig with chunk size: {}", this.chunkSize);
+        this.gridSize = gridSize;
+        log.info("Initialized RelDlAstGenerationJobConfig with chunk size: {} and grid size: {}", this.chunkSize, this.gridSize);
     }
 
     @Bean
     @StepScope
-    public GenerateAstForRelDl generateAstForRelDl(@Value("#{jobParameters['" + Constants.JOB_NAME + "']}") String jobName) {
-        boolean hasKeYmaeraXConversion = jobName.equalsIgnoreCase(Constants.JOBNAME_REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION);
+    public GenerateAstForRelDl generateAstForRelDl(@Value("#{jobParameters['" + Constants.JOB_NAME + "']}") String jobName,
+                                                   ParserOptions parserOptions) {
+        boolean hasKeYmaeraXConversion = JobType.getJobTypes(jobName).contains(JobType.REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION);
         log.debug("The job '{}' requires KeYmaeraX conversion: {}", jobName, hasKeYmaeraXConversion);
         log.info("GenerateASTForRelDL will be instantiated with hasKeYmaeraXConversion set to: {}", hasKeYmaeraXConversion);
-        return new GenerateAstForRelDl(hasKeYmaeraXConversion);
+        return new GenerateAstForRelDl(hasKeYmaeraXConversion, parserOptions);
     }
 
     @Bean
     @StepScope
-    public RelDlAstGenerationProcess relDlAstGenerationProcess(GenerateAstForRelDl generateAstForRelDl) {
+    public RelDlAstGenerationProcess relDlAstGenerationProcess(GenerateAstForRelDl generateAstForRelDl, ConversionCache conversionCache,
+                                                               ItemOrigins itemOrigins) {
         log.debug("Creating step-scoped RelDlAstGenerationProcess bean.");
-        return new RelDlAstGenerationProcess(generateAstForRelDl);
+        return new RelDlAstGenerationProcess(generateAstForRelDl, conversionCache, itemOrigins);
     }
 
     @Bean
-    public Step relDlAstGenerationStep(ItemReader<String> inputFileReader,
+    public Step relDlAstGenerationStep(ItemStreamReader<String> inputFileReader,
                                        RelDlAstGenerationProcess relDlAstGenerationProcess,
-                                       FlatFileItemWriter<String> outputFileWriter) {
+                                       StreamingOutputFileWriter streamingOutputFileWriter,
+                                       ChunkStepConfigurer chunkStepConfigurer) {
         log.info("Configuring relDlAstGenerationStep with chunk size: {}.", this.chunkSize);
-        return new StepBuilder("relDlAstGenerationStep", jobRepository)
-                .<String, String>chunk(chunkSize, transactionManager)
-                .reader(inputFileReader)
-                .processor(relDlAstGenerationProcess)
-                .writer(outputFileWriter)
+        return chunkStepConfigurer.<String, StreamableOutput>chunkStep(new StepBuilder("relDlAstGenerationStep", jobRepository), chunkSize, transactionManager,
+                        inputFileReader, relDlAstGenerationProcess, streamingOutputFileWriter)
+                .build();
+    }
+
+    @Bean
+    public Step relDlAstGenerationPartitionStep(InputFilesPartitioner inputFilesPartitioner,
+                                                TaskExecutor partitionTaskExecutor,
+                                                Step relDlAstGenerationStep) {
+        log.info("Configuring relDlAstGenerationPartitionStep with grid size: {}", this.gridSize);
+        return new StepBuilder("relDlAstGenerationPartitionStep", jobRepository)
+                .partitioner(relDlAstGenerationStep.getName(), inputFilesPartitioner)
+                .step(relDlAstGenerationStep)
+                .gridSize(gridSize)
+                .taskExecutor(partitionTaskExecutor)
                 .build();
     }
 
     @Bean
     public Job loadRelDlAstGenerationJob(JobRepository jobRepository,
                                          JobLoggingListener jobLoggingListener,
-                                         Step relDlAstGenerationStep) {
+                                         IncrementalBuildListener incrementalBuildListener,
+                                         Step relDlAstGenerationPartitionStep) {
         log.info("Configuring loadRelDlAstGenerationJob.");
         return new JobBuilder("loadRelDlAstGenerationJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(jobLoggingListener)
-                .start(relDlAstGenerationStep)
+                .listener(incrementalBuildListener)
+                .start(relDlAstGenerationPartitionStep)
                 .build();
     }
 }
\ No newline at end of file
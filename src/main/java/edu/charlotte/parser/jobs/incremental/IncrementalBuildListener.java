@@ -0,0 +1,55 @@
+package edu.charlotte.parser.jobs.incremental;
+
+import edu.charlotte.parser.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the outputs written by the completed partitions of an incremental run in the manifest of the output
+ * directory. The outputs of the failed partitions are left out, so that their inputs are processed again next time.
+ */
+@Slf4j
+public class IncrementalBuildListener implements JobExecutionListener {
+
+    private final boolean enabled;
+
+    public IncrementalBuildListener(boolean enabled) {
+        this.enabled = enabled;
+        log.debug("IncrementalBuildListener instance is created with incremental builds set to: {}", this.enabled);
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        String outputDirectory = jobExecution.getJobParameters().getString(Constants.OUTPUT_DIR);
+        if (!this.enabled || outputDirectory == null)
+            return;
+
+        IncrementalBuildManifest manifest = IncrementalBuildManifest.load(Path.of(outputDirectory));
+        Set<String> recordedOutputFiles = new HashSet<>();
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            ExecutionContext executionContext = stepExecution.getExecutionContext();
+            if (stepExecution.getStatus() != BatchStatus.COMPLETED || !executionContext.containsKey(Constants.INPUT_FINGERPRINT))
+                continue;
+            // The output files of the multi-target jobs are stored under the output file key followed by their file extensions.
+            String inputFingerprint = executionContext.getString(Constants.INPUT_FINGERPRINT);
+            for (Map.Entry<String, Object> entry : executionContext.entrySet()) {
+                if (entry.getKey().startsWith(Constants.OUTPUT_FILE) && entry.getValue() instanceof String outputFile
+                        && recordedOutputFiles.add(outputFile))
+                    manifest.record(Path.of(outputFile), inputFingerprint);
+            }
+        }
+        if (!recordedOutputFiles.isEmpty())
+            manifest.save();
+        log.info("Job '{}' recorded {} generated output(s) in the incremental build manifest.",
+                jobExecution.getJobInstance().getJobName(), recordedOutputFiles.size());
+    }
+}
@@ -0,0 +1,123 @@
+package edu.charlotte.parser.jobs.incremental;
+
+import edu.charlotte.parser.utils.BuildVersionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Records the fingerprint of the input each output file of an output directory was generated from, so that an
+ * incremental run can skip the inputs whose outputs are up to date. The manifest is a properties file in the output
+ * directory, keyed by the paths of the outputs relative to the directory.
+ */
+@Slf4j
+public class IncrementalBuildManifest {
+    public static final String MANIFEST_FILE_NAME = ".parser-manifest.properties";
+    private static final int READ_BUFFER_SIZE = 65536;
+
+    private final Path outputDirectory;
+    private final Path manifestPath;
+    private final Properties entries;
+
+    private IncrementalBuildManifest(Path outputDirectory, Properties entries) {
+        this.outputDirectory = outputDirectory;
+        this.manifestPath = outputDirectory.resolve(MANIFEST_FILE_NAME);
+        this.entries = entries;
+    }
+
+    // Loads the manifest of the output directory, which is empty before the first incremental run.
+    public static IncrementalBuildManifest load(Path outputDirectory) {
+        Objects.requireNonNull(outputDirectory, "Output directory cannot be null for the incremental build manifest.");
+        Path manifestPath = outputDirectory.resolve(MANIFEST_FILE_NAME);
+        Properties entries = new Properties();
+        if (Files.isRegularFile(manifestPath)) {
+            try (Reader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+                entries.load(reader);
+            } catch (IOException e) {
+                log.warn("Failed to read the incremental build manifest '{}'. All the inputs will be processed.", manifestPath, e);
+                entries.clear();
+            }
+        }
+        log.debug("Loaded {} entries from the incremental build manifest '{}'.", entries.size(), manifestPath);
+        return new IncrementalBuildManifest(outputDirectory, entries);
+    }
+
+    /*
+     * Hex encoded SHA-256 of the content of the input file along with the build of the parser and the options its output
+     * depends on, such as the job and the grammar. The file is read in blocks, so large inputs are not loaded into memory.
+     */
+    public static String fingerprintInput(Path inputFile, String... options) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM.", e);
+        }
+        digest.update(BuildVersionUtils.getBuildVersion().getBytes(StandardCharsets.UTF_8));
+        for (String option : options) {
+            digest.update((byte) 0);
+            digest.update(String.valueOf(option).getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+        try (InputStream inputStream = Files.newInputStream(inputFile)) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1)
+                digest.update(buffer, 0, length);
+        } catch (IOException e) {
+            log.error("Failed to read the input file '{}' for its fingerprint.", inputFile, e);
+            throw new UncheckedIOException("Failed to read the input file for its fingerprint: " + inputFile, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // The output is up to date when it still exists and was generated from an input with the same fingerprint.
+    public boolean isUpToDate(Path outputFile, String inputFingerprint) {
+        return inputFingerprint.equals(this.entries.getProperty(toEntryKey(outputFile))) && Files.isRegularFile(outputFile);
+    }
+
+    public void record(Path outputFile, String inputFingerprint) {
+        this.entries.setProperty(toEntryKey(outputFile), inputFingerprint);
+    }
+
+    // Writes the manifest to a temporary file moved in place, so an interrupted run never leaves a partial manifest.
+    public void save() {
+        try {
+            Files.createDirectories(this.outputDirectory);
+            Path temporaryPath = Files.createTempFile(this.outputDirectory, MANIFEST_FILE_NAME, ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+                    this.entries.store(writer, "Input fingerprints of the generated outputs");
+                }
+                Files.move(temporaryPath, this.manifestPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+            log.info("Saved {} entries to the incremental build manifest '{}'.", this.entries.size(), this.manifestPath);
+        } catch (IOException e) {
+            log.error("Failed to save the incremental build manifest '{}'.", this.manifestPath, e);
+            throw new UncheckedIOException("Failed to save the incremental build manifest: " + this.manifestPath, e);
+        }
+    }
+
+    private String toEntryKey(Path outputFile) {
+        Path absoluteOutputDirectory = this.outputDirectory.toAbsolutePath().normalize();
+        Path absoluteOutputFile = outputFile.toAbsolutePath().normalize();
+        Path entryPath = absoluteOutputFile.startsWith(absoluteOutputDirectory)
+                ? absoluteOutputDirectory.relativize(absoluteOutputFile) : absoluteOutputFile;
+        return entryPath.toString().replace('\\', '/');
+    }
+}
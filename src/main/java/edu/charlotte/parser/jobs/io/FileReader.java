@@ -1,10 +1,12 @@
 package edu.charlotte.parser.jobs.io;
 
+import edu.charlotte.parser.config.JobType;
 import edu.charlotte.parser.exceptions.FileReadingException;
+import edu.charlotte.parser.grammars.MappedInput;
 import edu.charlotte.parser.utils.Constants;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.configuration.annotation.StepScope;
-import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,9 +22,59 @@ import java.util.Objects;
 @Slf4j
 public class FileReader {
 
+    private final ReaderMode readerMode;
+    private final String recordDelimiter;
+    private final int bufferSize;
+
+    public FileReader(@Value("${input-reader.mode:file}") String readerMode,
+                      @Value("${input-reader.record-delimiter:}") String recordDelimiter,
+                      @Value("${input-reader.buffer-size:65536}") int bufferSize) {
+        this.readerMode = ReaderMode.getReaderMode(readerMode);
+        this.recordDelimiter = recordDelimiter;
+        this.bufferSize = bufferSize;
+        log.info("FileReader is initialized with the reader mode: {}", this.readerMode);
+    }
+
+    @Bean
+    @StepScope
+    public AbstractItemCountingItemStreamItemReader<String> inputFileReader(@Value("#{stepExecutionContext['" + Constants.INPUT_FILE + "']}") String inputFile,
+                                                                           ItemOrigins itemOrigins) {
+        Path inputFilePath = resolveInputFile(inputFile);
+        log.debug("Reading the input file: {}", inputFile);
+        return switch (this.readerMode) {
+            case FILE -> new SingleFileContentReader(inputFilePath, itemOrigins);
+            case STREAMING -> new FormulaRecordReader(inputFilePath, this.recordDelimiter, this.bufferSize, itemOrigins);
+            case MAPPED -> throw new IllegalArgumentException("The mapped input reader mode is only supported by the validation jobs.");
+        };
+    }
+
+    /*
+     * The archive entries of the KeYmaeraX outputs of an incremental build derive their IDs from the origins of their
+     * items, with the input file identified by its fingerprint, so that they do not change while their input does not.
+     * The error outputs of the streaming input reader mode tell the record of their item.
+     */
+    @Bean
+    @StepScope
+    public ItemOrigins itemOrigins(@Value("#{jobParameters['" + Constants.JOB_NAME + "']}") String jobName,
+                                   @Value("#{stepExecutionContext['" + Constants.INPUT_FILE + "']}") String inputFile,
+                                   @Value("#{stepExecutionContext['" + Constants.INPUT_FINGERPRINT + "']}") String inputFingerprint) {
+        if (inputFingerprint != null && JobType.getJobTypes(jobName).stream().anyMatch(JobType::isKeYmaeraXConversion))
+            return new ItemOrigins(inputFingerprint);
+        if (this.readerMode == ReaderMode.STREAMING)
+            return new ItemOrigins(inputFile);
+        return ItemOrigins.disabled();
+    }
+
+    // Reader of the mapped input reader mode, whose single item is the whole input file mapped into memory.
     @Bean
     @StepScope
-    public SingleFileContentReader inputFileReader(@Value("#{jobParameters['" + Constants.INPUT_FILE + "']}") String inputFile) {
+    public AbstractItemCountingItemStreamItemReader<MappedInput> mappedInputFileReader(@Value("#{stepExecutionContext['" + Constants.INPUT_FILE + "']}") String inputFile) {
+        Path inputFilePath = resolveInputFile(inputFile);
+        log.debug("Mapping the input file: {}", inputFile);
+        return new MappedFileContentReader(inputFilePath);
+    }
+
+    private Path resolveInputFile(String inputFile) {
         if (inputFile == null || inputFile.trim().isEmpty()) {
             log.error("Input file path parameter is null or empty. Parameter value: {}", Constants.INPUT_FILE);
             throw new IllegalArgumentException("Input file path cannot be null or empty.");
@@ -42,23 +94,41 @@ public class FileReader {
             log.error("Input file does not exist or is not a file: {}", inputFile);
             throw new IllegalArgumentException("Input file does not exist or is not a file: " + inputFile);
         }
-
-        log.debug("Reading the input file: {}", inputFile);
-        return new SingleFileContentReader(inputFilePath);
+        return inputFilePath;
     }
 
-    private static class SingleFileContentReader implements ItemReader<String> {
+    private static class SingleFileContentReader extends AbstractItemCountingItemStreamItemReader<String> {
         private final Path inputFilePath;
+        private final ItemOrigins itemOrigins;
         private boolean hasFileReadingCompleted;
 
-        public SingleFileContentReader(Path inputFilePath) {
+        public SingleFileContentReader(Path inputFilePath, ItemOrigins itemOrigins) {
             this.inputFilePath = Objects.requireNonNull(inputFilePath, "Input file path for SingleFileContentReader cannot be null.");
+            this.itemOrigins = Objects.requireNonNull(itemOrigins, "Item origins for SingleFileContentReader cannot be null.");
             this.hasFileReadingCompleted = false;
+            setName(SingleFileContentReader.class.getSimpleName());
             log.debug("SingleFileContentReader initialized for file: '{}'.", inputFilePath);
         }
 
         @Override
-        public String read() {
+        protected void doOpen() {
+            this.hasFileReadingCompleted = false;
+        }
+
+        @Override
+        protected void doClose() {
+            log.debug("Closed the SingleFileContentReader for file: '{}'.", inputFilePath);
+        }
+
+        @Override
+        public String read() throws Exception {
+            String content = super.read();
+            this.itemOrigins.record(content, getCurrentItemCount() - 1);
+            return content;
+        }
+
+        @Override
+        protected String doRead() {
             if (hasFileReadingCompleted) {
                 log.debug("Content of the input file is already read.");
                 return null; // Return null to indicate no more items
@@ -76,4 +146,41 @@ public class FileReader {
             }
         }
     }
+
+    private static class MappedFileContentReader extends AbstractItemCountingItemStreamItemReader<MappedInput> {
+        private final Path inputFilePath;
+        private boolean hasFileReadingCompleted;
+
+        public MappedFileContentReader(Path inputFilePath) {
+            this.inputFilePath = Objects.requireNonNull(inputFilePath, "Input file path for MappedFileContentReader cannot be null.");
+            this.hasFileReadingCompleted = false;
+            setName(MappedFileContentReader.class.getSimpleName());
+            log.debug("MappedFileContentReader initialized for file: '{}'.", inputFilePath);
+        }
+
+        @Override
+        protected void doOpen() {
+            this.hasFileReadingCompleted = false;
+        }
+
+        @Override
+        protected void doClose() {
+            log.debug("Closed the MappedFileContentReader for file: '{}'.", inputFilePath);
+        }
+
+        @Override
+        protected MappedInput doRead() {
+            if (hasFileReadingCompleted)
+                return null;
+            try {
+                MappedInput content = MappedInput.map(inputFilePath);
+                hasFileReadingCompleted = true;
+                log.info("Successfully mapped the {} bytes of the file: {}", content.length(), inputFilePath);
+                return content;
+            } catch (IOException e) {
+                log.error("Error mapping the file: {}", inputFilePath, e);
+                throw new FileReadingException("Failed to map the file: " + inputFilePath, e);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -20,9 +20,37 @@ import java.nio.file.Paths;
 @Configuration
 @Slf4j
 public class FileWriter {
+
+    private final int bufferSize;
+
+    public FileWriter(@Value("${output-writer.buffer-size:65536}") int bufferSize) {
+        this.bufferSize = bufferSize;
+        log.debug("FileWriter is initialized with the buffer size: {}", this.bufferSize);
+    }
+
+    @Bean
+    @StepScope
+    public FlatFileItemWriter<String> outputFileWriter(@Value("#{stepExecutionContext['" + Constants.OUTPUT_FILE + "']}") String outputFile) {
+        return createOutputFileWriter(outputFile);
+    }
+
+    // Writer streaming the outputs of the AST generation jobs, whose rendered trees can be large.
+    @Bean
+    @StepScope
+    public StreamingOutputFileWriter streamingOutputFileWriter(@Value("#{stepExecutionContext['" + Constants.OUTPUT_FILE + "']}") String outputFile) {
+        return createStreamingOutputFileWriter(outputFile);
+    }
+
+    // Writer of the multi-target jobs, writing the outputs of each target to the output file of its file extension.
     @Bean
     @StepScope
-    public FlatFileItemWriter<String> outputFileWriter(@Value("#{jobParameters['" + Constants.OUTPUT_FILE + "']}") String outputFile) {
+    public MultiTargetOutputWriter multiTargetOutputWriter(
+            @Value("#{stepExecutionContext['" + Constants.OUTPUT_FILE + Constants.AST_GENERATION_EXTENSION + "']}") String astOutputFile,
+            @Value("#{stepExecutionContext['" + Constants.OUTPUT_FILE + Constants.KEYMAERAX_EXTENSION + "']}") String keYmaeraXOutputFile) {
+        return new MultiTargetOutputWriter(createStreamingOutputFileWriter(astOutputFile), createOutputFileWriter(keYmaeraXOutputFile));
+    }
+
+    private FlatFileItemWriter<String> createOutputFileWriter(String outputFile) {
         if (outputFile == null || outputFile.trim().isEmpty()) {
             log.error("Output file parameter '{}' is null or empty.", Constants.OUTPUT_FILE);
             throw new IllegalArgumentException("Output file path cannot be null or empty.");
@@ -39,6 +67,18 @@ public class FileWriter {
                 .build();
     }
 
+    private StreamingOutputFileWriter createStreamingOutputFileWriter(String outputFile) {
+        if (outputFile == null || outputFile.trim().isEmpty()) {
+            log.error("Output file parameter '{}' is null or empty.", Constants.OUTPUT_FILE);
+            throw new IllegalArgumentException("Output file path cannot be null or empty.");
+        }
+
+        Path outputFilePath = validateOutputFileAndDirectory(outputFile);
+
+        log.info("Streaming to the output File {}.", outputFilePath.getFileName());
+        return new StreamingOutputFileWriter(outputFilePath, this.bufferSize);
+    }
+
     private Path validateOutputFileAndDirectory(String outputFile) {
         Path outputFilePath;
         try {
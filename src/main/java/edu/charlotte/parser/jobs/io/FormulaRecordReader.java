@@ -0,0 +1,135 @@
+package edu.charlotte.parser.jobs.io;
+
+import edu.charlotte.parser.exceptions.FileReadingException;
+import edu.charlotte.parser.utils.ParserUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Streams the formulas of an input file one record at a time instead of loading the whole file.
+ * Records are separated by the configured delimiter (a line break by default). Text following a
+ * '//' comment marker is dropped up to the end of the line, so a delimiter inside a comment never
+ * splits a record. Blank records are skipped. The position of every read record is recorded in the item origins.
+ */
+@Slf4j
+public class FormulaRecordReader extends AbstractItemCountingItemStreamItemReader<String> {
+    private static final String LINE_DELIMITER = "\n";
+    private static final char COMMENT_CHARACTER = '/';
+
+    private final Path inputFilePath;
+    private final String recordDelimiter;
+    private final int bufferSize;
+    private final ItemOrigins itemOrigins;
+    private BufferedReader bufferedReader;
+
+    public FormulaRecordReader(Path inputFilePath, String recordDelimiter, int bufferSize, ItemOrigins itemOrigins) {
+        this.inputFilePath = Objects.requireNonNull(inputFilePath, "Input file path for FormulaRecordReader cannot be null.");
+        this.recordDelimiter = (recordDelimiter == null || recordDelimiter.isEmpty()) ? LINE_DELIMITER : recordDelimiter;
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Buffer size for FormulaRecordReader must be positive: " + bufferSize);
+        this.bufferSize = bufferSize;
+        this.itemOrigins = Objects.requireNonNull(itemOrigins, "Item origins for FormulaRecordReader cannot be null.");
+        setName(FormulaRecordReader.class.getSimpleName());
+        log.debug("FormulaRecordReader initialized for file: '{}' with a record delimiter of {} character(s).",
+                inputFilePath, this.recordDelimiter.length());
+    }
+
+    @Override
+    protected void doOpen() throws IOException {
+        FileChannel channel = FileChannel.open(inputFilePath, StandardOpenOption.READ);
+        this.bufferedReader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), bufferSize);
+        log.info("Opened the input file '{}' for streaming formula records.", inputFilePath);
+    }
+
+    // The item count of the reader is the position of the record once it is read.
+    @Override
+    public String read() throws Exception {
+        String record = super.read();
+        this.itemOrigins.record(record, getCurrentItemCount() - 1);
+        return record;
+    }
+
+    @Override
+    protected String doRead() {
+        try {
+            String record;
+            do {
+                record = readNextRecord();
+                if (record == null) {
+                    log.debug("Reached the end of the input file: {}", inputFilePath);
+                    return null;
+                }
+                record = record.trim();
+            } while (record.isEmpty());
+            log.debug("Read the formula record: {}", ParserUtils.formatInputForLogging(record));
+            return record;
+        } catch (IOException e) {
+            log.error("Error reading a formula record from the file: {}", inputFilePath, e);
+            throw new FileReadingException("Failed to read a formula record from the file: " + inputFilePath, e);
+        }
+    }
+
+    @Override
+    protected void doClose() throws IOException {
+        if (this.bufferedReader != null) {
+            this.bufferedReader.close();
+            this.bufferedReader = null;
+            log.debug("Closed the input file: {}", inputFilePath);
+        }
+    }
+
+    // Returns the next raw record, or null once the end of the input is reached without any pending content.
+    private String readNextRecord() throws IOException {
+        StringBuilder recordBuilder = new StringBuilder();
+        boolean insideComment = false;
+        boolean hasContent = false;
+        int current;
+        while ((current = bufferedReader.read()) != -1) {
+            hasContent = true;
+            char character = (char) current;
+            if (insideComment) {
+                if (character != '\n')
+                    continue;
+                insideComment = false;
+            } else if (character == COMMENT_CHARACTER && isFollowedByCommentCharacter()) {
+                insideComment = true;
+                continue;
+            }
+
+            recordBuilder.append(character);
+            if (endsWithDelimiter(recordBuilder)) {
+                recordBuilder.setLength(recordBuilder.length() - recordDelimiter.length());
+                return recordBuilder.toString();
+            }
+        }
+        return hasContent ? recordBuilder.toString() : null;
+    }
+
+    private boolean isFollowedByCommentCharacter() throws IOException {
+        bufferedReader.mark(1);
+        if (bufferedReader.read() == COMMENT_CHARACTER)
+            return true;
+        bufferedReader.reset();
+        return false;
+    }
+
+    private boolean endsWithDelimiter(StringBuilder recordBuilder) {
+        int offset = recordBuilder.length() - recordDelimiter.length();
+        if (offset < 0)
+            return false;
+        for (int index = 0; index < recordDelimiter.length(); index++) {
+            if (recordBuilder.charAt(offset + index) != recordDelimiter.charAt(index))
+                return false;
+        }
+        return true;
+    }
+}
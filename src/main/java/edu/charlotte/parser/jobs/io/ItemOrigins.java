@@ -0,0 +1,53 @@
+package edu.charlotte.parser.jobs.io;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Origins of the items of a step, from which the incremental builds derive the IDs of the KeYmaeraX archive entries and
+ * the streaming input reader mode tells the record of an invalid item in its output. The reader records the position
+ * of every item in its input file as it reads the item, and the processor takes it back when it processes the item. The reader is synchronized in the parallel mode, so the positions follow the order of
+ * the input file even though the items are processed out of order. The items are told apart by their identity, as the
+ * same formula may occur at several positions of a file. Nothing is recorded while disabled, so that the jobs reading a
+ * single item per file without archive entries do not hold on to their items.
+ */
+public class ItemOrigins {
+    private final String input;
+    private final Map<Object, Long> positions;
+
+    // The input identifies the input file, by its fingerprint or its path, or is null to disable the origins.
+    public ItemOrigins(String input) {
+        this.input = input;
+        this.positions = input == null ? null : Collections.synchronizedMap(new IdentityHashMap<>());
+    }
+
+    public static ItemOrigins disabled() {
+        return new ItemOrigins(null);
+    }
+
+    public boolean isEnabled() {
+        return this.input != null;
+    }
+
+    public void record(Object item, long position) {
+        if (isEnabled() && item != null)
+            this.positions.put(item, position);
+    }
+
+    // Returns null when the origin of the item was not recorded.
+    public ItemOrigin take(Object item) {
+        if (!isEnabled())
+            return null;
+        Long position = this.positions.remove(item);
+        return position == null ? null : new ItemOrigin(this.input, position);
+    }
+
+    // Error output of an item, preceded by the record of the item when its origin is known.
+    public static String describeError(ItemOrigin origin, String errorOutput) {
+        return origin == null ? errorOutput : "Record " + (origin.position() + 1) + ": " + errorOutput;
+    }
+
+    // Input file of an item and its position among the items of the file, counted from 0.
+    public record ItemOrigin(String input, long position) {}
+}
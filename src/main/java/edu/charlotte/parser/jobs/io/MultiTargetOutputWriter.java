@@ -0,0 +1,63 @@
+package edu.charlotte.parser.jobs.io;
+
+import edu.charlotte.parser.multitarget.MultiTargetOutput;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.lang.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Writes the outputs of the items of a multi-target job, each target to its own output file through the writer used
+ * by its single-target job. The writers save their states under their own names, so a restarted step resumes both.
+ */
+@Slf4j
+public class MultiTargetOutputWriter implements ItemStreamWriter<MultiTargetOutput> {
+
+    private final StreamingOutputFileWriter astOutputWriter;
+    private final FlatFileItemWriter<String> keYmaeraXOutputWriter;
+
+    public MultiTargetOutputWriter(StreamingOutputFileWriter astOutputWriter, FlatFileItemWriter<String> keYmaeraXOutputWriter) {
+        this.astOutputWriter = Objects.requireNonNull(astOutputWriter, "AST output writer cannot be null.");
+        this.keYmaeraXOutputWriter = Objects.requireNonNull(keYmaeraXOutputWriter, "KeYmaeraX output writer cannot be null.");
+    }
+
+    @Override
+    public void open(@NonNull ExecutionContext executionContext) {
+        this.astOutputWriter.open(executionContext);
+        this.keYmaeraXOutputWriter.open(executionContext);
+    }
+
+    @Override
+    public void write(@NonNull Chunk<? extends MultiTargetOutput> chunk) throws Exception {
+        Chunk<StreamableOutput> astOutputs = new Chunk<>();
+        Chunk<String> keYmaeraXOutputs = new Chunk<>();
+        for (MultiTargetOutput output : chunk) {
+            astOutputs.add(output.astOutput());
+            // Items skipped by the KeYmaeraX conversion have no KeYmaeraX output.
+            if (output.keYmaeraXOutput() != null)
+                keYmaeraXOutputs.add(output.keYmaeraXOutput());
+        }
+        this.astOutputWriter.write(astOutputs);
+        this.keYmaeraXOutputWriter.write(keYmaeraXOutputs);
+        log.debug("Wrote {} AST outputs and {} KeYmaeraX outputs.", astOutputs.size(), keYmaeraXOutputs.size());
+    }
+
+    @Override
+    public void update(@NonNull ExecutionContext executionContext) {
+        this.astOutputWriter.update(executionContext);
+        this.keYmaeraXOutputWriter.update(executionContext);
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.astOutputWriter.close();
+        } finally {
+            this.keYmaeraXOutputWriter.close();
+        }
+    }
+}
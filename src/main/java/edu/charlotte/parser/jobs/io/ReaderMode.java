@@ -0,0 +1,18 @@
+package edu.charlotte.parser.jobs.io;
+
+// Selects how an input file is turned into items: the whole file as one formula, one formula per record, or the whole
+// file as one formula mapped into memory instead of read into a string, which only the validation jobs support.
+public enum ReaderMode {
+    FILE,
+    STREAMING,
+    MAPPED;
+
+    // Helper method to get ReaderMode from the configured mode string
+    public static ReaderMode getReaderMode(String name) {
+        for (ReaderMode mode : ReaderMode.values()) {
+            if (mode.name().equalsIgnoreCase(name))
+                return mode;
+        }
+        throw new IllegalArgumentException("Invalid input reader mode: " + name);
+    }
+}
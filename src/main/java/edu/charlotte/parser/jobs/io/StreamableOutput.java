@@ -0,0 +1,17 @@
+package edu.charlotte.parser.jobs.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Output of a processed item that is streamed to the output file by the {@link StreamingOutputFileWriter}, so that
+ * large outputs are never built as a whole in memory.
+ */
+@FunctionalInterface
+public interface StreamableOutput {
+    void writeTo(Writer writer) throws IOException;
+
+    static StreamableOutput of(String text) {
+        return writer -> writer.write(text);
+    }
+}
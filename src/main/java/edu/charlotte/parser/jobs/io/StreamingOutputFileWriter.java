@@ -0,0 +1,113 @@
+package edu.charlotte.parser.jobs.io;
+
+import edu.charlotte.parser.metrics.ItemMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.lang.NonNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the outputs of the items by streaming them through a buffered writer over the channel of the output file,
+ * each output followed by a line separator as the {@code FlatFileItemWriter} does. The writer is flushed at the end of
+ * every chunk and the position of the file is saved in the execution context, so a restarted step truncates the file
+ * to the end of the last committed chunk.
+ */
+@Slf4j
+public class StreamingOutputFileWriter extends ItemStreamSupport implements ItemStreamWriter<StreamableOutput> {
+    private static final String POSITION_KEY = "position";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Path outputFilePath;
+    private final int bufferSize;
+    // The streaming writer only writes the outputs of the AST generation, whose trees are rendered while written.
+    private final Counter outputBytes;
+    private final Timer writeTimer;
+    private FileChannel channel;
+    private Writer writer;
+
+    public StreamingOutputFileWriter(Path outputFilePath, int bufferSize) {
+        this.outputFilePath = Objects.requireNonNull(outputFilePath, "Output file path for StreamingOutputFileWriter cannot be null.");
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Buffer size for StreamingOutputFileWriter must be positive: " + bufferSize);
+        this.bufferSize = bufferSize;
+        this.outputBytes = ItemMetrics.outputBytes(ItemMetrics.TARGET_AST);
+        this.writeTimer = Timer.builder("parser.output.write")
+                .description("Time spent rendering and writing the chunks of outputs")
+                .tag(ItemMetrics.TARGET_TAG, ItemMetrics.TARGET_AST)
+                .register(Metrics.globalRegistry);
+        setName(StreamingOutputFileWriter.class.getSimpleName());
+    }
+
+    @Override
+    public void open(@NonNull ExecutionContext executionContext) {
+        long position = executionContext.getLong(getExecutionContextKey(POSITION_KEY), 0L);
+        try {
+            this.channel = FileChannel.open(outputFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.channel.truncate(position);
+            this.channel.position(position);
+        } catch (IOException e) {
+            log.error("Failed to open the output file: '{}'", outputFilePath, e);
+            throw new ItemStreamException("Failed to open the output file: " + outputFilePath, e);
+        }
+        this.writer = new BufferedWriter(Channels.newWriter(this.channel, StandardCharsets.UTF_8), bufferSize);
+        log.info("Opened the output file '{}' for streaming the outputs at the position {}.", outputFilePath, position);
+    }
+
+    @Override
+    public void write(@NonNull Chunk<? extends StreamableOutput> chunk) throws IOException {
+        long writeStart = System.nanoTime();
+        long startPosition = this.channel.position();
+        for (StreamableOutput output : chunk) {
+            output.writeTo(this.writer);
+            this.writer.write(LINE_SEPARATOR);
+        }
+        this.writer.flush();
+        this.outputBytes.increment(this.channel.position() - startPosition);
+        this.writeTimer.record(System.nanoTime() - writeStart, TimeUnit.NANOSECONDS);
+        log.debug("Wrote {} outputs to the output file: {}", chunk.size(), outputFilePath);
+    }
+
+    @Override
+    public void update(@NonNull ExecutionContext executionContext) {
+        if (this.channel == null)
+            return;
+        try {
+            this.writer.flush();
+            executionContext.putLong(getExecutionContextKey(POSITION_KEY), this.channel.position());
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to save the position of the output file: " + outputFilePath, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.writer == null)
+            return;
+        try {
+            this.writer.close();
+            log.debug("Closed the output file: {}", outputFilePath);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close the output file: " + outputFilePath, e);
+        } finally {
+            this.writer = null;
+            this.channel = null;
+        }
+    }
+}
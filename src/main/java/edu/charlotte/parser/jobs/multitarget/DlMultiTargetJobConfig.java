@@ -0,0 +1,107 @@
+package edu.charlotte.parser.jobs.multitarget;
+
+import edu.charlotte.parser.ast.generation.DlAstGenerationProcess;
+import edu.charlotte.parser.cache.ConversionCache;
+import edu.charlotte.parser.conversions.common.GenerateKeYmaeraXOutput;
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConversionProcess;
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.ParserOptions;
+import edu.charlotte.parser.jobs.execution.ChunkStepConfigurer;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildListener;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.MultiTargetOutputWriter;
+import edu.charlotte.parser.jobs.partition.InputFilesPartitioner;
+import edu.charlotte.parser.listeners.common.JobLoggingListener;
+import edu.charlotte.parser.multitarget.MultiTargetOutput;
+import edu.charlotte.parser.multitarget.MultiTargetProcess;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Job generating both the AST output and the KeYmaeraX output of the DL input files from a single parse of each formula.
+@Configuration
+@Slf4j
+public class DlMultiTargetJobConfig {
+
+    private final PlatformTransactionManager transactionManager;
+    private final JobRepository jobRepository;
+    private final int chunkSize;
+    private final int gridSize;
+
+    public DlMultiTargetJobConfig(
+            PlatformTransactionManager transactionManager,
+            JobRepository jobRepository,
+            @Value("${chunk-size:10}") int chunkSize,
+            @Value("${partition.grid-size:4}") int gridSize) {
+        this.transactionManager = transactionManager;
+        this.jobRepository = jobRepository;
+        this.chunkSize = chunkSize;
+        this.gridSize = gridSize;
+        log.info("DlMultiTargetJobConfig is initialized with chunk size: {} and grid size: {}", this.chunkSize, this.gridSize);
+    }
+
+    @Bean
+    @StepScope
+    public MultiTargetProcess dlMultiTargetProcess(ParserOptions parserOptions, GenerateKeYmaeraXOutput generateKeYmaeraXOutput,
+                                                   DlToKeYmaeraXConverter dlToKeYmaeraXConverter, ConversionCache conversionCache,
+                                                   ItemOrigins itemOrigins) {
+        log.debug("Creating step-scoped DL MultiTargetProcess bean.");
+        GenerateAstForDl generateAstForDl = new GenerateAstForDl(parserOptions);
+        // The multi-target process takes the origins of the items and hands them to its targets.
+        return new MultiTargetProcess(generateAstForDl,
+                new DlAstGenerationProcess(generateAstForDl, conversionCache, ItemOrigins.disabled()),
+                new DlToKeYmaeraXConversionProcess(generateAstForDl, generateKeYmaeraXOutput, dlToKeYmaeraXConverter, conversionCache,
+                        ItemOrigins.disabled()),
+                itemOrigins);
+    }
+
+    @Bean
+    public Step dlMultiTargetStep(ItemStreamReader<String> inputFileReader,
+                                  MultiTargetProcess dlMultiTargetProcess,
+                                  MultiTargetOutputWriter multiTargetOutputWriter,
+                                  ChunkStepConfigurer chunkStepConfigurer) {
+        log.info("Configuring dlMultiTargetStep with chunk size: {}", this.chunkSize);
+        return chunkStepConfigurer.<String, MultiTargetOutput>chunkStep(new StepBuilder("dlMultiTargetStep", jobRepository), chunkSize, transactionManager,
+                        inputFileReader, dlMultiTargetProcess, multiTargetOutputWriter)
+                .build();
+    }
+
+    @Bean
+    public Step dlMultiTargetPartitionStep(InputFilesPartitioner inputFilesPartitioner,
+                                           TaskExecutor partitionTaskExecutor,
+                                           Step dlMultiTargetStep) {
+        log.info("Configuring dlMultiTargetPartitionStep with grid size: {}", this.gridSize);
+        return new StepBuilder("dlMultiTargetPartitionStep", jobRepository)
+                .partitioner(dlMultiTargetStep.getName(), inputFilesPartitioner)
+                .step(dlMultiTargetStep)
+                .gridSize(gridSize)
+                .taskExecutor(partitionTaskExecutor)
+                .build();
+    }
+
+    @Bean
+    public Job loadDlMultiTargetJob(JobRepository jobRepository,
+                                    JobLoggingListener jobLoggingListener,
+                                    IncrementalBuildListener incrementalBuildListener,
+                                    Step dlMultiTargetPartitionStep) {
+        log.debug("Configuring loadDlMultiTargetJob.");
+        return new JobBuilder("loadDlMultiTargetJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(jobLoggingListener)
+                .listener(incrementalBuildListener)
+                .start(dlMultiTargetPartitionStep)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package edu.charlotte.parser.jobs.multitarget;
+
+import edu.charlotte.parser.ast.generation.RelDlAstGenerationProcess;
+import edu.charlotte.parser.cache.ConversionCache;
+import edu.charlotte.parser.conversions.common.GenerateKeYmaeraXOutput;
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
+import edu.charlotte.parser.conversions.reldl.keymaerax.RelDlConversionEngine;
+import edu.charlotte.parser.conversions.reldl.keymaerax.RelDlToKeYmaeraXConversionProcess;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.grammars.ParserOptions;
+import edu.charlotte.parser.jobs.execution.ChunkStepConfigurer;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildListener;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.MultiTargetOutputWriter;
+import edu.charlotte.parser.jobs.partition.InputFilesPartitioner;
+import edu.charlotte.parser.listeners.common.JobLoggingListener;
+import edu.charlotte.parser.multitarget.MultiTargetOutput;
+import edu.charlotte.parser.multitarget.MultiTargetProcess;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Job generating both the AST output and the KeYmaeraX output of the RelDL input files from a single parse of each formula.
+@Configuration
+@Slf4j
+public class RelDlMultiTargetJobConfig {
+
+    private final PlatformTransactionManager transactionManager;
+    private final JobRepository jobRepository;
+    private final int chunkSize;
+    private final int gridSize;
+    private final RelDlConversionEngine conversionEngine;
+
+    public RelDlMultiTargetJobConfig(
+            PlatformTransactionManager transactionManager,
+            JobRepository jobRepository,
+            @Value("${chunk-size:10}") int chunkSize,
+            @Value("${partition.grid-size:4}") int gridSize,
+            @Value("${conversion.rel-dl-engine:fused}") String conversionEngine) {
+        this.transactionManager = transactionManager;
+        this.jobRepository = jobRepository;
+        this.chunkSize = chunkSize;
+        this.gridSize = gridSize;
+        this.conversionEngine = RelDlConversionEngine.getRelDlConversionEngine(conversionEngine);
+        log.info("RelDlMultiTargetJobConfig is initialized with chunk size: {}, grid size: {} and conversion engine: {}",
+                this.chunkSize, this.gridSize, this.conversionEngine);
+    }
+
+    @Bean
+    @StepScope
+    public MultiTargetProcess relDlMultiTargetProcess(ParserOptions parserOptions, GenerateKeYmaeraXOutput generateKeYmaeraXOutput,
+                                                      DlToKeYmaeraXConverter dlToKeYmaeraXConverter, ConversionCache conversionCache,
+                                                      ItemOrigins itemOrigins) {
+        log.debug("Creating step-scoped RelDL MultiTargetProcess bean.");
+        // Both the generators parse the same grammar, they only build different ASTs from the shared parse tree.
+        GenerateAstForRelDl generateAstForRelDl = new GenerateAstForRelDl(false, parserOptions);
+        GenerateAstForRelDl generateAstForKeYmaeraX = new GenerateAstForRelDl(true, parserOptions);
+        // The multi-target process takes the origins of the items and hands them to its targets.
+        return new MultiTargetProcess(generateAstForRelDl,
+                new RelDlAstGenerationProcess(generateAstForRelDl, conversionCache, ItemOrigins.disabled()),
+                new RelDlToKeYmaeraXConversionProcess(generateAstForKeYmaeraX, generateKeYmaeraXOutput, dlToKeYmaeraXConverter,
+                        this.conversionEngine, conversionCache, ItemOrigins.disabled()),
+                itemOrigins);
+    }
+
+    @Bean
+    public Step relDlMultiTargetStep(ItemStreamReader<String> inputFileReader,
+                                     MultiTargetProcess relDlMultiTargetProcess,
+                                     MultiTargetOutputWriter multiTargetOutputWriter,
+                                     ChunkStepConfigurer chunkStepConfigurer) {
+        log.info("Configuring relDlMultiTargetStep with chunk size: {}", this.chunkSize);
+        return chunkStepConfigurer.<String, MultiTargetOutput>chunkStep(new StepBuilder("relDlMultiTargetStep", jobRepository), chunkSize, transactionManager,
+                        inputFileReader, relDlMultiTargetProcess, multiTargetOutputWriter)
+                .build();
+    }
+
+    @Bean
+    public Step relDlMultiTargetPartitionStep(InputFilesPartitioner inputFilesPartitioner,
+                                              TaskExecutor partitionTaskExecutor,
+                                              Step relDlMultiTargetStep) {
+        log.info("Configuring relDlMultiTargetPartitionStep with grid size: {}", this.gridSize);
+        return new StepBuilder("relDlMultiTargetPartitionStep", jobRepository)
+                .partitioner(relDlMultiTargetStep.getName(), inputFilesPartitioner)
+                .step(relDlMultiTargetStep)
+                .gridSize(gridSize)
+                .taskExecutor(partitionTaskExecutor)
+                .build();
+    }
+
+    @Bean
+    public Job loadRelDlMultiTargetJob(JobRepository jobRepository,
+                                       JobLoggingListener jobLoggingListener,
+                                       IncrementalBuildListener incrementalBuildListener,
+                                       Step relDlMultiTargetPartitionStep) {
+        log.debug("Configuring loadRelDlMultiTargetJob.");
+        return new JobBuilder("loadRelDlMultiTargetJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(jobLoggingListener)
+                .listener(incrementalBuildListener)
+                .start(relDlMultiTargetPartitionStep)
+                .build();
+    }
+}
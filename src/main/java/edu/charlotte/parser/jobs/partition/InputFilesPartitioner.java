@@ -0,0 +1,133 @@
+package edu.charlotte.parser.jobs.partition;
+
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildManifest;
+import edu.charlotte.parser.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Creates one partition per input file. A single input file gives a single partition, while an input
+ * directory gives a partition for each regular file whose path relative to the directory matches the glob.
+ * Each partition writes to its own output file, mirroring the relative directory of its input file, or to an output
+ * file per file extension for the multi-target jobs. In an incremental
+ * run, the inputs whose outputs are up to date according to the manifest of the output directory are skipped.
+ */
+@Slf4j
+public class InputFilesPartitioner implements Partitioner {
+    private static final String PARTITION_NAME_PREFIX = "partition";
+
+    private final String inputFile;
+    private final Path inputDirectory;
+    private final String inputGlob;
+    private final Path outputDirectory;
+    private final List<String> fileExtensions;
+    private final IncrementalBuildManifest incrementalBuildManifest;
+    private final String[] fingerprintOptions;
+
+    public InputFilesPartitioner(String inputFile, Path inputDirectory, String inputGlob, Path outputDirectory, String fileExtension) {
+        this(inputFile, inputDirectory, inputGlob, outputDirectory, List.of(fileExtension), null);
+    }
+
+    // The manifest is null when the run is not incremental. The fingerprints of the inputs also cover the given options.
+    public InputFilesPartitioner(String inputFile, Path inputDirectory, String inputGlob, Path outputDirectory, List<String> fileExtensions,
+                                 IncrementalBuildManifest incrementalBuildManifest, String... fingerprintOptions) {
+        this.inputFile = inputFile;
+        this.inputDirectory = inputDirectory;
+        this.inputGlob = inputGlob;
+        this.outputDirectory = Objects.requireNonNull(outputDirectory, "Output directory cannot be null for the partitioner.");
+        this.fileExtensions = List.copyOf(Objects.requireNonNull(fileExtensions, "File extensions cannot be null for the partitioner."));
+        if (this.fileExtensions.isEmpty())
+            throw new IllegalArgumentException("At least one file extension is required for the partitioner.");
+        this.incrementalBuildManifest = incrementalBuildManifest;
+        this.fingerprintOptions = fingerprintOptions;
+        log.debug("InputFilesPartitioner is initialized with the input file '{}', input directory '{}' and glob '{}'.",
+                inputFile, inputDirectory, inputGlob);
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        int upToDateCount = 0;
+        List<Path> inputFiles = this.inputFile != null ? List.of(Path.of(this.inputFile)) : findInputFiles();
+        for (Path input : inputFiles) {
+            Path relativeInput = this.inputFile != null ? input.getFileName() : this.inputDirectory.relativize(input);
+            ExecutionContext context = createPartitionContext(input, relativeInput);
+            if (context == null)
+                upToDateCount++;
+            else
+                partitions.put(PARTITION_NAME_PREFIX + partitions.size(), context);
+        }
+
+        if (inputFiles.isEmpty())
+            log.warn("No input files matched the glob '{}' in the directory '{}'.", this.inputGlob, this.inputDirectory);
+        if (upToDateCount > 0)
+            log.info("Skipped {} input file(s) whose outputs are up to date.", upToDateCount);
+        log.info("Created {} partition(s) to be processed with a grid size of {}.", partitions.size(), gridSize);
+        return partitions;
+    }
+
+    private List<Path> findInputFiles() {
+        PathMatcher matcher = createMatcher(this.inputGlob);
+        try (Stream<Path> paths = Files.walk(this.inputDirectory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(this.inputDirectory.relativize(path)))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.error("Failed to list the input files in the directory: {}", this.inputDirectory, e);
+            throw new UncheckedIOException("Failed to list the input files in the directory: " + this.inputDirectory, e);
+        }
+    }
+
+    /*
+     * A leading '**' followed by a separator only matches paths with at least one directory in Java globs, so the files
+     * directly inside the input directory are matched by the rest of the glob, as in the shells' globstar.
+     */
+    static PathMatcher createMatcher(String glob) {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        if (!glob.startsWith("**/"))
+            return matcher;
+        PathMatcher topLevelMatcher = createMatcher(glob.substring("**/".length()));
+        return path -> matcher.matches(path) || topLevelMatcher.matches(path);
+    }
+
+    /*
+     * Returns null when the outputs of the input are up to date. The output file of the first file extension is stored
+     * under the output file key, and with several file extensions each output file is also stored under the output file
+     * key followed by its file extension.
+     */
+    private ExecutionContext createPartitionContext(Path input, Path relativeInput) {
+        Map<String, Path> outputFiles = new LinkedHashMap<>();
+        outputFiles.put(Constants.OUTPUT_FILE, this.outputDirectory.resolve(relativeInput.toString() + this.fileExtensions.getFirst()));
+        if (this.fileExtensions.size() > 1)
+            for (String fileExtension : this.fileExtensions)
+                outputFiles.put(Constants.OUTPUT_FILE + fileExtension, this.outputDirectory.resolve(relativeInput.toString() + fileExtension));
+
+        ExecutionContext context = new ExecutionContext();
+        if (this.incrementalBuildManifest != null) {
+            String inputFingerprint = IncrementalBuildManifest.fingerprintInput(input, this.fingerprintOptions);
+            if (outputFiles.values().stream().allMatch(outputFile -> this.incrementalBuildManifest.isUpToDate(outputFile, inputFingerprint))) {
+                log.debug("Skipping the input file '{}' as its output files {} are up to date.", input, outputFiles.values());
+                return null;
+            }
+            context.putString(Constants.INPUT_FINGERPRINT, inputFingerprint);
+        }
+        context.putString(Constants.INPUT_FILE, input.toString());
+        outputFiles.forEach((key, outputFile) -> context.putString(key, outputFile.toString()));
+        log.debug("Partition created for the input file '{}' with the output files {}.", input, outputFiles.values());
+        return context;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package edu.charlotte.parser.jobs.partition;
+
+import edu.charlotte.parser.config.JobType;
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildListener;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildManifest;
+import edu.charlotte.parser.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+@Slf4j
+public class PartitionConfig {
+
+    private final int gridSize;
+    private final boolean incremental;
+    private final String readerMode;
+    private final String recordDelimiter;
+
+    public PartitionConfig(@Value("${partition.grid-size:4}") int gridSize,
+                           @Value("${incremental.enabled:false}") boolean incremental,
+                           @Value("${input-reader.mode:file}") String readerMode,
+                           @Value("${input-reader.record-delimiter:}") String recordDelimiter) {
+        if (gridSize <= 0)
+            throw new IllegalArgumentException("Partition grid size must be positive: " + gridSize);
+        this.gridSize = gridSize;
+        this.incremental = incremental;
+        this.readerMode = readerMode;
+        this.recordDelimiter = recordDelimiter;
+        log.info("PartitionConfig is initialized with grid size: {} and incremental builds set to: {}", this.gridSize, this.incremental);
+    }
+
+    @Bean
+    @StepScope
+    public InputFilesPartitioner inputFilesPartitioner(@Value("#{jobParameters['" + Constants.JOB_NAME + "']}") String jobName,
+                                                       @Value("#{jobParameters['" + Constants.INPUT_FILE + "']}") String inputFile,
+                                                       @Value("#{jobParameters['" + Constants.INPUT_DIR + "']}") String inputDir,
+                                                       @Value("#{jobParameters['" + Constants.INPUT_GLOB + "']}") String inputGlob,
+                                                       @Value("#{jobParameters['" + Constants.OUTPUT_DIR + "']}") String outputDir) {
+        List<JobType> jobTypes = JobType.getJobTypes(jobName);
+        List<String> fileExtensions = jobTypes.stream().map(JobType::getFileExtension).toList();
+        Path inputDirectory = inputDir == null ? null : Path.of(inputDir);
+        log.debug("Creating step-scoped InputFilesPartitioner bean for the job '{}'.", jobName);
+        if (!this.incremental)
+            return new InputFilesPartitioner(inputFile, inputDirectory, inputGlob, Path.of(outputDir), fileExtensions, null);
+
+        // An output is only up to date if it was generated by the same build, jobs, grammar and reader options from the same input.
+        String grammarVersion = switch (jobTypes.getFirst()) {
+            case DL_AST_GENERATION, DL_TO_KEYMAERAX_OUTPUT_CONVERSION, DL_VALIDATE -> GenerateAstForDl.GRAMMAR_VERSION;
+            case REL_DL_AST_GENERATION, REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION, REL_DL_VALIDATE -> GenerateAstForRelDl.GRAMMAR_VERSION;
+        };
+        String jobTypeNames = jobTypes.stream().map(JobType::name).collect(Collectors.joining(","));
+        return new InputFilesPartitioner(inputFile, inputDirectory, inputGlob, Path.of(outputDir), fileExtensions,
+                IncrementalBuildManifest.load(Path.of(outputDir)), jobTypeNames, grammarVersion, this.readerMode, this.recordDelimiter);
+    }
+
+    @Bean
+    public IncrementalBuildListener incrementalBuildListener() {
+        return new IncrementalBuildListener(this.incremental);
+    }
+
+    // Runs the partitions concurrently, with at most grid size partitions in flight at once.
+    @Bean
+    public TaskExecutor partitionTaskExecutor() {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("partition-");
+        taskExecutor.setConcurrencyLimit(this.gridSize);
+        log.debug("Partition task executor is created with the concurrency limit: {}", this.gridSize);
+        return taskExecutor;
+    }
+}
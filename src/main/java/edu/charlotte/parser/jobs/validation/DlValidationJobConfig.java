@@ -0,0 +1,107 @@
+package edu.charlotte.parser.jobs.validation;
+
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.MappedInput;
+import edu.charlotte.parser.jobs.execution.ChunkStepConfigurer;
+import edu.charlotte.parser.jobs.incremental.IncrementalBuildListener;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.ReaderMode;
+import edu.charlotte.parser.jobs.partition.InputFilesPartitioner;
+import edu.charlotte.parser.listeners.common.JobLoggingListener;
+import edu.charlotte.parser.validation.SyntaxValidationProcess;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@Slf4j
+public class DlValidationJobConfig {
+
+    private final PlatformTransactionManager transactionManager;
+    private final JobRepository jobRepository;
+    private final int chunkSize;
+    private final int gridSize;
+    private final int errorLimit;
+    private final ReaderMode readerMode;
+
+    public DlValidationJobConfig(
+            PlatformTransactionManager transactionManager,
+            JobRepository jobRepository,
+            @Value("${chunk-size:10}") int chunkSize,
+            @Value("${partition.grid-size:4}") int gridSize,
+            @Value("${validation.error-limit:10}") int errorLimit,
+            @Value("${input-reader.mode:file}") String readerMode) {
+        this.transactionManager = transactionManager;
+        this.jobRepository = jobRepository;
+        this.chunkSize = chunkSize;
+        this.gridSize = gridSize;
+        this.errorLimit = errorLimit;
+        this.readerMode = ReaderMode.getReaderMode(readerMode);
+        log.info("Initialized DlValidationJobConfig with chunk size: {}, grid size: {} and error limit: {}",
+                this.chunkSize, this.gridSize, this.errorLimit);
+    }
+
+    @Bean
+    @StepScope
+    public SyntaxValidationProcess dlValidationProcess(GenerateAstForDl generateAstForDl, ItemOrigins itemOrigins) {
+        log.debug("Creating step-scoped SyntaxValidationProcess bean for the Dl.");
+        return new SyntaxValidationProcess(generateAstForDl, this.errorLimit, itemOrigins);
+    }
+
+    // The mapped input reader mode hands the mapped input files to the process instead of their text.
+    @Bean
+    public Step dlValidationStep(ItemStreamReader<String> inputFileReader,
+                                 ItemStreamReader<MappedInput> mappedInputFileReader,
+                                 SyntaxValidationProcess dlValidationProcess,
+                                 FlatFileItemWriter<String> outputFileWriter,
+                                 ChunkStepConfigurer chunkStepConfigurer) {
+        log.info("Configuring dlValidationStep with chunk size: {} and reader mode: {}", this.chunkSize, this.readerMode);
+        StepBuilder stepBuilder = new StepBuilder("dlValidationStep", jobRepository);
+        SimpleStepBuilder<?, String> chunkStepBuilder = this.readerMode == ReaderMode.MAPPED
+                ? chunkStepConfigurer.<MappedInput, String>chunkStep(stepBuilder, chunkSize, transactionManager,
+                        mappedInputFileReader, dlValidationProcess, outputFileWriter)
+                : chunkStepConfigurer.<String, String>chunkStep(stepBuilder, chunkSize, transactionManager,
+                        inputFileReader, dlValidationProcess, outputFileWriter);
+        return chunkStepBuilder.build();
+    }
+
+    @Bean
+    public Step dlValidationPartitionStep(InputFilesPartitioner inputFilesPartitioner,
+                                          TaskExecutor partitionTaskExecutor,
+                                          Step dlValidationStep) {
+        log.info("Configuring dlValidationPartitionStep with grid size: {}", this.gridSize);
+        return new StepBuilder("dlValidationPartitionStep", jobRepository)
+                .partitioner(dlValidationStep.getName(), inputFilesPartitioner)
+                .step(dlValidationStep)
+                .gridSize(gridSize)
+                .taskExecutor(partitionTaskExecutor)
+                .build();
+    }
+
+    @Bean
+    public Job loadDlValidationJob(JobRepository jobRepository,
+                                   JobLoggingListener jobLoggingListener,
+                                   IncrementalBuildListener incrementalBuildListener,
+                                   Step dlValidationPartitionStep) {
+        log.debug("Configuring loadDlValidationJob.");
+        return new JobBuilder("loadDlValidationJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(jobLoggingListener)
+                .listener(incrementalBuildListener)
+                .start(dlValidationPartitionStep)
+                .build();
+    }
+}
@@ -1,22 +1,34 @@
 package edu.charlotte.parser.listeners.ast;
 
 import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstNodeFactory;
+import edu.charlotte.parser.ast.nodes.AstNodeKind;
 import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicBaseListener;
 import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicParser;
 import edu.charlotte.parser.utils.AstListenerUtils;
+import edu.charlotte.parser.utils.AstListenerUtils.OperatorTable;
 import edu.charlotte.parser.utils.Constants;
 import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 import java.util.*;
 
 @Slf4j
 public class DlAstListener extends DynamicDifferentialLogicBaseListener {
+    // The precedences of the operators, from '<->', the loosest, to '&&', the tightest.
+    static final OperatorTable FORMULA_OPERATORS = new OperatorTable(Map.of("<->", 1, "->", 2, "||", 3, "&&", 4),
+            Set.of("->"), Set.of("!"), Map.of("[", "]", "<<", ">>"));
+    static final OperatorTable PROGRAM_OPERATORS = OperatorTable.binary(Map.of("++", 1, ";", 2));
+    static final OperatorTable TERM_OPERATORS = OperatorTable.binary(Map.of("+", 1, "-", 1, "*", 2, "/", 2));
+
     private final Stack<AstNode> stack;
+    private final AstNodeFactory astNodeFactory;
     private final Set<String> identifiersSet;
 
     public DlAstListener() {
         this.stack = new Stack<>();
+        this.astNodeFactory = new AstNodeFactory();
         this.identifiersSet = new HashSet<>();
         log.debug("DlAstListener initialized.");
     }
@@ -24,36 +36,50 @@ public class DlAstListener extends DynamicDifferentialLogicBaseListener {
     // DL Program (root of the file)
     @Override
     public void enterDlProgram(DynamicDifferentialLogicParser.DlProgramContext ctx) {
-        log.debug("Entering DL-Program rule: {}.", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_PROGRAM));
+        log.debug("Entering DL-Program rule: {}.", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.DL_PROGRAM));
     }
 
     @Override
     public void exitDlProgram(DynamicDifferentialLogicParser.DlProgramContext ctx) {
-        log.debug("Exiting DL-Program rule: {}.", ctx.getText());
+        log.debug("Exiting DL-Program rule: {}.", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_PROGRAM, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_PROGRAM, ctx, stack);
     }
 
-    // Formula Handling
+    // Formula Handling. The operands are grouped by the precedence of their operators into nested formula nodes.
     @Override
-    public void enterFormula(DynamicDifferentialLogicParser.FormulaContext ctx) {
-        log.debug("Entering formula rule: {}.", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_FORMULA));
+    public void exitFormula(DynamicDifferentialLogicParser.FormulaContext ctx) {
+        log.debug("Exiting formula rule: {}.", AstListenerUtils.ruleText(ctx));
+        int nodeCount = AstListenerUtils.countFlattenedChildNodes(ctx, DynamicDifferentialLogicParser.UnaryFormulaContext.class);
+        AstListenerUtils.exitOperatorRule(ctx, nodeCount, FORMULA_OPERATORS, AstNodeKind.FORMULA, Constants.AST_NODE_DL_FORMULA, stack);
     }
 
+    // The prefixes of a unary formula are left on the stack, as a modality applies to the rest of the enclosing formula.
     @Override
-    public void exitFormula(DynamicDifferentialLogicParser.FormulaContext ctx) {
-        log.debug("Exiting formula rule: {}.", ctx.getText());
+    public void enterAtomicFormula(DynamicDifferentialLogicParser.AtomicFormulaContext ctx) {
+        log.debug("Entering atomic formula rule: {}.", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.FORMULA));
+    }
+
+    @Override
+    public void exitAtomicFormula(DynamicDifferentialLogicParser.AtomicFormulaContext ctx) {
+        log.debug("Exiting atomic formula rule: {}.", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_FORMULA, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_FORMULA, ctx, stack);
     }
 
-    // Program Handling
+    // Program Handling. The sequential compositions and the choices are grouped into nested program nodes.
     @Override
-    public void enterProgram(DynamicDifferentialLogicParser.ProgramContext ctx) {
-        log.debug("Entering program rule: {}.", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_PROGRAM_CONTEXT));
+    public void exitProgram(DynamicDifferentialLogicParser.ProgramContext ctx) {
+        log.debug("Exiting program rule: {}", AstListenerUtils.ruleText(ctx));
+        AstListenerUtils.exitOperatorRule(ctx, ctx.getChildCount(), PROGRAM_OPERATORS, AstNodeKind.PROGRAM, Constants.AST_NODE_DL_PROGRAM_CONTEXT, stack);
+    }
+
+    @Override
+    public void enterAtomicProgram(DynamicDifferentialLogicParser.AtomicProgramContext ctx) {
+        log.debug("Entering atomic program rule: {}.", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.PROGRAM));
         if(ctx.IDENTIFIER() != null) {
             this.addIdentifierToSet(ctx.IDENTIFIER().getText());
             log.debug("Found identifier '{}' in the program context.", ctx.IDENTIFIER().getText());
@@ -72,15 +98,15 @@ public class DlAstListener extends DynamicDifferentialLogicBaseListener {
     }
 
     @Override
-    public void exitProgram(DynamicDifferentialLogicParser.ProgramContext ctx) {
-        log.debug("Exiting program rule: {}", ctx.getText());
+    public void exitAtomicProgram(DynamicDifferentialLogicParser.AtomicProgramContext ctx) {
+        log.debug("Exiting atomic program rule: {}", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_PROGRAM_CONTEXT, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_PROGRAM_CONTEXT, ctx, stack);
     }
 
     @Override
     public void enterAssignmentIdentifier(DynamicDifferentialLogicParser.AssignmentIdentifierContext ctx) {
-        log.debug("Entering Assignment Identifier rule: {}", ctx.getText());
+        log.debug("Entering Assignment Identifier rule: {}", AstListenerUtils.ruleText(ctx));
         if(ctx.IDENTIFIER() != null) {
             String identifier = ctx.IDENTIFIER().getText();
             this.addIdentifierToSet(identifier);
@@ -88,36 +114,43 @@ public class DlAstListener extends DynamicDifferentialLogicBaseListener {
         }
     }
 
+    // Term Handling. The additive and the multiplicative operators are grouped into nested binary expression nodes.
     @Override
-    public void enterBinaryExpr(DynamicDifferentialLogicParser.BinaryExprContext ctx) {
-        log.debug("Entering Binary Expression rule: {}", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_BINARY_EXPRESSION));
-    }
-
-    @Override
-    public void exitBinaryExpr(DynamicDifferentialLogicParser.BinaryExprContext ctx) {
-        log.debug("Exiting Binary Expression rule: {}", ctx.getText());
-        List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_BINARY_EXPRESSION, ctx.getText(), stack);
+    public void exitTerm(DynamicDifferentialLogicParser.TermContext ctx) {
+        log.debug("Exiting Term rule: {}", AstListenerUtils.ruleText(ctx));
+        AstListenerUtils.exitOperatorRule(ctx, ctx.getChildCount(), TERM_OPERATORS, AstNodeKind.BINARY_EXPRESSION, Constants.AST_NODE_DL_BINARY_EXPRESSION, stack);
     }
 
     @Override
     public void enterParenthesesTerm(DynamicDifferentialLogicParser.ParenthesesTermContext ctx) {
-        log.debug("Entering Parentheses Term rule: {}", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_TERM_WITH_PARENTHESES));
+        log.debug("Entering Parentheses Term rule: {}", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.TERM_WITH_PARENTHESES));
     }
 
     @Override
     public void exitParenthesesTerm(DynamicDifferentialLogicParser.ParenthesesTermContext ctx) {
-        log.debug("Exiting Parentheses Term rule: {}", ctx.getText());
+        log.debug("Exiting Parentheses Term rule: {}", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_TERM_WITH_PARENTHESES, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_TERM_WITH_PARENTHESES, ctx, stack);
     }
 
     @Override
     public void visitTerminal(TerminalNode node) {
-        log.debug("Visiting terminal: '{}'", node.getText());
-        stack.push(new AstNode(node.getText()));
+        log.debug("Visiting terminal: '{}'", node);
+        stack.push(createTerminalNode(node));
+    }
+
+    // Creates the node of a terminal, classifying it by the token type of the grammar.
+    private AstNode createTerminalNode(TerminalNode node) {
+        Token token = node.getSymbol();
+        AstNodeKind kind = switch (token.getType()) {
+            case DynamicDifferentialLogicParser.IDENTIFIER -> AstNodeKind.IDENTIFIER;
+            case DynamicDifferentialLogicParser.IDENTIFIER_PRIME -> AstNodeKind.IDENTIFIER_PRIME;
+            case DynamicDifferentialLogicParser.NUMBER -> AstNodeKind.NUMBER;
+            case Token.EOF -> AstNodeKind.EOF;
+            default -> AstNodeKind.SYMBOL;
+        };
+        return astNodeFactory.terminal(kind, token.getType(), node.getText());
     }
 
     private void addIdentifierToSet(String identifier) {
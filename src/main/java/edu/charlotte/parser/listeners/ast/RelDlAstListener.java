@@ -1,210 +1,221 @@
 package edu.charlotte.parser.listeners.ast;
 
 import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstNodeFactory;
+import edu.charlotte.parser.ast.nodes.AstNodeKind;
 import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicBaseListener;
 import edu.charlotte.parser.relational_dynamic_logic.RelationalDynamicLogicParser;
 import edu.charlotte.parser.utils.AstListenerUtils;
+import edu.charlotte.parser.utils.AstListenerUtils.OperatorTable;
 import edu.charlotte.parser.utils.Constants;
 import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class RelDlAstListener extends RelationalDynamicLogicBaseListener {
+    // The same precedences as the DL operators, see DlAstListener.
+    private static final OperatorTable REL_FORMULA_OPERATORS = new OperatorTable(Map.of("<->#", 1, "->#", 2, "||#", 3, "&&#", 4),
+            Set.of("->#"), Set.of("!#"), Map.of("[#", "]#", "<<#", ">>#"));
+    private static final OperatorTable REL_PROGRAM_OPERATORS = OperatorTable.binary(Map.of("++#", 1, ";#", 2));
+
     private final Stack<AstNode> stack;
-    private final Map<Character, Set<String>> identifiers;
+    private final AstNodeFactory astNodeFactory;
+    private final RelDlIdentifierCollector identifierCollector;
     private final boolean hasKeYmaeraXConversion;
-    private char programConsidered;
 
     public RelDlAstListener(boolean hasKeYmaeraXConversion) {
         this.stack = new Stack<>();
-        this.identifiers = new HashMap<>();
-        this.identifiers.put(Constants.PROGRAM_CONSIDERED_L, new HashSet<>());
-        this.identifiers.put(Constants.PROGRAM_CONSIDERED_R, new HashSet<>());
-        this.identifiers.put(Constants.PROGRAM_CONSIDERED_G, new HashSet<>());
-        this.programConsidered = Constants.PROGRAM_CONSIDERED_G;
+        this.astNodeFactory = new AstNodeFactory();
+        this.identifierCollector = new RelDlIdentifierCollector();
         this.hasKeYmaeraXConversion = hasKeYmaeraXConversion;
         log.debug("RelDlAstListener is initialized with the default program considered is '{}'. KeYmaeraX conversion enabled: {}.",
-                this.programConsidered, this.hasKeYmaeraXConversion);
+                this.identifierCollector.getProgramConsidered(), this.hasKeYmaeraXConversion);
     }
 
     // Relation DL Program (root of the file)
     @Override
     public void enterRelDlProgram(RelationalDynamicLogicParser.RelDlProgramContext ctx) {
-        log.debug("Entering Relational DL-Program rule: {}", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_REL_DL_PROGRAM));
+        log.debug("Entering Relational DL-Program rule: {}", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.REL_DL_PROGRAM));
     }
 
     @Override
     public void exitRelDlProgram(RelationalDynamicLogicParser.RelDlProgramContext ctx) {
-        log.debug("Exiting Relational DL-Program rule: {}", ctx.getText());
+        log.debug("Exiting Relational DL-Program rule: {}", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_REL_DL_PROGRAM, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_REL_DL_PROGRAM, ctx, stack);
     }
 
+    // The sequential compositions and the choices are grouped into nested relational program nodes.
     @Override
-    public void enterRelProgram(RelationalDynamicLogicParser.RelProgramContext ctx) {
-        log.debug("Entering Relational program context rule: {}", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_REL_DL_PROGRAM_CONTEXT));
+    public void exitRelProgram(RelationalDynamicLogicParser.RelProgramContext ctx) {
+        log.debug("Exiting Relational program context rule: {}", AstListenerUtils.ruleText(ctx));
+        AstListenerUtils.exitOperatorRule(ctx, ctx.getChildCount(), REL_PROGRAM_OPERATORS, AstNodeKind.REL_PROGRAM,
+                Constants.AST_NODE_REL_DL_PROGRAM_CONTEXT, stack);
     }
 
     @Override
-    public void exitRelProgram(RelationalDynamicLogicParser.RelProgramContext ctx) {
-        log.debug("Exiting Relational program context rule: {}", ctx.getText());
+    public void enterRelAtomicProgram(RelationalDynamicLogicParser.RelAtomicProgramContext ctx) {
+        log.debug("Entering Relational atomic program rule: {}", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.REL_PROGRAM));
+    }
+
+    @Override
+    public void exitRelAtomicProgram(RelationalDynamicLogicParser.RelAtomicProgramContext ctx) {
+        log.debug("Exiting Relational atomic program rule: {}", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
         if(hasKeYmaeraXConversion) {
             if(ctx.REL_DL_TERNARY_OPERATOR() != null) {
                 log.info("The Relational program context contains a ternary operator. " +
                         "Adding the ';' symbol as a child node to the AST Node List for Converting to KeYmaeraX.");
-                childNodes.add(new AstNode(";"));
+                childNodes.add(AstNodeFactory.symbol(Constants.DL_SEMI_COLON));
             } else if(ctx.REL_DL_ASSIGNMENT_OPERATOR() != null) {
                 log.info("The Relational program context contains a assignment operator. " +
                         "Expanding the relational assignment operator into equivalent DL assignment nodes for Converting to KeYmaeraX.");
                 childNodes = expandRelationalAssignmentOperator(childNodes);
-                log.debug("Expanded the relational assignment operator {}.", ctx.getText());
+                log.debug("Expanded the relational assignment operator {}.", AstListenerUtils.ruleText(ctx));
             }
         }
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_REL_DL_PROGRAM_CONTEXT, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_REL_DL_PROGRAM_CONTEXT, ctx, stack);
     }
 
+    // The operands are grouped by the precedence of their operators into nested relational formula nodes.
     @Override
-    public void enterRelFormula(RelationalDynamicLogicParser.RelFormulaContext ctx) {
-        log.debug("Entering Relational formula rule: {}", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_REL_DL_FORMULA));
+    public void exitRelFormula(RelationalDynamicLogicParser.RelFormulaContext ctx) {
+        log.debug("Exiting Relational formula rule: {}", AstListenerUtils.ruleText(ctx));
+        int nodeCount = AstListenerUtils.countFlattenedChildNodes(ctx, RelationalDynamicLogicParser.RelUnaryFormulaContext.class);
+        AstListenerUtils.exitOperatorRule(ctx, nodeCount, REL_FORMULA_OPERATORS, AstNodeKind.REL_FORMULA, Constants.AST_NODE_REL_DL_FORMULA, stack);
     }
 
+    // The prefixes of a relational unary formula are left on the stack, as a modality applies to the rest of the enclosing formula.
     @Override
-    public void exitRelFormula(RelationalDynamicLogicParser.RelFormulaContext ctx) {
-        log.debug("Exiting Relational formula rule: {}", ctx.getText());
+    public void enterRelAtomicFormula(RelationalDynamicLogicParser.RelAtomicFormulaContext ctx) {
+        log.debug("Entering Relational atomic formula rule: {}", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.REL_FORMULA));
+    }
+
+    @Override
+    public void exitRelAtomicFormula(RelationalDynamicLogicParser.RelAtomicFormulaContext ctx) {
+        log.debug("Exiting Relational atomic formula rule: {}", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_REL_DL_FORMULA, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_REL_DL_FORMULA, ctx, stack);
     }
 
     @Override
     public void enterRelTerm(RelationalDynamicLogicParser.RelTermContext ctx) {
-        log.debug("Entering Relational term rule: {}", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_REL_DL_TERM));
-        if(ctx.PROGRAM_CONSIDERED() != null) {
-            if (ctx.PROGRAM_CONSIDERED().getText().equals(Constants.LEFT_PROGRAM))
-                this.programConsidered = Constants.PROGRAM_CONSIDERED_L;
-            else if (ctx.PROGRAM_CONSIDERED().getText().equals(Constants.RIGHT_PROGRAM))
-                this.programConsidered = Constants.PROGRAM_CONSIDERED_R;
-            else
-                this.programConsidered = Constants.PROGRAM_CONSIDERED_G;
-            log.info("Program considered is set to '{}' for current RelTerm context.", this.programConsidered);
-        } else
-            log.error("No specific program considered token found in the RelTerm context.");
+        log.debug("Entering Relational term rule: {}", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.REL_TERM));
+        this.identifierCollector.enterRelTerm(ctx.PROGRAM_CONSIDERED() != null ? ctx.PROGRAM_CONSIDERED().getText() : null);
     }
 
     @Override
     public void exitRelTerm(RelationalDynamicLogicParser.RelTermContext ctx) {
-        log.debug("Exiting Relational term rule: {}", ctx.getText());
+        log.debug("Exiting Relational term rule: {}", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_REL_DL_TERM, ctx.getText(), stack);
-
-        this.programConsidered = Constants.PROGRAM_CONSIDERED_G;
-        log.info("Program considered is reset to the default value '{}' after exiting RelTerm.", this.programConsidered);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_REL_DL_TERM, ctx, stack);
+        this.identifierCollector.exitRelTerm();
     }
 
     // DL Formula Handling
     @Override
-    public void enterFormula(RelationalDynamicLogicParser.FormulaContext ctx) {
-        log.debug("Entering DL formula rule '{}' within Relational DL.", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_FORMULA));
+    public void exitFormula(RelationalDynamicLogicParser.FormulaContext ctx) {
+        log.debug("Exiting DL formula rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
+        int nodeCount = AstListenerUtils.countFlattenedChildNodes(ctx, RelationalDynamicLogicParser.UnaryFormulaContext.class);
+        AstListenerUtils.exitOperatorRule(ctx, nodeCount, DlAstListener.FORMULA_OPERATORS, AstNodeKind.FORMULA, Constants.AST_NODE_DL_FORMULA, stack);
+    }
+
+    @Override
+    public void enterAtomicFormula(RelationalDynamicLogicParser.AtomicFormulaContext ctx) {
+        log.debug("Entering DL atomic formula rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.FORMULA));
     }
 
     @Override
-    public void exitFormula(RelationalDynamicLogicParser.FormulaContext ctx) {
-        log.debug("Exiting DL formula rule '{}' within Relational DL.", ctx.getText());
+    public void exitAtomicFormula(RelationalDynamicLogicParser.AtomicFormulaContext ctx) {
+        log.debug("Exiting DL atomic formula rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_FORMULA, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_FORMULA, ctx, stack);
     }
 
     // DL Program Handling
     @Override
-    public void enterProgram(RelationalDynamicLogicParser.ProgramContext ctx) {
-        log.debug("Entering DL program rule '{}' within Relational DL.", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_PROGRAM_CONTEXT));
+    public void exitProgram(RelationalDynamicLogicParser.ProgramContext ctx) {
+        log.debug("Exiting DL program rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
+        AstListenerUtils.exitOperatorRule(ctx, ctx.getChildCount(), DlAstListener.PROGRAM_OPERATORS, AstNodeKind.PROGRAM,
+                Constants.AST_NODE_DL_PROGRAM_CONTEXT, stack);
+    }
+
+    @Override
+    public void enterAtomicProgram(RelationalDynamicLogicParser.AtomicProgramContext ctx) {
+        log.debug("Entering DL atomic program rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.PROGRAM));
         if(ctx.IDENTIFIER() != null) {
-            this.addIdentifierToSet(ctx.IDENTIFIER().getText());
+            this.identifierCollector.addIdentifier(ctx.IDENTIFIER().getText());
             log.debug("Found identifier '{}' in the nested program context.", ctx.IDENTIFIER().getText());
         }
-        if(ctx.IDENTIFIER_PRIME() != null) {
-            String identifierPrime = ctx.IDENTIFIER_PRIME().getText();
-            if (identifierPrime.endsWith("'")) {
-                String identifier = identifierPrime.substring(0, identifierPrime.length() - 1);
-                this.addIdentifierToSet(identifier);
-                log.debug("Found primed identifier '{}' in the nested program context.", identifierPrime);
-            } else {
-                log.warn("Identifier prime '{}' does not end with a prime(') character as expected. Adding full text to the identifiers array.", identifierPrime);
-                this.addIdentifierToSet(identifierPrime);
-            }
-        }
+        if(ctx.IDENTIFIER_PRIME() != null)
+            this.identifierCollector.addIdentifierPrime(ctx.IDENTIFIER_PRIME().getText());
     }
 
     @Override
-    public void exitProgram(RelationalDynamicLogicParser.ProgramContext ctx) {
-        log.debug("Exiting DL program rule '{}' within Relational DL.", ctx.getText());
+    public void exitAtomicProgram(RelationalDynamicLogicParser.AtomicProgramContext ctx) {
+        log.debug("Exiting DL atomic program rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_PROGRAM_CONTEXT, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_PROGRAM_CONTEXT, ctx, stack);
     }
 
     @Override
     public void enterAssignmentIdentifier(RelationalDynamicLogicParser.AssignmentIdentifierContext ctx) {
-        log.debug("Entering Assignment Identifier rule '{}' within Relational DL.", ctx.getText());
+        log.debug("Entering Assignment Identifier rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
         if(ctx.IDENTIFIER() != null) {
             String identifier = ctx.IDENTIFIER().getText();
-            this.addIdentifierToSet(identifier);
+            this.identifierCollector.addIdentifier(identifier);
             log.debug("Found the identifier '{}' in the Assignment Identifier rule.", identifier);
         }
     }
 
+    // DL Term Handling
     @Override
-    public void enterBinaryExpr(RelationalDynamicLogicParser.BinaryExprContext ctx) {
-        log.debug("Entering Binary Expression rule '{}' within Relational DL.", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_BINARY_EXPRESSION));
-    }
-
-    @Override
-    public void exitBinaryExpr(RelationalDynamicLogicParser.BinaryExprContext ctx) {
-        log.debug("Exiting Binary Expression rule '{}' within Relational DL.", ctx.getText());
-        List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_BINARY_EXPRESSION, ctx.getText(), stack);
+    public void exitTerm(RelationalDynamicLogicParser.TermContext ctx) {
+        log.debug("Exiting Term rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
+        AstListenerUtils.exitOperatorRule(ctx, ctx.getChildCount(), DlAstListener.TERM_OPERATORS, AstNodeKind.BINARY_EXPRESSION,
+                Constants.AST_NODE_DL_BINARY_EXPRESSION, stack);
     }
 
     @Override
     public void enterParenthesesTerm(RelationalDynamicLogicParser.ParenthesesTermContext ctx) {
-        log.debug("Entering Parentheses Term rule '{}' within Relational DL.", ctx.getText());
-        stack.push(new AstNode(Constants.AST_NODE_DL_TERM_WITH_PARENTHESES));
+        log.debug("Entering Parentheses Term rule '{}' within Relational DL.", AstListenerUtils.ruleText(ctx));
+        stack.push(new AstNode(AstNodeKind.TERM_WITH_PARENTHESES));
     }
 
     @Override
     public void exitParenthesesTerm(RelationalDynamicLogicParser.ParenthesesTermContext ctx) {
-        log.debug("Exiting Parentheses Term rule: {}", ctx.getText());
+        log.debug("Exiting Parentheses Term rule: {}", AstListenerUtils.ruleText(ctx));
         List<AstNode> childNodes = AstListenerUtils.exitGrammarRule(ctx, stack);
-        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_TERM_WITH_PARENTHESES, ctx.getText(), stack);
+        AstListenerUtils.addChildrenToLastNodeInStack(childNodes, Constants.AST_NODE_DL_TERM_WITH_PARENTHESES, ctx, stack);
     }
 
     @Override
     public void visitTerminal(TerminalNode node) {
-        log.debug("Visiting terminal '{}' within Relational DL.", node.getText());
-        stack.push(new AstNode(node.getText()));
+        log.debug("Visiting terminal '{}' within Relational DL.", node);
+        stack.push(createTerminalNode(node));
     }
 
-    private void addIdentifierToSet(String identifier) {
-        if (identifier == null || identifier.trim().isEmpty()) {
-            log.warn("Attempted to add a null or empty identifier to the identifiers set.");
-            return;
-        }
-
-        Set<String> targetSet = identifiers.computeIfAbsent(this.programConsidered, k -> {
-            log.error("Identifier set for programConsidered '{}' was null. Initializing a new set.", this.programConsidered);
-            return new HashSet<>();
-        });
-        targetSet.add(identifier);
-        log.debug("Added identifier '{}' to the program considered '{}'.", identifier, this.programConsidered);
+    // Creates the node of a terminal, classifying it by the token type of the grammar.
+    private AstNode createTerminalNode(TerminalNode node) {
+        Token token = node.getSymbol();
+        AstNodeKind kind = switch (token.getType()) {
+            case RelationalDynamicLogicParser.IDENTIFIER -> AstNodeKind.IDENTIFIER;
+            case RelationalDynamicLogicParser.IDENTIFIER_PRIME -> AstNodeKind.IDENTIFIER_PRIME;
+            case RelationalDynamicLogicParser.NUMBER -> AstNodeKind.NUMBER;
+            case RelationalDynamicLogicParser.PROGRAM_CONSIDERED -> AstNodeKind.PROGRAM_CONSIDERED;
+            case Token.EOF -> AstNodeKind.EOF;
+            default -> AstNodeKind.SYMBOL;
+        };
+        return astNodeFactory.terminal(kind, token.getType(), node.getText());
     }
 
     private List<AstNode> expandRelationalAssignmentOperator(List<AstNode> childNodes) {
@@ -219,36 +230,30 @@ public class RelDlAstListener extends RelationalDynamicLogicBaseListener {
         AstNode operator = childNodes.get(1);
         AstNode rightTerm = childNodes.get(2);
 
-        if (!operator.getValue().equals(Constants.REL_DL_ASSIGNMENT_OPERATOR)) {
+        if (operator.getTokenType() != RelationalDynamicLogicParser.REL_DL_ASSIGNMENT_OPERATOR) {
             log.error("Expected relational assignment operator ({}) at index 1, but found '{}' in the child nodes. Cannot expand the relational assignment operator.",
                     Constants.REL_DL_ASSIGNMENT_OPERATOR, operator.getValue());
             return childNodes;
         }
 
-        newChildNodes.add(new AstNode(Constants.REL_DL_OPEN_BRACKETS));
+        newChildNodes.add(AstNodeFactory.symbol(Constants.REL_DL_OPEN_BRACKETS));
         newChildNodes.add(createAssignmentProgramNode(leftTerm, rightTerm));
-        newChildNodes.add(new AstNode(Constants.REL_DL_COMMA));
+        newChildNodes.add(AstNodeFactory.symbol(Constants.REL_DL_COMMA));
         newChildNodes.add(createAssignmentProgramNode(leftTerm, rightTerm));
-        newChildNodes.add(new AstNode(Constants.REL_DL_CLOSE_BRACKETS));
+        newChildNodes.add(AstNodeFactory.symbol(Constants.REL_DL_CLOSE_BRACKETS));
         return newChildNodes;
     }
 
-    private List<AstNode> createNewChildNodes(List<AstNode> childNodes) {
-        log.debug("Creating new child nodes from the existing child nodes.");
-        return childNodes.stream()
-                .map(child -> new AstNode(child.getValue(), createNewChildNodes(child.getChildren())))
-                .collect(Collectors.toList());
-    }
-
+    // The right term is copied, so that the conversions of the left and the right assignments do not share its grammar rule nodes.
     private AstNode createAssignmentProgramNode(AstNode leftTerm, AstNode rightTerm) {
         log.debug("Creating assignment program nodes for the left term '{}' and the right term '{}' as part of expansion for the " +
                 "Relational assignment operator.", leftTerm.getValue(), rightTerm.getValue());
-        AstNode assignmentProgram = new AstNode(Constants.AST_NODE_DL_PROGRAM_CONTEXT);
+        AstNode assignmentProgram = new AstNode(AstNodeKind.PROGRAM);
         assignmentProgram.addChildren(Arrays.asList(
-                new AstNode(leftTerm.getValue()),
-                new AstNode(Constants.DL_ASSIGNMENT_OPERATOR),
-                new AstNode(rightTerm.getValue(), createNewChildNodes(rightTerm.getChildren())),
-                new AstNode(Constants.DL_SEMI_COLON)
+                leftTerm,
+                AstNodeFactory.symbol(Constants.DL_ASSIGNMENT_OPERATOR),
+                rightTerm.copy(),
+                AstNodeFactory.symbol(Constants.DL_SEMI_COLON)
         ));
         return assignmentProgram;
     }
@@ -263,10 +268,6 @@ public class RelDlAstListener extends RelationalDynamicLogicBaseListener {
 
     // Return the final Set of Identifiers
     public Map<Character, Set<String>> getIdentifiers() {
-        Map<Character, Set<String>> unmodifiableMap = new HashMap<>();
-        for (Map.Entry<Character, Set<String>> entry : this.identifiers.entrySet()) {
-            unmodifiableMap.put(entry.getKey(), Collections.unmodifiableSet(Objects.requireNonNullElse(entry.getValue(), Collections.emptySet())));
-        }
-        return Collections.unmodifiableMap(unmodifiableMap);
+        return this.identifierCollector.getIdentifiers();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package edu.charlotte.parser.listeners.ast;
+
+import edu.charlotte.parser.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * Collects the identifiers of a Relational DL input by the program they are considered in: the left program, the
+ * right program, or the general one outside the relational terms. Shared by the listeners walking a Relational DL
+ * parse tree, so that all of them categorize the identifiers in the same way.
+ */
+@Slf4j
+public class RelDlIdentifierCollector {
+    private final Map<Character, Set<String>> identifiers;
+    private char programConsidered;
+
+    public RelDlIdentifierCollector() {
+        this.identifiers = new HashMap<>();
+        this.identifiers.put(Constants.PROGRAM_CONSIDERED_L, new HashSet<>());
+        this.identifiers.put(Constants.PROGRAM_CONSIDERED_R, new HashSet<>());
+        this.identifiers.put(Constants.PROGRAM_CONSIDERED_G, new HashSet<>());
+        this.programConsidered = Constants.PROGRAM_CONSIDERED_G;
+    }
+
+    public char getProgramConsidered() {
+        return this.programConsidered;
+    }
+
+    // Considers the program of the PROGRAM_CONSIDERED token of a relational term until the term is exited.
+    public void enterRelTerm(String programConsideredText) {
+        if (programConsideredText == null) {
+            log.error("No specific program considered token found in the RelTerm context.");
+            return;
+        }
+
+        if (programConsideredText.equals(Constants.LEFT_PROGRAM))
+            this.programConsidered = Constants.PROGRAM_CONSIDERED_L;
+        else if (programConsideredText.equals(Constants.RIGHT_PROGRAM))
+            this.programConsidered = Constants.PROGRAM_CONSIDERED_R;
+        else
+            this.programConsidered = Constants.PROGRAM_CONSIDERED_G;
+        log.info("Program considered is set to '{}' for current RelTerm context.", this.programConsidered);
+    }
+
+    public void exitRelTerm() {
+        this.programConsidered = Constants.PROGRAM_CONSIDERED_G;
+        log.info("Program considered is reset to the default value '{}' after exiting RelTerm.", this.programConsidered);
+    }
+
+    // Adds the identifier of a primed identifier, i.e. without its trailing prime(') character.
+    public void addIdentifierPrime(String identifierPrime) {
+        if (identifierPrime.endsWith("'")) {
+            this.addIdentifier(identifierPrime.substring(0, identifierPrime.length() - 1));
+            log.debug("Found primed identifier '{}' in the nested program context.", identifierPrime);
+        } else {
+            log.warn("Identifier prime '{}' does not end with a prime(') character as expected. Adding full text to the identifiers array.", identifierPrime);
+            this.addIdentifier(identifierPrime);
+        }
+    }
+
+    public void addIdentifier(String identifier) {
+        if (identifier == null || identifier.trim().isEmpty()) {
+            log.warn("Attempted to add a null or empty identifier to the identifiers set.");
+            return;
+        }
+
+        Set<String> targetSet = identifiers.computeIfAbsent(this.programConsidered, k -> {
+            log.error("Identifier set for programConsidered '{}' was null. Initializing a new set.", this.programConsidered);
+            return new HashSet<>();
+        });
+        targetSet.add(identifier);
+        log.debug("Added identifier '{}' to the program considered '{}'.", identifier, this.programConsidered);
+    }
+
+    // Return the final Set of Identifiers
+    public Map<Character, Set<String>> getIdentifiers() {
+        Map<Character, Set<String>> unmodifiableMap = new HashMap<>();
+        for (Map.Entry<Character, Set<String>> entry : this.identifiers.entrySet()) {
+            unmodifiableMap.put(entry.getKey(), Collections.unmodifiableSet(Objects.requireNonNullElse(entry.getValue(), Collections.emptySet())));
+        }
+        return Collections.unmodifiableMap(unmodifiableMap);
+    }
+}
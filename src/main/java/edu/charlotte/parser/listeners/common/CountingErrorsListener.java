@@ -1,5 +1,6 @@
 package edu.charlotte.parser.listeners.common;
 
+import edu.charlotte.parser.exceptions.SyntaxErrorLimitException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -7,10 +8,19 @@ import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 @Getter
 @Slf4j
 public class CountingErrorsListener extends BaseErrorListener {
     private int errorCount = 0;
+    private final List<SyntaxError> syntaxErrors = new ArrayList<>();
+    // Only the validation reports the syntax errors themselves, the other outputs only need their count.
+    private boolean recordingSyntaxErrors = false;
+    // Number of errors at which the recognizer is stopped, 0 for no limit.
+    private int errorLimit = 0;
 
     public CountingErrorsListener() {
         log.debug("Instance of CountingErrorsListener is created.");
@@ -26,5 +36,25 @@ public class CountingErrorsListener extends BaseErrorListener {
         else
             log.error("{}", errorMsg);
         errorCount++;
+        if (recordingSyntaxErrors)
+            syntaxErrors.add(new SyntaxError(errorSource.toLowerCase(Locale.ROOT), line, charPositionInLine, msg));
+        if (errorLimit > 0 && errorCount >= errorLimit)
+            throw new SyntaxErrorLimitException("Stopped at the limit of " + errorLimit + " syntax error(s).");
+    }
+
+    public void setErrorLimit(int errorLimit) {
+        if (errorLimit < 0)
+            throw new IllegalArgumentException("Error limit cannot be negative: " + errorLimit);
+        this.errorLimit = errorLimit;
+    }
+
+    public void setRecordingSyntaxErrors(boolean recordingSyntaxErrors) {
+        this.recordingSyntaxErrors = recordingSyntaxErrors;
+    }
+
+    // Clears the count and the errors, so that the listener of a reused lexer or parser only counts the errors of the next item.
+    public void reset() {
+        errorCount = 0;
+        syntaxErrors.clear();
     }
 }
\ No newline at end of file
@@ -1,15 +1,29 @@
 package edu.charlotte.parser.listeners.common;
 
+import edu.charlotte.parser.metrics.JobReport;
+import edu.charlotte.parser.utils.Constants;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Slf4j
 public class JobLoggingListener implements JobExecutionListener {
+    private static final String PARSE_MODE_KEY_PREFIX = "parse.mode.";
+    private static final String CACHE_KEY_PREFIX = "cache.";
+    private static final String VALIDATION_KEY_PREFIX = "validation.";
+
+    private final boolean jobReportEnabled;
 
-    public JobLoggingListener() {
-        log.debug("JobLoggingListener instance is created.");
+    public JobLoggingListener(boolean jobReportEnabled) {
+        this.jobReportEnabled = jobReportEnabled;
+        log.debug("JobLoggingListener instance is created with the job report set to: {}", this.jobReportEnabled);
     }
 
     @Override
@@ -23,6 +37,11 @@ public class JobLoggingListener implements JobExecutionListener {
         log.info("Job '{}' (ID: {}) completed with status: {} at {}",
                 jobExecution.getJobInstance().getJobName(), jobExecution.getJobId(),
                 jobExecution.getStatus(), jobExecution.getEndTime());
+        logParseModes(jobExecution);
+        logCacheUsage(jobExecution);
+        logValidation(jobExecution);
+        if (this.jobReportEnabled)
+            writeJobReport(jobExecution);
 
         if (jobExecution.getStatus() == BatchStatus.FAILED) {
             log.error("Job '{}' Failed. Job Exit Description is: {}",
@@ -37,4 +56,52 @@ public class JobLoggingListener implements JobExecutionListener {
             }
         }
     }
+
+    // Sums the parse modes recorded by the processors of all the steps, including the partitions.
+    private void logParseModes(JobExecution jobExecution) {
+        Map<String, Long> parseModes = sumStepExecutionCounts(jobExecution, PARSE_MODE_KEY_PREFIX);
+        if (!parseModes.isEmpty())
+            log.info("Job '{}' parse modes used for the items: {}", jobExecution.getJobInstance().getJobName(), parseModes);
+    }
+
+    // Reports the conversion cache hits and misses of all the steps. The counts are only recorded when the cache is enabled.
+    private void logCacheUsage(JobExecution jobExecution) {
+        Map<String, Long> cacheUsage = sumStepExecutionCounts(jobExecution, CACHE_KEY_PREFIX);
+        if (cacheUsage.isEmpty())
+            return;
+        long hits = cacheUsage.getOrDefault("hits", 0L);
+        long lookups = hits + cacheUsage.getOrDefault("misses", 0L);
+        log.info("Job '{}' conversion cache usage for the items: {}, hit ratio: {}%", jobExecution.getJobInstance().getJobName(),
+                cacheUsage, lookups == 0 ? 0 : hits * 100 / lookups);
+    }
+
+    // Reports the valid and invalid items of the validation jobs.
+    private void logValidation(JobExecution jobExecution) {
+        Map<String, Long> validation = sumStepExecutionCounts(jobExecution, VALIDATION_KEY_PREFIX);
+        if (!validation.isEmpty())
+            log.info("Job '{}' validated the items: {}", jobExecution.getJobInstance().getJobName(), validation);
+    }
+
+    // Writes the throughput and latency report of the job next to its outputs. A failure to write it does not fail the job.
+    private void writeJobReport(JobExecution jobExecution) {
+        String outputDirectory = jobExecution.getJobParameters().getString(Constants.OUTPUT_DIR);
+        if (outputDirectory == null)
+            return;
+        try {
+            Path reportPath = JobReport.of(jobExecution).write(Path.of(outputDirectory));
+            log.info("Job '{}' report is written to the file: {}", jobExecution.getJobInstance().getJobName(), reportPath);
+        } catch (IOException e) {
+            log.error("Failed to write the report of the job '{}'.", jobExecution.getJobInstance().getJobName(), e);
+        }
+    }
+
+    private Map<String, Long> sumStepExecutionCounts(JobExecution jobExecution, String keyPrefix) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            stepExecution.getExecutionContext().entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(keyPrefix) && entry.getValue() instanceof Long)
+                    .forEach(entry -> counts.merge(entry.getKey().substring(keyPrefix.length()), (Long) entry.getValue(), Long::sum));
+        }
+        return counts;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package edu.charlotte.parser.listeners.common;
+
+/**
+ * Syntax error reported by a lexer or a parser, at a line starting from 1 and a column starting from 0 of its input.
+ * It is written as a compact diagnostic, e.g. {@code 1:7 parser error: missing ';' at '}'}.
+ */
+public record SyntaxError(String source, int line, int column, String message) {
+
+    @Override
+    public String toString() {
+        return line + ":" + column + " " + source + " error: " + message;
+    }
+}
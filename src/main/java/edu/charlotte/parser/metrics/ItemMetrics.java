@@ -0,0 +1,60 @@
+package edu.charlotte.parser.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the items processed for an output target of a grammar: the number of converted and failed items and the
+ * latency of every item as a histogram, along with the number of bytes written to the output files of the target.
+ */
+public class ItemMetrics {
+    public static final String TARGET_AST = "ast";
+    public static final String TARGET_KEYMAERAX = "keymaerax";
+    public static final String TARGET_VALIDATION = "validation";
+    public static final String TARGET_TAG = "target";
+
+    private final Counter convertedItems;
+    private final Counter failedItems;
+    private final Timer itemLatency;
+
+    public ItemMetrics(String grammar, String target) {
+        this.convertedItems = createItemCounter(grammar, target, "converted");
+        this.failedItems = createItemCounter(grammar, target, "failed");
+        this.itemLatency = Timer.builder("parser.item.latency")
+                .description("Time spent processing an item")
+                .tag(ParserMetrics.GRAMMAR_TAG, grammar)
+                .tag(TARGET_TAG, target)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Counter createItemCounter(String grammar, String target, String outcome) {
+        return Counter.builder("parser.items")
+                .description("Number of processed items")
+                .tag(ParserMetrics.GRAMMAR_TAG, grammar)
+                .tag(TARGET_TAG, target)
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry);
+    }
+
+    // Counter of the bytes written to the output files of the target, shared by all the grammars.
+    public static Counter outputBytes(String target) {
+        return Counter.builder("parser.output.bytes")
+                .description("Number of bytes written to the output files")
+                .baseUnit("bytes")
+                .tag(TARGET_TAG, target)
+                .register(Metrics.globalRegistry);
+    }
+
+    // Records an item whose processing started at the given System.nanoTime().
+    public void recordItem(long startNanos, boolean failed) {
+        this.itemLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (failed)
+            this.failedItems.increment();
+        else
+            this.convertedItems.increment();
+    }
+}
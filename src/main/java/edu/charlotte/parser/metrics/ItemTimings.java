@@ -0,0 +1,87 @@
+package edu.charlotte.parser.metrics;
+
+import edu.charlotte.parser.cache.ConversionCache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.StringJoiner;
+
+/**
+ * Thread-safe timings of the items processed by a step: the histogram of their latencies and the slowest items. The
+ * timings are stored in the execution context of the step, from which the {@link JobReport} of the job is built.
+ */
+public class ItemTimings {
+    public static final String EXECUTION_CONTEXT_KEY_PREFIX = "timing.";
+    public static final String LATENCY_KEY = EXECUTION_CONTEXT_KEY_PREFIX + "latency";
+    public static final String SLOWEST_ITEMS_KEY = EXECUTION_CONTEXT_KEY_PREFIX + "slowest";
+    public static final int MAX_SLOWEST_ITEMS = 10;
+
+    private final LatencyHistogram latencies;
+    // Min-heap of the slowest items, whose root is the fastest of them.
+    private final PriorityQueue<TimedItem> slowestItems;
+
+    private record TimedItem(long latencyNanos, CharSequence item) {}
+
+    /**
+     * Item of the job report identified by the SHA-256 hash of its text.
+     *
+     * @param latencyNanos processing time of the item in nanoseconds.
+     * @param inputLength  number of characters of the item.
+     * @param inputHash    hex encoded SHA-256 hash of the item.
+     */
+    public record SlowItem(long latencyNanos, int inputLength, String inputHash) {
+        private String encode() {
+            return this.latencyNanos + ":" + this.inputLength + ":" + this.inputHash;
+        }
+
+        private static SlowItem decode(String encoded) {
+            String[] parts = encoded.split(":");
+            return new SlowItem(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), parts[2]);
+        }
+    }
+
+    public ItemTimings() {
+        this.latencies = new LatencyHistogram();
+        this.slowestItems = new PriorityQueue<>(Comparator.comparingLong(TimedItem::latencyNanos));
+    }
+
+    // Records an item whose processing started at the given System.nanoTime().
+    public void record(CharSequence item, long startNanos) {
+        long latencyNanos = System.nanoTime() - startNanos;
+        this.latencies.record(latencyNanos);
+        synchronized (this.slowestItems) {
+            if (this.slowestItems.size() < MAX_SLOWEST_ITEMS)
+                this.slowestItems.add(new TimedItem(latencyNanos, item));
+            else if (this.slowestItems.peek().latencyNanos() < latencyNanos) {
+                this.slowestItems.poll();
+                this.slowestItems.add(new TimedItem(latencyNanos, item));
+            }
+        }
+    }
+
+    // Timings keyed by the names to be stored in the execution context of the step. The items are only hashed here.
+    public Map<String, String> toExecutionContextEntries() {
+        StringJoiner encodedSlowestItems = new StringJoiner(",");
+        synchronized (this.slowestItems) {
+            for (TimedItem timedItem : this.slowestItems)
+                encodedSlowestItems.add(new SlowItem(timedItem.latencyNanos(), timedItem.item().length(),
+                        ConversionCache.createTextKey(timedItem.item())).encode());
+        }
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put(LATENCY_KEY, this.latencies.encode());
+        entries.put(SLOWEST_ITEMS_KEY, encodedSlowestItems.toString());
+        return entries;
+    }
+
+    public static List<SlowItem> decodeSlowestItems(String encoded) {
+        List<SlowItem> slowItems = new ArrayList<>();
+        if (!encoded.isEmpty())
+            for (String encodedItem : encoded.split(","))
+                slowItems.add(SlowItem.decode(encodedItem));
+        return slowItems;
+    }
+}
@@ -0,0 +1,164 @@
+package edu.charlotte.parser.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import edu.charlotte.parser.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency report of a job, built from the executions of its worker steps: the item counts, the rates
+ * over the duration of the job, the percentiles of the item latencies, the slowest items and the time spent in every
+ * phase. Only the steps of the partitions are summed, as the partition manager step aggregates the same counts.
+ */
+@Slf4j
+public class JobReport {
+    public static final String FILE_NAME_SUFFIX = "-report.json";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String jobName;
+    private final Map<String, Object> entries;
+
+    private JobReport(String jobName, Map<String, Object> entries) {
+        this.jobName = jobName;
+        this.entries = entries;
+    }
+
+    public static JobReport of(JobExecution jobExecution) {
+        List<StepExecution> workerStepExecutions = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getExecutionContext().containsKey(Constants.INPUT_FILE))
+                .toList();
+        LocalDateTime endTime = jobExecution.getEndTime() != null ? jobExecution.getEndTime() : LocalDateTime.now();
+        Duration duration = jobExecution.getStartTime() == null ? Duration.ZERO : Duration.between(jobExecution.getStartTime(), endTime);
+
+        long readCount = 0, filterCount = 0, skipCount = 0, processSkipCount = 0, writeSkipCount = 0, writeCount = 0, inputBytes = 0;
+        LatencyHistogram latencies = new LatencyHistogram();
+        List<ItemTimings.SlowItem> slowestItems = new ArrayList<>();
+        Map<String, Long> phaseNanos = new LinkedHashMap<>();
+        for (StepExecution stepExecution : workerStepExecutions) {
+            readCount += stepExecution.getReadCount();
+            filterCount += stepExecution.getFilterCount();
+            skipCount += stepExecution.getSkipCount();
+            processSkipCount += stepExecution.getProcessSkipCount();
+            writeSkipCount += stepExecution.getWriteSkipCount();
+            writeCount += stepExecution.getWriteCount();
+
+            ExecutionContext executionContext = stepExecution.getExecutionContext();
+            inputBytes += inputFileSize(executionContext.getString(Constants.INPUT_FILE));
+            if (executionContext.containsKey(ItemTimings.LATENCY_KEY))
+                latencies.add(LatencyHistogram.decode(executionContext.getString(ItemTimings.LATENCY_KEY)));
+            if (executionContext.containsKey(ItemTimings.SLOWEST_ITEMS_KEY))
+                slowestItems.addAll(ItemTimings.decodeSlowestItems(executionContext.getString(ItemTimings.SLOWEST_ITEMS_KEY)));
+            for (Map.Entry<String, Object> entry : executionContext.entrySet()) {
+                if (entry.getKey().startsWith(ParserMetrics.EXECUTION_CONTEXT_KEY_PREFIX) && entry.getValue() instanceof Long nanos)
+                    phaseNanos.merge(entry.getKey().substring(ParserMetrics.EXECUTION_CONTEXT_KEY_PREFIX.length()), nanos, Long::sum);
+            }
+        }
+
+        Map<String, Object> entries = new LinkedHashMap<>();
+        entries.put("job", jobExecution.getJobInstance().getJobName());
+        entries.put("jobId", jobExecution.getJobId());
+        entries.put("status", jobExecution.getStatus().toString());
+        entries.put("startTime", String.valueOf(jobExecution.getStartTime()));
+        entries.put("endTime", endTime.toString());
+        entries.put("durationMillis", duration.toMillis());
+        entries.put("inputFiles", workerStepExecutions.size());
+
+        // Processed items went through the processor, whether they were written, filtered or skipped on processing or writing.
+        long processedCount = writeCount + filterCount + processSkipCount + writeSkipCount;
+        Map<String, Object> items = new LinkedHashMap<>();
+        items.put("read", readCount);
+        items.put("processed", processedCount);
+        items.put("filtered", filterCount);
+        items.put("skipped", skipCount);
+        items.put("processSkipped", processSkipCount);
+        items.put("written", writeCount);
+        entries.put("items", items);
+
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("inputBytes", inputBytes);
+        throughput.put("itemsPerSecond", seconds > 0 ? round(processedCount / seconds) : 0.0);
+        throughput.put("inputBytesPerSecond", seconds > 0 ? round(inputBytes / seconds) : 0.0);
+        entries.put("throughput", throughput);
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", latencies.getCount());
+        latency.put("p50Millis", toMillis(latencies.getPercentile(0.5)));
+        latency.put("p90Millis", toMillis(latencies.getPercentile(0.9)));
+        latency.put("p99Millis", toMillis(latencies.getPercentile(0.99)));
+        latency.put("maxMillis", toMillis(latencies.getMax()));
+        entries.put("latency", latency);
+
+        entries.put("slowestItems", slowestItems.stream()
+                .sorted(Comparator.comparingLong(ItemTimings.SlowItem::latencyNanos).reversed())
+                .limit(ItemTimings.MAX_SLOWEST_ITEMS)
+                .map(slowItem -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("inputHash", slowItem.inputHash());
+                    item.put("inputLength", slowItem.inputLength());
+                    item.put("latencyMillis", toMillis(slowItem.latencyNanos()));
+                    return item;
+                })
+                .toList());
+
+        // The phases of the concurrently processed items overlap, so their shares are of the summed phase times.
+        long totalPhaseNanos = phaseNanos.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (ParserMetrics.Phase phase : ParserMetrics.Phase.values()) {
+            Long nanos = phaseNanos.get(phase.getTagValue());
+            if (nanos == null)
+                continue;
+            Map<String, Object> phaseEntry = new LinkedHashMap<>();
+            phaseEntry.put("totalMillis", toMillis(nanos));
+            phaseEntry.put("sharePercent", totalPhaseNanos == 0 ? 0.0 : round(nanos * 100.0 / totalPhaseNanos));
+            phases.put(phase.getTagValue(), phaseEntry);
+        }
+        entries.put("phases", phases);
+        return new JobReport(jobExecution.getJobInstance().getJobName(), entries);
+    }
+
+    private static long inputFileSize(String inputFile) {
+        try {
+            return Files.size(Path.of(inputFile));
+        } catch (IOException e) {
+            log.debug("Failed to read the size of the input file '{}' for the job report.", inputFile, e);
+            return 0;
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return round(nanos / NANOS_PER_MILLI);
+    }
+
+    // Rounds to three decimals, which keeps the report readable while resolving the latencies to a microsecond.
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    public Map<String, Object> getEntries() {
+        return this.entries;
+    }
+
+    // Writes the report as '<job name>-report.json' into the given directory and returns its path.
+    public Path write(Path outputDirectory) throws IOException {
+        Path reportPath = outputDirectory.resolve(this.jobName + FILE_NAME_SUFFIX);
+        Files.createDirectories(outputDirectory);
+        OBJECT_MAPPER.writeValue(reportPath.toFile(), this.entries);
+        return reportPath;
+    }
+}
@@ -0,0 +1,111 @@
+package edu.charlotte.parser.metrics;
+
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of latencies in nanoseconds with log-linear buckets: the values below 128 have their own
+ * buckets, and every power of two above is split into 64 buckets, so a percentile is within 1.6% of the recorded
+ * value. The histogram has a fixed size whatever the number of recorded values, and histograms encoded in the
+ * execution contexts of the steps are merged by adding their buckets.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKET_COUNT);
+        this.max = new AtomicLong();
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        this.buckets.incrementAndGet(bucketIndex(value));
+        this.max.accumulateAndGet(value, Math::max);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT)
+            return (int) value;
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    // Middle value of the bucket of the given index.
+    static long bucketValue(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT)
+            return index;
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_COUNT;
+        return (subBucket << shift) + (1L << shift) / 2;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++)
+            count += this.buckets.get(index);
+        return count;
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    // Value below which the given fraction of the recorded values are, e.g. 0.99 for the 99th percentile.
+    public long getPercentile(double fraction) {
+        long count = getCount();
+        if (count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        if (rank >= count)
+            return getMax();
+        long cumulativeCount = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulativeCount += this.buckets.get(index);
+            if (cumulativeCount >= rank)
+                return Math.min(bucketValue(index), getMax());
+        }
+        return getMax();
+    }
+
+    public void add(LatencyHistogram histogram) {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            long count = histogram.buckets.get(index);
+            if (count != 0)
+                this.buckets.addAndGet(index, count);
+        }
+        this.max.accumulateAndGet(histogram.getMax(), Math::max);
+    }
+
+    // Encodes the non-empty buckets and the maximum as "max;index:count,index:count", to be stored in an execution context.
+    public String encode() {
+        StringJoiner encodedBuckets = new StringJoiner(",");
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            long count = this.buckets.get(index);
+            if (count != 0)
+                encodedBuckets.add(index + ":" + count);
+        }
+        return getMax() + ";" + encodedBuckets;
+    }
+
+    public static LatencyHistogram decode(String encoded) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int separatorIndex = encoded.indexOf(';');
+        histogram.max.set(Long.parseLong(encoded.substring(0, separatorIndex)));
+        String encodedBuckets = encoded.substring(separatorIndex + 1);
+        if (encodedBuckets.isEmpty())
+            return histogram;
+        for (String encodedBucket : encodedBuckets.split(",")) {
+            int countIndex = encodedBucket.indexOf(':');
+            histogram.buckets.set(Integer.parseInt(encodedBucket.substring(0, countIndex)),
+                    Long.parseLong(encodedBucket.substring(countIndex + 1)));
+        }
+        return histogram;
+    }
+}
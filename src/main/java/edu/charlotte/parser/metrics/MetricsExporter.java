@@ -0,0 +1,120 @@
+package edu.charlotte.parser.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the meters of the global registry of Micrometer, those of the parser as well as those of Spring Batch, in
+ * a Prometheus registry. While the application runs, the registry can be scraped from a local HTTP endpoint. When the
+ * application is closed, the phase timers are summarized in the log and all the meters are written to a summary file
+ * in the Prometheus text format.
+ */
+@Slf4j
+public class MetricsExporter implements AutoCloseable {
+    private static final String ENDPOINT_PATH = "/metrics";
+
+    private final PrometheusMeterRegistry registry;
+    private final Path summaryFile;
+    private final HttpServer server;
+
+    public MetricsExporter(Path summaryFile, int port) {
+        this.registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        this.summaryFile = summaryFile;
+        Metrics.addRegistry(this.registry);
+        this.server = port > 0 ? startServer(port) : null;
+    }
+
+    private MetricsExporter() {
+        this.registry = null;
+        this.summaryFile = null;
+        this.server = null;
+    }
+
+    public static MetricsExporter disabled() {
+        return new MetricsExporter();
+    }
+
+    public boolean isEnabled() {
+        return this.registry != null;
+    }
+
+    private HttpServer startServer(int port) {
+        try {
+            // Only bound to the loopback address, the endpoint is meant for a local scraper.
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext(ENDPOINT_PATH, this::handleScrape);
+            httpServer.start();
+            log.info("Serving the metrics at http://localhost:{}{}", port, ENDPOINT_PATH);
+            return httpServer;
+        } catch (IOException e) {
+            Metrics.removeRegistry(this.registry);
+            throw new IllegalArgumentException("Failed to start the metrics endpoint on the port: " + port, e);
+        }
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = this.registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        }
+    }
+
+    public String scrape() {
+        return isEnabled() ? this.registry.scrape() : "";
+    }
+
+    @Override
+    public void close() {
+        if (!isEnabled())
+            return;
+        logPhaseSummary();
+        if (this.summaryFile != null)
+            writeSummaryFile();
+        if (this.server != null)
+            this.server.stop(0);
+        Metrics.removeRegistry(this.registry);
+        this.registry.close();
+    }
+
+    private void logPhaseSummary() {
+        for (Timer timer : this.registry.find(ParserMetrics.PHASE_TIMER_NAME).timers()) {
+            if (timer.count() == 0)
+                continue;
+            log.info("Phase '{}' of the '{}': {} item(s), total {} ms, mean {} ms, max {} ms",
+                    timer.getId().getTag(ParserMetrics.PHASE_TAG), timer.getId().getTag(ParserMetrics.GRAMMAR_TAG), timer.count(),
+                    String.format("%.3f", timer.totalTime(TimeUnit.MILLISECONDS)),
+                    String.format("%.3f", timer.mean(TimeUnit.MILLISECONDS)),
+                    String.format("%.3f", timer.max(TimeUnit.MILLISECONDS)));
+        }
+    }
+
+    private void writeSummaryFile() {
+        try {
+            Path parentDir = this.summaryFile.toAbsolutePath().getParent();
+            if (parentDir != null)
+                Files.createDirectories(parentDir);
+            Files.writeString(this.summaryFile, scrape(), StandardCharsets.UTF_8);
+            log.info("Wrote the metrics summary to the file: {}", this.summaryFile);
+        } catch (IOException e) {
+            log.warn("Failed to write the metrics summary to the file: {}", this.summaryFile, e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package edu.charlotte.parser.metrics;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstTraversals;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Meters of the phases of lexing, parsing, walking and converting the items of a grammar. The meters are registered
+ * in the global registry of Micrometer, to which the {@link MetricsExporter} adds the registry exporting them. While
+ * no registry is added the meters record nothing. The total time of every phase is also kept for the execution
+ * context of the step, from which the {@link JobReport} of the job is built.
+ */
+public class ParserMetrics {
+    public static final String PHASE_TIMER_NAME = "parser.phase";
+    public static final String PHASE_TAG = "phase";
+    public static final String GRAMMAR_TAG = "grammar";
+    public static final String EXECUTION_CONTEXT_KEY_PREFIX = "phase.nanos.";
+
+    public enum Phase {
+        LEX, PARSE, WALK, CONVERT;
+
+        public String getTagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<Phase, Timer> phaseTimers;
+    private final Map<Phase, LongAdder> phaseNanos;
+    private final Counter lexerErrors;
+    private final Counter parserErrors;
+    private final DistributionSummary astNodes;
+
+    public ParserMetrics(String grammar) {
+        this.phaseTimers = new EnumMap<>(Phase.class);
+        this.phaseNanos = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            this.phaseNanos.put(phase, new LongAdder());
+            this.phaseTimers.put(phase, Timer.builder(PHASE_TIMER_NAME)
+                    .description("Time spent in a phase of processing the items")
+                    .tag(PHASE_TAG, phase.getTagValue())
+                    .tag(GRAMMAR_TAG, grammar)
+                    .register(Metrics.globalRegistry));
+        }
+        this.lexerErrors = createErrorCounter(grammar, "lexer");
+        this.parserErrors = createErrorCounter(grammar, "parser");
+        this.astNodes = DistributionSummary.builder("parser.ast.nodes")
+                .description("Number of nodes of the generated ASTs")
+                .tag(GRAMMAR_TAG, grammar)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Counter createErrorCounter(String grammar, String source) {
+        return Counter.builder("parser.syntax.errors")
+                .description("Number of syntax errors in the items")
+                .tag(GRAMMAR_TAG, grammar)
+                .tag("source", source)
+                .register(Metrics.globalRegistry);
+    }
+
+    // Whether a registry exporting the meters is added, so that the metrics costing more than a timer can be skipped.
+    public static boolean isEnabled() {
+        return !Metrics.globalRegistry.getRegistries().isEmpty();
+    }
+
+    // Records the time of the phase started at the given System.nanoTime().
+    public void recordPhase(Phase phase, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        this.phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+        this.phaseNanos.get(phase).add(nanos);
+    }
+
+    public void recordSyntaxErrors(int lexerErrorCount, int parserErrorCount) {
+        this.lexerErrors.increment(lexerErrorCount);
+        this.parserErrors.increment(parserErrorCount);
+    }
+
+    public void recordAstNodes(AstNode astRoot) {
+        if (isEnabled())
+            this.astNodes.record(AstTraversals.countNodes(astRoot));
+    }
+
+    // Total times of the phases keyed by the names to be stored in the execution context of the step.
+    public Map<String, Long> toExecutionContextEntries() {
+        Map<String, Long> entries = new LinkedHashMap<>();
+        for (Map.Entry<Phase, LongAdder> entry : this.phaseNanos.entrySet())
+            entries.put(EXECUTION_CONTEXT_KEY_PREFIX + entry.getKey().getTagValue(), entry.getValue().sum());
+        return entries;
+    }
+}
@@ -0,0 +1,34 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstTraversals;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.charlotte.parser.AstGeneration")
+@Label("AST Generation")
+@Description("Generation of the AST of an input item from its parse tree")
+public class AstGenerationEvent extends ParserEvent {
+    @Label("Grammar")
+    String grammar;
+
+    @Label("Node Count")
+    @Description("Number of nodes of the generated AST, 0 when no AST is generated")
+    long nodeCount;
+
+    public static AstGenerationEvent start() {
+        AstGenerationEvent event = new AstGenerationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String grammar, AstNode astRoot) {
+        end();
+        if (!shouldCommit())
+            return;
+        this.grammar = grammar;
+        this.nodeCount = astRoot == null ? 0 : AstTraversals.countNodes(astRoot);
+        commit();
+    }
+}
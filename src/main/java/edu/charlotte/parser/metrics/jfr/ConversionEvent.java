@@ -0,0 +1,34 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstTraversals;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.charlotte.parser.Conversion")
+@Label("Conversion")
+@Description("Conversion of the AST of an input item by a converter")
+public class ConversionEvent extends ParserEvent {
+    @Label("Converter")
+    Class<?> converter;
+
+    @Label("Node Count")
+    @Description("Number of nodes of the converted AST")
+    long nodeCount;
+
+    public static ConversionEvent start() {
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Class<?> converter, AstNode astRoot) {
+        end();
+        if (!shouldCommit())
+            return;
+        this.converter = converter;
+        this.nodeCount = AstTraversals.countNodes(astRoot);
+        commit();
+    }
+}
@@ -0,0 +1,47 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.charlotte.parser.Item")
+@Label("Item")
+@Description("Processing of an input item by the processor of a job, enclosing its lexing, parsing, walks and conversions")
+public class ItemEvent extends ParserEvent {
+    @Label("Job Type")
+    @Description("Processor of the job processing the item")
+    String jobType;
+
+    @Label("Input Length")
+    @Description("Number of characters of the input item")
+    int inputLength;
+
+    @Label("Cached")
+    @Description("Whether the output was read from the conversion cache")
+    boolean cached;
+
+    @Label("Successful")
+    @Description("Whether an output was produced without errors")
+    boolean successful;
+
+    public static ItemEvent start() {
+        ItemEvent event = new ItemEvent();
+        event.begin();
+        return event;
+    }
+
+    // Marks the output of the item as read from the conversion cache.
+    public void markCached() {
+        this.cached = true;
+    }
+
+    public void finish(String jobType, int inputLength, boolean successful) {
+        end();
+        if (!shouldCommit())
+            return;
+        this.jobType = jobType;
+        this.inputLength = inputLength;
+        this.successful = successful;
+        commit();
+    }
+}
@@ -0,0 +1,40 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.charlotte.parser.Lex")
+@Label("Lex")
+@Description("Lexing of an input item into its tokens")
+public class LexEvent extends ParserEvent {
+    @Label("Grammar")
+    String grammar;
+
+    @Label("Input Length")
+    @Description("Number of characters of the input item")
+    int inputLength;
+
+    @Label("Token Count")
+    int tokenCount;
+
+    @Label("Lexer Errors")
+    int lexerErrorCount;
+
+    public static LexEvent start() {
+        LexEvent event = new LexEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String grammar, int inputLength, int tokenCount, int lexerErrorCount) {
+        end();
+        if (!shouldCommit())
+            return;
+        this.grammar = grammar;
+        this.inputLength = inputLength;
+        this.tokenCount = tokenCount;
+        this.lexerErrorCount = lexerErrorCount;
+        commit();
+    }
+}
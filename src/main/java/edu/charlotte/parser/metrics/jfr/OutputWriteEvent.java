@@ -0,0 +1,35 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.charlotte.parser.OutputWrite")
+@Label("Output Write")
+@Description("Writing of a chunk of outputs to the output files of a step")
+public class OutputWriteEvent extends ParserEvent {
+    @Label("Step")
+    String step;
+
+    @Label("Item Count")
+    int itemCount;
+
+    @Label("Successful")
+    boolean successful;
+
+    public static OutputWriteEvent start() {
+        OutputWriteEvent event = new OutputWriteEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String step, int itemCount, boolean successful) {
+        end();
+        if (!shouldCommit())
+            return;
+        this.step = step;
+        this.itemCount = itemCount;
+        this.successful = successful;
+        commit();
+    }
+}
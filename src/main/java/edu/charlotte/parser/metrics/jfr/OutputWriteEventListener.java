@@ -0,0 +1,39 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.lang.NonNull;
+
+/**
+ * Records an {@link OutputWriteEvent} around the writing of every chunk of a step. The writer of a step may be used
+ * by several threads in the parallel mode, but a chunk is written on the thread calling the listener for it.
+ */
+public class OutputWriteEventListener implements ItemWriteListener<Object> {
+    private final ThreadLocal<OutputWriteEvent> events = new ThreadLocal<>();
+
+    @Override
+    public void beforeWrite(@NonNull Chunk<?> items) {
+        this.events.set(OutputWriteEvent.start());
+    }
+
+    @Override
+    public void afterWrite(@NonNull Chunk<?> items) {
+        finish(items, true);
+    }
+
+    @Override
+    public void onWriteError(@NonNull Exception exception, @NonNull Chunk<?> items) {
+        finish(items, false);
+    }
+
+    private void finish(Chunk<?> items, boolean successful) {
+        OutputWriteEvent event = this.events.get();
+        if (event == null)
+            return;
+        this.events.remove();
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        event.finish(stepContext == null ? null : stepContext.getStepName(), items.size(), successful);
+    }
+}
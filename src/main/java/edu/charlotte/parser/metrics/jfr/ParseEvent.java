@@ -0,0 +1,41 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import edu.charlotte.parser.grammars.ParseMode;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.charlotte.parser.Parse")
+@Label("Parse")
+@Description("Parsing of the tokens of an input item into its parse tree")
+public class ParseEvent extends ParserEvent {
+    @Label("Grammar")
+    String grammar;
+
+    @Label("Token Count")
+    int tokenCount;
+
+    @Label("Parser Errors")
+    int parserErrorCount;
+
+    @Label("Parse Mode")
+    @Description("Prediction mode that parsed the item: LL, SLL or LL_FALLBACK")
+    String parseMode;
+
+    public static ParseEvent start() {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String grammar, int tokenCount, int parserErrorCount, ParseMode parseMode) {
+        end();
+        if (!shouldCommit())
+            return;
+        this.grammar = grammar;
+        this.tokenCount = tokenCount;
+        this.parserErrorCount = parserErrorCount;
+        this.parseMode = parseMode.name();
+        commit();
+    }
+}
@@ -0,0 +1,14 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Java Flight Recorder events of the parser. The events are created and begun unconditionally, their
+ * fields are only filled in when the event is recorded, so that the costly fields are skipped while JFR is off.
+ */
+@Category("Parser")
+@StackTrace(false)
+abstract class ParserEvent extends Event {
+}
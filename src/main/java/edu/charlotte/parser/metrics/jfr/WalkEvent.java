@@ -0,0 +1,32 @@
+package edu.charlotte.parser.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.charlotte.parser.Walk")
+@Label("Walk")
+@Description("Walk of the parse tree of an input item by a listener")
+public class WalkEvent extends ParserEvent {
+    @Label("Grammar")
+    String grammar;
+
+    @Label("Listener")
+    @Description("Class of the listener walking the parse tree")
+    Class<?> listener;
+
+    public static WalkEvent start() {
+        WalkEvent event = new WalkEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String grammar, Class<?> listener) {
+        end();
+        if (!shouldCommit())
+            return;
+        this.grammar = grammar;
+        this.listener = listener;
+        commit();
+    }
+}
@@ -0,0 +1,10 @@
+package edu.charlotte.parser.multitarget;
+
+import edu.charlotte.parser.jobs.io.StreamableOutput;
+
+/**
+ * Outputs of a single input item for every target of a multi-target job. The KeYmaeraX output is null when the item
+ * is skipped by the conversion, as the single-target conversion jobs do.
+ */
+public record MultiTargetOutput(StreamableOutput astOutput, String keYmaeraXOutput) {
+}
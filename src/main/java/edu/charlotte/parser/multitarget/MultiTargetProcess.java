@@ -0,0 +1,116 @@
+package edu.charlotte.parser.multitarget;
+
+import edu.charlotte.parser.ast.generation.AbstractAstGenerationProcess;
+import edu.charlotte.parser.cache.CacheCounters;
+import edu.charlotte.parser.conversions.common.AbstractKeYmaeraXConversionProcess;
+import edu.charlotte.parser.grammars.AbstractAstGenerator;
+import edu.charlotte.parser.grammars.ParseModeCounters;
+import edu.charlotte.parser.grammars.ParsedInput;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.ItemOrigins.ItemOrigin;
+import edu.charlotte.parser.metrics.ItemTimings;
+import edu.charlotte.parser.metrics.ParserMetrics;
+import edu.charlotte.parser.utils.ParserUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.lang.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.function.Supplier;
+
+/**
+ * Generates the AST output and the KeYmaeraX output of an item from a single parse. The item is lexed and parsed
+ * once, and its parse tree is walked by each target, so every target builds its own AST. The KeYmaeraX conversion
+ * rewrites its AST in place, which leaves the AST of the tree output untouched. The item is not parsed at all when
+ * both outputs are found in the conversion cache. The origin of the item is taken once and handed to both targets.
+ */
+@Slf4j
+public class MultiTargetProcess implements ItemProcessor<String, MultiTargetOutput>, StepExecutionListener {
+
+    private final AbstractAstGenerator<?, ?, ?, ?> astGenerator;
+    private final AbstractAstGenerationProcess<?> astGenerationProcess;
+    private final AbstractKeYmaeraXConversionProcess<?, ?> keYmaeraXConversionProcess;
+    private final ItemOrigins itemOrigins;
+    private final ParseModeCounters parseModeCounters;
+    private final ItemTimings itemTimings;
+
+    public MultiTargetProcess(AbstractAstGenerator<?, ?, ?, ?> astGenerator, AbstractAstGenerationProcess<?> astGenerationProcess,
+                              AbstractKeYmaeraXConversionProcess<?, ?> keYmaeraXConversionProcess, ItemOrigins itemOrigins) {
+        this.astGenerator = Objects.requireNonNull(astGenerator, "AST Generator cannot be null");
+        this.astGenerationProcess = Objects.requireNonNull(astGenerationProcess, "AST generation process cannot be null");
+        this.keYmaeraXConversionProcess = Objects.requireNonNull(keYmaeraXConversionProcess, "KeYmaeraX conversion process cannot be null");
+        this.itemOrigins = Objects.requireNonNull(itemOrigins, "Item origins cannot be null");
+        this.parseModeCounters = new ParseModeCounters();
+        this.itemTimings = new ItemTimings();
+        log.info("'{}' multi-target process is initialized.", this.astGenerator.getTypeName());
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        log.debug("Before step for the '{}' multi-target process. Step Name is '{}'.", this.astGenerator.getTypeName(), stepExecution.getStepName());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        this.parseModeCounters.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
+        log.info("Parse modes used by the '{}' multi-target process in the step '{}': {}",
+                this.astGenerator.getTypeName(), stepExecution.getStepName(), this.parseModeCounters);
+
+        CacheCounters cacheCounters = new CacheCounters();
+        cacheCounters.add(this.astGenerationProcess.getCacheCounters());
+        cacheCounters.add(this.keYmaeraXConversionProcess.getCacheCounters());
+        if (cacheCounters.getHits() + cacheCounters.getMisses() > 0) {
+            cacheCounters.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
+            log.info("Conversion cache usage of the '{}' multi-target process in the step '{}': {}",
+                    this.astGenerator.getTypeName(), stepExecution.getStepName(), cacheCounters);
+        }
+
+        this.itemTimings.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putString);
+        // The targets may share their generators, whose phases are then counted once.
+        Map<String, Long> phaseEntries = new LinkedHashMap<>();
+        Stream.of(this.astGenerator.getParserMetrics(), this.astGenerationProcess.getParserMetrics(),
+                        this.keYmaeraXConversionProcess.getParserMetrics())
+                .distinct()
+                .forEach(parserMetrics -> parserMetrics.toExecutionContextEntries()
+                        .forEach((key, nanos) -> phaseEntries.merge(key, nanos, Long::sum)));
+        phaseEntries.forEach(stepExecution.getExecutionContext()::putLong);
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public MultiTargetOutput process(@NonNull String item) {
+        log.debug("Processing the input item for all the targets: {}.", ParserUtils.formatInputForLogging(item));
+        long itemStart = System.nanoTime();
+        ItemOrigin itemOrigin = this.itemOrigins.take(item);
+        SharedParse sharedParse = new SharedParse(item);
+        MultiTargetOutput multiTargetOutput = new MultiTargetOutput(this.astGenerationProcess.process(item, itemOrigin, sharedParse),
+                this.keYmaeraXConversionProcess.process(item, itemOrigin, sharedParse));
+        this.itemTimings.record(item, itemStart);
+        return multiTargetOutput;
+    }
+
+    // Parses the item on the first request of a target, and hands the same parse to the other targets.
+    private class SharedParse implements Supplier<ParsedInput> {
+        private final String item;
+        private ParsedInput parsedInput;
+
+        private SharedParse(String item) {
+            this.item = item;
+        }
+
+        @Override
+        public ParsedInput get() {
+            if (this.parsedInput == null) {
+                this.parsedInput = astGenerator.parseInput(this.item);
+                parseModeCounters.record(this.parsedInput.parseMode());
+            }
+            return this.parsedInput;
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package edu.charlotte.parser.utils;
 
 import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.ast.nodes.AstNodeKind;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
 
 import java.util.*;
 
 @Slf4j
 public class AstListenerUtils {
     private AstListenerUtils() {}
+
+    /*
+     * Returns a placeholder for the text of a grammar rule, to be used as a logging argument. The text is only built
+     * when the placeholder is formatted, so the listeners stay linear in the size of the parse tree when the DEBUG
+     * level is disabled instead of rebuilding the text of each subtree on every rule callback.
+     */
+    public static Object ruleText(ParserRuleContext ctx) {
+        return new LazyRuleText(ctx);
+    }
+
     public static List<AstNode> exitGrammarRule(ParserRuleContext ctx, Stack<AstNode> stack) {
         int expectedChildrenCount = ctx.getChildCount();
         if (stack.size() < expectedChildrenCount) {
@@ -20,25 +32,138 @@ public class AstListenerUtils {
         List<AstNode> grammarRuleChildNodes = new ArrayList<>(expectedChildrenCount);
         for (int index = 0; index < expectedChildrenCount; index++)
             grammarRuleChildNodes.add(stack.pop());
-        log.debug("Popped all the {} children from stack for rule '{}'.", expectedChildrenCount, ctx.getText());
+        log.debug("Popped all the {} children from stack for rule '{}'.", expectedChildrenCount, ruleText(ctx));
         Collections.reverse(grammarRuleChildNodes);
         return grammarRuleChildNodes;
     }
 
-    public static void addChildrenToLastNodeInStack(List<AstNode> childNodes, String grammarNodeName, String contextText, Stack<AstNode> stack) {
+    public static void addChildrenToLastNodeInStack(List<AstNode> childNodes, String grammarNodeName, ParserRuleContext ctx, Stack<AstNode> stack) {
         if (childNodes == null) {
             log.warn("Attempted to add a null list as children to the node on top of the stack for the rule '{}' (context: '{}')",
-                    grammarNodeName, contextText);
+                    grammarNodeName, ruleText(ctx));
             return;
         }
 
         if (!stack.isEmpty()) {
             stack.peek().addChildren(childNodes);
             log.debug("Added {} children to the node on top of the stack for the rule '{}' (context: '{}').",
-                    childNodes.size(), grammarNodeName, contextText);
+                    childNodes.size(), grammarNodeName, ruleText(ctx));
         } else {
-            log.error("Stack is unexpectedly empty when exiting the rule {} for the context: {}, indicating a critical logic error.", grammarNodeName, contextText);
+            log.error("Stack is unexpectedly empty when exiting the rule {} for the context: {}, indicating a critical logic error.", grammarNodeName, ruleText(ctx));
             throw new IllegalStateException("Cannot add children as the Stack is empty for the rule: " + grammarNodeName);
         }
     }
-}
\ No newline at end of file
+
+    /*
+     * Returns the number of nodes that the children of a rule left on the stack. The children of the given rule add no
+     * node of their own, so each of them left a node per child of its own, while any other child left a single node.
+     */
+    public static int countFlattenedChildNodes(ParserRuleContext ctx, Class<? extends ParserRuleContext> flattenedRule) {
+        int nodeCount = 0;
+        for (int index = 0; index < ctx.getChildCount(); index++) {
+            ParseTree child = ctx.getChild(index);
+            nodeCount += flattenedRule.isInstance(child) ? child.getChildCount() : 1;
+        }
+        return nodeCount;
+    }
+
+    /*
+     * Exits a rule 'operand (operator operand)*' whose operands, operators and prefixes are the given number of nodes on
+     * top of the stack. The operands are grouped by the precedence and the associativity of the operators with a
+     * shunting-yard, into nested nodes of the given kind holding 'left operator right' or a prefix followed by its
+     * operand, the same nodes as the alternatives of a left-recursive rule produce. The grouping keeps its pending
+     * operators and operands in explicit stacks, so it does not recurse however deep the formula is nested. A rule
+     * matching a single operand adds no node of its own, so its operand stays on the stack as it is.
+     */
+    public static void exitOperatorRule(ParserRuleContext ctx, int nodeCount, OperatorTable operators, AstNodeKind kind,
+                                        String grammarNodeName, Stack<AstNode> stack) {
+        if (nodeCount == 1)
+            return;
+
+        List<AstNode> childNodes = popNodes(ctx, nodeCount, stack);
+        Deque<AstNode> operands = new ArrayDeque<>();
+        Deque<PendingOperator> pendingOperators = new ArrayDeque<>();
+        for (int index = 0; index < childNodes.size(); index++) {
+            AstNode node = childNodes.get(index);
+            String symbol = node.getKind() == AstNodeKind.SYMBOL ? node.getValue() : null;
+            Integer precedence = symbol == null ? null : operators.precedences().get(symbol);
+            if (precedence != null) {
+                boolean rightAssociative = operators.rightAssociativeOperators().contains(symbol);
+                while (!pendingOperators.isEmpty() && pendingOperators.peek().appliesBefore(precedence, rightAssociative))
+                    applyOperator(pendingOperators.pop(), operands, kind);
+                pendingOperators.push(new PendingOperator(List.of(node), precedence, true));
+            } else if (symbol != null && operators.negations().contains(symbol)) {
+                pendingOperators.push(new PendingOperator(List.of(node), Integer.MAX_VALUE, false));
+            } else if (symbol != null && operators.modalities().containsKey(symbol)) {
+                // The opening symbol, the program and the closing symbol of the modality.
+                pendingOperators.push(new PendingOperator(childNodes.subList(index, index + 3), Integer.MIN_VALUE, false));
+                index += 2;
+            } else {
+                operands.push(node);
+            }
+        }
+        while (!pendingOperators.isEmpty())
+            applyOperator(pendingOperators.pop(), operands, kind);
+
+        if (operands.size() != 1) {
+            log.error("Grouping the operators of the rule '{}' left {} operands instead of one.", ruleText(ctx), operands.size());
+            throw new IllegalStateException("Critical AST construction error for the rule: " + ctx.getText());
+        }
+        stack.push(operands.pop());
+        log.debug("Grouped {} nodes into the nodes of the rule '{}' (context: '{}').", nodeCount, grammarNodeName, ruleText(ctx));
+    }
+
+    private static List<AstNode> popNodes(ParserRuleContext ctx, int nodeCount, Stack<AstNode> stack) {
+        if (stack.size() < nodeCount) {
+            log.error("Stack underflow: Expected {} nodes for the rule '{}', but the stack has only {} elements.",
+                    nodeCount, ctx.getText(), stack.size());
+            throw new IllegalStateException("Critical AST construction error for the rule: " + ctx.getText());
+        }
+
+        List<AstNode> nodes = new ArrayList<>(stack.subList(stack.size() - nodeCount, stack.size()));
+        stack.setSize(stack.size() - nodeCount);
+        return nodes;
+    }
+
+    private static void applyOperator(PendingOperator operator, Deque<AstNode> operands, AstNodeKind kind) {
+        AstNode node = new AstNode(kind);
+        if (operator.binary()) {
+            AstNode rightOperand = operands.pop();
+            node.addChildren(List.of(operands.pop(), operator.symbols().getFirst(), rightOperand));
+        } else {
+            List<AstNode> children = new ArrayList<>(operator.symbols());
+            children.add(operands.pop());
+            node.addChildren(children);
+        }
+        operands.push(node);
+    }
+
+    /**
+     * Operators of a rule 'operand (operator operand)*', by their text. The binary operators are mapped to their
+     * precedence, a higher precedence binding tighter. The operands may be prefixed by negations, which apply to the
+     * operand they prefix only, and by modalities, mapped to their closing symbol, which apply to the rest of the rule.
+     */
+    public record OperatorTable(Map<String, Integer> precedences, Set<String> rightAssociativeOperators,
+                                Set<String> negations, Map<String, String> modalities) {
+        public static OperatorTable binary(Map<String, Integer> precedences) {
+            return new OperatorTable(precedences, Set.of(), Set.of(), Map.of());
+        }
+    }
+
+    /*
+     * Operator waiting for its right operand. The negations have the highest precedence, so that they apply before any
+     * binary operator following their operand, and the modalities the lowest, so that they apply last.
+     */
+    private record PendingOperator(List<AstNode> symbols, int precedence, boolean binary) {
+        boolean appliesBefore(int nextPrecedence, boolean nextRightAssociative) {
+            return this.precedence > nextPrecedence || (this.precedence == nextPrecedence && !nextRightAssociative);
+        }
+    }
+
+    private record LazyRuleText(ParserRuleContext ctx) {
+        @Override
+        public String toString() {
+            return ctx.getText();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package edu.charlotte.parser.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+@Slf4j
+public final class BuildVersionUtils {
+    private static final String BUILD_INFO_RESOURCE = "META-INF/build-info.properties";
+    private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+    private static final String UNKNOWN_BUILD_VERSION = "unknown";
+    private static final String BUILD_VERSION = readBuildVersion();
+
+    private BuildVersionUtils() {}
+
+    /*
+     * Version of the build of the parser, from the build-info.properties written by the Spring Boot Maven plugin. The
+     * listeners and the converters may change without the grammars, so the outputs cached or recorded by another build
+     * are not taken for the outputs of the current one. A snapshot version stays the same across the builds of the
+     * development, so it is qualified by the time of the build, while a release keeps its outputs across its rebuilds.
+     */
+    public static String getBuildVersion() {
+        return BUILD_VERSION;
+    }
+
+    private static String readBuildVersion() {
+        Properties buildInfo = new Properties();
+        try (InputStream inputStream = BuildVersionUtils.class.getClassLoader().getResourceAsStream(BUILD_INFO_RESOURCE)) {
+            if (inputStream != null)
+                buildInfo.load(inputStream);
+        } catch (IOException e) {
+            log.warn("Failed to read the build information '{}'.", BUILD_INFO_RESOURCE, e);
+        }
+
+        String version = buildInfo.getProperty("build.version");
+        if (version == null) {
+            // Falls back on the manifest of the jar, which is not read from the classes of an IDE either.
+            version = BuildVersionUtils.class.getPackage().getImplementationVersion();
+            if (version == null) {
+                log.warn("No build version found in '{}' or in the manifest. The outputs of other builds may be reused.", BUILD_INFO_RESOURCE);
+                return UNKNOWN_BUILD_VERSION;
+            }
+        }
+        String buildTime = buildInfo.getProperty("build.time");
+        return version.endsWith(SNAPSHOT_SUFFIX) && buildTime != null ? version + "+" + buildTime : version;
+    }
+}
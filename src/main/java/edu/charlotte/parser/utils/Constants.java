@@ -6,16 +6,25 @@ public final class Constants {
     public static final String JOBNAME_DL_TO_KEYMAERAX_OUTPUT_CONVERSION = "DL_TO_KEYMAERAX_OUTPUT";
     public static final String JOBNAME_REL_DL_AST_GENERATION = "REL_DL_AST_GENERATION";
     public static final String JOBNAME_REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION = "REL_DL_TO_KEYMAERAX_OUTPUT";
+    public static final String JOBNAME_DL_VALIDATION = "DL_VALIDATE";
+    public static final String JOBNAME_REL_DL_VALIDATION = "REL_DL_VALIDATE";
 
     public static final String AST_GENERATION_EXTENSION = "_AST.txt";
     public static final String KEYMAERAX_EXTENSION = ".kyx";
+    public static final String VALIDATION_EXTENSION = "_validation.txt";
 
     public static final String INPUT_FILE = "input.file";
+    public static final String INPUT_DIR = "input.dir";
+    public static final String INPUT_GLOB = "input.glob";
     public static final String OUTPUT_FILE = "output.file";
+    public static final String OUTPUT_DIR = "output.dir";
+    public static final String INPUT_FINGERPRINT = "input.fingerprint";
     public static final String JOB_NAME = "job.name";
 
+    public static final String DEFAULT_INPUT_GLOB = "*";
+
     public static final String ERROR_MESSAGE_FOR_MISSING_JOB_PARAMETERS = "Missing required job parameters. " +
-            "Use --job.name=<jobName> and --input.file=<inputFile>";
+            "Use --job.name=<jobName> and either --input.file=<inputFile> or --input.dir=<inputDirectory> with an optional --input.glob=<glob>";
 
     public static final String AST_NODE_DL_PROGRAM = "DLProgram";
     public static final String AST_NODE_DL_FORMULA = "Formula";
@@ -44,6 +53,7 @@ public final class Constants {
 
     public static final String AST_GENERATION_PROCESS_SUFFIX = " Ast Generation Process";
     public static final String KEYMAERAX_OUTPUT_CONVERSION_SUFFIX = " to KeYmaeraX Output Conversion Process";
+    public static final String VALIDATION_PROCESS_SUFFIX = " Validation Process";
 
     public static final String DIFFERENTIAL_DYNAMIC_LOGIC = "Differential Dynamic Logic";
     public static final String RELATIONAL_DYNAMIC_LOGIC = "Relational Dynamic Logic";
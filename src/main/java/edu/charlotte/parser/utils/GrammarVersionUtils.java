@@ -0,0 +1,30 @@
+package edu.charlotte.parser.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class GrammarVersionUtils {
+
+    private GrammarVersionUtils() {}
+
+    /*
+     * Version of a grammar, as the hex encoded SHA-256 of the serialized ATNs of its generated recognizers. The ATNs
+     * change along with any rule or token of the grammar, so the outputs cached or recorded for an older grammar are
+     * not taken for the outputs of the current one.
+     */
+    public static String fromSerializedAtns(String lexerAtn, String parserAtn) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM.", e);
+        }
+        for (String atn : new String[]{lexerAtn, parserAtn}) {
+            digest.update(atn.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
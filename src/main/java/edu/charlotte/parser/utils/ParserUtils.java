@@ -5,7 +5,8 @@ public final class ParserUtils {
     private static final int DEFAULT_TRUNCATION_LENGTH = 50;
     private ParserUtils() {}
 
-    public static String formatInputForLogging(String input, int maxLength) {
+    // A mapped input is only copied up to the truncation length.
+    public static String formatInputForLogging(CharSequence input, int maxLength) {
         if (input == null)
             return "[null]";
 
@@ -15,12 +16,12 @@ public final class ParserUtils {
 
         if (input.length() > maxLength) {
             int effectiveLength = Math.max(0, maxLength - 3); // Leave room for "..."
-            return input.substring(0, effectiveLength) + "...";
+            return input.subSequence(0, effectiveLength) + "...";
         } else
-            return input;
+            return input.toString();
     }
 
-    public static String formatInputForLogging(String input) {
+    public static String formatInputForLogging(CharSequence input) {
         return formatInputForLogging(input, ParserUtils.DEFAULT_TRUNCATION_LENGTH);
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package edu.charlotte.parser.validation;
+
+import edu.charlotte.parser.grammars.AbstractAstGenerator;
+import edu.charlotte.parser.grammars.ParseModeCounters;
+import edu.charlotte.parser.grammars.ParsedInput;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import edu.charlotte.parser.jobs.io.ItemOrigins.ItemOrigin;
+import edu.charlotte.parser.listeners.common.SyntaxError;
+import edu.charlotte.parser.metrics.ItemMetrics;
+import edu.charlotte.parser.metrics.ItemTimings;
+import edu.charlotte.parser.metrics.jfr.ItemEvent;
+import edu.charlotte.parser.utils.Constants;
+import edu.charlotte.parser.utils.ParserUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.lang.NonNull;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks the syntax of the items without generating their ASTs. An item is lexed and parsed without building its
+ * parse tree, and its output is a compact list of its syntax errors, one per line as 'line:column source error:
+ * message', where the lines are those of the item, preceded by the record of the item in the streaming input reader
+ * mode. The lexing and parsing of an item stop at the error limit, so that garbage inputs fail fast. The items of the
+ * mapped input reader mode are validated without keeping their tokens. The numbers of valid and invalid items are
+ * stored in the execution context of the step.
+ */
+@Slf4j
+public class SyntaxValidationProcess implements ItemProcessor<CharSequence, String>, StepExecutionListener {
+    public static final String EXECUTION_CONTEXT_KEY_PREFIX = "validation.";
+    public static final String INVALID_ITEMS_KEY = EXECUTION_CONTEXT_KEY_PREFIX + "invalid";
+    private static final String VALID_ITEMS_KEY = EXECUTION_CONTEXT_KEY_PREFIX + "valid";
+    private static final String VALID_OUTPUT = "No syntax errors.";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final AbstractAstGenerator<?, ?, ?, ?> astGenerator;
+    private final int errorLimit;
+    private final ItemOrigins itemOrigins;
+    private final ParseModeCounters parseModeCounters;
+    private final LongAdder validItems;
+    private final LongAdder invalidItems;
+    private final ItemMetrics itemMetrics;
+    private final ItemTimings itemTimings;
+
+    public SyntaxValidationProcess(AbstractAstGenerator<?, ?, ?, ?> astGenerator, int errorLimit, ItemOrigins itemOrigins) {
+        this.astGenerator = Objects.requireNonNull(astGenerator, "AST Generator cannot be null");
+        if (errorLimit < 0)
+            throw new IllegalArgumentException("Validation error limit cannot be negative: " + errorLimit);
+        this.errorLimit = errorLimit;
+        this.itemOrigins = Objects.requireNonNull(itemOrigins, "Item origins cannot be null");
+        this.parseModeCounters = new ParseModeCounters();
+        this.validItems = new LongAdder();
+        this.invalidItems = new LongAdder();
+        this.itemMetrics = new ItemMetrics(this.astGenerator.getTypeName(), ItemMetrics.TARGET_VALIDATION);
+        this.itemTimings = new ItemTimings();
+        log.info("'{}' is initialized with the error limit: {}.", getDisplayName(), this.errorLimit);
+    }
+
+    private String getDisplayName() {
+        return this.astGenerator.getTypeName() + Constants.VALIDATION_PROCESS_SUFFIX;
+    }
+
+    // Number of the items found invalid by all the steps of the job.
+    public static long getInvalidItems(JobExecution jobExecution) {
+        return jobExecution.getStepExecutions().stream()
+                .mapToLong(stepExecution -> stepExecution.getExecutionContext().getLong(INVALID_ITEMS_KEY, 0L))
+                .sum();
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        log.debug("Before step for the '{}'. Step Name is '{}'.", getDisplayName(), stepExecution.getStepName());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        this.parseModeCounters.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
+        stepExecution.getExecutionContext().putLong(VALID_ITEMS_KEY, this.validItems.sum());
+        stepExecution.getExecutionContext().putLong(INVALID_ITEMS_KEY, this.invalidItems.sum());
+        log.info("'{}' found {} valid and {} invalid item(s) in the step '{}'.", getDisplayName(), this.validItems.sum(),
+                this.invalidItems.sum(), stepExecution.getStepName());
+        this.itemTimings.toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putString);
+        this.astGenerator.getParserMetrics().toExecutionContextEntries().forEach(stepExecution.getExecutionContext()::putLong);
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public String process(@NonNull CharSequence item) {
+        log.debug("Validating the input item: {}.", ParserUtils.formatInputForLogging(item));
+        ItemEvent itemEvent = ItemEvent.start();
+        long itemStart = System.nanoTime();
+        ItemOrigin itemOrigin = this.itemOrigins.take(item);
+        ParsedInput parsedInput = this.astGenerator.validateInput(item, this.errorLimit);
+        this.parseModeCounters.record(parsedInput.parseMode());
+        boolean valid = parsedInput.isParsed() && !parsedInput.hasErrors();
+        (valid ? this.validItems : this.invalidItems).increment();
+        this.itemMetrics.recordItem(itemStart, !valid);
+        this.itemTimings.record(item, itemStart);
+        itemEvent.finish(getDisplayName(), item.length(), valid);
+        if (valid)
+            return VALID_OUTPUT;
+        return ItemOrigins.describeError(itemOrigin, createErrorOutput(parsedInput));
+    }
+
+    private String createErrorOutput(ParsedInput parsedInput) {
+        if (!parsedInput.isParsed())
+            return parsedInput.errorMessage();
+        int errorCount = parsedInput.lexerErrorCount() + parsedInput.parserErrorCount();
+        StringBuilder output = new StringBuilder().append(errorCount).append(" syntax error(s):");
+        for (SyntaxError syntaxError : parsedInput.syntaxErrors())
+            output.append(LINE_SEPARATOR).append(syntaxError);
+        if (this.errorLimit > 0 && errorCount >= this.errorLimit)
+            output.append(LINE_SEPARATOR).append("Stopped at the limit of ").append(this.errorLimit).append(" syntax error(s).");
+        return output.toString();
+    }
+}
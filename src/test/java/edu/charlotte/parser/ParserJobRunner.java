@@ -0,0 +1,43 @@
+package edu.charlotte.parser;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs a job of the parser the way the command line does, writing its outputs under the given output directory. Every
+ * run gets its own in-memory job repository, so the runs of a test class do not see each other's job executions. The
+ * sample inputs contain invalid formulas on purpose, so the logging of the parser is turned off.
+ */
+public final class ParserJobRunner {
+
+    private ParserJobRunner() {
+    }
+
+    public static BatchStatus run(Path outputDirectory, String jobName, String... inputOptions) {
+        List<String> args = new ArrayList<>(List.of(
+                "--job.name=" + jobName,
+                "--dl-output=" + outputDirectory,
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID(),
+                "--logging.level.root=WARN",
+                "--logging.level.edu.charlotte.parser=OFF"));
+        args.addAll(List.of(inputOptions));
+        try (ConfigurableApplicationContext context = SpringApplication.run(ParserApplication.class, args.toArray(String[]::new))) {
+            JobExplorer jobExplorer = context.getBean(JobExplorer.class);
+            BatchStatus status = null;
+            for (String name : jobExplorer.getJobNames())
+                for (JobInstance jobInstance : jobExplorer.getJobInstances(name, 0, Integer.MAX_VALUE))
+                    for (JobExecution jobExecution : jobExplorer.getJobExecutions(jobInstance))
+                        status = jobExecution.getStatus();
+            return status;
+        }
+    }
+}
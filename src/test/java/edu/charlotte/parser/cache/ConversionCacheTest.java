@@ -0,0 +1,128 @@
+package edu.charlotte.parser.cache;
+
+import edu.charlotte.parser.utils.BuildVersionUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionCacheTest {
+    private static final int ENTRY_SIZE = 100;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void returnsTheStoredValueOnlyAfterItIsPut() {
+        ConversionCache cache = new ConversionCache(this.directory, 10_000, 1_000);
+        String key = ConversionCache.createKey("item");
+
+        assertThat(cache.get(key)).isEmpty();
+        cache.put(key, "output");
+        assertThat(cache.get(key)).contains("output");
+        assertThat(new ConversionCache(this.directory, 10_000, 1_000).get(key)).contains("output");
+        assertThat(ConversionCache.disabled().get(key)).isEmpty();
+    }
+
+    @Test
+    void itemKeysCoverTheBuildVersionAndTheNormalizedText() {
+        String key = ConversionCache.createItemKey("DL_AST_GENERATION", "grammar", "x  >\t1.0\n\n");
+
+        assertThat(key).isEqualTo(ConversionCache.createKey(BuildVersionUtils.getBuildVersion(), "DL_AST_GENERATION", "grammar", "x > 1.0"));
+        assertThat(key).isNotEqualTo(ConversionCache.createKey("another build", "DL_AST_GENERATION", "grammar", "x > 1.0"));
+    }
+
+    @Test
+    void skipsTheEntriesLargerThanTheMaximumEntrySize() {
+        ConversionCache cache = new ConversionCache(this.directory, 10_000, ENTRY_SIZE);
+        String key = ConversionCache.createKey("item");
+
+        cache.put(key, "x".repeat(ENTRY_SIZE + 1));
+        assertThat(cache.get(key)).isEmpty();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntriesOnceTheMaximumSizeIsExceeded() throws IOException {
+        ConversionCache cache = new ConversionCache(this.directory, 10 * ENTRY_SIZE, ENTRY_SIZE);
+        List<String> keys = new ArrayList<>();
+        Instant lastUse = Instant.now().minus(1, ChronoUnit.DAYS);
+        for (int index = 0; index < 10; index++) {
+            String key = ConversionCache.createKey("item" + index);
+            cache.put(key, value(index));
+            keys.add(key);
+            setLastUse(key, lastUse.plus(index, ChronoUnit.MINUTES));
+        }
+        // A hit makes the oldest entry the most recently used one.
+        assertThat(cache.get(keys.getFirst())).contains(value(0));
+
+        String newKey = ConversionCache.createKey("item10");
+        cache.put(newKey, value(10));
+
+        assertThat(cache.get(keys.get(0))).contains(value(0));
+        assertThat(cache.get(keys.get(1))).isEmpty();
+        assertThat(cache.get(keys.get(2))).isEmpty();
+        assertThat(cache.get(keys.get(3))).contains(value(3));
+        assertThat(cache.get(newKey)).contains(value(10));
+        assertThat(entriesSize()).isLessThanOrEqualTo(10 * ENTRY_SIZE);
+    }
+
+    @Test
+    void concurrentPutsLeaveOnlyCompleteEntries() throws Exception {
+        int threadCount = 8;
+        int keyCount = 200;
+        ConversionCache cache = new ConversionCache(this.directory, 50L * ENTRY_SIZE, ENTRY_SIZE);
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            List<Future<?>> futures = new ArrayList<>();
+            // Every thread puts all the keys, so the same entries are replaced and evicted concurrently.
+            for (int thread = 0; thread < threadCount; thread++)
+                futures.add(executor.submit(() -> {
+                    for (int index = 0; index < keyCount; index++)
+                        cache.put(ConversionCache.createKey("item" + index), value(index));
+                }));
+            for (Future<?> future : futures)
+                future.get();
+        }
+
+        int cachedCount = 0;
+        for (int index = 0; index < keyCount; index++) {
+            var cached = cache.get(ConversionCache.createKey("item" + index));
+            if (cached.isPresent()) {
+                assertThat(cached).contains(value(index));
+                cachedCount++;
+            }
+        }
+        assertThat(cachedCount).isPositive().isLessThan(keyCount);
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            assertThat(paths.map(Path::toString)).noneMatch(path -> path.endsWith(".tmp"));
+        }
+    }
+
+    private static String value(int index) {
+        String prefix = "output" + index + ":";
+        return prefix + "x".repeat(ENTRY_SIZE - prefix.length());
+    }
+
+    private void setLastUse(String key, Instant lastUse) throws IOException {
+        Files.setLastModifiedTime(this.directory.resolve(key.substring(0, 2)).resolve(key), FileTime.from(lastUse));
+    }
+
+    private long entriesSize() throws IOException {
+        try (Stream<Path> paths = Files.find(this.directory, 2, (path, attributes) -> attributes.isRegularFile()
+                && !path.getParent().equals(this.directory))) {
+            return paths.mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package edu.charlotte.parser.conversions.dl.keymaerax;
+
+import edu.charlotte.parser.ParserJobRunner;
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The KeYmaeraX outputs of the DL examples, byte for byte once the random archive entry IDs are masked. The fused
+ * RelDL engine emits the DL symbols through the same mapping, so a change of the mapping shows up here as well. The
+ * examples with syntax errors write no archive entry.
+ */
+class DlToKeYmaeraXOutputTest {
+    private static final Pattern ARCHIVE_ENTRY_ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void examplesAreConvertedToTheExpectedOutputs() throws IOException, URISyntaxException {
+        Path examples = resource("/dl_parser_examples");
+        assertThat(ParserJobRunner.run(this.workDirectory, Constants.JOBNAME_DL_TO_KEYMAERAX_OUTPUT_CONVERSION,
+                "--input.dir=" + examples, "--input.glob=**/*")).isEqualTo(BatchStatus.COMPLETED);
+
+        try (Stream<Path> paths = Files.list(examples)) {
+            for (Path example : paths.sorted().toList()) {
+                String outputName = example.getFileName() + Constants.KEYMAERAX_EXTENSION;
+                String output = Files.readString(this.workDirectory.resolve(outputName));
+                assertThat(ARCHIVE_ENTRY_ID.matcher(output).replaceAll("<id>")).as("output of %s", example.getFileName())
+                        .isEqualTo(Files.readString(resource("/dl_keymaerax_outputs").resolve(outputName)));
+            }
+        }
+    }
+
+    private static Path resource(String name) throws URISyntaxException {
+        return Path.of(Objects.requireNonNull(DlToKeYmaeraXOutputTest.class.getResource(name)).toURI());
+    }
+}
@@ -0,0 +1,61 @@
+package edu.charlotte.parser.conversions.reldl.dl;
+
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A right program identifier is renamed to itself followed by the smallest positive number giving a name that is
+ * neither a left nor a general identifier, nor already given to another right program identifier.
+ */
+class RelDlToDlConverterTest {
+
+    @Test
+    void rightIdentifiersSkipTheNamesAlreadyTaken() {
+        RelDlToDlConverter converter = new RelDlToDlConverter(Map.of(
+                Constants.PROGRAM_CONSIDERED_L, Set.of("x", "x1", "x2"),
+                Constants.PROGRAM_CONSIDERED_G, Set.of("y1"),
+                Constants.PROGRAM_CONSIDERED_R, Set.of("x", "y", "z")));
+
+        assertThat(converter.getConvertedRightTermIdentifier("x")).isEqualTo("x3");
+        assertThat(converter.getConvertedRightTermIdentifier("y")).isEqualTo("y2");
+        assertThat(converter.getConvertedRightTermIdentifier("z")).isEqualTo("z1");
+    }
+
+    @Test
+    void tensOfThousandsOfRightIdentifiersGetDistinctFreeNames() {
+        int count = 20_000;
+        Set<String> leftIdentifiers = new HashSet<>();
+        Set<String> rightIdentifiers = new HashSet<>(List.of("v"));
+        IntStream.rangeClosed(1, count).forEach(index -> {
+            leftIdentifiers.add("v" + index);
+            rightIdentifiers.add("w" + index);
+            // Every fourth left identifier is the first candidate of a right identifier.
+            if (index % 4 == 0)
+                leftIdentifiers.add("w" + index + "1");
+        });
+        RelDlToDlConverter converter = new RelDlToDlConverter(Map.of(
+                Constants.PROGRAM_CONSIDERED_L, leftIdentifiers,
+                Constants.PROGRAM_CONSIDERED_G, Set.of(),
+                Constants.PROGRAM_CONSIDERED_R, rightIdentifiers));
+
+        Set<String> renamedIdentifiers = new HashSet<>();
+        for (String identifier : rightIdentifiers) {
+            String renamedIdentifier = converter.getConvertedRightTermIdentifier(identifier);
+            assertThat(renamedIdentifier).matches(identifier + "[1-9][0-9]*");
+            renamedIdentifiers.add(renamedIdentifier);
+        }
+        assertThat(renamedIdentifiers).hasSameSizeAs(rightIdentifiers);
+        assertThat(Collections.disjoint(renamedIdentifiers, leftIdentifiers)).isTrue();
+        assertThat(converter.getConvertedRightTermIdentifier("v")).isEqualTo("v" + (count + 1));
+        assertThat(converter.getConvertedRightTermIdentifier("w8")).isEqualTo("w82");
+    }
+}
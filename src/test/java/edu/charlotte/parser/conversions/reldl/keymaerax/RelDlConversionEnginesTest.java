@@ -0,0 +1,67 @@
+package edu.charlotte.parser.conversions.reldl.keymaerax;
+
+import edu.charlotte.parser.ParserJobRunner;
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The fused engine must write the same KeYmaeraX outputs as the multi-pass reference engine, byte for byte once the
+ * random archive entry IDs are masked. Both are compared with the expected outputs of the examples, the last of which
+ * renames right program identifiers colliding with the left and the general ones.
+ */
+class RelDlConversionEnginesTest {
+    private static final Pattern ARCHIVE_ENTRY_ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void fusedAndMultiPassEnginesWriteTheExpectedOutputs() throws IOException, URISyntaxException {
+        Path fusedOutput = convert("fused");
+        Path multiPassOutput = convert("multi-pass");
+
+        for (Path example : listResources("/rel_dl_parser_examples")) {
+            String outputName = example.getFileName() + Constants.KEYMAERAX_EXTENSION;
+            String expected = Files.readString(resource("/rel_dl_keymaerax_outputs").resolve(outputName));
+            assertThat(maskIds(Files.readString(fusedOutput.resolve(outputName)))).as("fused output of %s", example.getFileName())
+                    .isEqualTo(expected);
+            assertThat(maskIds(Files.readString(multiPassOutput.resolve(outputName)))).as("multi-pass output of %s", example.getFileName())
+                    .isEqualTo(expected);
+        }
+    }
+
+    private Path convert(String engine) throws URISyntaxException {
+        Path outputDirectory = this.workDirectory.resolve(engine);
+        assertThat(ParserJobRunner.run(outputDirectory, Constants.JOBNAME_REL_DL_TO_KEYMAERAX_OUTPUT_CONVERSION,
+                "--input.dir=" + resource("/rel_dl_parser_examples"), "--input.glob=**/*", "--conversion.rel-dl-engine=" + engine))
+                .isEqualTo(BatchStatus.COMPLETED);
+        return outputDirectory;
+    }
+
+    private static String maskIds(String output) {
+        return ARCHIVE_ENTRY_ID.matcher(output).replaceAll("<id>");
+    }
+
+    private static List<Path> listResources(String name) throws IOException, URISyntaxException {
+        try (Stream<Path> paths = Files.list(resource(name))) {
+            return paths.sorted().toList();
+        }
+    }
+
+    private static Path resource(String name) throws URISyntaxException {
+        return Path.of(Objects.requireNonNull(RelDlConversionEnginesTest.class.getResource(name)).toURI());
+    }
+}
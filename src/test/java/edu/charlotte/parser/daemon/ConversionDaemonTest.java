@@ -0,0 +1,150 @@
+package edu.charlotte.parser.daemon;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.charlotte.parser.cache.ConversionCache;
+import edu.charlotte.parser.config.DaemonConfig;
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
+import edu.charlotte.parser.corpus.CorpusGrammar;
+import edu.charlotte.parser.grammars.ParserOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionDaemonTest {
+    private static final int MAX_REQUEST_SIZE = 1024;
+
+    private static ConversionDaemon conversionDaemon;
+    private static HttpClient httpClient;
+
+    @BeforeAll
+    static void startDaemon() {
+        // Port 0 lets the system pick a free port, and no formulas are converted to warm the daemon up.
+        conversionDaemon = new DaemonConfig(true, 0, 2, DataSize.ofBytes(MAX_REQUEST_SIZE), 0, "fused")
+                .conversionDaemon(ParserOptions.defaults(), new DlToKeYmaeraXConverter(), ConversionCache.disabled());
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stopDaemon() {
+        httpClient.close();
+        conversionDaemon.close();
+    }
+
+    @Test
+    void convertsAValidFormulaOnEveryEndpoint() throws Exception {
+        for (DaemonEndpoint endpoint : DaemonEndpoint.values()) {
+            String formula = endpoint.getGrammar() == CorpusGrammar.DL ? "x > 1.0" : "x@L ># y@R";
+            HttpResponse<String> response = post(endpoint.getPath(), "text/plain", formula);
+
+            assertThat(response.statusCode()).as(endpoint.getPath()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).contains("text/plain; charset=utf-8");
+            assertThat(response.body()).as(endpoint.getPath()).isNotBlank();
+        }
+    }
+
+    @Test
+    void answersTheSyntaxErrorsOfAnInvalidFormulaWith422() throws Exception {
+        HttpResponse<String> response = post("/dl/ast", "text/plain", "x >");
+
+        assertThat(response.statusCode()).isEqualTo(422);
+        assertThat(response.body()).startsWith("1 syntax error(s):\n1:3 parser error: ");
+    }
+
+    @Test
+    void answersABatchWithAnObjectPerFormula() throws Exception {
+        HttpResponse<String> response = post("/dl/ast", "application/json", "[\"x > 1.0\", \"x >\", \"y < 2.0\"]");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).contains("application/json");
+        JsonNode results = new ObjectMapper().readTree(response.body());
+        assertThat(results.isArray()).isTrue();
+        assertThat(results).hasSize(3);
+        assertFieldNames(results.get(0), "output");
+        assertFieldNames(results.get(1), "error");
+        assertFieldNames(results.get(2), "output");
+        assertThat(results.get(0).get("output").asText()).isEqualTo(post("/dl/ast", "text/plain", "x > 1.0").body());
+        assertThat(results.get(1).get("error").asText()).isEqualTo(post("/dl/ast", "text/plain", "x >").body());
+    }
+
+    @Test
+    void rejectsABatchThatIsNotAnArrayOfStrings() throws Exception {
+        assertThat(post("/dl/ast", "application/json", "{\"formula\": \"x > 1.0\"}").statusCode()).isEqualTo(400);
+        assertThat(post("/dl/ast", "application/json", "[\"x > 1.0\", null]").statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void rejectsTheRequestsLargerThanTheLimit() throws Exception {
+        String formula = "x > 1.0" + " ".repeat(MAX_REQUEST_SIZE);
+
+        HttpResponse<String> response = post("/dl/ast", "text/plain", formula);
+
+        assertThat(response.statusCode()).isEqualTo(413);
+        assertThat(post("/dl/ast", "text/plain", formula.substring(0, MAX_REQUEST_SIZE)).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void rejectsAMalformedContentLength() throws IOException {
+        assertThat(sendRawRequest("Content-Length: 7x\r\n")).startsWith("HTTP/1.1 400");
+        assertThat(sendRawRequest("Content-Length: -7\r\n")).startsWith("HTTP/1.1 400");
+        assertThat(sendRawRequest("Transfer-Encoding: chunked\r\nContent-Length: 7x\r\n")).startsWith("HTTP/1.1 400");
+    }
+
+    @Test
+    void answersThePathsBelowAnEndpointWith404() throws Exception {
+        assertThat(post("/dl/ast/extra", "text/plain", "x > 1.0").statusCode()).isEqualTo(404);
+        assertThat(post("/reldl/keymaerax/", "text/plain", "x@L ># y@R").statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void onlyAcceptsPostRequests() throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri("/dl/ast")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(405);
+        assertThat(response.headers().firstValue("Allow")).contains("POST");
+    }
+
+    private static void assertFieldNames(JsonNode result, String fieldName) {
+        assertThat(result.fieldNames()).toIterable().containsExactly(fieldName);
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://localhost:" + conversionDaemon.getPort() + path);
+    }
+
+    private static HttpResponse<String> post(String path, String contentType, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // The HTTP client computes the Content-Length header itself, so the malformed headers are written on a plain socket.
+    private static String sendRawRequest(String headers) throws IOException {
+        String request = "POST /dl/ast HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n" + headers + "\r\n"
+                + (headers.contains("chunked") ? "7\r\nx > 1.0\r\n0\r\n\r\n" : "x > 1.0");
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), conversionDaemon.getPort())) {
+            OutputStream output = socket.getOutputStream();
+            output.write(request.getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+            return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package edu.charlotte.parser.grammars;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.antlr.v4.runtime.tree.Trees;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The tokens of a compact token stream must read as the CommonTokens of a CommonTokenStream over the same lexer, both
+ * when the parser looks around the current token through the cached views of the stream and once they are the terminal
+ * nodes of the parse tree. The inputs are the sample inputs along with multi-line inputs, inputs with syntax errors and
+ * an input with a supplementary character, whose token texts are sliced from the character stream instead of the text.
+ */
+class CompactTokenStreamTest {
+    private static final List<String> DL_INPUTS = List.of(
+            "x > 1.0 && x < 2.0 && x != x",
+            "[x := x + 1.0;\n  ++ ?x > 0.0;]\n\n  <<{y' = x && y > 0.0}>>\n    y >= 1.0",
+            "// the comment 😀 is skipped\nx > 1.0 ->\n  x < 2.0",
+            "x > > 1.0\n && y # 2.0",
+            "x >",
+            "");
+    private static final List<String> REL_DL_INPUTS = List.of(
+            "value1@L <=# value1@R ||# !#0.567@L ># 0.656@R",
+            "value1@L <=#\n  value1@R\n||# value2@L",
+            "value1@L <=# <=#");
+
+    @Test
+    void dlTokensMatchTheCommonTokens() throws IOException, URISyntaxException {
+        GenerateAstForDl generator = new GenerateAstForDl();
+        for (String input : inputs(DL_INPUTS, "/dl_parser_examples"))
+            assertTokensMatch(generator, input);
+    }
+
+    @Test
+    void relDlTokensMatchTheCommonTokens() throws IOException, URISyntaxException {
+        GenerateAstForRelDl generator = new GenerateAstForRelDl(false);
+        for (String input : inputs(REL_DL_INPUTS, "/rel_dl_parser_examples"))
+            assertTokensMatch(generator, input);
+    }
+
+    @Test
+    void literalTextsAreSharedAndOtherTextsInterned() {
+        GenerateAstForDl generator = new GenerateAstForDl();
+        CompactTokenStream first = compactTokens(generator, "x > 1.0 && x < 2.0");
+        CompactTokenStream second = compactTokens(generator, "y > 3.0 && y < 4.0");
+
+        // The texts of the literals come from the vocabulary, the identifiers of an input share a single string.
+        assertThat(first.get(3).getText()).isEqualTo("&&").isSameAs(second.get(3).getText());
+        assertThat(first.get(0).getText()).isEqualTo("x").isSameAs(first.get(4).getText());
+        assertThat(second.get(0).getText()).isEqualTo("y").isSameAs(second.get(4).getText());
+    }
+
+    @Test
+    void cachedViewsFollowTheirIndex() {
+        CompactTokenStream tokens = compactTokens(new GenerateAstForDl(), "a > 1.0 && b > 2.0 && c > 3.0");
+
+        Token current = tokens.LT(1);
+        assertThat(tokens.LT(1)).isSameAs(current);
+        // The tokens four indices apart share a slot of the cache, so each takes the slot back with its own view.
+        for (int index = 0; index + 4 < tokens.size(); index++) {
+            assertThat(tokens.get(index + 4).getTokenIndex()).isEqualTo(index + 4);
+            assertThat(tokens.get(index).getTokenIndex()).isEqualTo(index);
+            assertThat(tokens.get(index).getText()).isEqualTo(tokens.getText(Interval.of(index, index)));
+        }
+        assertThat(current.getTokenIndex()).isZero();
+        assertThat(current.getText()).isEqualTo("a");
+    }
+
+    private static <L extends Lexer, P extends Parser> void assertTokensMatch(AbstractAstGenerator<L, P, ?, ?> generator,
+                                                                             String input) {
+        CompactTokenStream compactTokens = compactTokens(generator, input);
+        CommonTokenStream commonTokens = new CommonTokenStream(lexer(generator, input));
+        commonTokens.fill();
+
+        assertThat(compactTokens.size()).as(input).isEqualTo(commonTokens.size());
+        assertThat(compactTokens.getText()).as(input).isEqualTo(commonTokens.getText());
+        for (int index = 0; index < commonTokens.size(); index++)
+            assertTokenMatches(compactTokens.get(index), commonTokens.get(index), input);
+        assertThat(compactTokens.get(compactTokens.size() - 1).getType()).isEqualTo(Token.EOF);
+
+        // The parser looks back one token and ahead a few tokens from every position, past the end of file as well.
+        compactTokens.seek(0);
+        commonTokens.seek(0);
+        for (int position = 0; position < commonTokens.size(); position++) {
+            for (int k : new int[]{-2, -1, 1, 2, 3, 4, 5}) {
+                Token commonToken = commonTokens.LT(k);
+                Token compactToken = compactTokens.LT(k);
+                if (commonToken == null) {
+                    assertThat(compactToken).as("LT(%d) at %d of %s", k, position, input).isNull();
+                    continue;
+                }
+                assertTokenMatches(compactToken, commonToken, input);
+                assertThat(compactTokens.LA(k)).isEqualTo(commonTokens.LA(k));
+            }
+            if (commonTokens.LA(1) != Token.EOF) {
+                compactTokens.consume();
+                commonTokens.consume();
+            }
+        }
+
+        // The consumed tokens of the stream are the terminal nodes of the parse tree themselves.
+        ParseTree compactTree = parse(generator, compactTokens(generator, input));
+        ParseTree commonTree = parse(generator, new CommonTokenStream(lexer(generator, input)));
+        assertThat(Trees.toStringTree(compactTree)).as(input).isEqualTo(Trees.toStringTree(commonTree));
+        List<TerminalNode> compactTerminals = terminals(compactTree);
+        List<TerminalNode> commonTerminals = terminals(commonTree);
+        assertThat(compactTerminals).hasSameSizeAs(commonTerminals);
+        for (int index = 0; index < commonTerminals.size(); index++) {
+            TerminalNode compactTerminal = compactTerminals.get(index);
+            TerminalNode commonTerminal = commonTerminals.get(index);
+            assertTokenMatches(compactTerminal.getSymbol(), commonTerminal.getSymbol(), input);
+            assertThat(compactTerminal.getSourceInterval()).isEqualTo(commonTerminal.getSourceInterval());
+            assertThat(compactTerminal.getText()).isEqualTo(commonTerminal.getText());
+            assertThat(compactTerminal.getParent()).isNotNull();
+            // The error nodes and the missing tokens conjured up by the error recovery are not tokens of the stream.
+            assertThat(compactTerminal instanceof ErrorNode).isEqualTo(commonTerminal instanceof ErrorNode);
+            if (!(compactTerminal instanceof ErrorNode) && compactTerminal.getSymbol().getTokenIndex() >= 0)
+                assertThat(compactTerminal.getSymbol()).isSameAs(compactTerminal);
+        }
+    }
+
+    private static void assertTokenMatches(Token compactToken, Token commonToken, String input) {
+        String description = commonToken + " of " + input;
+        assertThat(compactToken.getType()).as(description).isEqualTo(commonToken.getType());
+        assertThat(compactToken.getText()).as(description).isEqualTo(commonToken.getText());
+        assertThat(compactToken.getStartIndex()).as(description).isEqualTo(commonToken.getStartIndex());
+        assertThat(compactToken.getStopIndex()).as(description).isEqualTo(commonToken.getStopIndex());
+        assertThat(compactToken.getLine()).as(description).isEqualTo(commonToken.getLine());
+        assertThat(compactToken.getCharPositionInLine()).as(description).isEqualTo(commonToken.getCharPositionInLine());
+        assertThat(compactToken.getChannel()).as(description).isEqualTo(commonToken.getChannel());
+        assertThat(compactToken.getTokenIndex()).as(description).isEqualTo(commonToken.getTokenIndex());
+    }
+
+    private static List<String> inputs(List<String> inputs, String examplesDirectory) throws IOException, URISyntaxException {
+        Path examples = Path.of(Objects.requireNonNull(CompactTokenStreamTest.class.getResource(examplesDirectory)).toURI());
+        List<String> allInputs = new ArrayList<>(inputs);
+        try (Stream<Path> exampleFiles = Files.list(examples)) {
+            for (Path exampleFile : exampleFiles.sorted().toList())
+                allInputs.add(Files.readString(exampleFile));
+        }
+        return allInputs;
+    }
+
+    private static <L extends Lexer> L lexer(AbstractAstGenerator<L, ?, ?, ?> generator, String input) {
+        L lexer = generator.createLexerInstance(CharStreams.fromString(input));
+        lexer.removeErrorListeners();
+        return lexer;
+    }
+
+    private static CompactTokenStream compactTokens(AbstractAstGenerator<?, ?, ?, ?> generator, String input) {
+        CompactTokenStream tokens = new CompactTokenStream(lexer(generator, input), input);
+        tokens.fill();
+        return tokens;
+    }
+
+    private static <P extends Parser> ParseTree parse(AbstractAstGenerator<?, P, ?, ?> generator, TokenStream tokens) {
+        P parser = generator.createParserInstance(tokens);
+        parser.removeErrorListeners();
+        return generator.invokeTopLevelParseRule(parser);
+    }
+
+    private static List<TerminalNode> terminals(ParseTree tree) {
+        List<TerminalNode> terminals = new ArrayList<>();
+        if (tree instanceof TerminalNode terminal)
+            terminals.add(terminal);
+        for (int child = 0; child < tree.getChildCount(); child++)
+            terminals.addAll(terminals(tree.getChild(child)));
+        return terminals;
+    }
+}
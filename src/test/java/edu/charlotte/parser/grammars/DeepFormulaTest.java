@@ -0,0 +1,51 @@
+package edu.charlotte.parser.grammars;
+
+import edu.charlotte.parser.conversions.dl.keymaerax.DlToKeYmaeraXConverter;
+import edu.charlotte.parser.conversions.reldl.keymaerax.RelDlToKeYmaeraXEmitter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The chains of negations, modalities and binary operators are matched as flat lists by the grammars and grouped by
+ * the AST listeners without recursion, so formulas nested 100k levels deep are built and converted on the stack of the
+ * test thread. The parentheses of the terms still recurse in the parser, so nesting them too deeply fails the input
+ * without a retry on a larger stack, and leaves the generator able to parse the next inputs.
+ */
+class DeepFormulaTest {
+    private static final int DEPTH = 100_000;
+    private static final ParserOptions NO_DEEP_INPUT_THREAD = new ParserOptions(false, true, 1, 0, DecisionProfiler.disabled());
+
+    @Test
+    void deepDlFormulaIsBuiltAndConverted() {
+        String formula = "![x := 1.0;] x > 0.0 && ".repeat(DEPTH) + "x > 0.0";
+        AstGenerationResult<?> result = new GenerateAstForDl(NO_DEEP_INPUT_THREAD).generateAstFromInput(formula);
+        assertThat(result.isSuccessful()).isTrue();
+
+        String output = new DlToKeYmaeraXConverter().convertDlToKeYmaeraX(result.astRoot());
+        assertThat(output).startsWith("! [ x := 1.0 ; ] x > 0.0 & ! [ x := 1.0 ; ]").endsWith("& x > 0.0");
+        assertThat(output.split("&", -1)).hasSize(DEPTH + 1);
+    }
+
+    @Test
+    void deepRelDlFormulaIsBuiltAndEmitted() {
+        String formula = "!# [# x :=# 1.0 ]# x@L ># x@R &&# ".repeat(DEPTH) + "x@L ># x@R";
+        GenerateAstForRelDl generator = new GenerateAstForRelDl(false, NO_DEEP_INPUT_THREAD);
+        assertThat(generator.generateAstFromInput(formula).isSuccessful()).isTrue();
+
+        ParseTreeWalkResult<RelDlToKeYmaeraXEmitter> result = generator.walkParseTreeOfInput(formula, RelDlToKeYmaeraXEmitter::new);
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.listener().getKeYmaeraXOutput().split("&", -1)).hasSize(DEPTH + 1);
+    }
+
+    @Test
+    void tooDeeplyNestedParenthesesFailTheInputOnly() {
+        GenerateAstForDl generator = new GenerateAstForDl(NO_DEEP_INPUT_THREAD);
+        String formula = "(".repeat(DEPTH) + "x" + ")".repeat(DEPTH) + " > 0.0";
+        AstGenerationResult<?> deepResult = generator.generateAstFromInput(formula);
+        assertThat(deepResult.isSuccessful()).isFalse();
+        assertThat(deepResult.errorMessage()).contains("nested too deeply");
+
+        assertThat(generator.generateAstFromInput("x > 0.0 && (y + 1.0) * 2.0 < 3.0").isSuccessful()).isTrue();
+    }
+}
@@ -0,0 +1,67 @@
+package edu.charlotte.parser.grammars;
+
+import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicParser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Building the AST of a formula reads the text of each of its tokens a bounded number of times, however deeply the
+ * formula is nested, so the cost of the AST listeners grows linearly with the size of the formula. Getting the text
+ * of a rule eagerly would read the text of every token again for each of the rules enclosing it.
+ */
+class LinearAstBuildingTest {
+
+    @Test
+    void textOfEachTokenIsReadABoundedNumberOfTimes() {
+        TextCounts shallow = buildAst(formula(500));
+        TextCounts deep = buildAst(formula(1000));
+
+        assertThat(deep.terminals()).isGreaterThan(2 * shallow.terminals() - 10);
+        assertThat(shallow.textReads()).isLessThanOrEqualTo(2L * shallow.terminals());
+        assertThat(deep.textReads()).isLessThanOrEqualTo(2L * deep.terminals());
+    }
+
+    // A term nested in n parentheses inside a formula nested in n negations and modalities.
+    private static String formula(int depth) {
+        return "![x := 1.0;] ".repeat(depth) + "(".repeat(depth) + "x + 1.0" + ")".repeat(depth) + " > 0.0";
+    }
+
+    private static TextCounts buildAst(String formula) {
+        CountingGenerator generator = new CountingGenerator();
+        assertThat(generator.generateAstFromInput(formula).isSuccessful()).isTrue();
+        return new TextCounts(generator.terminals, generator.textReads);
+    }
+
+    private record TextCounts(long terminals, long textReads) {}
+
+    // Creates terminal nodes that count the reads of their text, in place of the tokens of the compact token stream.
+    private static final class CountingGenerator extends GenerateAstForDl {
+        private long terminals;
+        private long textReads;
+
+        @Override
+        protected DynamicDifferentialLogicParser createParserInstance(TokenStream tokens) {
+            return new DynamicDifferentialLogicParser(tokens) {
+                @Override
+                public TerminalNode createTerminalNode(ParserRuleContext parent, Token token) {
+                    terminals++;
+                    TerminalNodeImpl node = new TerminalNodeImpl(token) {
+                        @Override
+                        public String getText() {
+                            textReads++;
+                            return super.getText();
+                        }
+                    };
+                    node.setParent(parent);
+                    return node;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package edu.charlotte.parser.grammars;
+
+import edu.charlotte.parser.dynamic_differential_logic.DynamicDifferentialLogicParser;
+import edu.charlotte.parser.listeners.common.SyntaxError;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.tree.Trees;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A generator reusing its recognizers must parse every item as new recognizers would, also when its items are parsed
+ * by several threads at once: the reset of reused recognizers clears the error counts, syntax errors and error limits
+ * the previous item left behind, whether it was parsed or validated. The parse trees are rendered once all the items
+ * are parsed, so that a tree sharing the tokens of a reused token stream shows.
+ */
+class RecognizerReuseTest {
+    private static final List<String> INPUTS = List.of(
+            "x > 1.0 && y < 2.0",
+            "x > > 1.0",
+            "[x := x + 1.0;] x > 0.0 -> <<{y' = x && y > 0.0}>> y >= 1.0",
+            "garbage ### 1.0 $$ 2.0 @@",
+            "a + b * c - d / e > 0.0 || !z == 2.5",
+            "[x := 1.0; ++ ?x > 0.0;] (x + 1.0",
+            "x >",
+            "(((x + 1.0) * 2.0 > 0.0",
+            "<<{x := **;}**>> x != 0.0 <-> true");
+    private static final int VALIDATION_ERROR_LIMIT = 2;
+    private static final int THREADS = 8;
+    private static final int MAX_IDLE_RECOGNIZERS = 3;
+    private static final int ROUNDS = 30;
+
+    @TempDir
+    Path workDirectory;
+
+    private record Outcome(String tree, int lexerErrorCount, int parserErrorCount, List<SyntaxError> syntaxErrors,
+                           ParseMode parseMode) {}
+
+    @Test
+    void reusedRecognizersParseLikeNewOnesFromManyThreads() throws Exception {
+        try (DecisionProfiler newProfiler = new DecisionProfiler(this.workDirectory.resolve("new.txt"));
+             DecisionProfiler reusedProfiler = new DecisionProfiler(this.workDirectory.resolve("reused.txt"))) {
+            GenerateAstForDl newGenerator = new GenerateAstForDl(new ParserOptions(true, false, 1, 0, newProfiler));
+            Map<String, Outcome> expected = new HashMap<>();
+            for (int round = 0; round < THREADS * ROUNDS; round++)
+                for (String input : INPUTS)
+                    for (boolean validate : new boolean[]{false, true})
+                        expected.put(key(input, validate), outcome(parse(newGenerator, input, validate)));
+
+            CountingGenerator reusingGenerator = new CountingGenerator(new ParserOptions(true, true, MAX_IDLE_RECOGNIZERS, 0, reusedProfiler));
+            List<Map.Entry<String, ParsedInput>> parsedInputs = parseConcurrently(reusingGenerator);
+
+            assertThat(parsedInputs).hasSize(THREADS * ROUNDS * INPUTS.size() * 2);
+            for (Map.Entry<String, ParsedInput> parsedInput : parsedInputs)
+                assertThat(outcome(parsedInput.getValue())).as(parsedInput.getKey()).isEqualTo(expected.get(parsedInput.getKey()));
+            assertThat(reusingGenerator.getIdleRecognizerCount()).isBetween(1, MAX_IDLE_RECOGNIZERS);
+            assertThat(reusingGenerator.createdParsers.get()).isLessThan(parsedInputs.size() / 10);
+
+            // The grammar predicts with a single token, so the profiles only count the profiled items.
+            assertThat(reusedProfiler.getProfiledItems()).isEqualTo(newProfiler.getProfiledItems());
+        }
+    }
+
+    @Test
+    void singleThreadReusesASingleSetOfRecognizers() {
+        CountingGenerator generator = new CountingGenerator(new ParserOptions(true, true, MAX_IDLE_RECOGNIZERS, 0, DecisionProfiler.disabled()));
+        for (String input : INPUTS) {
+            parse(generator, input, false);
+            parse(generator, input, true);
+        }
+
+        assertThat(generator.createdParsers.get()).isOne();
+        assertThat(generator.getIdleRecognizerCount()).isOne();
+    }
+
+    // Each thread parses and validates the inputs alternately, starting from a different input.
+    private static List<Map.Entry<String, ParsedInput>> parseConcurrently(GenerateAstForDl generator) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Map.Entry<String, ParsedInput>>>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    List<Map.Entry<String, ParsedInput>> parsedInputs = new ArrayList<>();
+                    for (int round = 0; round < ROUNDS; round++)
+                        for (int index = 0; index < INPUTS.size() * 2; index++) {
+                            String input = INPUTS.get((offset + index) % INPUTS.size());
+                            boolean validate = (offset + round + index) % 2 == 0;
+                            parsedInputs.add(Map.entry(key(input, validate), parse(generator, input, validate)));
+                        }
+                    return parsedInputs;
+                }));
+            }
+            List<Map.Entry<String, ParsedInput>> parsedInputs = new ArrayList<>();
+            for (Future<List<Map.Entry<String, ParsedInput>>> future : futures)
+                parsedInputs.addAll(future.get());
+            return parsedInputs;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ParsedInput parse(GenerateAstForDl generator, String input, boolean validate) {
+        return validate ? generator.validateInput(input, VALIDATION_ERROR_LIMIT) : generator.parseInput(input);
+    }
+
+    private static String key(String input, boolean validate) {
+        return (validate ? "validation of " : "parse of ") + input;
+    }
+
+    private static Outcome outcome(ParsedInput parsedInput) {
+        String tree = parsedInput.tree() == null ? null
+                : Trees.toStringTree(parsedInput.tree(), Arrays.asList(DynamicDifferentialLogicParser.ruleNames));
+        return new Outcome(tree, parsedInput.lexerErrorCount(), parsedInput.parserErrorCount(), parsedInput.syntaxErrors(),
+                parsedInput.parseMode());
+    }
+
+    // Counts the recognizers created, as a new parser is created along with every new set of recognizers.
+    private static final class CountingGenerator extends GenerateAstForDl {
+        private final AtomicInteger createdParsers = new AtomicInteger();
+
+        private CountingGenerator(ParserOptions parserOptions) {
+            super(parserOptions);
+        }
+
+        @Override
+        protected DynamicDifferentialLogicParser createParserInstance(TokenStream tokens) {
+            this.createdParsers.incrementAndGet();
+            return super.createParserInstance(tokens);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package edu.charlotte.parser.grammars;
+
+import edu.charlotte.parser.ast.generation.DlAstGenerationProcess;
+import edu.charlotte.parser.ast.generation.RelDlAstGenerationProcess;
+import edu.charlotte.parser.cache.ConversionCache;
+import edu.charlotte.parser.jobs.io.ItemOrigins;
+import org.antlr.v4.runtime.tree.Trees;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The two stage parsing must give every item the parse tree, error counts and syntax errors of the full LL parsing.
+ * The grammars predict their alternatives from a single token, so the SLL stage only bails out on a syntax error, and
+ * the parse modes of the items tell the valid items parsed with SLL prediction from the invalid ones parsed again.
+ */
+class TwoStageParsingTest {
+    private static final List<String> DL_INPUTS = List.of(
+            "x > 1.0 && y < 2.0",
+            "[x := x + 1.0; ++ ?x > 0.0;] <<{y' = x && y > 0.0}>> y >= 1.0",
+            "x > > 1.0",
+            "x >",
+            "[x := 1.0; ++ ?x > 0.0;] (x + 1.0",
+            "garbage ### 1.0");
+    private static final List<String> REL_DL_INPUTS = List.of(
+            "value1@L <=# value1@R ||# !#0.567@L ># 0.656@R",
+            "value1@L <=# <=#",
+            "value1@L");
+
+    private record Outcome(String tree, int lexerErrorCount, int parserErrorCount) {}
+
+    @Test
+    void dlFallbackParsesAsFullLl() throws IOException, URISyntaxException {
+        List<String> inputs = inputs(DL_INPUTS, "/dl_parser_examples");
+        GenerateAstForDl twoStageGenerator = new GenerateAstForDl(parserOptions(true));
+        GenerateAstForDl llGenerator = new GenerateAstForDl(parserOptions(false));
+
+        long invalidInputs = assertFallbackParsesAsFullLl(twoStageGenerator, llGenerator, inputs);
+
+        assertThat(invalidInputs).isBetween(DL_INPUTS.size() / 2L, inputs.size() - 1L);
+        DlAstGenerationProcess twoStageProcess = new DlAstGenerationProcess(twoStageGenerator, ConversionCache.disabled(), ItemOrigins.disabled());
+        DlAstGenerationProcess llProcess = new DlAstGenerationProcess(llGenerator, ConversionCache.disabled(), ItemOrigins.disabled());
+        for (String input : inputs) {
+            twoStageProcess.process(input);
+            llProcess.process(input);
+        }
+        StepExecution twoStageStep = new StepExecution("twoStageStep", new JobExecution(1L));
+        twoStageProcess.afterStep(twoStageStep);
+        assertParseModeCounts(twoStageStep.getExecutionContext(), 0, inputs.size() - invalidInputs, invalidInputs);
+        StepExecution llStep = new StepExecution("llStep", new JobExecution(2L));
+        llProcess.afterStep(llStep);
+        assertParseModeCounts(llStep.getExecutionContext(), inputs.size(), 0, 0);
+    }
+
+    @Test
+    void relDlFallbackParsesAsFullLl() throws IOException, URISyntaxException {
+        List<String> inputs = inputs(REL_DL_INPUTS, "/rel_dl_parser_examples");
+        GenerateAstForRelDl twoStageGenerator = new GenerateAstForRelDl(false, parserOptions(true));
+        GenerateAstForRelDl llGenerator = new GenerateAstForRelDl(false, parserOptions(false));
+
+        long invalidInputs = assertFallbackParsesAsFullLl(twoStageGenerator, llGenerator, inputs);
+
+        assertThat(invalidInputs).isPositive();
+        RelDlAstGenerationProcess twoStageProcess = new RelDlAstGenerationProcess(twoStageGenerator, ConversionCache.disabled(),
+                ItemOrigins.disabled());
+        for (String input : inputs)
+            twoStageProcess.process(input);
+        StepExecution twoStageStep = new StepExecution("twoStageStep", new JobExecution(1L));
+        twoStageProcess.afterStep(twoStageStep);
+        assertParseModeCounts(twoStageStep.getExecutionContext(), 0, inputs.size() - invalidInputs, invalidInputs);
+    }
+
+    // Returns the number of the inputs parsed again after the SLL stage bailed out.
+    private static long assertFallbackParsesAsFullLl(AbstractAstGenerator<?, ?, ?, ?> twoStageGenerator,
+                                                     AbstractAstGenerator<?, ?, ?, ?> llGenerator, List<String> inputs) {
+        long fallbacks = 0;
+        for (String input : inputs) {
+            ParsedInput twoStage = twoStageGenerator.parseInput(input);
+            ParsedInput ll = llGenerator.parseInput(input);
+            assertThat(outcome(twoStage)).as(input).isEqualTo(outcome(ll));
+            assertThat(ll.parseMode()).isEqualTo(ParseMode.LL);
+            // Only a syntax error of the parser makes the SLL stage bail out, the lexer errors are skipped tokens.
+            assertThat(twoStage.parseMode()).as(input).isEqualTo(ll.parserErrorCount() > 0 ? ParseMode.LL_FALLBACK : ParseMode.SLL);
+            assertThat(twoStageGenerator.validateInput(input, 0).syntaxErrors()).as(input)
+                    .isEqualTo(llGenerator.validateInput(input, 0).syntaxErrors());
+            if (twoStage.parseMode() == ParseMode.LL_FALLBACK)
+                fallbacks++;
+        }
+        return fallbacks;
+    }
+
+    private static void assertParseModeCounts(ExecutionContext executionContext, long ll, long sll, long llFallback) {
+        assertThat(executionContext.getLong("parse.mode.LL")).isEqualTo(ll);
+        assertThat(executionContext.getLong("parse.mode.SLL")).isEqualTo(sll);
+        assertThat(executionContext.getLong("parse.mode.LL_FALLBACK")).isEqualTo(llFallback);
+    }
+
+    private static Outcome outcome(ParsedInput parsedInput) {
+        assertThat(parsedInput.isParsed()).isTrue();
+        return new Outcome(parsedInput.tree() == null ? null : Trees.toStringTree(parsedInput.tree()),
+                parsedInput.lexerErrorCount(), parsedInput.parserErrorCount());
+    }
+
+    private static ParserOptions parserOptions(boolean twoStagePrediction) {
+        return new ParserOptions(twoStagePrediction, false, 1, 0, DecisionProfiler.disabled());
+    }
+
+    private static List<String> inputs(List<String> inputs, String examplesDirectory) throws IOException, URISyntaxException {
+        Path examples = Path.of(Objects.requireNonNull(TwoStageParsingTest.class.getResource(examplesDirectory)).toURI());
+        List<String> allInputs = new ArrayList<>(inputs);
+        try (Stream<Path> exampleFiles = Files.list(examples)) {
+            for (Path exampleFile : exampleFiles.sorted().toList())
+                allInputs.add(Files.readString(exampleFile));
+        }
+        return allInputs;
+    }
+}
@@ -0,0 +1,72 @@
+package edu.charlotte.parser.jobs.execution;
+
+import edu.charlotte.parser.ParserJobRunner;
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The chunks of the parallel mode are processed concurrently by the shared generators and conversions, so each of
+ * their items must get the same output as in the serial mode. Only the order of the items in the output file differs.
+ * The formulas are streamed one at a time, with more threads than the four chunks Spring Batch keeps in flight by
+ * default, and the invalid formulas, with lexer or parser errors, are mixed in with the valid ones.
+ */
+class ParallelStepTest {
+    private static final List<String> FORMULAS = List.of(
+            "x > 1.0 && y < 2.0",
+            "x > > 1.0",
+            "[x := x + 1.0;] x > 0.0 -> <<{y' = x && y > 0.0}>> y >= 1.0",
+            "garbage ### 1.0",
+            "a + b * c - d / e > 0.0 || !z == 2.5",
+            "[x := 1.0; ++ ?x > 0.0;] (x + 1.0",
+            "<<{x := **;}**>> x != 0.0 <-> true");
+    private static final int FORMULA_COUNT = 210;
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void parallelChunksWriteTheItemsOfASerialRun() throws IOException {
+        Path input = this.workDirectory.resolve("formulas.dl");
+        List<String> formulas = new ArrayList<>();
+        for (int index = 0; index < FORMULA_COUNT; index++)
+            formulas.add(FORMULAS.get(index % FORMULAS.size()).replace("x", "x" + index));
+        Files.writeString(input, String.join("\n", formulas) + "\n");
+
+        for (String jobName : List.of(Constants.JOBNAME_DL_AST_GENERATION, Constants.JOBNAME_DL_TO_KEYMAERAX_OUTPUT_CONVERSION,
+                Constants.JOBNAME_DL_VALIDATION)) {
+            List<String> serialItems = run(input, jobName, "serial");
+            List<String> parallelItems = run(input, jobName, "parallel", "--step-execution.mode=parallel",
+                    "--step-execution.threads=8", "--chunk-size=3");
+
+            assertThat(parallelItems).as("items of the %s job", jobName).isEqualTo(serialItems);
+        }
+    }
+
+    // Returns the sorted items of the output of the job, with the random archive entry IDs masked.
+    private List<String> run(Path input, String jobName, String outputName, String... options) throws IOException {
+        Path outputDirectory = this.workDirectory.resolve(jobName).resolve(outputName);
+        List<String> args = new ArrayList<>(List.of("--input.file=" + input, "--input-reader.mode=streaming"));
+        args.addAll(List.of(options));
+        assertThat(ParserJobRunner.run(outputDirectory, jobName, args.toArray(String[]::new))).isEqualTo(BatchStatus.COMPLETED);
+
+        try (var outputFiles = Files.list(outputDirectory)) {
+            Path outputFile = outputFiles.filter(Files::isRegularFile).findFirst().orElseThrow();
+            String output = Files.readString(outputFile)
+                    .replaceAll("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}", "<id>");
+            List<String> items = Arrays.asList(output.split("(?m)^(?=Generated AST is:|(Record \\d+: )?No AST generated|ArchiveEntry |No syntax errors|(Record \\d+: )?\\d+ syntax error)"));
+            assertThat(items).hasSizeGreaterThan(FORMULA_COUNT / 2);
+            return items.stream().sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package edu.charlotte.parser.jobs.incremental;
+
+import edu.charlotte.parser.ParserJobRunner;
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * In an incremental run the IDs of the KeYmaeraX archive entries only depend on the input file, the position of the
+ * formula in the file and its content, so converting the same input again gives the same output byte for byte.
+ */
+class ArchiveEntryIdsTest {
+    private static final String FORMULA = "x >= 1.0 -> [x := x + 1.0;] x >= 2.0";
+    private static final Pattern ARCHIVE_ENTRY_ID = Pattern.compile("ArchiveEntry \".* with Id as ([0-9a-f-]+)\"");
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void repeatedRunsWriteIdenticalOutputs() throws IOException {
+        Path input = writeInput();
+        byte[] first = convert(input, "first");
+        byte[] second = convert(input, "second");
+
+        assertThat(second).isEqualTo(first);
+        List<String> ids = archiveEntryIds(new String(first));
+        assertThat(ids).hasSize(4).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void parallelRunsGiveEveryFormulaTheIdOfASerialRun() throws IOException {
+        Path input = writeInput();
+        String serial = new String(convert(input, "serial"));
+        String parallel = new String(convert(input, "parallel", "--step-execution.mode=parallel", "--step-execution.threads=4",
+                "--chunk-size=1"));
+
+        // The parallel mode writes the entries in the order they were processed.
+        assertThat(archiveEntries(parallel)).containsExactlyInAnyOrderElementsOf(archiveEntries(serial));
+    }
+
+    // The same formula at several positions of the file must still get different IDs.
+    private Path writeInput() throws IOException {
+        Path input = this.workDirectory.resolve("formulas.dl");
+        Files.writeString(input, String.join("\n", FORMULA, FORMULA, "y < 3.0 && y > 0.0", FORMULA) + "\n");
+        return input;
+    }
+
+    private byte[] convert(Path input, String outputName, String... options) throws IOException {
+        Path outputDirectory = this.workDirectory.resolve(outputName);
+        String[] args = new String[options.length + 3];
+        args[0] = "--input.file=" + input;
+        args[1] = "--incremental.enabled=true";
+        args[2] = "--input-reader.mode=streaming";
+        System.arraycopy(options, 0, args, 3, options.length);
+        assertThat(ParserJobRunner.run(outputDirectory, Constants.JOBNAME_DL_TO_KEYMAERAX_OUTPUT_CONVERSION, args))
+                .isEqualTo(BatchStatus.COMPLETED);
+        return Files.readAllBytes(outputDirectory.resolve(input.getFileName() + Constants.KEYMAERAX_EXTENSION));
+    }
+
+    private static List<String> archiveEntryIds(String output) {
+        Matcher matcher = ARCHIVE_ENTRY_ID.matcher(output);
+        return matcher.results().map(result -> result.group(1)).toList();
+    }
+
+    private static List<String> archiveEntries(String output) {
+        return Arrays.stream(output.split("(?=ArchiveEntry )")).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package edu.charlotte.parser.jobs.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormulaRecordReaderTest {
+    private static final int BUFFER_SIZE = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsOneRecordPerLineByDefault() throws Exception {
+        assertThat(readRecords("x > 1.0\ny < 2.0\n", "")).containsExactly("x > 1.0", "y < 2.0");
+    }
+
+    @Test
+    void delimiterInsideACommentDoesNotSplitTheRecord() throws Exception {
+        assertThat(readRecords("x > 1.0 // first; formula\n && y < 2.0; z / w > 3.0 //;\n;", ";"))
+                .containsExactly("x > 1.0 \n && y < 2.0", "z / w > 3.0");
+    }
+
+    @Test
+    void splitsOnMultiCharacterDelimiters() throws Exception {
+        assertThat(readRecords("x > 1.0%%y < 2.0 % z%%%%w == 3.0%", "%%"))
+                .containsExactly("x > 1.0", "y < 2.0 % z", "w == 3.0%");
+        assertThat(readRecords("x > 1.0\r\n\r\ny < 2.0\r\nz > 3.0\r\n\r\n", "\r\n\r\n"))
+                .containsExactly("x > 1.0", "y < 2.0\r\nz > 3.0");
+    }
+
+    @Test
+    void readsCrlfLinesWithoutTheirCarriageReturns() throws Exception {
+        assertThat(readRecords("x > 1.0\r\ny < 2.0 // comment\r\nz > 3.0\r\n", ""))
+                .containsExactly("x > 1.0", "y < 2.0", "z > 3.0");
+    }
+
+    @Test
+    void skipsBlankRecordsWithoutCountingThem() throws Exception {
+        Path input = writeInput("\n\nx > 1.0\n   \n\t\n// only a comment\ny < 2.0\n\n");
+        ItemOrigins itemOrigins = new ItemOrigins("input");
+        FormulaRecordReader reader = new FormulaRecordReader(input, "", BUFFER_SIZE, itemOrigins);
+        reader.open(new ExecutionContext());
+
+        String first = reader.read();
+        String second = reader.read();
+        assertThat(reader.read()).isNull();
+        reader.close();
+
+        assertThat(List.of(first, second)).containsExactly("x > 1.0", "y < 2.0");
+        assertThat(itemOrigins.take(first)).isEqualTo(new ItemOrigins.ItemOrigin("input", 0));
+        assertThat(itemOrigins.take(second)).isEqualTo(new ItemOrigins.ItemOrigin("input", 1));
+    }
+
+    @Test
+    void readsTheLastRecordWithoutADelimiter() throws Exception {
+        assertThat(readRecords("x > 1.0\ny < 2.0", "")).containsExactly("x > 1.0", "y < 2.0");
+        assertThat(readRecords("x > 1.0;y < 2.0 // no delimiter", ";")).containsExactly("x > 1.0", "y < 2.0");
+        assertThat(readRecords("", "")).isEmpty();
+    }
+
+    @Test
+    void restartsAfterTheRecordsOfThePreviousRun() throws Exception {
+        Path input = writeInput("a > 1.0\n\nb > 2.0\n// comment\nc > 3.0\nd > 4.0\n");
+        ExecutionContext executionContext = new ExecutionContext();
+        FormulaRecordReader firstRun = new FormulaRecordReader(input, "", BUFFER_SIZE, ItemOrigins.disabled());
+        firstRun.open(executionContext);
+        assertThat(firstRun.read()).isEqualTo("a > 1.0");
+        assertThat(firstRun.read()).isEqualTo("b > 2.0");
+        firstRun.update(executionContext);
+        firstRun.close();
+
+        // The restarted reader jumps over the records read by the previous run, and keeps counting their positions.
+        ItemOrigins itemOrigins = new ItemOrigins("input");
+        FormulaRecordReader restartedRun = new FormulaRecordReader(input, "", BUFFER_SIZE, itemOrigins);
+        restartedRun.open(executionContext);
+        String third = restartedRun.read();
+        String fourth = restartedRun.read();
+        assertThat(restartedRun.read()).isNull();
+        restartedRun.close();
+
+        assertThat(List.of(third, fourth)).containsExactly("c > 3.0", "d > 4.0");
+        assertThat(itemOrigins.take(third)).isEqualTo(new ItemOrigins.ItemOrigin("input", 2));
+        assertThat(itemOrigins.take(fourth)).isEqualTo(new ItemOrigins.ItemOrigin("input", 3));
+    }
+
+    private List<String> readRecords(String content, String recordDelimiter) throws Exception {
+        FormulaRecordReader reader = new FormulaRecordReader(writeInput(content), recordDelimiter, BUFFER_SIZE, ItemOrigins.disabled());
+        reader.open(new ExecutionContext());
+        List<String> records = new ArrayList<>();
+        for (String record = reader.read(); record != null; record = reader.read())
+            records.add(record);
+        reader.close();
+        return records;
+    }
+
+    private Path writeInput(String content) throws Exception {
+        Path input = Files.createTempFile(this.directory, "formulas", ".dl");
+        Files.writeString(input, content);
+        return input;
+    }
+}
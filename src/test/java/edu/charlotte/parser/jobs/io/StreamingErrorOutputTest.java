@@ -0,0 +1,67 @@
+package edu.charlotte.parser.jobs.io;
+
+import edu.charlotte.parser.ParserJobRunner;
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * In the streaming input reader mode the lines and columns of the syntax errors are those of the record, so the error
+ * output of an invalid record tells its position among the records of the file, counted from 1 without the blank ones.
+ */
+class StreamingErrorOutputTest {
+    private static final String FORMULAS = """
+            x > 1.0
+
+            x > > 1.0
+            // a comment line
+            y < 2.0 // and a trailing comment
+            x >
+            """;
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void validationOutputsTellTheRecordOfTheirErrors() throws IOException {
+        assertThat(run(Constants.JOBNAME_DL_VALIDATION)).containsExactly(
+                "No syntax errors.",
+                "Record 2: 1 syntax error(s):",
+                "1:4 parser error: extraneous input '>' expecting {'(', IDENTIFIER, NUMBER}",
+                "No syntax errors.",
+                "Record 4: 1 syntax error(s):",
+                "1:3 parser error: mismatched input '<EOF>' expecting {'(', IDENTIFIER, NUMBER}");
+    }
+
+    @Test
+    void astOutputsTellTheRecordOfTheFormulasWithoutAst() throws IOException {
+        List<String> lines = run(Constants.JOBNAME_DL_AST_GENERATION);
+
+        assertThat(lines.stream().filter(line -> line.contains("No AST generated")))
+                .containsExactly("Record 2: No AST generated for the " + Constants.DIFFERENTIAL_DYNAMIC_LOGIC + " due to 1 parser error(s).",
+                        "Record 4: No AST generated for the " + Constants.DIFFERENTIAL_DYNAMIC_LOGIC + " due to 1 parser error(s).");
+        assertThat(lines.stream().filter(line -> line.startsWith("Generated AST is:"))).hasSize(2);
+    }
+
+    // Runs the job over the formulas in the streaming mode and returns the lines of its output file.
+    private List<String> run(String jobName) throws IOException {
+        Path input = this.workDirectory.resolve("formulas.dl");
+        Files.writeString(input, FORMULAS);
+        Path outputDirectory = this.workDirectory.resolve(jobName);
+        assertThat(ParserJobRunner.run(outputDirectory, jobName, "--input.file=" + input, "--input-reader.mode=streaming"))
+                .isEqualTo(BatchStatus.COMPLETED);
+        try (var outputFiles = Files.list(outputDirectory)) {
+            Path outputFile = outputFiles.filter(Files::isRegularFile).findFirst().orElseThrow();
+            return Arrays.asList(Files.readString(outputFile).split("\\R"));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package edu.charlotte.parser.jobs.partition;
+
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InputFilesPartitionerTest {
+
+    @TempDir
+    Path inputDirectory;
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    void leadingDoubleStarGlobMatchesFilesAtEveryDepth() throws IOException {
+        createInputs("top.reldl", "nested/inner.reldl", "nested/deeper/deepest.reldl", "top.dl");
+
+        assertThat(partitionInputs("**/*.reldl")).containsExactly(
+                inputDirectory.resolve("nested/deeper/deepest.reldl").toString(),
+                inputDirectory.resolve("nested/inner.reldl").toString(),
+                inputDirectory.resolve("top.reldl").toString());
+    }
+
+    @Test
+    void defaultGlobOnlyMatchesFilesDirectlyInsideTheDirectory() throws IOException {
+        createInputs("top.reldl", "nested/inner.reldl");
+
+        assertThat(partitionInputs(Constants.DEFAULT_INPUT_GLOB)).containsExactly(inputDirectory.resolve("top.reldl").toString());
+    }
+
+    @Test
+    void outputFilesMirrorTheRelativeDirectoryOfTheirInputs() throws IOException {
+        createInputs("nested/inner.reldl");
+
+        Map<String, ExecutionContext> partitions = new InputFilesPartitioner(null, inputDirectory, "**/*.reldl", outputDirectory,
+                Constants.AST_GENERATION_EXTENSION).partition(4);
+
+        assertThat(partitions.values()).singleElement().satisfies(context -> assertThat(context.getString(Constants.OUTPUT_FILE))
+                .isEqualTo(outputDirectory.resolve("nested/inner.reldl" + Constants.AST_GENERATION_EXTENSION).toString()));
+    }
+
+    private void createInputs(String... relativePaths) throws IOException {
+        for (String relativePath : relativePaths) {
+            Path input = inputDirectory.resolve(relativePath);
+            Files.createDirectories(input.getParent());
+            Files.writeString(input, "x > 1.0");
+        }
+    }
+
+    private List<String> partitionInputs(String glob) {
+        return new InputFilesPartitioner(null, inputDirectory, glob, outputDirectory, Constants.AST_GENERATION_EXTENSION)
+                .partition(4).values().stream()
+                .map(context -> context.getString(Constants.INPUT_FILE))
+                .toList();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.charlotte.parser.jobs.partition;
+
+import edu.charlotte.parser.ParserJobRunner;
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The partitions of a directory run concurrently, so each of their outputs must be the same as the output of the
+ * input file processed on its own.
+ */
+class PartitionedJobTest {
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void concurrentPartitionsWriteTheSameOutputsAsSingleFileRuns() throws IOException, URISyntaxException {
+        Path inputDirectory = workDirectory.resolve("inputs");
+        List<Path> examples = listExamples();
+        // Every example is copied to several directories, giving more partitions than the grid size.
+        for (String directory : List.of("", "first", "first/second", "third"))
+            for (Path example : examples) {
+                Path input = inputDirectory.resolve(directory).resolve(example.getFileName());
+                Files.createDirectories(input.getParent());
+                Files.copy(example, input);
+            }
+
+        Path partitionedOutput = workDirectory.resolve("partitioned");
+        assertThat(ParserJobRunner.run(partitionedOutput, Constants.JOBNAME_DL_AST_GENERATION, "--input.dir=" + inputDirectory,
+                "--input.glob=**/*", "--partition.grid-size=4")).isEqualTo(BatchStatus.COMPLETED);
+
+        for (Path example : examples) {
+            Path singleOutput = workDirectory.resolve("single").resolve(example.getFileName().toString());
+            assertThat(ParserJobRunner.run(singleOutput, Constants.JOBNAME_DL_AST_GENERATION, "--input.file=" + example))
+                    .isEqualTo(BatchStatus.COMPLETED);
+            String expected = Files.readString(singleOutput.resolve(example.getFileName() + Constants.AST_GENERATION_EXTENSION));
+            for (String directory : List.of("", "first", "first/second", "third"))
+                assertThat(partitionedOutput.resolve(directory).resolve(example.getFileName() + Constants.AST_GENERATION_EXTENSION))
+                        .hasContent(expected);
+        }
+    }
+
+    private static List<Path> listExamples() throws IOException, URISyntaxException {
+        Path examples = Path.of(Objects.requireNonNull(PartitionedJobTest.class.getResource("/dl_parser_examples")).toURI());
+        try (Stream<Path> paths = Files.list(examples)) {
+            return paths.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.charlotte.parser.jobs.validation;
+
+import edu.charlotte.parser.ParserApplication;
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the limits of the "Large Formulas" section of the README: at {@code -Xmx64m}, a single formula of 256 MB
+ * validates in the mapped mode, whose heap does not grow with the size of the formula, while the file mode already
+ * runs out of heap on a formula of 16 MB. Each run is a separate JVM, as the heap of the test JVM cannot be limited.
+ */
+class MappedInputMemoryTest {
+    private static final String MAX_HEAP = "-Xmx64m";
+    private static final long MAPPED_FORMULA_SIZE = 256L * 1024 * 1024;
+    private static final long FILE_FORMULA_SIZE = 16L * 1024 * 1024;
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void mappedModeValidatesAFormulaOfHundredsOfMegabytes() throws IOException, InterruptedException {
+        Path input = writeFormula(MAPPED_FORMULA_SIZE);
+        Path outputDirectory = this.workDirectory.resolve("mapped");
+
+        assertThat(validate(input, outputDirectory, "mapped")).isZero();
+        assertThat(Files.readString(outputDirectory.resolve(input.getFileName() + Constants.VALIDATION_EXTENSION)).trim())
+                .isEqualTo("No syntax errors.");
+    }
+
+    @Test
+    void fileModeRunsOutOfHeapOnAMuchSmallerFormula() throws IOException, InterruptedException {
+        Path input = writeFormula(FILE_FORMULA_SIZE);
+
+        assertThat(validate(input, this.workDirectory.resolve("file"), "file")).isNotZero();
+        assertThat(Files.readString(this.workDirectory.resolve("file.log"))).contains("OutOfMemoryError");
+    }
+
+    // Writes a valid formula of at least the given size as a chain of '[xi := xj + k.5 ;] xi > k.0' joined by '&&'.
+    private Path writeFormula(long size) throws IOException {
+        Path input = this.workDirectory.resolve("formula.dl");
+        try (BufferedWriter writer = Files.newBufferedWriter(input)) {
+            long written = 0;
+            for (int index = 0; written < size; index++) {
+                String conjunct = (index == 0 ? "" : " && ") + "[x" + index % 100 + " := x" + (index + 1) % 100 + " + "
+                        + index % 1000 + ".5 ;] x" + index % 100 + " > " + index % 1000 + ".0";
+                writer.write(conjunct);
+                written += conjunct.length();
+            }
+        }
+        return input;
+    }
+
+    // Runs the DL validation job on the input in a JVM with a small heap and returns the exit code of the JVM.
+    private int validate(Path input, Path outputDirectory, String readerMode) throws IOException, InterruptedException {
+        Path log = this.workDirectory.resolve(readerMode + ".log");
+        Process process = new ProcessBuilder(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-XX:+UseSerialGC", MAX_HEAP,
+                "-cp", System.getProperty("java.class.path"),
+                ParserApplication.class.getName(),
+                "--job.name=" + Constants.JOBNAME_DL_VALIDATION,
+                "--input-reader.mode=" + readerMode,
+                "--input.file=" + input,
+                "--dl-output=" + outputDirectory,
+                "--logging.level.root=WARN"))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        if (!process.waitFor(5, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("The validation of " + input + " did not complete in 5 minutes.");
+        }
+        return process.exitValue();
+    }
+}
@@ -0,0 +1,80 @@
+package edu.charlotte.parser.jobs.validation;
+
+import edu.charlotte.parser.ParserJobRunner;
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The validation jobs list the syntax errors of a formula as {@code line:column source error: message}, lexer errors
+ * first, and stop at {@code validation.error-limit} errors. The whole input is lexed before it is parsed, so the lexer
+ * errors use up the limit first and the parser only gets the rest of it, even when they come after the parser errors.
+ */
+class ValidationErrorLimitTest {
+    private static final String ERROR_LIMIT = "--validation.error-limit=3";
+    private static final String EXTRANEOUS_INPUT = "parser error: extraneous input '>' expecting {'(', IDENTIFIER, NUMBER}";
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void lexerErrorsOfAGarbageInputStopTheValidationBeforeItIsParsed() throws IOException {
+        for (String jobName : List.of(Constants.JOBNAME_DL_VALIDATION, Constants.JOBNAME_REL_DL_VALIDATION))
+            assertThat(validate(jobName, "garbage ### 1.0 $$ 2.0 @@ 3.0", ERROR_LIMIT)).as(jobName).containsExactly(
+                    "3 syntax error(s):",
+                    "1:8 lexer error: token recognition error at: '#'",
+                    "1:9 lexer error: token recognition error at: '#'",
+                    "1:10 lexer error: token recognition error at: '#'",
+                    "Stopped at the limit of 3 syntax error(s).");
+    }
+
+    @Test
+    void parserGetsTheLimitLeftByTheLexer() throws IOException {
+        assertThat(validate(Constants.JOBNAME_DL_VALIDATION, "x > > 1.0 && y > > 2.0 && z > > 3.0 && w > > 4.0", ERROR_LIMIT))
+                .containsExactly(
+                        "3 syntax error(s):",
+                        "1:4 " + EXTRANEOUS_INPUT,
+                        "1:17 " + EXTRANEOUS_INPUT,
+                        "1:30 " + EXTRANEOUS_INPUT,
+                        "Stopped at the limit of 3 syntax error(s).");
+        assertThat(validate(Constants.JOBNAME_DL_VALIDATION, "x > > 1.0 && y > > 2.0 && z > > 3.0 # && w > > 4.0", ERROR_LIMIT))
+                .containsExactly(
+                        "3 syntax error(s):",
+                        "1:36 lexer error: token recognition error at: '#'",
+                        "1:4 " + EXTRANEOUS_INPUT,
+                        "1:17 " + EXTRANEOUS_INPUT,
+                        "Stopped at the limit of 3 syntax error(s).");
+    }
+
+    @Test
+    void formulaBelowTheLimitListsAllItsErrors() throws IOException {
+        assertThat(validate(Constants.JOBNAME_DL_VALIDATION, "x > > 1.0 && y > > 2.0 # && z > > 3.0", "--validation.error-limit=0"))
+                .containsExactly(
+                        "4 syntax error(s):",
+                        "1:23 lexer error: token recognition error at: '#'",
+                        "1:4 " + EXTRANEOUS_INPUT,
+                        "1:17 " + EXTRANEOUS_INPUT,
+                        "1:32 " + EXTRANEOUS_INPUT);
+        assertThat(validate(Constants.JOBNAME_DL_VALIDATION, "x > 1.0 && y < 2.0", ERROR_LIMIT))
+                .containsExactly("No syntax errors.");
+    }
+
+    // Validates the formula as the whole content of an input file and returns the lines of its validation output.
+    private List<String> validate(String jobName, String formula, String errorLimit) throws IOException {
+        Path runDirectory = Files.createTempDirectory(this.workDirectory, jobName);
+        Path input = runDirectory.resolve("formula.dl");
+        Files.writeString(input, formula);
+        Path outputDirectory = runDirectory.resolve("output");
+        assertThat(ParserJobRunner.run(outputDirectory, jobName, "--input.file=" + input, errorLimit))
+                .isEqualTo(BatchStatus.COMPLETED);
+        return Files.readAllLines(outputDirectory.resolve(input.getFileName() + Constants.VALIDATION_EXTENSION));
+    }
+}
@@ -0,0 +1,104 @@
+package edu.charlotte.parser.listeners.ast;
+
+import edu.charlotte.parser.ast.nodes.AstNode;
+import edu.charlotte.parser.grammars.AstGenerationResult;
+import edu.charlotte.parser.grammars.GenerateAstForDl;
+import edu.charlotte.parser.grammars.GenerateAstForRelDl;
+import org.junit.jupiter.api.Test;
+
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The grammars match the operands and the operators of a formula, a program or a term as a flat list, which the AST
+ * listeners group by the precedence and the associativity of the operators. The groupings are printed with every
+ * grammar rule node in parentheses.
+ */
+class OperatorPrecedenceTest {
+    private final GenerateAstForDl dlGenerator = new GenerateAstForDl();
+    private final GenerateAstForRelDl relDlGenerator = new GenerateAstForRelDl(false);
+
+    @Test
+    void implicationIsRightAssociative() {
+        assertThat(groupDl("a > 0.0 -> b > 0.0 -> c > 0.0"))
+                .isEqualTo("((a > 0.0) -> ((b > 0.0) -> (c > 0.0)))");
+        assertThat(groupRelDl("a@L ># b@R -># b@L ># c@R -># c@L ># a@R"))
+                .isEqualTo("(((a @L) ># (b @R)) -># (((b @L) ># (c @R)) -># ((c @L) ># (a @R))))");
+    }
+
+    @Test
+    void otherBinaryFormulaOperatorsAreLeftAssociative() {
+        assertThat(groupDl("a > 0.0 && b > 0.0 && c > 0.0"))
+                .isEqualTo("(((a > 0.0) && (b > 0.0)) && (c > 0.0))");
+        assertThat(groupDl("a > 0.0 <-> b > 0.0 <-> c > 0.0"))
+                .isEqualTo("(((a > 0.0) <-> (b > 0.0)) <-> (c > 0.0))");
+    }
+
+    @Test
+    void formulaOperatorsBindFromConjunctionToEquivalence() {
+        assertThat(groupDl("a > 0.0 <-> b > 0.0 -> c > 0.0 || d > 0.0 && e > 0.0"))
+                .isEqualTo("((a > 0.0) <-> ((b > 0.0) -> ((c > 0.0) || ((d > 0.0) && (e > 0.0)))))");
+        assertThat(groupRelDl("a@L ># a@R &&# b@L ># b@R ||# c@L ># c@R"))
+                .isEqualTo("((((a @L) ># (a @R)) &&# ((b @L) ># (b @R))) ||# ((c @L) ># (c @R)))");
+    }
+
+    @Test
+    void negationAppliesToTheFormulaItPrefixes() {
+        assertThat(groupDl("!a > 0.0 && b > 0.0")).isEqualTo("((! (a > 0.0)) && (b > 0.0))");
+        assertThat(groupDl("a > 0.0 && !!b > 0.0 || c > 0.0")).isEqualTo("(((a > 0.0) && (! (! (b > 0.0)))) || (c > 0.0))");
+    }
+
+    @Test
+    void modalityAppliesToTheRestOfTheFormula() {
+        assertThat(groupDl("[x := 1.0;] x > 0.0 && y > 0.0"))
+                .isEqualTo("([ (x := 1.0 ;) ] ((x > 0.0) && (y > 0.0)))");
+        assertThat(groupDl("a > 0.0 && <<x := 1.0;>> x > 0.0 || y > 0.0 -> b > 0.0"))
+                .isEqualTo("((a > 0.0) && (<< (x := 1.0 ;) >> (((x > 0.0) || (y > 0.0)) -> (b > 0.0))))");
+        assertThat(groupDl("![x := 1.0;] x > 0.0 && y > 0.0"))
+                .isEqualTo("(! ([ (x := 1.0 ;) ] ((x > 0.0) && (y > 0.0))))");
+        assertThat(groupRelDl("[# x :=# 1.0 ]# x@L ># x@R &&# y@L ># y@R"))
+                .isEqualTo("([# (x :=# 1.0) ]# (((x @L) ># (x @R)) &&# ((y @L) ># (y @R))))");
+    }
+
+    @Test
+    void sequentialCompositionBindsTighterThanChoice() {
+        assertThat(groupDl("[a := 1.0; ; b := 1.0; ++ c := 1.0; ; d := 1.0;] true"))
+                .isEqualTo("([ (((a := 1.0 ;) ; (b := 1.0 ;)) ++ ((c := 1.0 ;) ; (d := 1.0 ;))) ] (true))");
+        assertThat(groupDl("[a := 1.0; ++ b := 1.0; ++ c := 1.0;] true"))
+                .isEqualTo("([ (((a := 1.0 ;) ++ (b := 1.0 ;)) ++ (c := 1.0 ;)) ] (true))");
+        assertThat(groupRelDl("[# a :=# 1.0 ++# b :=# 1.0 ;# c :=# 1.0 ]# x@L ># x@R"))
+                .isEqualTo("([# ((a :=# 1.0) ++# ((b :=# 1.0) ;# (c :=# 1.0))) ]# ((x @L) ># (x @R)))");
+    }
+
+    @Test
+    void multiplicationBindsTighterThanAddition() {
+        assertThat(groupDl("a + b * c - d / e > 0.0"))
+                .isEqualTo("(((a + (b * c)) - (d / e)) > 0.0)");
+        assertThat(groupDl("(a + b) * c - d - e > 0.0"))
+                .isEqualTo("(((((( (a + b) )) * c) - d) - e) > 0.0)");
+        assertThat(groupRelDl("a + b * c @L ># a @R"))
+                .isEqualTo("(((a + (b * c)) @L) ># (a @R))");
+    }
+
+    private String groupDl(String formula) {
+        AstGenerationResult<?> result = this.dlGenerator.generateAstFromInput(formula);
+        assertThat(result.isSuccessful()).as("parsing of '%s'", formula).isTrue();
+        return group(result.astRoot().getChild(0));
+    }
+
+    private String groupRelDl(String formula) {
+        AstGenerationResult<?> result = this.relDlGenerator.generateAstFromInput(formula);
+        assertThat(result.isSuccessful()).as("parsing of '%s'", formula).isTrue();
+        return group(result.astRoot().getChild(0));
+    }
+
+    private static String group(AstNode node) {
+        if (node.isTerminal())
+            return node.getValue();
+        StringJoiner joiner = new StringJoiner(" ", "(", ")");
+        for (AstNode child : node.getChildren())
+            joiner.add(group(child));
+        return joiner.toString();
+    }
+}
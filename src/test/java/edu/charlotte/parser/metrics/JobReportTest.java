@@ -0,0 +1,108 @@
+package edu.charlotte.parser.metrics;
+
+import edu.charlotte.parser.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+/**
+ * The report of a partitioned job sums the counts, latencies and phase times of the worker steps, which tell their input
+ * file, without the partition manager step that aggregates the same counts again.
+ */
+class JobReportTest {
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    @TempDir
+    Path inputDirectory;
+
+    @Test
+    void reportAggregatesTheWorkerSteps() throws IOException {
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, Constants.JOBNAME_DL_VALIDATION), 1L, new JobParameters());
+        LatencyHistogram firstLatencies = new LatencyHistogram();
+        LatencyHistogram secondLatencies = new LatencyHistogram();
+        for (long millis = 1; millis <= 100; millis++)
+            (millis <= 50 ? firstLatencies : secondLatencies).record(millis * NANOS_PER_MILLI);
+
+        StepExecution first = workerStep(jobExecution, "partition0", "x > 1.0\n", firstLatencies);
+        first.setReadCount(50);
+        first.setWriteCount(45);
+        first.setFilterCount(3);
+        first.setProcessSkipCount(2);
+        first.getExecutionContext().putString(ItemTimings.SLOWEST_ITEMS_KEY, (5 * NANOS_PER_MILLI) + ":7:a");
+        first.getExecutionContext().putLong(ParserMetrics.EXECUTION_CONTEXT_KEY_PREFIX + "parse", 3 * NANOS_PER_MILLI);
+        first.getExecutionContext().putLong(ParserMetrics.EXECUTION_CONTEXT_KEY_PREFIX + "lex", 2 * NANOS_PER_MILLI);
+        StepExecution second = workerStep(jobExecution, "partition1", "x > 1.0 && y < 2.0\n", secondLatencies);
+        second.setReadCount(50);
+        second.setWriteCount(50);
+        second.getExecutionContext().putString(ItemTimings.SLOWEST_ITEMS_KEY,
+                (9 * NANOS_PER_MILLI) + ":8:b," + NANOS_PER_MILLI + ":3:c");
+        second.getExecutionContext().putLong(ParserMetrics.EXECUTION_CONTEXT_KEY_PREFIX + "parse", 3 * NANOS_PER_MILLI);
+        StepExecution manager = jobExecution.createStepExecution("manager");
+        manager.setReadCount(100);
+        manager.setWriteCount(95);
+        manager.getExecutionContext().putString(ItemTimings.LATENCY_KEY, firstLatencies.encode());
+
+        Map<String, Object> entries = JobReport.of(jobExecution).getEntries();
+
+        assertThat(entries).containsEntry("job", Constants.JOBNAME_DL_VALIDATION).containsEntry("inputFiles", 2);
+        assertThat(entry(entries, "items")).containsEntry("read", 100L).containsEntry("processed", 100L)
+                .containsEntry("filtered", 3L).containsEntry("skipped", 2L).containsEntry("processSkipped", 2L)
+                .containsEntry("written", 95L);
+        assertThat(entry(entries, "throughput")).containsEntry("inputBytes", 8L + 19L);
+
+        Map<String, Object> latency = entry(entries, "latency");
+        assertThat(latency).containsEntry("count", 100L).containsEntry("maxMillis", 100.0);
+        assertThat((double) latency.get("p50Millis")).isCloseTo(50.0, withinPercentage(1));
+        assertThat((double) latency.get("p90Millis")).isCloseTo(90.0, withinPercentage(1));
+        assertThat((double) latency.get("p99Millis")).isCloseTo(99.0, withinPercentage(1));
+
+        assertThat(entries.get("slowestItems")).isEqualTo(List.of(
+                Map.of("inputHash", "b", "inputLength", 8, "latencyMillis", 9.0),
+                Map.of("inputHash", "a", "inputLength", 7, "latencyMillis", 5.0),
+                Map.of("inputHash", "c", "inputLength", 3, "latencyMillis", 1.0)));
+        Map<String, Object> phases = entry(entries, "phases");
+        assertThat(phases.keySet()).containsExactly("lex", "parse");
+        assertThat(phases).containsEntry("lex", Map.of("totalMillis", 2.0, "sharePercent", 25.0))
+                .containsEntry("parse", Map.of("totalMillis", 6.0, "sharePercent", 75.0));
+    }
+
+    @Test
+    void reportOfAJobWithoutWorkerStepsIsEmpty() {
+        JobExecution jobExecution = new JobExecution(new JobInstance(2L, Constants.JOBNAME_DL_VALIDATION), 2L, new JobParameters());
+        jobExecution.createStepExecution("manager").setReadCount(10);
+
+        Map<String, Object> entries = JobReport.of(jobExecution).getEntries();
+
+        assertThat(entries).containsEntry("inputFiles", 0);
+        assertThat(entry(entries, "items")).containsEntry("read", 0L);
+        assertThat(entry(entries, "latency")).containsEntry("count", 0L).containsEntry("p99Millis", 0.0);
+        assertThat(entry(entries, "phases")).isEmpty();
+    }
+
+    private StepExecution workerStep(JobExecution jobExecution, String stepName, String input, LatencyHistogram latencies)
+            throws IOException {
+        Path inputFile = this.inputDirectory.resolve(stepName + ".dl");
+        Files.writeString(inputFile, input);
+        StepExecution stepExecution = jobExecution.createStepExecution(stepName);
+        stepExecution.getExecutionContext().putString(Constants.INPUT_FILE, inputFile.toString());
+        stepExecution.getExecutionContext().putString(ItemTimings.LATENCY_KEY, latencies.encode());
+        return stepExecution;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> entry(Map<String, Object> entries, String key) {
+        return (Map<String, Object>) entries.get(key);
+    }
+}
@@ -0,0 +1,128 @@
+package edu.charlotte.parser.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * The values below 128 are recorded exactly, the larger ones in the bucket of their power of two split into 64, whose
+ * middle value is within half a bucket of them. The histograms of the steps go through their execution contexts.
+ */
+class LatencyHistogramTest {
+    private static final int LAST_BUCKET_INDEX = (Long.SIZE - 6) * 64 - 1;
+
+    @Test
+    void smallValuesHaveTheirOwnBuckets() {
+        for (int value = 0; value < 128; value++) {
+            assertThat(LatencyHistogram.bucketIndex(value)).isEqualTo(value);
+            assertThat(LatencyHistogram.bucketValue(value)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void bucketsSplitEveryPowerOfTwo() {
+        assertThat(LatencyHistogram.bucketIndex(127)).isEqualTo(127);
+        // From 128 on the buckets are two values wide, from 256 on four values wide.
+        assertThat(LatencyHistogram.bucketIndex(128)).isEqualTo(128);
+        assertThat(LatencyHistogram.bucketIndex(129)).isEqualTo(128);
+        assertThat(LatencyHistogram.bucketIndex(130)).isEqualTo(129);
+        assertThat(LatencyHistogram.bucketIndex(255)).isEqualTo(191);
+        assertThat(LatencyHistogram.bucketIndex(256)).isEqualTo(192);
+        assertThat(LatencyHistogram.bucketIndex(259)).isEqualTo(192);
+        assertThat(LatencyHistogram.bucketIndex(260)).isEqualTo(193);
+        assertThat(LatencyHistogram.bucketValue(128)).isEqualTo(129);
+        assertThat(LatencyHistogram.bucketValue(191)).isEqualTo(255);
+        assertThat(LatencyHistogram.bucketValue(192)).isEqualTo(258);
+
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(LAST_BUCKET_INDEX);
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE / 2 + 1)).isEqualTo(LAST_BUCKET_INDEX - 63);
+        assertThat(LatencyHistogram.bucketValue(LAST_BUCKET_INDEX)).isPositive()
+                .isEqualTo(Long.MAX_VALUE - (1L << 55) + 1);
+    }
+
+    @Test
+    void bucketValuesAreWithinTheirBuckets() {
+        for (int index = 0; index <= LAST_BUCKET_INDEX; index++)
+            assertThat(LatencyHistogram.bucketIndex(LatencyHistogram.bucketValue(index))).isEqualTo(index);
+
+        Random random = new Random(42);
+        for (int sample = 0; sample < 100_000; sample++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(Long.SIZE - 1);
+            long bucketValue = LatencyHistogram.bucketValue(LatencyHistogram.bucketIndex(value));
+            assertThat((double) Math.abs(bucketValue - value)).as("%d", value).isLessThanOrEqualTo(value / 128.0 + 1);
+        }
+    }
+
+    @Test
+    void percentilesAreTheValuesOfTheirRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getPercentile(0.5)).isZero();
+
+        for (long value = 1000; value >= 1; value--)
+            histogram.record(value);
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMax()).isEqualTo(1000);
+        assertThat(histogram.getPercentile(0.0)).isEqualTo(1);
+        assertThat(histogram.getPercentile(0.1)).isEqualTo(100);
+        assertThat(histogram.getPercentile(0.127)).isEqualTo(127);
+        assertThat(histogram.getPercentile(0.5)).isCloseTo(500, within(4L));
+        assertThat(histogram.getPercentile(0.99)).isCloseTo(990, within(8L));
+        assertThat(histogram.getPercentile(0.999)).isCloseTo(999, within(4L)).isLessThanOrEqualTo(1000);
+        assertThat(histogram.getPercentile(1.0)).isEqualTo(1000);
+    }
+
+    @Test
+    void percentilesDoNotExceedTheMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(128);
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.getPercentile(0.0)).isZero();
+        assertThat(histogram.getPercentile(0.5)).isEqualTo(129);
+        assertThat(histogram.getPercentile(0.99)).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.getMax()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void encodedHistogramRoundTripsThroughTheExecutionContext() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value : new long[]{0, 127, 127, 128, 255, 256, 1_000_000, 1_000_001, Long.MAX_VALUE})
+            histogram.record(value);
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putString(ItemTimings.LATENCY_KEY, histogram.encode());
+        executionContext.putString("empty", new LatencyHistogram().encode());
+
+        LatencyHistogram decoded = LatencyHistogram.decode(executionContext.getString(ItemTimings.LATENCY_KEY));
+
+        assertThat(decoded.encode()).isEqualTo(histogram.encode());
+        assertThat(decoded.getCount()).isEqualTo(9);
+        assertThat(decoded.getMax()).isEqualTo(Long.MAX_VALUE);
+        for (double fraction : new double[]{0.0, 0.2, 0.3, 0.5, 0.7, 0.9, 1.0})
+            assertThat(decoded.getPercentile(fraction)).isEqualTo(histogram.getPercentile(fraction));
+        LatencyHistogram empty = LatencyHistogram.decode(executionContext.getString("empty"));
+        assertThat(empty.getCount()).isZero();
+        assertThat(empty.getMax()).isZero();
+    }
+
+    @Test
+    void addedHistogramsCountTheValuesOfBoth() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value += 7) {
+            (value % 2 == 0 ? first : second).record(value * 1000);
+            all.record(value * 1000);
+        }
+
+        first.add(second);
+
+        assertThat(first.encode()).isEqualTo(all.encode());
+        assertThat(first.getMax()).isEqualTo(all.getMax());
+    }
+}
@@ -0,0 +1,31 @@
+package edu.charlotte.parser.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The build version comes from the build-info.properties of the Maven build, and tells the builds of a snapshot apart
+ * by their time, so that the cache and the incremental builds do not reuse the outputs of another build.
+ */
+class BuildVersionUtilsTest {
+
+    @Test
+    void buildVersionIsReadFromTheBuildInfo() throws IOException {
+        Properties buildInfo = new Properties();
+        try (InputStream inputStream = BuildVersionUtilsTest.class.getClassLoader().getResourceAsStream("META-INF/build-info.properties")) {
+            assertThat(inputStream).as("build-info.properties written by the build").isNotNull();
+            buildInfo.load(inputStream);
+        }
+        String version = buildInfo.getProperty("build.version");
+
+        if (version.endsWith("-SNAPSHOT"))
+            assertThat(BuildVersionUtils.getBuildVersion()).isEqualTo(version + "+" + buildInfo.getProperty("build.time"));
+        else
+            assertThat(BuildVersionUtils.getBuildVersion()).isEqualTo(version);
+    }
+}